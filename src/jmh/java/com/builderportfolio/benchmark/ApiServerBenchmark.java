@@ -0,0 +1,149 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.api.ApiServer;
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.model.User;
+import com.builderportfolio.security.LoginRateLimiter;
+import com.builderportfolio.security.PasswordVerifier;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.UserService;
+import com.builderportfolio.session.SessionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Load test of the {@link ApiServer} from 64 loopback clients: requests per
+ * second for listing a manager's projects and for changing a project's
+ * status, each a full HTTP/1.1 round trip over a kept-alive connection.
+ * <p>
+ * The server and its clients share the machine, so the figure is a lower
+ * bound for a server with its own cores. Set-up registers one manager and
+ * 64 builders and gives each builder 20 of the manager's projects; every
+ * client thread works as one builder.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(64)
+@State(Scope.Benchmark)
+public class ApiServerBenchmark {
+
+    private static final int CLIENTS = 64;
+    private static final int PROJECTS_PER_BUILDER = 20;
+
+    private ApiServer server;
+    private HttpClient client;
+    private String base;
+    private String managerToken;
+    private String[] builderTokens;
+    private long[][] builderProjects;
+
+    @State(Scope.Thread)
+    public static class Worker {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        int builder;
+        int next;
+        boolean inProgress;
+
+        @Setup
+        public void setUp() {
+            builder = NEXT.getAndIncrement() % CLIENTS;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        Logger.getLogger(UserService.class.getName()).setLevel(java.util.logging.Level.OFF);
+        InMemoryStorageEngine engine = new InMemoryStorageEngine();
+        // Set-up logs every client in from the one loopback address
+        LoginRateLimiter limiter = new LoginRateLimiter(1_000, LoginRateLimiter.DEFAULT_USER_FAILURES,
+                Duration.ofMinutes(1), Duration.ofMinutes(15), 1_000, System::currentTimeMillis);
+        UserService userService = new UserService(engine, PasswordVerifier.shared(), limiter);
+        server = new ApiServer(userService, new ProjectService(engine), new SessionStore(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        base = "http://127.0.0.1:" + server.port() + "/api";
+
+        String managerId = register(BenchmarkData.user("Manager", 0, 2));
+        managerToken = login(managerId);
+        builderTokens = new String[CLIENTS];
+        builderProjects = new long[CLIENTS][PROJECTS_PER_BUILDER];
+        for (int b = 0; b < CLIENTS; b++) {
+            String builderId = register(BenchmarkData.user("Builder", b, 1));
+            builderTokens[b] = login(builderId);
+            for (int p = 0; p < PROJECTS_PER_BUILDER; p++) {
+                String body = send("POST", "/projects", managerToken, "{\"name\":\"Project " + p + "\","
+                        + "\"startDate\":\"2025-01-01\",\"endDate\":\"2025-12-31\",\"clientName\":\"Client\","
+                        + "\"clientEmail\":\"client@bench.io\",\"clientPhone\":\"9876543210\",\"builderId\":\""
+                        + builderId + "\"}", 201);
+                builderProjects[b][p] = Long.parseLong(body.substring(body.indexOf(':') + 1, body.indexOf(',')));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public String listManagerProjects() throws IOException, InterruptedException {
+        return send("GET", "/projects", managerToken, null, 200);
+    }
+
+    @Benchmark
+    public String listBuilderProjects(Worker worker) throws IOException, InterruptedException {
+        return send("GET", "/projects", builderTokens[worker.builder], null, 200);
+    }
+
+    /** Moves the worker's projects to in progress and back, one request at a time. */
+    @Benchmark
+    public String updateStatus(Worker worker) throws IOException, InterruptedException {
+        long projectId = builderProjects[worker.builder][worker.next];
+        String status = worker.inProgress ? "UPCOMING" : "IN_PROGRESS";
+        if (++worker.next == PROJECTS_PER_BUILDER) {
+            worker.next = 0;
+            worker.inProgress = !worker.inProgress;
+        }
+        return send("PATCH", "/projects/" + projectId, builderTokens[worker.builder],
+                "{\"status\":\"" + status + "\"}", 200);
+    }
+
+    private String register(User user) throws IOException, InterruptedException {
+        String body = send("POST", "/users", null, "{\"name\":\"" + user.getUserName() + "\",\"email\":\""
+                + user.getUserEmail() + "\",\"phone\":\"" + user.getUserPhoneNo() + "\",\"experience\":5,\"role\":"
+                + user.getRole() + ",\"password\":\"Passw0rd\"}", 201);
+        return body.split("\"")[3];
+    }
+
+    private String login(String userId) throws IOException, InterruptedException {
+        return send("POST", "/login", null, "{\"userId\":\"" + userId + "\",\"password\":\"Passw0rd\"}", 200)
+                .split("\"")[3];
+    }
+
+    private String send(String method, String path, String token, String body, int expected)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expected) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,99 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.OffHeapStorageEngine;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded data for the service benchmarks, so two runs against the same
+ * parameters measure the same users and projects.
+ * <p>
+ * Projects are spread round-robin over {@link #MANAGERS} managers and
+ * {@link #BUILDERS} builders, with random dates and clients drawn from the
+ * seeded generator. Statuses are only {@link Status#UPCOMING} and
+ * {@link Status#IN_PROGRESS}, which may move to each other, so a status
+ * benchmark can keep flipping any project.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+    static final int MANAGERS = 100;
+    static final int BUILDERS = 1_000;
+    static final String PASSWORD = "Passw0rd!";
+
+    private static final int CLIENTS = 10_000;
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @param engine "memory" or "offheap"
+     * @return a new, empty engine of that kind
+     */
+    static StorageEngine engine(String engine) {
+        switch (engine) {
+            case InMemoryStorageEngine.NAME:
+                return new InMemoryStorageEngine();
+            case OffHeapStorageEngine.NAME:
+                return new OffHeapStorageEngine();
+            default:
+                throw new IllegalArgumentException("Unknown storage engine: " + engine);
+        }
+    }
+
+    /**
+     * @param prefix name prefix, which together with {@code i} makes the email unique
+     * @param i      index of the user
+     * @param role   1 = Builder, 2 = Project Manager
+     * @return a user that passes registration validation
+     */
+    static User user(String prefix, int i, int role) {
+        return new User(prefix + " " + i, prefix.toLowerCase() + i + "@bench.io", "9876543210", 5, PASSWORD, role);
+    }
+
+    /** @return the ID of manager {@code i} */
+    static String managerId(int i) {
+        return "PM" + (i % MANAGERS);
+    }
+
+    /** @return the ID of builder {@code i} */
+    static String builderId(int i) {
+        return "BD" + (i % BUILDERS);
+    }
+
+    /**
+     * Saves {@code count} projects through the engine and registers their
+     * builders and managers in its assignment store.
+     *
+     * @return the project IDs, where project {@code i} belongs to
+     * {@link #builderId} {@code i} and {@link #managerId} {@code i}
+     */
+    static long[] populate(StorageEngine engine, int count) {
+        for (int i = 0; i < MANAGERS; i++) engine.assignmentStore().createProjectManager(managerId(i));
+        for (int i = 0; i < BUILDERS; i++) engine.assignmentStore().createBuilder(builderId(i));
+
+        Client[] clients = new Client[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = new Client("Client " + i, "client" + i + "@bench.io", "0771234567");
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            LocalDate start = BASE.plusDays(random.nextInt(2 * 365));
+            Project project = new Project("Project " + i, "Benchmark project " + i, start,
+                    start.plusDays(random.nextInt(366)), clients[random.nextInt(CLIENTS)],
+                    random.nextBoolean() ? Status.UPCOMING : Status.IN_PROGRESS, builderId(i), managerId(i));
+            engine.createProject(project);
+            ids[i] = project.getProjectId();
+        }
+        return ids;
+    }
+}
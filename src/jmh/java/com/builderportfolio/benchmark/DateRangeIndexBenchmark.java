@@ -0,0 +1,89 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.service.ProjectService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date window and deadline queries over 1M projects, answered by the
+ * {@link com.builderportfolio.dao.DateRangeIndex} through {@link ProjectService}
+ * and, for comparison, by scanning every stored project.
+ * <p>
+ * Projects start on random days over three years and last up to a year, so
+ * a one-month window matches roughly a fifth of them and a 14-day deadline
+ * window about 1%. The scans build the same ID-ordered list the service returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class DateRangeIndexBenchmark {
+
+    private static final int PROJECTS = 1_000_000;
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate MARCH_FIRST = LocalDate.of(2025, 3, 1);
+    private static final LocalDate MARCH_LAST = LocalDate.of(2025, 3, 31);
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+    private static final int DEADLINE_DAYS = 14;
+    private static final Comparator<Project> BY_ID = Comparator.comparingLong(Project::getProjectId);
+
+    private InMemoryStorageEngine engine;
+    private ProjectService projectService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new InMemoryStorageEngine();
+        projectService = new ProjectService(engine);
+        SplittableRandom random = new SplittableRandom(7);
+        Client client = new Client("Client", "client@bench.io", "9999999999");
+        for (int i = 0; i < PROJECTS; i++) {
+            LocalDate start = BASE.plusDays(random.nextInt(3 * 365));
+            Project project = new Project("Project" + i, "Benchmark project", start, start.plusDays(random.nextInt(366)),
+                    client, Status.IN_PROGRESS, "B" + (i % 1_000), "P" + (i % 100));
+            engine.projectStore().saveProject(project);
+        }
+    }
+
+    @Benchmark
+    public int activeInMarch_index() {
+        return projectService.getProjectsActiveBetween(MARCH_FIRST, MARCH_LAST).size();
+    }
+
+    @Benchmark
+    public int activeInMarch_scan() {
+        List<Project> matches = new ArrayList<>();
+        engine.projectStore().forEach(project -> {
+            if (!project.getEndDate().isBefore(MARCH_FIRST) && !project.getStartDate().isAfter(MARCH_LAST)) matches.add(project);
+        });
+        matches.sort(BY_ID);
+        return matches.size();
+    }
+
+    @Benchmark
+    public int endingWithin14Days_index() {
+        return projectService.getProjectsEndingWithin(TODAY, DEADLINE_DAYS).size();
+    }
+
+    @Benchmark
+    public int endingWithin14Days_scan() {
+        LocalDate last = TODAY.plusDays(DEADLINE_DAYS);
+        List<Project> matches = new ArrayList<>();
+        engine.projectStore().forEach(project -> {
+            if (!project.getEndDate().isBefore(TODAY) && !project.getEndDate().isAfter(last)) matches.add(project);
+        });
+        matches.sort(BY_ID);
+        return matches.size();
+    }
+}
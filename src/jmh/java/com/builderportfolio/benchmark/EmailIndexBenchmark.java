@@ -0,0 +1,100 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.UserDAO;
+import com.builderportfolio.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the registration email check of {@link UserDAO}'s email index
+ * against the previous linear scan over all registered users.
+ * <p>
+ * Each operation registers one new user and removes it again, so the
+ * store stays at {@code userCount} users for the whole measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailIndexBenchmark {
+
+    private static final int PROBE_COUNT = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int userCount;
+
+    /** Copy of the users for the linear-scan baseline. */
+    private Map<String, User> linearUsers;
+
+    /** Users that are not yet registered, registered and removed in turn. */
+    private User[] probes;
+
+    private int next;
+
+    /**
+     * Fills both stores with the same {@code userCount} users.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserDAO.clear();
+        linearUsers = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < userCount; i++) {
+            User user = new User("User" + i, "user" + i + "@bench.io", "9999999999", 1, "Passw0rd", 1);
+            UserDAO.saveUser(user);
+            linearUsers.put(user.getUserId(), user);
+        }
+
+        probes = new User[PROBE_COUNT];
+        for (int i = 0; i < PROBE_COUNT; i++) {
+            probes[i] = new User("Probe" + i, "probe" + i + "@bench.io", "9999999999", 1, "Passw0rd", 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        UserDAO.clear();
+    }
+
+    /**
+     * Registration path using the email index.
+     */
+    @Benchmark
+    public boolean indexedRegistration() {
+        User user = probes[next++ & (PROBE_COUNT - 1)];
+        boolean reserved = UserDAO.reserveEmail(user.getUserEmail(), user.getUserId());
+        if (reserved) {
+            UserDAO.saveUser(user);
+            UserDAO.removeUser(user.getUserId());
+        }
+        return reserved;
+    }
+
+    /**
+     * Registration path as it was before the index: scan every user.
+     */
+    @Benchmark
+    public boolean linearScanRegistration() {
+        User user = probes[next++ & (PROBE_COUNT - 1)];
+        boolean free = !linearEmailExists(user.getUserEmail());
+        if (free) {
+            linearUsers.put(user.getUserId(), user);
+            linearUsers.remove(user.getUserId());
+        }
+        return free;
+    }
+
+    private boolean linearEmailExists(String userEmail) {
+        for (User user : linearUsers.values()) {
+            if (user.getUserEmail().equals(userEmail)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.exporter.ExportFilter;
+import com.builderportfolio.exporter.PortfolioExporter;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exporting 1M projects with {@link PortfolioExporter} as CSV and as JSON lines,
+ * in full and filtered to one manager's projects.
+ * <p>
+ * Run with {@code -prof gc}: the allocation per export stays flat in the number
+ * of projects written, which is what keeps the heap budget fixed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    private static final int PROJECTS = 1_000_000;
+    private static final int BUILDERS = 1_000;
+    private static final int MANAGERS = 100;
+    private static final Status[] STATUSES = Status.values();
+
+    @Param({"csv", "jsonl"})
+    public String format;
+
+    private PortfolioExporter exporter;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        InMemoryStorageEngine engine = new InMemoryStorageEngine();
+        for (int i = 0; i < PROJECTS; i++) {
+            String builderId = "B" + (i % BUILDERS);
+            String managerId = "P" + (i % MANAGERS);
+            Client client = new Client("Client, " + (i % 5_000), "client" + (i % 5_000) + "@bench.io", "9999999999");
+            Project project = new Project("Project" + i, "Benchmark project " + i, LocalDate.of(2025, 1, 1),
+                    LocalDate.of(2025, 12, 31), client, STATUSES[i % STATUSES.length], builderId, managerId);
+            engine.projectStore().saveProject(project);
+            engine.assignmentStore().addProjectToBuilder(builderId, project.getProjectId());
+            engine.assignmentStore().addProjectToManager(managerId, project.getProjectId());
+        }
+        exporter = new PortfolioExporter(engine);
+        file = Files.createTempFile("export-bench", "." + format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long exportAll() throws IOException {
+        return exporter.exportProjects(file, ExportFilter.all()).getRows();
+    }
+
+    @Benchmark
+    public long exportOneManager() throws IOException {
+        return exporter.exportProjects(file, ExportFilter.all().withManager("P7")).getRows();
+    }
+}
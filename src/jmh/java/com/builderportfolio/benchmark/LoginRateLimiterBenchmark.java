@@ -0,0 +1,97 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.exception.TooManyLoginAttemptsException;
+import com.builderportfolio.security.LoginRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of one {@link LoginRateLimiter} call from 64 threads at once, in
+ * nanoseconds, with 10k user IDs and 1k clients tracked.
+ * <p>
+ * {@code check} is the call made before every login; its limits are set out of
+ * reach so every check is counted and allowed. {@code recordFailure} counts a
+ * failed login. {@code rejectedCheck} is a check from a client over its limit,
+ * the path a credential-stuffing burst takes, exception included. Every call
+ * should stay well below a microsecond; on a machine with fewer cores than
+ * threads the average also includes time spent descheduled, so compare runs
+ * on the same machine, or run with e.g. {@code -t 4}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class LoginRateLimiterBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int CLIENTS = 1_000;
+    private static final int KEYS = 4096;
+
+    private LoginRateLimiter limiter;
+    private LoginRateLimiter saturated;
+    private String[] userIds;
+    private String[] clientKeys;
+
+    @State(Scope.Thread)
+    public static class Worker {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        int[] users = new int[KEYS];
+        int[] clients = new int[KEYS];
+        int next;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(BenchmarkData.SEED + NEXT.getAndIncrement());
+            for (int i = 0; i < KEYS; i++) {
+                users[i] = random.nextInt(USERS);
+                clients[i] = random.nextInt(CLIENTS);
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new LoginRateLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ofMinutes(1), Duration.ZERO,
+                100_000, System::currentTimeMillis);
+        saturated = new LoginRateLimiter(1, Integer.MAX_VALUE, Duration.ofHours(1), Duration.ZERO,
+                100_000, System::currentTimeMillis);
+        userIds = new String[USERS];
+        clientKeys = new String[CLIENTS];
+        for (int i = 0; i < USERS; i++) userIds[i] = (i % 2 == 0 ? "B" : "P") + i;
+        for (int i = 0; i < CLIENTS; i++) clientKeys[i] = "10.0." + i / 256 + "." + i % 256;
+        for (int i = 0; i < CLIENTS; i++) {
+            limiter.check(null, clientKeys[i]);
+            saturated.check(null, clientKeys[i]);
+        }
+        for (int i = 0; i < USERS; i++) limiter.recordFailure(userIds[i]);
+    }
+
+    @Benchmark
+    public void check(Worker worker) {
+        int i = worker.next++ & (KEYS - 1);
+        limiter.check(userIds[worker.users[i]], clientKeys[worker.clients[i]]);
+    }
+
+    @Benchmark
+    public void recordFailure(Worker worker) {
+        limiter.recordFailure(userIds[worker.users[worker.next++ & (KEYS - 1)]]);
+    }
+
+    @Benchmark
+    public boolean rejectedCheck(Worker worker) {
+        int i = worker.next++ & (KEYS - 1);
+        try {
+            saturated.check(userIds[worker.users[i]], clientKeys[worker.clients[i]]);
+            return true;
+        } catch (TooManyLoginAttemptsException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryProjectStore;
+import com.builderportfolio.dao.OffHeapProjectStore;
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap footprint, full-GC pause, lookup and scan cost of 1M projects in the
+ * {@code ConcurrentHashMap} store and in the {@link OffHeapProjectStore}.
+ * <p>
+ * Set-up prints the heap still in use after a full GC and the off-heap bytes
+ * reserved; {@code fullGc} times one {@code System.gc()} with the store
+ * loaded, which grows with the number of live objects to trace. The scan
+ * counts in-progress projects the cheapest way each store offers: its
+ * projects for the map, the {@link com.builderportfolio.dao.ProjectRecord}
+ * flyweight for the off-heap store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-XX:MaxDirectMemorySize=2g"})
+@State(Scope.Benchmark)
+public class OffHeapStoreBenchmark {
+
+    private static final int PROJECTS = 1_000_000;
+    private static final int CLIENTS = 10_000;
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    @Param({"memory", "offheap"})
+    public String store;
+
+    private ProjectStore projectStore;
+    private long firstId;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        projectStore = store.equals("offheap") ? new OffHeapProjectStore() : new InMemoryProjectStore();
+        Status[] statuses = Status.values();
+        Client[] clients = new Client[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = new Client("Client " + i, "client" + i + "@bench.io", "0771234567");
+        }
+        SplittableRandom setup = new SplittableRandom(7);
+        for (int i = 0; i < PROJECTS; i++) {
+            LocalDate start = BASE.plusDays(setup.nextInt(3 * 365));
+            Project project = new Project("Project " + i, "Benchmark project " + i, start, start.plusDays(setup.nextInt(366)),
+                    clients[setup.nextInt(CLIENTS)], statuses[setup.nextInt(statuses.length)],
+                    "B" + (i % 1_000), "P" + (i % 100));
+            if (i == 0) firstId = project.getProjectId();
+            projectStore.saveProject(project);
+        }
+        System.gc();
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long offHeap = projectStore instanceof OffHeapProjectStore ? ((OffHeapProjectStore) projectStore).offHeapBytes() : 0;
+        System.out.printf("%n[%s] heap used after GC: %d MB, off-heap reserved: %d MB%n",
+                store, heap >> 20, offHeap >> 20);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public void fullGc() {
+        System.gc();
+    }
+
+    @Benchmark
+    public Project getById() {
+        return projectStore.getProjectById(firstId + random.nextInt(PROJECTS));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int scanInProgress() {
+        int[] count = new int[1];
+        if (projectStore instanceof OffHeapProjectStore) {
+            ((OffHeapProjectStore) projectStore).forEachRecord(record -> {
+                if (record.getStatus() == Status.IN_PROGRESS) count[0]++;
+            });
+        } else {
+            projectStore.forEach(project -> {
+                if (project.getStatus() == Status.IN_PROGRESS) count[0]++;
+            });
+        }
+        return count[0];
+    }
+}
@@ -0,0 +1,64 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.service.ProjectPage;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.ProjectSpec;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing one manager's 50k projects in full against reading a single
+ * 20-project page, from the start and from the middle of the list.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation per call as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PaginationBenchmark {
+
+    private static final int PROJECTS = 50_000;
+    private static final int PAGE_SIZE = 20;
+
+    private ProjectService projectService;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        projectService = new ProjectService(new InMemoryStorageEngine());
+        Client client = new Client("Client", "client@bench.io", "9999999999");
+        List<ProjectSpec> specs = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            specs.add(new ProjectSpec("Project" + i, "Benchmark project", LocalDate.of(2025, 1, 1),
+                    LocalDate.of(2025, 12, 31), client, Status.UPCOMING, "B1", "P1"));
+        }
+        projectService.createProjects(specs);
+        ProjectPage half = projectService.getManagerProjects("P1", PROJECTS / 2, null);
+        middleCursor = half.getNextCursor();
+    }
+
+    @Benchmark
+    public int fullList() {
+        return projectService.getManagerProjects("P1").size();
+    }
+
+    @Benchmark
+    public int firstPage() {
+        return projectService.getManagerProjects("P1", PAGE_SIZE, null).getProjects().size();
+    }
+
+    @Benchmark
+    public int middlePage() {
+        return projectService.getManagerProjects("P1", PAGE_SIZE, middleCursor).getProjects().size();
+    }
+}
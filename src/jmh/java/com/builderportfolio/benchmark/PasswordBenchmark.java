@@ -0,0 +1,67 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.model.User;
+import com.builderportfolio.security.PasswordHasher;
+import com.builderportfolio.security.PasswordVerifier;
+import com.builderportfolio.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Logins/sec per core at the password work factor.
+ * <p>
+ * {@code verify} checks a password against its PBKDF2 hash on the benchmark
+ * thread; {@code login} goes through {@link UserService} with a one-thread
+ * {@link PasswordVerifier}, so the difference is the cost of the store lookup
+ * and the hand-off to the pool. Both run on one thread, i.e. one core: a
+ * server with a verifier of {@code n} threads logs in at most {@code n} times
+ * this rate. Compare work factors with e.g. {@code -p iterations=310000,600000}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    @Param({"600000"})
+    public int iterations;
+
+    private PasswordHasher hasher;
+    private PasswordVerifier verifier;
+    private UserService userService;
+    private String passwordHash;
+    private String userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getLogger(UserService.class.getName()).setLevel(java.util.logging.Level.OFF);
+        hasher = new PasswordHasher(iterations);
+        verifier = new PasswordVerifier(hasher, 1, 16);
+        userService = new UserService(new InMemoryStorageEngine(), verifier);
+        User user = BenchmarkData.user("User", 0, 1);
+        userService.registrationService(user, 1);
+        userId = user.getUserId();
+        passwordHash = user.getPassword();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        verifier.close();
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hasher.verify(passwordHash, BenchmarkData.PASSWORD);
+    }
+
+    @Benchmark
+    public User login() {
+        return userService.loginService(userId, BenchmarkData.PASSWORD);
+    }
+}
@@ -0,0 +1,94 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryProjectStore;
+import com.builderportfolio.dao.OffHeapProjectStore;
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.query.PortfolioQuery;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portfolio-wide reports over 5M projects on a fork/join pool of 1 to 16
+ * workers, against the single-threaded {@link ProjectStore#forEach} scan they
+ * replace. Time per report should fall close to linearly with the pool's
+ * parallelism up to the number of cores the machine has.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g", "-XX:MaxDirectMemorySize=4g"})
+@State(Scope.Benchmark)
+public class PortfolioQueryBenchmark {
+
+    private static final int PROJECTS = 5_000_000;
+    private static final int CLIENTS = 10_000;
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Param({"memory", "offheap"})
+    public String store;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private ProjectStore projectStore;
+    private ForkJoinPool pool;
+    private PortfolioQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        projectStore = store.equals("offheap") ? new OffHeapProjectStore() : new InMemoryProjectStore();
+        Status[] statuses = Status.values();
+        Client[] clients = new Client[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = new Client("Client " + i, "client" + i + "@bench.io", "0771234567");
+        }
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < PROJECTS; i++) {
+            LocalDate start = BASE.plusDays(random.nextInt(2 * 365));
+            projectStore.saveProject(new Project("Project " + i, "Benchmark project", start,
+                    start.plusDays(random.nextInt(366)), clients[random.nextInt(CLIENTS)],
+                    statuses[random.nextInt(statuses.length)], "B" + (i % 10_000), "P" + (i % 1_000)));
+        }
+        pool = new ForkJoinPool(parallelism);
+        query = new PortfolioQuery(projectStore, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, Long> projectsPerBuilder() {
+        return query.projectsPerBuilder();
+    }
+
+    @Benchmark
+    public Map<String, Long> overdueByManager() {
+        return query.overdueByManager(TODAY);
+    }
+
+    @Benchmark
+    public Map<Status, Long> endingInQuarterByStatus() {
+        return query.endingInQuarterByStatus(TODAY);
+    }
+
+    /** The single-threaded scan, which ignores the parallelism parameter. */
+    @Benchmark
+    public Map<String, Long> projectsPerBuilder_forEach() {
+        Map<String, Long> counts = new HashMap<>();
+        projectStore.forEach(project -> counts.merge(project.getBuilderId(), 1L, Long::sum));
+        return counts;
+    }
+}
@@ -0,0 +1,96 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.dao.wal.WalStorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.service.ProjectBatchResult;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.ProjectSpec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Importing 100k projects through {@link ProjectService#createProject} one call
+ * at a time versus one {@link ProjectService#createProjects} batch, on the
+ * in-memory engine and on the write-ahead-logged engine.
+ * <p>
+ * Each invocation starts from an empty engine, so the score is the time to
+ * import the whole portfolio.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ProjectBatchBenchmark {
+
+    private static final int PROJECTS = 100_000;
+    private static final int BUILDERS = 500;
+    private static final int MANAGERS = 50;
+
+    @Param({"memory", "wal"})
+    public String engine;
+
+    private List<ProjectSpec> specs;
+    private Path directory;
+    private StorageEngine storage;
+    private ProjectService service;
+
+    @Setup(Level.Trial)
+    public void createSpecs() {
+        specs = new ArrayList<>(PROJECTS);
+        Client client = new Client("Client", "client@bench.io", "9999999999");
+        for (int i = 0; i < PROJECTS; i++) {
+            specs.add(new ProjectSpec("Project" + i, "Imported project", LocalDate.of(2025, 1, 1),
+                    LocalDate.of(2025, 12, 31), client, Status.UPCOMING, "B" + (i % BUILDERS), "P" + (i % MANAGERS)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void openEngine() throws IOException {
+        if (engine.equals("wal")) {
+            directory = Files.createTempDirectory("batch-bench");
+            storage = WalStorageEngine.open(new InMemoryStorageEngine(), directory, 512, 5, false);
+        } else {
+            storage = new InMemoryStorageEngine();
+        }
+        service = new ProjectService(storage);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeEngine() throws IOException {
+        storage.close();
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+            directory = null;
+        }
+    }
+
+    @Benchmark
+    public ProjectService createProject_loop() {
+        for (ProjectSpec spec : specs) {
+            service.createProject(spec.getProjectName(), spec.getDescription(), spec.getStartDate(),
+                    spec.getEndDate(), spec.getClient(), spec.getStatus(), spec.getBuilderId(), spec.getManagerId());
+        }
+        return service;
+    }
+
+    @Benchmark
+    public ProjectBatchResult createProjects_batch() {
+        return service.createProjects(specs);
+    }
+}
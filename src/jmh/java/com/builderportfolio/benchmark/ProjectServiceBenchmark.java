@@ -0,0 +1,99 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.service.ProjectService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link ProjectService} calls the menus make most, on the in-memory and
+ * the off-heap engine holding 10k to 1M projects from {@link BenchmarkData}.
+ * <p>
+ * Listing benchmarks read a random manager's or builder's projects: with
+ * 100 managers and 1,000 builders, each holds 1% and 0.1% of the portfolio.
+ * {@code updateProjectStatus} flips a random project between upcoming and in
+ * progress as its builder. {@code createDeleteProject} creates a project for
+ * a manager of the calling thread's own, lists that manager's single project
+ * to find its ID and deletes it, so the store keeps its size. Vary the
+ * thread count with JMH's {@code -t} option, e.g. {@code -t 1} and
+ * {@code -t 8}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=2g"})
+@State(Scope.Benchmark)
+public class ProjectServiceBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+    private static final Client CLIENT = new Client("Client", "client@bench.io", "0771234567");
+
+    @Param({"memory", "offheap"})
+    public String engine;
+
+    @Param({"10000", "100000", "1000000"})
+    public int projectCount;
+
+    private StorageEngine storageEngine;
+    private ProjectService projectService;
+    private long[] projectIds;
+
+    @State(Scope.Thread)
+    public static class Worker {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        SplittableRandom random;
+        String managerId;
+        String builderId;
+
+        @Setup
+        public void setUp() {
+            int n = NEXT.getAndIncrement();
+            random = new SplittableRandom(BenchmarkData.SEED + n);
+            managerId = "PMT" + n;
+            builderId = BenchmarkData.builderId(n);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        storageEngine = BenchmarkData.engine(engine);
+        projectIds = BenchmarkData.populate(storageEngine, projectCount);
+        projectService = new ProjectService(storageEngine);
+    }
+
+    @Benchmark
+    public List<Project> getManagerProjects(Worker worker) {
+        return projectService.getManagerProjects(BenchmarkData.managerId(worker.random.nextInt(BenchmarkData.MANAGERS)));
+    }
+
+    @Benchmark
+    public List<Project> getBuilderProjects(Worker worker) {
+        return projectService.getBuilderProjects(BenchmarkData.builderId(worker.random.nextInt(BenchmarkData.BUILDERS)));
+    }
+
+    @Benchmark
+    public boolean updateProjectStatus(Worker worker) {
+        int i = worker.random.nextInt(projectCount);
+        Status current = storageEngine.projectStore().getProjectById(projectIds[i]).getStatus();
+        Status next = current == Status.UPCOMING ? Status.IN_PROGRESS : Status.UPCOMING;
+        return projectService.updateProjectStatus(BenchmarkData.builderId(i), projectIds[i], next);
+    }
+
+    @Benchmark
+    public boolean createDeleteProject(Worker worker) {
+        projectService.createProject("Project", "Benchmark project", START, END, CLIENT, Status.UPCOMING,
+                worker.builderId, worker.managerId);
+        long projectId = projectService.getManagerProjects(worker.managerId).get(0).getProjectId();
+        return projectService.deleteProject(worker.managerId, projectId);
+    }
+}
@@ -0,0 +1,84 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.service.ProjectService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Create-then-delete throughput from 32 threads, through the atomic
+ * {@link com.builderportfolio.dao.StorageEngine#createProject} and
+ * {@link com.builderportfolio.dao.StorageEngine#deleteProject} used by
+ * {@link ProjectService}, against the same store calls made one by one
+ * without the project locks.
+ * <p>
+ * Each thread works for one of 8 managers and 16 builders, so threads share
+ * assignment sets as they would in the application.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class ProjectTransactionBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+    private static final Client CLIENT = new Client("Client", "client@bench.io", "9999999999");
+
+    private InMemoryStorageEngine engine;
+    private ProjectService projectService;
+
+    @State(Scope.Thread)
+    public static class Worker {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        String managerId;
+        String builderId;
+
+        @Setup
+        public void setUp() {
+            int n = NEXT.getAndIncrement();
+            managerId = "P" + (n % 8);
+            builderId = "B" + (n % 16);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new InMemoryStorageEngine();
+        projectService = new ProjectService(engine);
+    }
+
+    @Benchmark
+    public boolean createDelete_atomic(Worker worker) {
+        Project project = new Project("Project", "Benchmark project", START, END, CLIENT, Status.UPCOMING,
+                worker.builderId, worker.managerId);
+        engine.createProject(project);
+        return projectService.deleteProject(worker.managerId, project.getProjectId());
+    }
+
+    @Benchmark
+    public boolean createDelete_unlocked(Worker worker) {
+        Project project = new Project("Project", "Benchmark project", START, END, CLIENT, Status.UPCOMING,
+                worker.builderId, worker.managerId);
+        long projectId = project.getProjectId();
+        engine.projectStore().saveProject(project);
+        engine.assignmentStore().addProjectToManager(worker.managerId, projectId);
+        engine.assignmentStore().addProjectToBuilder(worker.builderId, projectId);
+
+        Project stored = engine.projectStore().getProjectById(projectId);
+        if (stored == null || !worker.managerId.equals(stored.getProjectManagerId())) return false;
+        engine.projectStore().removeProject(projectId);
+        engine.assignmentStore().removeProjectFromManager(worker.managerId, projectId);
+        engine.assignmentStore().removeProjectFromBuilder(worker.builderId, projectId);
+        return true;
+    }
+}
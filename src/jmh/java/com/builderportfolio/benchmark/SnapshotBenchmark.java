@@ -0,0 +1,90 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.wal.SnapshotLoader;
+import com.builderportfolio.dao.wal.SnapshotWriter;
+import com.builderportfolio.dao.wal.WalStorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup cost of {@link WalStorageEngine}: loading a memory-mapped snapshot
+ * versus replaying the full write-ahead log holding the same data.
+ * <p>
+ * Each invocation rebuilds the stores from disk into a fresh engine, so the
+ * score is the time until the data is usable.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    private static final int BUILDERS = 1_000;
+    private static final int MANAGERS = 100;
+    private static final Status[] STATUSES = Status.values();
+
+    @Param({"100000", "1000000"})
+    public int projects;
+
+    private Path logDirectory;
+    private Path snapshotFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logDirectory = Files.createTempDirectory("snapshot-bench-log");
+        snapshotFile = Files.createTempDirectory("snapshot-bench").resolve("snapshot.bin");
+
+        InMemoryStorageEngine source = new InMemoryStorageEngine();
+        WalStorageEngine engine = WalStorageEngine.open(source, logDirectory, 4096, 5, false);
+        for (int i = 0; i < projects; i++) {
+            String builderId = "B" + (i % BUILDERS);
+            String managerId = "P" + (i % MANAGERS);
+            Client client = new Client("Client" + (i % 5_000), "client" + (i % 5_000) + "@bench.io", "9999999999");
+            Project project = new Project("Project" + i, "Benchmark project " + i, LocalDate.of(2025, 1, 1),
+                    LocalDate.of(2025, 12, 31), client, STATUSES[i % STATUSES.length], builderId, managerId);
+            engine.projectStore().saveProject(project);
+            engine.assignmentStore().addProjectToBuilder(builderId, project.getProjectId());
+            engine.assignmentStore().addProjectToManager(managerId, project.getProjectId());
+        }
+        engine.close();
+        SnapshotWriter.capture(source).writeTo(snapshotFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(logDirectory);
+        delete(snapshotFile.getParent());
+    }
+
+    @Benchmark
+    public int loadSnapshot() throws IOException {
+        return SnapshotLoader.load(snapshotFile, new InMemoryStorageEngine());
+    }
+
+    @Benchmark
+    public long replayLog() throws IOException {
+        WalStorageEngine engine = WalStorageEngine.open(new InMemoryStorageEngine(), logDirectory, 4096, 5, false);
+        long replayed = engine.log().replayedRecords();
+        engine.close();
+        return replayed;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
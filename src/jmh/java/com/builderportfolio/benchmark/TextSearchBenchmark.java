@@ -0,0 +1,80 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.service.ProjectService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranked full-text search over 1M projects through {@link ProjectService#searchProjects}.
+ * <p>
+ * Names, descriptions and client names are drawn from a vocabulary of 20k
+ * made-up words, so a single word matches a few hundred projects. The queries
+ * cover one whole word, two words, a three-letter prefix and a word shared by
+ * every project.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TextSearchBenchmark {
+
+    private static final int PROJECTS = 1_000_000;
+    private static final int WORDS = 20_000;
+    private static final String[] SYLLABLES = {"ka", "ri", "mo", "te", "lu", "sa", "no", "vi", "de", "po",
+            "ga", "ze", "fi", "ro", "bu", "ne", "xa", "qu", "hi", "ty"};
+
+    @Param({"word", "two words", "prefix", "common word"})
+    public String query;
+
+    private ProjectService projectService;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] vocabulary = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            vocabulary[i] = word(i);
+        }
+        InMemoryStorageEngine engine = new InMemoryStorageEngine();
+        projectService = new ProjectService(engine);
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < PROJECTS; i++) {
+            String name = vocabulary[random.nextInt(WORDS)] + " " + vocabulary[random.nextInt(WORDS)];
+            String description = "Site " + vocabulary[random.nextInt(WORDS)] + " " + vocabulary[random.nextInt(WORDS)]
+                    + " " + vocabulary[random.nextInt(WORDS)];
+            Client client = new Client(vocabulary[random.nextInt(WORDS)] + " Ltd", "client@bench.io", "9999999999");
+            engine.projectStore().saveProject(new Project(name, description, LocalDate.of(2025, 1, 1),
+                    LocalDate.of(2025, 12, 31), client, Status.UPCOMING, "B" + (i % 1_000), "P" + (i % 100)));
+        }
+        text = switch (query) {
+            case "word" -> vocabulary[4242];
+            case "two words" -> vocabulary[4242] + " " + vocabulary[777];
+            case "prefix" -> vocabulary[4242].substring(0, 3);
+            default -> "site";
+        };
+    }
+
+    /** Spells {@code n} in base 20 with two-letter syllables, e.g. "kamote". */
+    private static String word(int n) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append(SYLLABLES[n % SYLLABLES.length]);
+            n /= SYLLABLES.length;
+        } while (n > 0);
+        return word.toString();
+    }
+
+    @Benchmark
+    public int search() {
+        return projectService.searchProjects(text, 20).size();
+    }
+}
@@ -0,0 +1,91 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.User;
+import com.builderportfolio.security.PasswordHasher;
+import com.builderportfolio.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Registration and login through {@link UserService} with 1k to 1M users
+ * already registered.
+ * <p>
+ * Each registration registers a new user and removes it again, so the store
+ * keeps its size. Logins pick a registered user from a seeded generator per
+ * thread. Both hash a password at the configured work factor, which bounds
+ * their throughput; {@link PasswordBenchmark} measures that cost alone. The
+ * users set up beforehand share one precomputed hash. Vary the thread count with JMH's {@code -t} option, e.g.
+ * {@code -t 1} and {@code -t 8}. The service's logger is turned off during
+ * the run so console output is not what gets measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int userCount;
+
+    private StorageEngine engine;
+    private UserService userService;
+    private String[] userIds;
+
+    @State(Scope.Thread)
+    public static class Worker {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        SplittableRandom random;
+        User[] probes;
+        int next;
+
+        @Setup
+        public void setUp() {
+            int n = NEXT.getAndIncrement();
+            random = new SplittableRandom(BenchmarkData.SEED + n);
+            probes = new User[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                probes[i] = BenchmarkData.user("Probe" + n + "x", i, 1 + (i & 1));
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.getLogger(UserService.class.getName()).setLevel(java.util.logging.Level.OFF);
+        engine = new InMemoryStorageEngine();
+        userService = new UserService(engine);
+        userIds = new String[userCount];
+        String passwordHash = new PasswordHasher().hash(BenchmarkData.PASSWORD);
+        for (int i = 0; i < userCount; i++) {
+            User user = BenchmarkData.user("User", i, 1 + (i & 1));
+            user.setPassword(passwordHash);
+            userService.registrationService(user, 1 + (i & 1));
+            userIds[i] = user.getUserId();
+        }
+    }
+
+    @Benchmark
+    public boolean registration(Worker worker) {
+        User user = worker.probes[worker.next++ & (PROBES - 1)];
+        user.setPassword(BenchmarkData.PASSWORD);
+        boolean registered = userService.registrationService(user, user.getRole());
+        engine.userStore().removeUser(user.getUserId());
+        engine.userStore().releaseEmail(user.getUserEmail(), user.getUserId());
+        return registered;
+    }
+
+    @Benchmark
+    public User login(Worker worker) {
+        return userService.loginService(userIds[worker.random.nextInt(userCount)], BenchmarkData.PASSWORD);
+    }
+}
@@ -0,0 +1,106 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.view.util.ValidationUtil;
+import com.builderportfolio.view.util.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ValidationUtil}'s scanners against the regular expressions they
+ * replaced, which compiled their patterns on every call.
+ * <p>
+ * Inputs are seeded import-like values, about one in eight of them invalid.
+ * {@code row} checks the email, phone and password of one user row, through
+ * a reused {@link Validator} for the new code. Run with {@code -prof gc} to
+ * compare allocation as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"regex", "scanner"})
+    public String implementation;
+
+    private String[] emails;
+    private String[] phones;
+    private String[] passwords;
+    private Validator validator;
+    private boolean scanner;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        emails = new String[VALUES];
+        phones = new String[VALUES];
+        passwords = new String[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            boolean invalid = random.nextInt(8) == 0;
+            emails[i] = "user." + i + (invalid ? "@corp" : "@corp-mail.example.com");
+            phones[i] = (invalid ? "98765-" : "98765") + (10_000 + random.nextInt(90_000));
+            passwords[i] = "Passw" + random.nextInt(1_000_000) + (invalid ? "!" : "x");
+        }
+        validator = new Validator();
+        scanner = implementation.equals("scanner");
+    }
+
+    @Benchmark
+    public boolean email() {
+        String email = emails[next++ & (VALUES - 1)];
+        return scanner ? ValidationUtil.isValidEmail(email) : Regex.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean phone() {
+        String phone = phones[next++ & (VALUES - 1)];
+        return scanner ? ValidationUtil.isValidPhone(phone) : Regex.isValidPhone(phone);
+    }
+
+    @Benchmark
+    public boolean password() {
+        String password = passwords[next++ & (VALUES - 1)];
+        return scanner ? ValidationUtil.isValidPassword(password) : Regex.isValidPassword(password);
+    }
+
+    @Benchmark
+    public boolean row() {
+        int i = next++ & (VALUES - 1);
+        if (scanner) {
+            return validator.reset()
+                    .email("email", emails[i], "Invalid email")
+                    .phone("phone", phones[i], "Invalid phone number")
+                    .password("password", passwords[i], ValidationUtil.PASSWORD_RULES)
+                    .isValid();
+        }
+        return Regex.isValidEmail(emails[i]) && Regex.isValidPhone(phones[i]) && Regex.isValidPassword(passwords[i]);
+    }
+
+    /**
+     * The checks as they were before the scanners, as the baseline.
+     */
+    static final class Regex {
+        static boolean isValidEmail(String email) {
+            return Pattern.matches("^[\\w.-]+@[\\w.-]+\\.[A-Za-z]{2,}$", email);
+        }
+
+        static boolean isValidPhone(String phone) {
+            return phone.matches("\\d{10}");
+        }
+
+        static boolean isValidPassword(String password) {
+            if (password.length() < 8) return false;
+            if (!Pattern.compile("[A-Z]").matcher(password).find()) return false;
+            if (!Pattern.compile("[0-9]").matcher(password).find()) return false;
+            return Pattern.compile("[a-zA-Z0-9]*").matcher(password).matches();
+        }
+    }
+}
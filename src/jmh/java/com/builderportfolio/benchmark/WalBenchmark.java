@@ -0,0 +1,114 @@
+package com.builderportfolio.benchmark;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.wal.WalStorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Mutation throughput of {@link WalStorageEngine} with group commit.
+ * <p>
+ * Every operation is one logged mutation (a status update, or an assignment
+ * change alternating between add and remove), so the score is mutations/sec.
+ * {@code sync=false} returns once the record is batched (fsync within 5 ms);
+ * {@code sync=true} waits for the fsync, so throughput depends on fsync
+ * latency and on how many threads share each batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalBenchmark {
+
+    private static final int PROJECT_COUNT = 1024;
+    private static final Status[] STATUSES = Status.values();
+
+    /**
+     * An open engine in a temporary directory, preloaded with projects.
+     */
+    @State(Scope.Benchmark)
+    public static class LogState {
+
+        @Param({"false", "true"})
+        public boolean sync;
+
+        Path directory;
+        WalStorageEngine engine;
+        long[] projectIds = new long[PROJECT_COUNT];
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("wal-bench");
+            engine = WalStorageEngine.open(new InMemoryStorageEngine(), directory, 512, 5, sync);
+
+            Client client = new Client("Client", "client@bench.io", "9999999999");
+            for (int i = 0; i < PROJECT_COUNT; i++) {
+                Project project = new Project("Project" + i, "Benchmark project", LocalDate.of(2025, 1, 1),
+                        LocalDate.of(2025, 12, 31), client, Status.UPCOMING, "B1", "P1");
+                engine.projectStore().saveProject(project);
+                projectIds[i] = project.getProjectId();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            engine.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Per-thread cursor over the preloaded projects.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        boolean assigned;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean statusUpdate_1thread(LogState log, Cursor cursor) {
+        return updateStatus(log, cursor);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean statusUpdate_32threads(LogState log, Cursor cursor) {
+        return updateStatus(log, cursor);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void assignment_1thread(LogState log, Cursor cursor) {
+        long projectId = log.projectIds[cursor.next & (PROJECT_COUNT - 1)];
+        if (cursor.assigned) {
+            log.engine.assignmentStore().removeProjectFromBuilder("B1", projectId);
+            cursor.next++;
+        } else {
+            log.engine.assignmentStore().addProjectToBuilder("B1", projectId);
+        }
+        cursor.assigned = !cursor.assigned;
+    }
+
+    private static boolean updateStatus(LogState log, Cursor cursor) {
+        int i = cursor.next++;
+        long projectId = log.projectIds[i & (PROJECT_COUNT - 1)];
+        Status current = log.engine.projectStore().getProjectById(projectId).getStatus();
+        return log.engine.projectStore().transitionStatus(projectId, current, STATUSES[i % STATUSES.length],
+                "B1", System.currentTimeMillis());
+    }
+}
@@ -1,9 +1,25 @@
 package com.builderportfolio;
 
+import com.builderportfolio.api.ApiServer;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.exporter.ExportFilter;
+import com.builderportfolio.exporter.ExportReport;
+import com.builderportfolio.exporter.PortfolioExporter;
+import com.builderportfolio.importer.BulkImporter;
+import com.builderportfolio.importer.ImportReport;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.security.PasswordHasher;
+import com.builderportfolio.security.PasswordVerifier;
 import com.builderportfolio.view.LoginView;
 import com.builderportfolio.view.MainMenuView;
 import com.builderportfolio.view.RegisterView;
 import com.builderportfolio.view.util.InputUtil;
+import com.builderportfolio.view.util.ServiceFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 
 /**
@@ -17,6 +33,11 @@ import com.builderportfolio.view.util.InputUtil;
  *     <li>Login with existing credentials</li>
  *     <li>Exit the application</li>
  * </ul>
+ * Started with {@code --import users|projects <file> [rejects-file]} it instead
+ * bulk-loads a CSV or JSON-lines file (see {@link BulkImporter}) and exits;
+ * with {@code --export users|projects <file> [filters]} it writes one out
+ * (see {@link PortfolioExporter}) and exits; with {@code --serve [port]} it
+ * serves the HTTP/JSON API (see {@link ApiServer}) until the process is stopped.
  */
 public class Main {
 
@@ -25,16 +46,34 @@ public class Main {
      * <p>
      * This method:
      * <ul>
+     *     <li>Opens the configured storage engine (replaying any durable log)</li>
      *     <li>Displays the main menu</li>
      *     <li>Accepts and validates user input</li>
      *     <li>Redirects users to registration or login views</li>
      *     <li>Handles invalid numeric and non-numeric inputs</li>
+     *     <li>Closes the storage engine on exit so pending writes are flushed</li>
      * </ul>
      *
-     * @param args command-line arguments (not used)
+     * @param args {@code --import ...} or {@code --export ...} for bulk transfer,
+     *             {@code --serve [port]} for the HTTP API, otherwise none
      */
     public static void main(String[] args) {
 
+        StorageEngine storageEngine = ServiceFactory.storageEngine;
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int status = runServer(args, storageEngine);
+            if (status != 0) {
+                storageEngine.close();
+                System.exit(status);
+            }
+            return;
+        }
+        if (args.length > 0 && (args[0].equals("--import") || args[0].equals("--export"))) {
+            int status = args[0].equals("--import") ? runImport(args, storageEngine) : runExport(args, storageEngine);
+            storageEngine.close();
+            if (status != 0) System.exit(status);
+            return;
+        }
         MainMenuView mainMenu = new MainMenuView();
 
         while (true) {
@@ -59,9 +98,129 @@ public class Main {
                 case 2 -> new LoginView().loginMenu();
                 case 3 -> {
                     System.out.println("Exiting... Come Back Soon!!");
+                    storageEngine.close();
                     return;
                 }
             }
         }
     }
+
+    /**
+     * Starts the HTTP API over the shared services. The server's threads keep
+     * the process running; on shutdown the server stops and the storage engine
+     * is closed so pending writes are flushed.
+     *
+     * @param args          {@code --serve [port]}, port 8080 by default
+     * @param storageEngine engine behind the services
+     * @return process exit status; 0 once the server is running
+     */
+    private static int runServer(String[] args, StorageEngine storageEngine) {
+        if (args.length > 2) {
+            System.out.println("Usage: --serve [port]");
+            return 2;
+        }
+        try {
+            int port = args.length == 2 ? Integer.parseInt(args[1]) : 8080;
+            ApiServer server = new ApiServer(ServiceFactory.userService, ServiceFactory.projectService,
+                    ServiceFactory.sessionStore, new InetSocketAddress(port));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                storageEngine.close();
+            }));
+            server.start();
+            System.out.println("Serving the API on http://localhost:" + server.port() + "/api");
+            return 0;
+        } catch (NumberFormatException e) {
+            System.out.println("Usage: --serve [port]");
+            return 2;
+        } catch (IOException e) {
+            System.out.println("Server failed to start: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs a bulk import and prints its throughput.
+     * <p>
+     * Worker count defaults to the number of processors and can be set with the
+     * {@link BulkImporter#THREADS_PROPERTY} system property. Passwords are hashed
+     * on a pool of their own with one thread per worker, at the work factor given
+     * by {@link BulkImporter#PASSWORD_ITERATIONS_PROPERTY} if set. Rejected rows go
+     * to {@code <file>.rejected} unless another path is given.
+     *
+     * @param args          {@code --import users|projects <file> [rejects-file]}
+     * @param storageEngine engine the rows are stored in
+     * @return process exit status
+     */
+    private static int runImport(String[] args, StorageEngine storageEngine) {
+        if (args.length < 3 || args.length > 4 || !(args[1].equals("users") || args[1].equals("projects"))) {
+            System.out.println("Usage: --import users|projects <file> [rejects-file]");
+            return 2;
+        }
+        Path file = Paths.get(args[2]);
+        Path rejects = args.length == 4 ? Paths.get(args[3]) : Paths.get(args[2] + ".rejected");
+        int threads = Integer.getInteger(BulkImporter.THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+        Integer iterations = Integer.getInteger(BulkImporter.PASSWORD_ITERATIONS_PROPERTY);
+        PasswordHasher hasher = iterations == null ? new PasswordHasher() : new PasswordHasher(iterations);
+        try (PasswordVerifier passwordVerifier = new PasswordVerifier(hasher, threads, threads)) {
+            BulkImporter importer = new BulkImporter(storageEngine, threads, BulkImporter.DEFAULT_BATCH_SIZE,
+                    passwordVerifier);
+            ImportReport report = args[1].equals("users")
+                    ? importer.importUsers(file, rejects)
+                    : importer.importProjects(file, rejects);
+            System.out.println("Imported " + args[1] + ": " + report);
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Import failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs an export and prints its throughput.
+     * <p>
+     * Project exports accept {@code --manager <id>}, {@code --builder <id>} and
+     * {@code --status <status>} filters after the file name.
+     *
+     * @param args          {@code --export users|projects <file> [filters]}
+     * @param storageEngine engine whose data is exported
+     * @return process exit status
+     */
+    private static int runExport(String[] args, StorageEngine storageEngine) {
+        String usage = "Usage: --export users|projects <file> [--manager <id>] [--builder <id>] [--status <status>]";
+        if (args.length < 3 || !(args[1].equals("users") || args[1].equals("projects"))) {
+            System.out.println(usage);
+            return 2;
+        }
+        ExportFilter filter = ExportFilter.all();
+        try {
+            for (int i = 3; i < args.length; i += 2) {
+                if (i + 1 >= args.length || args[1].equals("users")) {
+                    System.out.println(usage);
+                    return 2;
+                }
+                switch (args[i]) {
+                    case "--manager" -> filter = filter.withManager(args[i + 1]);
+                    case "--builder" -> filter = filter.withBuilder(args[i + 1]);
+                    case "--status" -> filter = filter.withStatus(Status.valueOf(args[i + 1].toUpperCase()));
+                    default -> {
+                        System.out.println(usage);
+                        return 2;
+                    }
+                }
+            }
+
+            PortfolioExporter exporter = new PortfolioExporter(storageEngine);
+            Path file = Paths.get(args[2]);
+            ExportReport report = args[1].equals("users")
+                    ? exporter.exportUsers(file)
+                    : exporter.exportProjects(file, filter);
+            System.out.println("Exported " + args[1] + ": " + report);
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Export failed: " + e.getMessage());
+            return 1;
+        }
+    }
 }
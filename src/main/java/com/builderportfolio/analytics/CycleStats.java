@@ -0,0 +1,58 @@
+package com.builderportfolio.analytics;
+
+import java.time.Duration;
+
+/**
+ * Rolling cycle-time and throughput aggregates for one group of projects:
+ * the whole portfolio, one builder or one manager.
+ * <p>
+ * Every figure is kept up to date as projects complete, so reading it costs
+ * the same however many projects the group has.
+ * </p>
+ */
+public class CycleStats {
+
+    private final DurationSketch leadTime = new DurationSketch();
+    private final DurationSketch inProgressTime = new DurationSketch();
+    private final WeeklyCounts completions = new WeeklyCounts();
+
+    /**
+     * @return time from creation, or the first recorded transition, to completion
+     * of each completed project
+     */
+    public DurationSketch leadTime() {
+        return leadTime;
+    }
+
+    /** @return total time each completed project spent in progress */
+    public DurationSketch inProgressTime() {
+        return inProgressTime;
+    }
+
+    /** @return completions per week */
+    public WeeklyCounts completions() {
+        return completions;
+    }
+
+    /** @return number of completed projects */
+    public long completed() {
+        return leadTime.count();
+    }
+
+    /**
+     * Adds the figures of another group to this one.
+     *
+     * @param other group to merge in; unchanged
+     */
+    public void merge(CycleStats other) {
+        leadTime.merge(other.leadTime);
+        inProgressTime.merge(other.inProgressTime);
+        completions.merge(other.completions);
+    }
+
+    void recordCompletion(long leadMillis, long inProgressMillis, long completedAtMillis) {
+        leadTime.record(Duration.ofMillis(leadMillis));
+        inProgressTime.record(Duration.ofMillis(inProgressMillis));
+        completions.record(completedAtMillis);
+    }
+}
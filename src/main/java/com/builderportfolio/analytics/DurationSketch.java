@@ -0,0 +1,106 @@
+package com.builderportfolio.analytics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mergeable histogram of durations with a bounded relative error.
+ * <p>
+ * Durations are kept in whole seconds in logarithmic buckets, each
+ * 1.05 times wider than the one before, so a percentile is off by
+ * at most about 2.5% of its value. The buckets cover up to about a hundred
+ * years in 460 counters; a sketch takes under 4 KB however many
+ * values it holds, and percentiles are answered by walking that fixed array.
+ * Two sketches are merged by adding their counters.
+ * </p>
+ * <p>
+ * Recording is lock-free. A percentile read while values are being recorded
+ * sees some of them and not others.
+ * </p>
+ */
+public class DurationSketch {
+
+    private static final double GROWTH = 1.05;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    /** Bucket 0 holds zero; bucket {@code i > 0} holds (GROWTH^(i-2), GROWTH^(i-1)] seconds. */
+    private static final int BUCKETS = 460;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalSeconds = new AtomicLong();
+
+    /**
+     * Adds one duration. Negative durations count as zero; durations beyond
+     * the last bucket are counted in it.
+     *
+     * @param duration value to add
+     */
+    public void record(Duration duration) {
+        long seconds = Math.max(0, duration.getSeconds());
+        counts.incrementAndGet(bucket(seconds));
+        totalSeconds.addAndGet(seconds);
+        count.incrementAndGet();
+    }
+
+    /**
+     * Adds every value of another sketch to this one.
+     *
+     * @param other sketch to merge in; unchanged
+     */
+    public void merge(DurationSketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = other.counts.get(i);
+            if (n != 0) counts.addAndGet(i, n);
+        }
+        totalSeconds.addAndGet(other.totalSeconds.get());
+        count.addAndGet(other.count.get());
+    }
+
+    /** @return number of recorded durations */
+    public long count() {
+        return count.get();
+    }
+
+    /** @return exact mean of the recorded durations, or zero if there are none */
+    public Duration mean() {
+        long n = count.get();
+        return n == 0 ? Duration.ZERO : Duration.ofSeconds(totalSeconds.get() / n);
+    }
+
+    /**
+     * Estimates a percentile.
+     *
+     * @param quantile fraction of values at or below the result, from 0 to 1
+     * @return the estimated duration, or zero if nothing was recorded
+     * @throws IllegalArgumentException if the quantile is outside 0 to 1
+     */
+    public Duration percentile(double quantile) {
+        if (quantile < 0 || quantile > 1) throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        long n = count.get();
+        if (n == 0) return Duration.ZERO;
+        long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Duration.ofSeconds(value(i));
+        }
+        return Duration.ofSeconds(value(BUCKETS - 1));
+    }
+
+    private static int bucket(long seconds) {
+        if (seconds == 0) return 0;
+        int bucket = (int) Math.ceil(Math.log(seconds) / LOG_GROWTH) + 1;
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * Estimate for a bucket, placed so the relative error is the same at
+     * either edge.
+     */
+    private static long value(int bucket) {
+        if (bucket == 0) return 0;
+        double upper = Math.pow(GROWTH, bucket - 1);
+        return Math.round(upper * 2 / (1 + GROWTH));
+    }
+}
@@ -0,0 +1,175 @@
+package com.builderportfolio.analytics;
+
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incremental cycle-time and throughput analytics over project status changes.
+ * <p>
+ * The analytics are fed every creation, status transition and deletion, and
+ * keep a small clock for each project not yet completed: when it was created
+ * and how long it has spent in progress. When a project completes, its lead
+ * time (creation to completion), its total time in progress and its
+ * completion week are added to the {@link CycleStats} of the whole portfolio,
+ * of its builder and of its manager, and its clock is dropped. Dashboard
+ * queries read those aggregates directly and never rescan projects.
+ * </p>
+ * <p>
+ * Events for one project must arrive in the order they happened;
+ * {@code ProjectService} reports them while holding the project's lock.
+ * Events for different projects may arrive concurrently.
+ * </p>
+ */
+public class ProjectAnalytics {
+
+    /**
+     * Open clock of a project that has not completed yet.
+     */
+    private static final class ProjectClock {
+        final long createdAt;
+        long inProgressSince = -1;
+        long inProgressMillis;
+
+        ProjectClock(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final CycleStats overall = new CycleStats();
+
+    /**
+     * Clocks of the projects not completed yet.
+     * Key   → Project ID
+     * Value → the project's clock
+     */
+    private final Map<Long, ProjectClock> clocks = new ConcurrentHashMap<>();
+
+    /**
+     * Aggregates per builder.
+     * Key   → Builder ID
+     * Value → figures of the builder's completed projects
+     */
+    private final Map<String, CycleStats> byBuilder = new ConcurrentHashMap<>();
+
+    /**
+     * Aggregates per manager.
+     * Key   → Project Manager ID
+     * Value → figures of the manager's completed projects
+     */
+    private final Map<String, CycleStats> byManager = new ConcurrentHashMap<>();
+
+    /**
+     * Builds analytics from the status history already recorded in a store,
+     * e.g. after a restart. Creation times are not recorded, so the lead time
+     * of a project created before the rebuild runs from its first recorded
+     * transition. Deleted projects count towards the portfolio only.
+     *
+     * @param store store whose {@link ProjectStore#statusHistory() history} is replayed
+     * @return analytics reflecting every recorded transition
+     */
+    public static ProjectAnalytics fromHistory(ProjectStore store) {
+        ProjectAnalytics analytics = new ProjectAnalytics();
+        store.statusHistory().forEach((projectId, timestamp, actorId, from, to) -> {
+            Project project = store.getProjectById(projectId);
+            analytics.transitioned(projectId, project == null ? null : project.getBuilderId(),
+                    project == null ? null : project.getProjectManagerId(), from, to, timestamp);
+        });
+        return analytics;
+    }
+
+    /**
+     * Starts the clock of a new project, unless a transition reported
+     * between storing the project and this call has already started it.
+     *
+     * @param projectId       ID of the project
+     * @param status          its initial status
+     * @param timestampMillis time of creation, in milliseconds since the epoch
+     */
+    public void created(long projectId, Status status, long timestampMillis) {
+        if (status == Status.COMPLETED) return;
+        ProjectClock clock = new ProjectClock(timestampMillis);
+        if (status == Status.IN_PROGRESS) clock.inProgressSince = timestampMillis;
+        clocks.putIfAbsent(projectId, clock);
+    }
+
+    /**
+     * Applies one status transition.
+     *
+     * @param projectId       ID of the project
+     * @param builderId       its builder, or null if unknown
+     * @param managerId       its manager, or null if unknown
+     * @param from            status before the change
+     * @param to              status after the change
+     * @param timestampMillis time of the change, in milliseconds since the epoch
+     */
+    public void transitioned(long projectId, String builderId, String managerId, Status from, Status to, long timestampMillis) {
+        ProjectClock clock = clocks.computeIfAbsent(projectId, id -> {
+            ProjectClock started = new ProjectClock(timestampMillis);
+            if (from == Status.IN_PROGRESS) started.inProgressSince = timestampMillis;
+            return started;
+        });
+        synchronized (clock) {
+            if (from == Status.IN_PROGRESS && clock.inProgressSince >= 0) {
+                clock.inProgressMillis += timestampMillis - clock.inProgressSince;
+                clock.inProgressSince = -1;
+            }
+            if (to == Status.IN_PROGRESS) {
+                clock.inProgressSince = timestampMillis;
+            }
+        }
+        if (to == Status.COMPLETED) {
+            clocks.remove(projectId);
+            long lead = timestampMillis - clock.createdAt;
+            overall.recordCompletion(lead, clock.inProgressMillis, timestampMillis);
+            if (builderId != null) {
+                byBuilder.computeIfAbsent(builderId, k -> new CycleStats())
+                        .recordCompletion(lead, clock.inProgressMillis, timestampMillis);
+            }
+            if (managerId != null) {
+                byManager.computeIfAbsent(managerId, k -> new CycleStats())
+                        .recordCompletion(lead, clock.inProgressMillis, timestampMillis);
+            }
+        }
+    }
+
+    /**
+     * Drops the clock of a deleted project; its completed figures stay.
+     *
+     * @param projectId ID of the project
+     */
+    public void deleted(long projectId) {
+        clocks.remove(projectId);
+    }
+
+    /** @return figures of the whole portfolio */
+    public CycleStats overall() {
+        return overall;
+    }
+
+    /**
+     * @param builderId ID of the builder
+     * @return figures of the builder's completed projects; empty if none completed
+     */
+    public CycleStats forBuilder(String builderId) {
+        CycleStats stats = byBuilder.get(builderId);
+        return stats == null ? new CycleStats() : stats;
+    }
+
+    /**
+     * @param managerId ID of the manager
+     * @return figures of the manager's completed projects; empty if none completed
+     */
+    public CycleStats forManager(String managerId) {
+        CycleStats stats = byManager.get(managerId);
+        return stats == null ? new CycleStats() : stats;
+    }
+
+    /** @return number of projects whose clock is running */
+    public int openProjects() {
+        return clocks.size();
+    }
+}
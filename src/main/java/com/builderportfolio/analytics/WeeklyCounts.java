@@ -0,0 +1,116 @@
+package com.builderportfolio.analytics;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Event counts per calendar week (Monday to Sunday, UTC) over a rolling
+ * window of the most recent {@value #WEEKS} weeks.
+ * <p>
+ * The counts live in a ring of fixed size indexed by week number; a slot is
+ * reset when a newer week reuses it, and events older than the window are
+ * dropped.
+ * </p>
+ */
+public class WeeklyCounts {
+
+    /** Weeks kept. */
+    public static final int WEEKS = 52;
+
+    private final long[] weekOf = new long[WEEKS];
+    private final long[] counts = new long[WEEKS];
+    private long latestWeek = Long.MIN_VALUE;
+
+    /**
+     * Creates an empty window.
+     */
+    public WeeklyCounts() {
+        Arrays.fill(weekOf, Long.MIN_VALUE);
+    }
+
+    /**
+     * Counts one event.
+     *
+     * @param timestampMillis time of the event, in milliseconds since the epoch
+     */
+    public synchronized void record(long timestampMillis) {
+        add(week(timestampMillis), 1);
+    }
+
+    /**
+     * Adds the counts of another window to this one.
+     *
+     * @param other window to merge in; unchanged
+     */
+    public void merge(WeeklyCounts other) {
+        long[] otherWeeks;
+        long[] otherCounts;
+        synchronized (other) {
+            otherWeeks = other.weekOf.clone();
+            otherCounts = other.counts.clone();
+        }
+        synchronized (this) {
+            for (int i = 0; i < WEEKS; i++) {
+                if (otherWeeks[i] != Long.MIN_VALUE) add(otherWeeks[i], otherCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the counts of the weeks up to and including the one containing
+     * {@code nowMillis}.
+     *
+     * @param weeks     number of weeks, at most {@link #WEEKS}
+     * @param nowMillis a time in the last week wanted, in milliseconds since the epoch
+     * @return counts oldest week first; zero for weeks with no events or outside the window
+     * @throws IllegalArgumentException if {@code weeks} is not between 1 and {@link #WEEKS}
+     */
+    public synchronized long[] lastWeeks(int weeks, long nowMillis) {
+        if (weeks < 1 || weeks > WEEKS) throw new IllegalArgumentException("Weeks must be between 1 and " + WEEKS);
+        long current = week(nowMillis);
+        long[] result = new long[weeks];
+        for (int i = 0; i < weeks; i++) {
+            long week = current - weeks + 1 + i;
+            int slot = slot(week);
+            if (weekOf[slot] == week) result[i] = counts[slot];
+        }
+        return result;
+    }
+
+    /**
+     * @param week week number as returned by {@link #week}
+     * @return the Monday the week starts on
+     */
+    public static LocalDate weekStart(long week) {
+        return LocalDate.ofEpochDay(week * 7).with(DayOfWeek.MONDAY);
+    }
+
+    /**
+     * @param timestampMillis time in milliseconds since the epoch
+     * @return number of the Monday-to-Sunday UTC week containing it
+     */
+    public static long week(long timestampMillis) {
+        long epochDay = LocalDate.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneOffset.UTC).toEpochDay();
+        // 1970-01-01 was a Thursday, so shifting by three days starts weeks on Monday
+        return Math.floorDiv(epochDay + 3, 7);
+    }
+
+    private void add(long week, long n) {
+        if (latestWeek != Long.MIN_VALUE && week <= latestWeek - WEEKS) return;
+        int slot = slot(week);
+        if (weekOf[slot] != week) {
+            if (weekOf[slot] > week) return;
+            weekOf[slot] = week;
+            counts[slot] = 0;
+        }
+        counts[slot] += n;
+        latestWeek = Math.max(latestWeek, week);
+    }
+
+    private static int slot(long week) {
+        return (int) Math.floorMod(week, (long) WEEKS);
+    }
+}
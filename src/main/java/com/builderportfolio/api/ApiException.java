@@ -0,0 +1,23 @@
+package com.builderportfolio.api;
+
+/**
+ * A request that cannot be served, with the HTTP status to answer it with.
+ */
+class ApiException extends RuntimeException {
+
+    private final int status;
+
+    /**
+     * @param status  HTTP status code
+     * @param message reason returned to the client
+     */
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /** @return the HTTP status code */
+    int status() {
+        return status;
+    }
+}
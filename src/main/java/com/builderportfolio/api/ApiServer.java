@@ -0,0 +1,442 @@
+package com.builderportfolio.api;
+
+import com.builderportfolio.exception.InvalidCredentialsException;
+import com.builderportfolio.exception.ServiceBusyException;
+import com.builderportfolio.exception.TooManyLoginAttemptsException;
+import com.builderportfolio.exception.UserAlreadyExistsException;
+import com.builderportfolio.exception.UserNotFoundException;
+import com.builderportfolio.importer.JsonLinesRowParser;
+import com.builderportfolio.importer.RowParser;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+import com.builderportfolio.service.ProjectBatchResult;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.ProjectSpec;
+import com.builderportfolio.service.UserService;
+import com.builderportfolio.session.Session;
+import com.builderportfolio.session.SessionStore;
+import com.builderportfolio.view.util.InputFields;
+import com.builderportfolio.view.util.Validator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Embedded HTTP/JSON API over {@link UserService} and {@link ProjectService},
+ * served by the JDK's {@link HttpServer}.
+ * <p>
+ * Endpoints, all under {@code /api}:
+ * <ul>
+ *     <li>{@code POST /users} registers a user; body fields as the user import columns</li>
+ *     <li>{@code POST /login} takes {@code userId} and {@code password} and returns a token;
+ *     logins are throttled per user ID and per remote address</li>
+ *     <li>{@code POST /logout} ends the session of the token sent</li>
+ *     <li>{@code GET /projects[?status=...]} lists the caller's projects</li>
+ *     <li>{@code POST /projects} creates a project (managers); body fields as the project import columns</li>
+ *     <li>{@code PATCH /projects/{id}} changes the status (builders), optionally only from {@code expectedStatus}</li>
+ *     <li>{@code DELETE /projects/{id}} deletes a project (managers)</li>
+ * </ul>
+ * Project endpoints need an {@code Authorization: Bearer <token>} header
+ * holding the token of a session in the {@link SessionStore}.
+ * Request bodies are flat JSON objects of at most {@value #MAX_BODY_BYTES}
+ * bytes; larger ones are refused with 413. Errors are answered as
+ * {@code {"error": "..."}} with a 4xx or 5xx status.
+ * <p>
+ * Each request runs on its own virtual thread when the JDK has them (21 and
+ * later), so a request blocked on the log does not hold a platform thread;
+ * on older JDKs requests share a fixed pool of
+ * {@value #THREADS_PROPERTY} threads, four per processor by default.
+ */
+public class ApiServer {
+
+    /**
+     * System property setting the request pool size on JDKs without virtual threads.
+     */
+    public static final String THREADS_PROPERTY = "builderportfolio.http.threads";
+
+    /**
+     * Largest request body accepted, in bytes; far above any valid body.
+     */
+    public static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private static final Logger logger = Logger.getLogger(ApiServer.class.getName());
+    private static final int BACKLOG = 1024;
+    private static final String PROJECTS = "/api/projects";
+    private static final RowParser BODY_PARSER = new JsonLinesRowParser();
+
+    static {
+        // The JDK server sends headers and body in separate writes; with Nagle's
+        // algorithm on, the body then waits for the client's delayed ACK, about
+        // 40 ms per request. Read once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final UserService userService;
+    private final ProjectService projectService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final SessionStore sessions;
+
+    /**
+     * Creates a server on the given address, running requests on
+     * {@link #newRequestExecutor()}. Call {@link #start()} to accept requests.
+     *
+     * @param userService    service for registration and login
+     * @param projectService service for the project endpoints
+     * @param sessions       store the login sessions are kept in
+     * @param address        address to bind; port 0 picks a free port
+     * @throws IOException if the address cannot be bound
+     */
+    public ApiServer(UserService userService, ProjectService projectService, SessionStore sessions,
+                     InetSocketAddress address) throws IOException {
+        this(userService, projectService, sessions, address, newRequestExecutor());
+    }
+
+    /**
+     * Creates a server on the given address, running requests on {@code executor}.
+     *
+     * @param userService    service for registration and login
+     * @param projectService service for the project endpoints
+     * @param sessions       store the login sessions are kept in
+     * @param address        address to bind; port 0 picks a free port
+     * @param executor       runs the requests; shut down by {@link #stop()}
+     * @throws IOException if the address cannot be bound
+     */
+    public ApiServer(UserService userService, ProjectService projectService, SessionStore sessions,
+                     InetSocketAddress address, ExecutorService executor) throws IOException {
+        this.userService = userService;
+        this.projectService = projectService;
+        this.sessions = sessions;
+        this.executor = executor;
+        this.server = HttpServer.create(address, BACKLOG);
+        server.createContext("/api/users", exchange -> serve(exchange, this::register));
+        server.createContext("/api/login", exchange -> serve(exchange, this::login));
+        server.createContext("/api/logout", exchange -> serve(exchange, this::logout));
+        server.createContext(PROJECTS, exchange -> serve(exchange, this::projects));
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Returns an executor running each task on a new virtual thread when the
+     * JDK supports them, otherwise a fixed pool sized by {@value #THREADS_PROPERTY}.
+     *
+     * @return a new executor for requests
+     */
+    public static ExecutorService newRequestExecutor() {
+        try {
+            // Looked up reflectively so the code still compiles for, and runs on, older JDKs
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Integer.getInteger(THREADS_PROPERTY, 4 * Runtime.getRuntime().availableProcessors());
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    /** Starts accepting requests. */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for running ones and
+     * shuts down the request executor.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /** @return the port the server is bound to */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    // ---- Routes ----
+
+    private Reply register(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "POST");
+        Map<String, String> fields = body(exchange);
+        String email = fields.get("email");
+        String phone = fields.get("phone");
+        String password = fields.get("password");
+        InputFields.validateUser(new Validator(), email, phone, password);
+        int experience = InputFields.parseExperience(fields.get("experience"));
+        int role = InputFields.parseRole(fields.get("role"));
+
+        User user = new User(fields.get("name"), email, phone, experience, password, role);
+        userService.registrationService(user, role);
+        StringBuilder json = new StringBuilder("{");
+        Json.field(json, "userId", user.getUserId());
+        Json.field(json, "role", roleName(user));
+        return new Reply(201, json.append('}').toString());
+    }
+
+    private Reply login(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "POST");
+        Map<String, String> fields = body(exchange);
+        String userId = fields.get("userId");
+        String password = fields.get("password");
+        if (userId == null || password == null) throw new IllegalArgumentException("userId and password are required");
+
+        String clientKey = exchange.getRemoteAddress().getAddress().getHostAddress();
+        User user = userService.loginService(userId, password, clientKey);
+        Session session = sessions.open(user);
+
+        StringBuilder json = new StringBuilder("{");
+        Json.field(json, "token", session.getToken());
+        Json.field(json, "userId", user.getUserId());
+        Json.field(json, "name", user.getUserName());
+        Json.field(json, "role", roleName(user));
+        return new Reply(200, json.append('}').toString());
+    }
+
+    private Reply logout(HttpExchange exchange) {
+        requireMethod(exchange, "POST");
+        String token = token(exchange);
+        if (!sessions.invalidate(token)) throw new ApiException(401, "Not logged in");
+        return new Reply(200, "{\"loggedOut\":true}");
+    }
+
+    private Reply projects(HttpExchange exchange) throws IOException {
+        User user = authenticate(exchange);
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if (path.equals(PROJECTS) || path.equals(PROJECTS + "/")) {
+            switch (method) {
+                case "GET":
+                    return listProjects(exchange, user);
+                case "POST":
+                    return createProject(exchange, user);
+                default:
+                    throw new ApiException(405, "Method not allowed");
+            }
+        }
+
+        long projectId;
+        try {
+            projectId = Long.parseLong(path.substring(PROJECTS.length() + 1));
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Not found");
+        }
+        switch (method) {
+            case "PATCH":
+                return updateStatus(exchange, user, projectId);
+            case "DELETE":
+                requireRole(user, 2);
+                if (!projectService.deleteProject(user.getUserId(), projectId))
+                    throw new ApiException(404, "Project not found");
+                return new Reply(200, "{\"projectId\":" + projectId + ",\"deleted\":true}");
+            default:
+                throw new ApiException(405, "Method not allowed");
+        }
+    }
+
+    private Reply listProjects(HttpExchange exchange, User user) {
+        String statusParam = queryParam(exchange, "status");
+        Status status = statusParam == null ? null : InputFields.parseStatus(statusParam);
+        boolean builder = user.getRole() == 1;
+        List<Project> projects;
+        if (status == null) {
+            projects = builder ? projectService.getBuilderProjects(user.getUserId())
+                    : projectService.getManagerProjects(user.getUserId());
+        } else {
+            projects = builder ? projectService.getBuilderProjects(user.getUserId(), status)
+                    : projectService.getManagerProjects(user.getUserId(), status);
+        }
+
+        StringBuilder json = new StringBuilder(64 + 256 * projects.size()).append("{\"projects\":[");
+        for (int i = 0; i < projects.size(); i++) {
+            if (i > 0) json.append(',');
+            Json.project(json, projects.get(i));
+        }
+        return new Reply(200, json.append("]}").toString());
+    }
+
+    private Reply createProject(HttpExchange exchange, User manager) throws IOException {
+        requireRole(manager, 2);
+        Map<String, String> fields = body(exchange);
+        LocalDate startDate = InputFields.parseDate(fields.get("startDate"), "start date");
+        LocalDate endDate = InputFields.parseDate(fields.get("endDate"), "end date");
+        String clientEmail = fields.get("clientEmail");
+        String clientPhone = fields.get("clientPhone");
+        InputFields.validateProject(new Validator(), startDate, endDate, clientEmail, clientPhone);
+        String statusField = fields.get("status");
+        Status status = statusField == null ? Status.UPCOMING : InputFields.parseStatus(statusField);
+        String builderId = fields.get("builderId");
+        if (builderId == null || !isBuilder(builderId))
+            throw new IllegalArgumentException("No builder exists with ID " + builderId);
+
+        ProjectSpec spec = new ProjectSpec(fields.get("name"), fields.getOrDefault("description", ""), startDate,
+                endDate, new Client(fields.get("clientName"), clientEmail, clientPhone), status, builderId,
+                manager.getUserId());
+        ProjectBatchResult result = projectService.createProjects(List.of(spec));
+        if (!result.isComplete()) throw new IllegalArgumentException(result.getFailures().get(0).getReason());
+        return new Reply(201, Json.project(new StringBuilder(256), result.getCreated().get(0)).toString());
+    }
+
+    private Reply updateStatus(HttpExchange exchange, User builder, long projectId) throws IOException {
+        requireRole(builder, 1);
+        Map<String, String> fields = body(exchange);
+        Status status = InputFields.parseStatus(fields.get("status"));
+        String expected = fields.get("expectedStatus");
+        boolean updated = expected == null
+                ? projectService.updateProjectStatus(builder.getUserId(), projectId, status)
+                : projectService.updateProjectStatus(builder.getUserId(), projectId, InputFields.parseStatus(expected), status);
+        if (!updated) throw new ApiException(409, "Invalid project ID or status change.");
+
+        StringBuilder json = new StringBuilder("{\"projectId\":").append(projectId);
+        Json.field(json, "status", status.name());
+        return new Reply(200, json.append('}').toString());
+    }
+
+    // ---- Request handling ----
+
+    /**
+     * Runs a route and writes its reply, turning exceptions into error replies.
+     */
+    private void serve(HttpExchange exchange, Route route) throws IOException {
+        Reply reply;
+        try {
+            reply = route.handle(exchange);
+        } catch (ApiException e) {
+            reply = new Reply(e.status(), Json.error(e.getMessage()));
+        } catch (UserAlreadyExistsException e) {
+            reply = new Reply(409, Json.error(e.getMessage()));
+        } catch (UserNotFoundException | InvalidCredentialsException e) {
+            reply = new Reply(401, Json.error("Invalid user ID or password"));
+        } catch (TooManyLoginAttemptsException e) {
+            reply = new Reply(429, Json.error(e.getMessage()));
+        } catch (ServiceBusyException e) {
+            reply = new Reply(503, Json.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            reply = new Reply(400, Json.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Request failed: " + exchange.getRequestURI(), e);
+            reply = new Reply(500, Json.error("Internal error"));
+        }
+
+        // Every reply has a body: on JDK 17 a body-less reply (length -1) can race
+        // with the next request on the same kept-alive connection and drop it.
+        try {
+            byte[] bytes = reply.body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            // The rest of a refused body is never read, so the connection cannot be reused
+            if (reply.status == 413) exchange.getResponseHeaders().set("Connection", "close");
+            exchange.sendResponseHeaders(reply.status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isBuilder(String userId) {
+        try {
+            return userService.fetchUserDetails(userId).getRole() == 1;
+        } catch (UserNotFoundException e) {
+            return false;
+        }
+    }
+
+    private User authenticate(HttpExchange exchange) {
+        User user = sessions.getUser(token(exchange));
+        if (user == null) throw new ApiException(401, "Not logged in");
+        return user;
+    }
+
+    /** @return the bearer token of the request, or null if there is none */
+    private static String token(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) return null;
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method)) throw new ApiException(405, "Method not allowed");
+    }
+
+    private static void requireRole(User user, int role) {
+        if (user.getRole() != role)
+            throw new ApiException(403, "Only " + (role == 1 ? "builders" : "project managers") + " may do this");
+    }
+
+    /**
+     * Reads and parses the request body, refusing bodies over {@link #MAX_BODY_BYTES}:
+     * up front if the declared length is too large, otherwise once one byte more
+     * than the limit has been read, so a chunked body cannot grow without bound.
+     */
+    private static Map<String, String> body(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null) {
+            try {
+                if (Long.parseLong(length.trim()) > MAX_BODY_BYTES) throw bodyTooLarge();
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid Content-Length");
+            }
+        }
+        byte[] bytes = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) throw bodyTooLarge();
+        String body = new String(bytes, StandardCharsets.UTF_8);
+        if (body.isBlank()) throw new IllegalArgumentException("Request body is required");
+        return BODY_PARSER.parse(body);
+    }
+
+    private static ApiException bodyTooLarge() {
+        return new ApiException(413, "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+    }
+
+    /** @return the decoded value of a query parameter, or null if absent */
+    private static String queryParam(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return null;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            if (URLDecoder.decode(key, StandardCharsets.UTF_8).equals(name)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static String roleName(User user) {
+        return user.getRole() == 1 ? "builder" : "manager";
+    }
+
+    /**
+     * Serves one request, returning the reply to send.
+     */
+    private interface Route {
+        Reply handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * Status and JSON body of a reply.
+     */
+    private static final class Reply {
+        final int status;
+        final String body;
+
+        Reply(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.builderportfolio.api;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+
+/**
+ * Writes the API's JSON responses. Projects use the same field names as the
+ * project import and export columns.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Appends a JSON string, escaping quotes, backslashes and control characters.
+     *
+     * @param out   destination
+     * @param value text to write; null writes {@code null}
+     * @return {@code out}
+     */
+    static StringBuilder string(StringBuilder out, String value) {
+        if (value == null) return out.append("null");
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Appends a {@code "name": "value"} pair, preceded by a comma unless it is
+     * the first field of its object.
+     */
+    static StringBuilder field(StringBuilder out, String name, String value) {
+        if (out.charAt(out.length() - 1) != '{') out.append(',');
+        string(out, name).append(':');
+        return string(out, value);
+    }
+
+    /**
+     * Appends a project as one flat object.
+     *
+     * @param out     destination
+     * @param project project to write
+     * @return {@code out}
+     */
+    static StringBuilder project(StringBuilder out, Project project) {
+        Client client = project.getAssignedClient();
+        out.append("{\"projectId\":").append(project.getProjectId());
+        field(out, "name", project.getProjectName());
+        field(out, "description", project.getProjectDescription());
+        field(out, "startDate", project.getStartDate().toString());
+        field(out, "endDate", project.getEndDate().toString());
+        field(out, "clientName", client == null ? null : client.getClientName());
+        field(out, "clientEmail", client == null ? null : client.getClientEmail());
+        field(out, "clientPhone", client == null ? null : client.getClientPhoneNo());
+        field(out, "status", project.getStatus().name());
+        field(out, "builderId", project.getBuilderId());
+        field(out, "managerId", project.getProjectManagerId());
+        return out.append('}');
+    }
+
+    /**
+     * @param message error message
+     * @return {@code {"error": message}}
+     */
+    static String error(String message) {
+        return field(new StringBuilder("{"), "error", message).append('}').toString();
+    }
+}
@@ -0,0 +1,150 @@
+package com.builderportfolio.dao;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Storage contract for the builder → projects and manager → projects assignments.
+ * <p>
+ * The default implementation is {@link InMemoryAssignmentStore}; other engines
+ * are selected through {@link StorageEngines}.
+ * </p>
+ */
+public interface AssignmentStore {
+
+    /**
+     * Creates an empty project set for a newly registered builder.
+     *
+     * @param builderId ID of the builder
+     */
+    void createBuilder(String builderId);
+
+    /**
+     * Assigns a project to a builder, creating the builder entry if needed.
+     *
+     * @param builderId ID of the builder
+     * @param projectId ID of the project
+     */
+    void addProjectToBuilder(String builderId, long projectId);
+
+    /**
+     * Assigns several projects to a builder at once, creating the builder entry if needed.
+     * Implementations may apply the whole batch with a single update.
+     *
+     * @param builderId  ID of the builder
+     * @param projectIds IDs of the projects
+     */
+    default void addProjectsToBuilder(String builderId, long[] projectIds) {
+        for (long projectId : projectIds) {
+            addProjectToBuilder(builderId, projectId);
+        }
+    }
+
+    /**
+     * @param builderId ID of the builder
+     * @return project IDs assigned to the builder; empty set if none exist
+     */
+    ConcurrentLongSet getBuilderProjectIds(String builderId);
+
+    /**
+     * Copies the builder's smallest project IDs greater than {@code after}
+     * into {@code into}, in ascending order, for reading the set page by page.
+     *
+     * @param builderId ID of the builder
+     * @param after     lower bound, exclusive
+     * @param into      destination; its length is the most IDs copied
+     * @return number of IDs copied
+     */
+    int builderProjectIdsAfter(String builderId, long after, long[] into);
+
+    /**
+     * Removes a project from a builder's set.
+     *
+     * @param builderId ID of the builder
+     * @param projectId ID of the project
+     */
+    void removeProjectFromBuilder(String builderId, long projectId);
+
+    /**
+     * @param builderId ID of the builder
+     * @return true if the builder exists
+     */
+    boolean builderExists(String builderId);
+
+    /**
+     * Creates an empty project set for a newly registered project manager.
+     *
+     * @param managerId ID of the manager
+     */
+    void createProjectManager(String managerId);
+
+    /**
+     * Assigns a project to a manager, creating the manager entry if needed.
+     *
+     * @param managerId ID of the manager
+     * @param projectId ID of the project
+     */
+    void addProjectToManager(String managerId, long projectId);
+
+    /**
+     * Assigns several projects to a manager at once, creating the manager entry if needed.
+     * Implementations may apply the whole batch with a single update.
+     *
+     * @param managerId  ID of the manager
+     * @param projectIds IDs of the projects
+     */
+    default void addProjectsToManager(String managerId, long[] projectIds) {
+        for (long projectId : projectIds) {
+            addProjectToManager(managerId, projectId);
+        }
+    }
+
+    /**
+     * @param managerId ID of the manager
+     * @return project IDs managed by the manager; empty set if none exist
+     */
+    ConcurrentLongSet getManagerProjectIds(String managerId);
+
+    /**
+     * Copies the manager's smallest project IDs greater than {@code after}
+     * into {@code into}, in ascending order, for reading the set page by page.
+     *
+     * @param managerId ID of the manager
+     * @param after     lower bound, exclusive
+     * @param into      destination; its length is the most IDs copied
+     * @return number of IDs copied
+     */
+    int managerProjectIdsAfter(String managerId, long after, long[] into);
+
+    /**
+     * Removes a project from a manager's set.
+     *
+     * @param managerId ID of the manager
+     * @param projectId ID of the project
+     */
+    void removeProjectFromManager(String managerId, long projectId);
+
+    /**
+     * @param managerId ID of the manager
+     * @return true if the manager exists
+     */
+    boolean projectManagerExists(String managerId);
+
+    /**
+     * Visits every builder with its assigned project IDs, without copying the store.
+     *
+     * @param action called once per builder
+     */
+    void forEachBuilder(BiConsumer<String, ConcurrentLongSet> action);
+
+    /**
+     * Visits every manager with its managed project IDs, without copying the store.
+     *
+     * @param action called once per manager
+     */
+    void forEachManager(BiConsumer<String, ConcurrentLongSet> action);
+
+    /**
+     * Removes every builder and manager assignment.
+     */
+    void clear();
+}
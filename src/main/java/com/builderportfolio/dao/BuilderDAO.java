@@ -1,15 +1,11 @@
 package com.builderportfolio.dao;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * DAO class for managing Builder data.
  * <p>
- * This class maintains an in-memory mapping between builder IDs and their assigned project IDs.
+ * Static access point to the builder side of the shared {@link InMemoryAssignmentStore},
+ * which maintains an in-memory mapping between builder IDs and their assigned project IDs.
  * Supports operations for creating builders, adding/removing projects, and querying builder data.
  * Thread-safe collections are used for concurrent access.
  * </p>
@@ -17,11 +13,16 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class BuilderDAO {
 
     /**
-     * In-memory storage for builder data.
-     * Key   → Builder ID (ex: B1)
-     * Value → List of project IDs assigned to that builder
+     * Shared in-memory storage for builder and manager assignments.
      */
-    private static Map<String, List<Long>> builderDatabase = new ConcurrentHashMap<>();
+    private static final InMemoryAssignmentStore store = InMemoryStorageEngine.SHARED_ASSIGNMENTS;
+
+    /**
+     * @return the assignment store behind this DAO, for wiring into services
+     */
+    public static AssignmentStore store() {
+        return store;
+    }
 
     /**
      * Creates a new builder entry when a builder registers.
@@ -30,12 +31,12 @@ public class BuilderDAO {
      * @param builderId ID of the builder to create
      */
     public static void createBuilder(String builderId) {
-        builderDatabase.put(builderId, new ArrayList<>());
+        store.createBuilder(builderId);
     }
 
 
     /**
-     * Adds a project ID to the builder's project list.
+     * Adds a project ID to the builder's project set.
      * If the builder does not exist, a new entry is created automatically.
      *
      * @param builderId ID of the builder
@@ -46,32 +47,27 @@ public class BuilderDAO {
         if (builderId == null) throw new NullPointerException("Builder ID cannot be null");
         if (projectId == null) throw new NullPointerException("Project ID cannot be null");
 
-        builderDatabase
-                .computeIfAbsent(builderId, k -> new ArrayList<>())
-                .add(projectId);
+        store.addProjectToBuilder(builderId, projectId);
     }
 
     /**
      * Returns all project IDs assigned to a builder.
      *
      * @param builderId ID of the builder
-     * @return List of project IDs assigned to the builder; empty list if none exist
+     * @return Set of project IDs assigned to the builder; empty set if none exist
      */
-    public static List<Long> getProjectIds(String builderId) {
-        return builderDatabase.getOrDefault(builderId, new CopyOnWriteArrayList<>());
+    public static ConcurrentLongSet getProjectIds(String builderId) {
+        return store.getBuilderProjectIds(builderId);
     }
 
     /**
-     * Removes a project from a builder's project list when the project is deleted.
+     * Removes a project from a builder's project set when the project is deleted.
      *
      * @param builderId ID of the builder
      * @param projectId ID of the project to remove
      */
     public static void removeProjectFromBuilder(String builderId, long projectId) {
-        List<Long> projects = builderDatabase.get(builderId);
-        if (projects != null) {
-            projects.remove(projectId);
-        }
+        store.removeProjectFromBuilder(builderId, projectId);
     }
 
 
@@ -82,7 +78,7 @@ public class BuilderDAO {
      * @return true if the builder exists, false otherwise
      */
     public static boolean builderExists(String builderId) {
-        return builderDatabase.containsKey(builderId);
+        return store.builderExists(builderId);
     }
 
     /**
@@ -90,7 +86,7 @@ public class BuilderDAO {
      * Useful for resetting in-memory storage during tests.
      */
     public static void clear() {
-        builderDatabase.clear();
+        store.clearBuilders();
     }
 
 
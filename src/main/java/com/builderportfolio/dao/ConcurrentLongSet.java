@@ -0,0 +1,308 @@
+package com.builderportfolio.dao;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Thread-safe set of primitive {@code long} values.
+ * <p>
+ * Values are stored unboxed in a single {@code long[]} with open addressing and
+ * linear probing; removal shifts the following entries back instead of leaving
+ * tombstones, so lookups never slow down after many removals. The table is kept
+ * at most half full and doubles when needed, so add, remove and contains are O(1).
+ * <p>
+ * Writers take an exclusive lock. {@link #contains} and {@link #size} read
+ * optimistically and only fall back to a shared lock if a write intervened.
+ * {@link #forEach} visits values under the shared lock without creating an
+ * iterator or boxing, so the action should be short and must not modify this set.
+ * Iteration order is unspecified.
+ */
+public class ConcurrentLongSet {
+
+    /** Marks a free slot; the value 0 itself is tracked by {@link #containsZero}. */
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 8;
+
+    private final StampedLock lock = new StampedLock();
+    private long[] slots;
+    /** Number of non-zero values in {@link #slots}. */
+    private int count;
+    private boolean containsZero;
+
+    /**
+     * Creates an empty set with room for a few values.
+     */
+    public ConcurrentLongSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates an empty set sized for {@code expectedSize} values without resizing.
+     *
+     * @param expectedSize expected number of values
+     */
+    public ConcurrentLongSet(int expectedSize) {
+        slots = new long[capacityFor(expectedSize)];
+    }
+
+    /**
+     * @param value value to add
+     * @return true if the value was not present before
+     */
+    public boolean add(long value) {
+        long stamp = lock.writeLock();
+        try {
+            if (value == EMPTY) {
+                if (containsZero) return false;
+                containsZero = true;
+                return true;
+            }
+            int mask = slots.length - 1;
+            for (int i = index(value, mask); ; i = (i + 1) & mask) {
+                long current = slots[i];
+                if (current == value) return false;
+                if (current == EMPTY) {
+                    slots[i] = value;
+                    if (++count * 2 > slots.length) {
+                        resize(slots.length * 2);
+                    }
+                    return true;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds several values under a single lock acquisition, growing the table at most once.
+     *
+     * @param values values to add
+     * @return number of values that were not present before
+     */
+    public int addAll(long[] values) {
+        long stamp = lock.writeLock();
+        try {
+            int required = capacityFor(count + values.length);
+            if (required > slots.length) {
+                resize(required);
+            }
+            int added = 0;
+            int mask = slots.length - 1;
+            for (long value : values) {
+                if (value == EMPTY) {
+                    if (!containsZero) {
+                        containsZero = true;
+                        added++;
+                    }
+                    continue;
+                }
+                for (int i = index(value, mask); ; i = (i + 1) & mask) {
+                    long current = slots[i];
+                    if (current == value) break;
+                    if (current == EMPTY) {
+                        slots[i] = value;
+                        count++;
+                        added++;
+                        break;
+                    }
+                }
+            }
+            return added;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @param value value to remove
+     * @return true if the value was present
+     */
+    public boolean remove(long value) {
+        long stamp = lock.writeLock();
+        try {
+            if (value == EMPTY) {
+                boolean removed = containsZero;
+                containsZero = false;
+                return removed;
+            }
+            int mask = slots.length - 1;
+            for (int i = index(value, mask); ; i = (i + 1) & mask) {
+                long current = slots[i];
+                if (current == EMPTY) return false;
+                if (current == value) {
+                    shiftBack(i, mask);
+                    count--;
+                    return true;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @param value value to look up
+     * @return true if the value is present
+     */
+    public boolean contains(long value) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            boolean found = find(value);
+            if (lock.validate(stamp)) return found;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(value);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return number of values in the set
+     */
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = count + (containsZero ? 1 : 0);
+        if (lock.validate(stamp)) return size;
+        stamp = lock.readLock();
+        try {
+            return count + (containsZero ? 1 : 0);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return true if the set holds no values
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Passes every value to {@code action}, without boxing or allocating.
+     * Writers wait until the iteration finishes.
+     *
+     * @param action receives each value
+     */
+    public void forEach(LongConsumer action) {
+        long stamp = lock.readLock();
+        try {
+            if (containsZero) action.accept(EMPTY);
+            long[] table = slots;
+            for (long value : table) {
+                if (value != EMPTY) action.accept(value);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return a copy of the values, in unspecified order
+     */
+    public long[] toArray() {
+        long stamp = lock.readLock();
+        try {
+            long[] values = new long[count + (containsZero ? 1 : 0)];
+            int next = 0;
+            if (containsZero) values[next++] = EMPTY;
+            for (long value : slots) {
+                if (value != EMPTY) values[next++] = value;
+            }
+            return values;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            slots = new long[MIN_CAPACITY];
+            count = 0;
+            containsZero = false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+
+    /**
+     * Probes for {@code value}. May run without the lock, so it reads the table
+     * once and gives up after one full pass instead of trusting it to hold an empty slot.
+     */
+    private boolean find(long value) {
+        if (value == EMPTY) return containsZero;
+        long[] table = slots;
+        int mask = table.length - 1;
+        int i = index(value, mask);
+        for (int probes = 0; probes < table.length; probes++, i = (i + 1) & mask) {
+            long current = table[i];
+            if (current == value) return true;
+            if (current == EMPTY) return false;
+        }
+        return false;
+    }
+
+    /**
+     * Fills the slot freed at {@code hole} by moving back later entries of the
+     * same probe run, so every remaining value stays reachable from its home slot.
+     */
+    private void shiftBack(int hole, int mask) {
+        for (int i = (hole + 1) & mask; ; i = (i + 1) & mask) {
+            long value = slots[i];
+            if (value == EMPTY) break;
+            int home = index(value, mask);
+            // Move the value unless its home lies cyclically in (hole, i]
+            boolean homeAfterHole = hole <= i
+                    ? home > hole && home <= i
+                    : home > hole || home <= i;
+            if (!homeAfterHole) {
+                slots[hole] = value;
+                hole = i;
+            }
+        }
+        slots[hole] = EMPTY;
+    }
+
+    private void resize(int capacity) {
+        long[] old = slots;
+        long[] table = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value == EMPTY) continue;
+            int i = index(value, mask);
+            while (table[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+        }
+        slots = table;
+    }
+
+    private static int index(long value, int mask) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,416 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Project;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Secondary index of project IDs by start and end date, in epoch days.
+ * <p>
+ * Projects are kept in an interval tree over their start days, and separately
+ * by end day. A deadline window (projects ending between two dates) is one
+ * range walk over the end-day buckets. The interval tree is a treap with one
+ * node per start day, each node holding that day's projects by end day and the
+ * latest end day anywhere in its subtree. An overlap query (projects active at
+ * any point between two dates) skips every subtree whose latest end day is
+ * before {@code from} and every node starting after {@code to}, so it costs
+ * O(log d) per start day holding a match, for d distinct start days, however
+ * long the longest indexed project is. Updates cost O(log d) expected, plus
+ * O(log e) in a node with e distinct end days. Neither touches the projects
+ * themselves.
+ * <p>
+ * The index keeps its own copy of each project's interval, so removal and
+ * re-indexing never trust the dates on the project object: a date changed
+ * without going through the store leaves the project under its old interval
+ * until the next save or date update, but never leaves an entry that cannot be
+ * removed. Projects without both dates are not indexed.
+ * <p>
+ * Writers take an exclusive lock; queries share a read lock and run their
+ * action under it, so the action should be short and must not modify the store.
+ */
+public class DateRangeIndex {
+
+    /** Root of the interval tree over start days, or null if no project is indexed. */
+    private StartDay root;
+
+    /**
+     * Projects by end day.
+     * Key   → end epoch day
+     * Value → IDs of the projects ending that day
+     */
+    private final TreeMap<Long, ConcurrentLongSet> byEnd = new TreeMap<>();
+
+    /** Indexed interval of every project, by project ID. */
+    private final IntervalTable intervals = new IntervalTable();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a stored project under its current dates, replacing any interval
+     * it was indexed under before.
+     *
+     * @param project stored project
+     */
+    public void add(Project project) {
+        lock.writeLock().lock();
+        try {
+            unindex(project.getProjectId());
+            index(project);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a project from the index, whatever interval it was indexed under.
+     *
+     * @param project project leaving the store
+     */
+    public void remove(Project project) {
+        lock.writeLock().lock();
+        try {
+            unindex(project.getProjectId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes a project after its dates changed.
+     *
+     * @param project project whose dates were just updated
+     */
+    public void update(Project project) {
+        add(project);
+    }
+
+    /**
+     * Empties the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            byEnd.clear();
+            intervals.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed projects
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return intervals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes the ID of every project active on at least one day between
+     * {@code from} and {@code to}, both inclusive, to {@code action}.
+     *
+     * @param from   first day of the window
+     * @param to     last day of the window
+     * @param action receives each project ID, in unspecified order
+     */
+    public void forEachOverlapping(LocalDate from, LocalDate to, LongConsumer action) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        if (last < first) return;
+        lock.readLock().lock();
+        try {
+            forEachOverlapping(root, first, last, action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes the ID of every project whose end date lies between {@code from}
+     * and {@code to}, both inclusive, to {@code action}.
+     *
+     * @param from   earliest end date
+     * @param to     latest end date
+     * @param action receives each project ID, in unspecified order
+     */
+    public void forEachEndingBetween(LocalDate from, LocalDate to, LongConsumer action) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        if (last < first) return;
+        lock.readLock().lock();
+        try {
+            for (ConcurrentLongSet ids : byEnd.subMap(first, true, last, true).values()) {
+                ids.forEach(action);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Adds the project's current interval. Caller holds the write lock. */
+    private void index(Project project) {
+        LocalDate startDate = project.getStartDate();
+        LocalDate endDate = project.getEndDate();
+        if (startDate == null || endDate == null) return;
+        long projectId = project.getProjectId();
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        intervals.put(projectId, start, end);
+        root = insert(root, start, end, projectId);
+        byEnd.computeIfAbsent(end, k -> new ConcurrentLongSet()).add(projectId);
+    }
+
+    /** Removes whatever interval the project is indexed under. Caller holds the write lock. */
+    private void unindex(long projectId) {
+        int slot = intervals.find(projectId);
+        if (slot < 0) return;
+        long start = intervals.starts[slot];
+        long end = intervals.ends[slot];
+        intervals.removeAt(slot);
+
+        root = remove(root, start, end, projectId);
+        ConcurrentLongSet ids = byEnd.get(end);
+        if (ids.remove(projectId) && ids.isEmpty()) byEnd.remove(end);
+    }
+
+    /**
+     * Passes the projects of {@code node}'s subtree that end on or after
+     * {@code first} and start on or before {@code last}. Recurses to the left
+     * and loops to the right, so the stack grows with the tree's height only.
+     */
+    private static void forEachOverlapping(StartDay node, long first, long last, LongConsumer action) {
+        while (node != null && node.maxEnd >= first) {
+            forEachOverlapping(node.left, first, last, action);
+            if (node.start > last) return;
+            node.forEachEndingOnOrAfter(first, action);
+            node = node.right;
+        }
+    }
+
+    /** Adds a project under {@code node}'s subtree. Caller holds the write lock. */
+    private static StartDay insert(StartDay node, long start, long end, long projectId) {
+        if (node == null) {
+            node = new StartDay(start);
+            node.add(end, projectId);
+        } else if (start == node.start) {
+            node.add(end, projectId);
+        } else if (start < node.start) {
+            node.left = insert(node.left, start, end, projectId);
+            if (node.left.priority > node.priority) return rotateRight(node);
+        } else {
+            node.right = insert(node.right, start, end, projectId);
+            if (node.right.priority > node.priority) return rotateLeft(node);
+        }
+        node.update();
+        return node;
+    }
+
+    /** Removes a project from {@code node}'s subtree. Caller holds the write lock. */
+    private static StartDay remove(StartDay node, long start, long end, long projectId) {
+        if (node == null) return null;
+        if (start < node.start) {
+            node.left = remove(node.left, start, end, projectId);
+        } else if (start > node.start) {
+            node.right = remove(node.right, start, end, projectId);
+        } else if (node.remove(end, projectId) && node.byEnd.isEmpty()) {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /** Joins two treaps where every start day in {@code low} is before every one in {@code high}. */
+    private static StartDay merge(StartDay low, StartDay high) {
+        if (low == null) return high;
+        if (high == null) return low;
+        if (low.priority > high.priority) {
+            low.right = merge(low.right, high);
+            low.update();
+            return low;
+        }
+        high.left = merge(low, high.left);
+        high.update();
+        return high;
+    }
+
+    private static StartDay rotateRight(StartDay node) {
+        StartDay top = node.left;
+        node.left = top.right;
+        top.right = node;
+        node.update();
+        top.update();
+        return top;
+    }
+
+    private static StartDay rotateLeft(StartDay node) {
+        StartDay top = node.right;
+        node.right = top.left;
+        top.left = node;
+        node.update();
+        top.update();
+        return top;
+    }
+
+    /**
+     * Interval tree node: the projects starting on one day, by end day, with
+     * the latest end day of its subtree. Ordered by start day as a binary search
+     * tree and by a random priority as a heap, which keeps the tree balanced in
+     * expectation whatever order the days arrive in.
+     */
+    private static final class StartDay {
+        final long start;
+        final int priority = ThreadLocalRandom.current().nextInt();
+
+        /**
+         * Key   → end epoch day
+         * Value → IDs of the projects starting on this day and ending that day
+         */
+        final TreeMap<Long, ConcurrentLongSet> byEnd = new TreeMap<>();
+
+        StartDay left;
+        StartDay right;
+
+        /** Latest end day of any project in this subtree. */
+        long maxEnd;
+
+        StartDay(long start) {
+            this.start = start;
+        }
+
+        void add(long end, long projectId) {
+            byEnd.computeIfAbsent(end, k -> new ConcurrentLongSet()).add(projectId);
+        }
+
+        boolean remove(long end, long projectId) {
+            ConcurrentLongSet ids = byEnd.get(end);
+            if (ids == null || !ids.remove(projectId)) return false;
+            if (ids.isEmpty()) byEnd.remove(end);
+            return true;
+        }
+
+        void forEachEndingOnOrAfter(long day, LongConsumer action) {
+            for (ConcurrentLongSet ids : byEnd.tailMap(day, true).values()) {
+                ids.forEach(action);
+            }
+        }
+
+        /** Recomputes {@link #maxEnd} from this day and the children. */
+        void update() {
+            long max = byEnd.isEmpty() ? Long.MIN_VALUE : byEnd.lastKey();
+            if (left != null) max = Math.max(max, left.maxEnd);
+            if (right != null) max = Math.max(max, right.maxEnd);
+            maxEnd = max;
+        }
+    }
+
+    /**
+     * Open-addressing map from project ID to indexed interval, stored in three
+     * parallel primitive arrays. {@link Long#MIN_VALUE} marks a free slot and is
+     * never a project ID. Removal shifts later entries back, as in {@link ConcurrentLongSet}.
+     * Not thread-safe; guarded by the index lock.
+     */
+    private static final class IntervalTable {
+        private static final long EMPTY = Long.MIN_VALUE;
+        private static final int MIN_CAPACITY = 16;
+
+        private long[] keys;
+        private long[] starts;
+        private long[] ends;
+        private int count;
+
+        IntervalTable() {
+            allocate(MIN_CAPACITY);
+        }
+
+        int size() {
+            return count;
+        }
+
+        void put(long id, long start, long end) {
+            int mask = keys.length - 1;
+            int i = index(id, mask);
+            while (keys[i] != EMPTY && keys[i] != id) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) count++;
+            keys[i] = id;
+            starts[i] = start;
+            ends[i] = end;
+            if (count * 2 > keys.length) resize();
+        }
+
+        /** @return the slot holding {@code id}, or -1 */
+        int find(long id) {
+            int mask = keys.length - 1;
+            for (int i = index(id, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == id) return i;
+            }
+            return -1;
+        }
+
+        void removeAt(int hole) {
+            int mask = keys.length - 1;
+            for (int i = (hole + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+                int home = index(keys[i], mask);
+                // Move the entry unless its home lies cyclically in (hole, i]
+                boolean homeAfterHole = hole <= i
+                        ? home > hole && home <= i
+                        : home > hole || home <= i;
+                if (!homeAfterHole) {
+                    keys[hole] = keys[i];
+                    starts[hole] = starts[i];
+                    ends[hole] = ends[i];
+                    hole = i;
+                }
+            }
+            keys[hole] = EMPTY;
+            count--;
+        }
+
+        void clear() {
+            allocate(MIN_CAPACITY);
+            count = 0;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldStarts = starts;
+            long[] oldEnds = ends;
+            allocate(keys.length * 2);
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == EMPTY) continue;
+                int i = index(oldKeys[j], mask);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                starts[i] = oldStarts[j];
+                ends[i] = oldEnds[j];
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            starts = new long[capacity];
+            ends = new long[capacity];
+        }
+
+        private static int index(long value, int mask) {
+            long hash = value * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.builderportfolio.dao;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of project IDs, e.g. one manager's or builder's projects
+ * within a batch, or the results of an index lookup.
+ */
+public final class IdBatch {
+
+    private long[] ids;
+    private int size;
+
+    /**
+     * Creates an empty list.
+     */
+    public IdBatch() {
+        this(8);
+    }
+
+    /**
+     * Creates an empty list with room for {@code expectedSize} IDs.
+     *
+     * @param expectedSize number of IDs expected; may be 0
+     */
+    public IdBatch(int expectedSize) {
+        ids = new long[Math.max(8, expectedSize)];
+    }
+
+    /**
+     * @param id project ID to append
+     */
+    public void add(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * @return the IDs in the order added; may be the internal array if it is full
+     */
+    public long[] toArray() {
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+}
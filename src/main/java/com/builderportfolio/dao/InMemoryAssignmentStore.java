@@ -0,0 +1,193 @@
+package com.builderportfolio.dao;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiConsumer;
+
+/**
+ * Default in-memory {@link AssignmentStore}.
+ * <p>
+ * Keeps one map from builder IDs and one from manager IDs to the
+ * project IDs assigned to them, held in unboxed {@link ConcurrentLongSet}s.
+ * Each set has an ordered side index of the same IDs, a skip-list updated
+ * alongside it, from which pages of IDs are read in ID order.
+ * Each instance owns its own maps, so several stores can live side by side.
+ * Thread-safe collections are used for concurrent access.
+ * </p>
+ */
+public class InMemoryAssignmentStore implements AssignmentStore {
+
+    /**
+     * Builder data.
+     * Key   → Builder ID (ex: B1)
+     * Value → Set of project IDs assigned to that builder
+     */
+    private final Map<String, Assigned> builderDatabase = new ConcurrentHashMap<>();
+
+    /**
+     * Manager data.
+     * Key   → Manager ID (ex: P1)
+     * Value → Set of project IDs managed by the manager
+     */
+    private final Map<String, Assigned> projectManagerDatabase = new ConcurrentHashMap<>();
+
+    @Override
+    public void createBuilder(String builderId) {
+        builderDatabase.put(builderId, new Assigned(0));
+    }
+
+    @Override
+    public void addProjectToBuilder(String builderId, long projectId) {
+        builderDatabase
+                .computeIfAbsent(builderId, k -> new Assigned(0))
+                .add(projectId);
+    }
+
+    @Override
+    public void addProjectsToBuilder(String builderId, long[] projectIds) {
+        builderDatabase
+                .computeIfAbsent(builderId, k -> new Assigned(projectIds.length))
+                .addAll(projectIds);
+    }
+
+    @Override
+    public ConcurrentLongSet getBuilderProjectIds(String builderId) {
+        Assigned projects = builderDatabase.get(builderId);
+        return projects == null ? new ConcurrentLongSet() : projects.ids;
+    }
+
+    @Override
+    public int builderProjectIdsAfter(String builderId, long after, long[] into) {
+        Assigned projects = builderDatabase.get(builderId);
+        return projects == null ? 0 : projects.valuesAfter(after, into);
+    }
+
+    @Override
+    public void removeProjectFromBuilder(String builderId, long projectId) {
+        Assigned projects = builderDatabase.get(builderId);
+        if (projects != null) {
+            projects.remove(projectId);
+        }
+    }
+
+    @Override
+    public boolean builderExists(String builderId) {
+        return builderDatabase.containsKey(builderId);
+    }
+
+    @Override
+    public void createProjectManager(String managerId) {
+        projectManagerDatabase.put(managerId, new Assigned(0));
+    }
+
+    @Override
+    public void addProjectToManager(String managerId, long projectId) {
+        projectManagerDatabase
+                .computeIfAbsent(managerId, k -> new Assigned(0))
+                .add(projectId);
+    }
+
+    @Override
+    public void addProjectsToManager(String managerId, long[] projectIds) {
+        projectManagerDatabase
+                .computeIfAbsent(managerId, k -> new Assigned(projectIds.length))
+                .addAll(projectIds);
+    }
+
+    @Override
+    public ConcurrentLongSet getManagerProjectIds(String managerId) {
+        Assigned projects = projectManagerDatabase.get(managerId);
+        return projects == null ? new ConcurrentLongSet() : projects.ids;
+    }
+
+    @Override
+    public int managerProjectIdsAfter(String managerId, long after, long[] into) {
+        Assigned projects = projectManagerDatabase.get(managerId);
+        return projects == null ? 0 : projects.valuesAfter(after, into);
+    }
+
+    @Override
+    public void removeProjectFromManager(String managerId, long projectId) {
+        Assigned projects = projectManagerDatabase.get(managerId);
+        if (projects != null) {
+            projects.remove(projectId);
+        }
+    }
+
+    @Override
+    public boolean projectManagerExists(String managerId) {
+        return projectManagerDatabase.containsKey(managerId);
+    }
+
+    @Override
+    public void forEachBuilder(BiConsumer<String, ConcurrentLongSet> action) {
+        builderDatabase.forEach((builderId, projects) -> action.accept(builderId, projects.ids));
+    }
+
+    @Override
+    public void forEachManager(BiConsumer<String, ConcurrentLongSet> action) {
+        projectManagerDatabase.forEach((managerId, projects) -> action.accept(managerId, projects.ids));
+    }
+
+    /**
+     * Clears builder assignments only.
+     */
+    public void clearBuilders() {
+        builderDatabase.clear();
+    }
+
+    /**
+     * Clears manager assignments only.
+     */
+    public void clearManagers() {
+        projectManagerDatabase.clear();
+    }
+
+    @Override
+    public void clear() {
+        clearBuilders();
+        clearManagers();
+    }
+
+    /**
+     * One user's project IDs: the hashed set answering membership and size,
+     * and a skip-list of the same IDs for reading them in order. Writers update
+     * both under this object's monitor, so the two never disagree for long;
+     * readers take no lock.
+     */
+    private static final class Assigned {
+        final ConcurrentLongSet ids;
+        final ConcurrentSkipListSet<Long> ordered = new ConcurrentSkipListSet<>();
+
+        Assigned(int expectedSize) {
+            ids = expectedSize > 0 ? new ConcurrentLongSet(expectedSize) : new ConcurrentLongSet();
+        }
+
+        synchronized void add(long projectId) {
+            if (ids.add(projectId)) ordered.add(projectId);
+        }
+
+        synchronized void addAll(long[] projectIds) {
+            ids.addAll(projectIds);
+            for (long projectId : projectIds) {
+                ordered.add(projectId);
+            }
+        }
+
+        synchronized void remove(long projectId) {
+            if (ids.remove(projectId)) ordered.remove(projectId);
+        }
+
+        /** O(log n + into.length): a skip-list seek, then a walk along the bottom level. */
+        int valuesAfter(long after, long[] into) {
+            int count = 0;
+            Iterator<Long> next = ordered.tailSet(after, false).iterator();
+            while (count < into.length && next.hasNext()) {
+                into[count++] = next.next();
+            }
+            return count;
+        }
+    }
+}
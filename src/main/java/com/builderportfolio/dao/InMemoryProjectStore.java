@@ -0,0 +1,156 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Default in-memory {@link ProjectStore}.
+ * <p>
+ * Maintains a mapping of Project IDs to Project objects.
+ * Each instance owns its own map, so several stores can live side by side.
+ * Thread-safe collections are used to allow concurrent access.
+ * Every mutation runs inside the map's per-key compute, so the
+ * {@link StatusIndex}, {@link DateRangeIndex}, {@link TextIndex} and
+ * {@link StatusHistory} are updated atomically with the project they describe.
+ * </p>
+ */
+public class InMemoryProjectStore implements ProjectStore {
+
+    /**
+     * Project data.
+     * Key   → Project ID
+     * Value → Project object
+     */
+    private final Map<Long, Project> projectDatabase = new ConcurrentHashMap<>();
+
+    private final StatusIndex statusIndex = new StatusIndex();
+
+    private final DateRangeIndex dateRangeIndex = new DateRangeIndex();
+
+    private final TextIndex textIndex = new TextIndex();
+
+    private final StatusHistory statusHistory = new StatusHistory();
+
+    @Override
+    public void saveProject(Project project) {
+        projectDatabase.compute(project.getProjectId(), (id, previous) -> {
+            if (previous != null) statusIndex.remove(previous);
+            statusIndex.add(project);
+            dateRangeIndex.add(project);
+            textIndex.add(project);
+            return project;
+        });
+    }
+
+    @Override
+    public Project getProjectById(long projectId) {
+        return projectDatabase.get(projectId);
+    }
+
+    @Override
+    public boolean replayStatus(long projectId, Status status) {
+        Project project = projectDatabase.computeIfPresent(projectId, (id, current) -> {
+            current.setStatus(status);
+            statusIndex.update(current);
+            return current;
+        });
+        return project != null;
+    }
+
+    @Override
+    public boolean transitionStatus(long projectId, Status expected, Status status, String actorId, long timestampMillis) {
+        boolean[] changed = new boolean[1];
+        projectDatabase.computeIfPresent(projectId, (id, current) -> {
+            if (current.compareAndSetStatus(expected, status)) {
+                statusIndex.update(current);
+                statusHistory.record(projectId, expected, status, actorId, timestampMillis);
+                changed[0] = true;
+            }
+            return current;
+        });
+        return changed[0];
+    }
+
+    /**
+     * Sets both dates as one change of the project, so {@link Project#setDates}
+     * checks the new end against the new start.
+     */
+    @Override
+    public boolean updateDates(long projectId, LocalDate startDate, LocalDate endDate) {
+        Project project = projectDatabase.computeIfPresent(projectId, (id, current) -> {
+            current.setDates(startDate, endDate);
+            dateRangeIndex.update(current);
+            return current;
+        });
+        return project != null;
+    }
+
+    @Override
+    public boolean updateDetails(long projectId, String projectName, String description, Client client) {
+        Project project = projectDatabase.computeIfPresent(projectId, (id, current) -> {
+            current.setDetails(projectName, description, client);
+            textIndex.add(current);
+            return current;
+        });
+        return project != null;
+    }
+
+    @Override
+    public void removeProject(long projectId) {
+        projectDatabase.computeIfPresent(projectId, (id, current) -> {
+            statusIndex.remove(current);
+            dateRangeIndex.remove(current);
+            textIndex.remove(current);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEach(Consumer<Project> action) {
+        projectDatabase.values().forEach(action);
+    }
+
+    /**
+     * The map's own spliterator, which splits by hash bins.
+     */
+    @Override
+    public Spliterator<Project> spliterator() {
+        return projectDatabase.values().spliterator();
+    }
+
+    @Override
+    public void clear() {
+        projectDatabase.clear();
+        statusIndex.clear();
+        dateRangeIndex.clear();
+        textIndex.clear();
+        statusHistory.clear();
+    }
+
+    @Override
+    public StatusIndex statusIndex() {
+        return statusIndex;
+    }
+
+    @Override
+    public DateRangeIndex dateRangeIndex() {
+        return dateRangeIndex;
+    }
+
+    @Override
+    public TextIndex textIndex() {
+        return textIndex;
+    }
+
+    @Override
+    public StatusHistory statusHistory() {
+        return statusHistory;
+    }
+}
@@ -0,0 +1,67 @@
+package com.builderportfolio.dao;
+
+/**
+ * {@link StorageEngine} keeping everything in {@code ConcurrentHashMap}s.
+ * <p>
+ * {@link #shared()} returns the engine behind the static DAO classes, which the
+ * console application uses. {@code new InMemoryStorageEngine()} creates a fully
+ * isolated engine, e.g. to run several independent instances in one JVM for load tests.
+ * </p>
+ */
+public class InMemoryStorageEngine implements StorageEngine {
+
+    /** Registry name of this engine. */
+    public static final String NAME = "memory";
+
+    /** Stores behind the static DAO classes. */
+    static final InMemoryUserStore SHARED_USERS = new InMemoryUserStore();
+    static final InMemoryProjectStore SHARED_PROJECTS = new InMemoryProjectStore();
+    static final InMemoryAssignmentStore SHARED_ASSIGNMENTS = new InMemoryAssignmentStore();
+
+    private static final InMemoryStorageEngine SHARED =
+            new InMemoryStorageEngine(SHARED_USERS, SHARED_PROJECTS, SHARED_ASSIGNMENTS);
+
+    private final UserStore userStore;
+    private final ProjectStore projectStore;
+    private final AssignmentStore assignmentStore;
+
+    /**
+     * Creates an isolated engine with its own empty stores.
+     */
+    public InMemoryStorageEngine() {
+        this(new InMemoryUserStore(), new InMemoryProjectStore(), new InMemoryAssignmentStore());
+    }
+
+    private InMemoryStorageEngine(UserStore userStore, ProjectStore projectStore, AssignmentStore assignmentStore) {
+        this.userStore = userStore;
+        this.projectStore = projectStore;
+        this.assignmentStore = assignmentStore;
+    }
+
+    /**
+     * @return the engine backing {@link UserDAO}, {@link ProjectDAO}, {@link BuilderDAO} and {@link ManagerDAO}
+     */
+    public static InMemoryStorageEngine shared() {
+        return SHARED;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public UserStore userStore() {
+        return userStore;
+    }
+
+    @Override
+    public ProjectStore projectStore() {
+        return projectStore;
+    }
+
+    @Override
+    public AssignmentStore assignmentStore() {
+        return assignmentStore;
+    }
+}
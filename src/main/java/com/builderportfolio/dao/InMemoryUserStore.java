@@ -0,0 +1,134 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.exception.UserAlreadyExistsException;
+import com.builderportfolio.model.User;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Default in-memory {@link UserStore}.
+ * <p>
+ * Maintains a mapping of User IDs to User objects plus a secondary email
+ * index, so email lookups stay constant-time as the number of users grows.
+ * Each instance owns its own maps, so several stores can live side by side.
+ * Thread-safe collections are used for concurrent access.
+ * </p>
+ */
+public class InMemoryUserStore implements UserStore {
+
+    /**
+     * Registered users.
+     * Key   → User ID (e.g., B1, P2)
+     * Value → User object containing full user details
+     */
+    private final Map<String, User> registeredUsers = new ConcurrentHashMap<>();
+
+    /**
+     * Secondary index over registered emails.
+     * Key   → Normalized email (trimmed, lower case)
+     * Value → User ID owning that email
+     */
+    private final Map<String, String> emailIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Normalized email each saved user is currently indexed under.
+     * Needed because User is mutable, so the old email cannot be read back from it.
+     * Key   → User ID
+     * Value → Normalized email
+     */
+    private final Map<String, String> indexedEmails = new ConcurrentHashMap<>();
+
+    /**
+     * Saves a user, overwriting any user with the same ID and
+     * moving the email index entry if the email has changed.
+     * The email is claimed before anything else changes, so a save
+     * whose email belongs to another user leaves the store untouched.
+     * The whole re-index runs inside {@code compute} on the user's entry,
+     * so concurrent saves of the same ID are applied one after the other
+     * and cannot leave a stale email behind in the index.
+     *
+     * @param user User object to save
+     * @throws UserAlreadyExistsException if the email is registered or reserved by another user ID
+     */
+    @Override
+    public void saveUser(User user) {
+        String userId = user.getUserId();
+        String email = normalizeEmail(user.getUserEmail());
+
+        registeredUsers.compute(userId, (id, existing) -> {
+            String owner = emailIndex.putIfAbsent(email, id);
+            if (owner != null && !owner.equals(id)) {
+                throw new UserAlreadyExistsException("User already exists with email: " + user.getUserEmail());
+            }
+            String previousEmail = indexedEmails.put(id, email);
+            if (previousEmail != null && !previousEmail.equals(email)) {
+                emailIndex.remove(previousEmail, id);
+            }
+            return user;
+        });
+    }
+
+    @Override
+    public boolean reserveEmail(String userEmail, String userId) {
+        return emailIndex.putIfAbsent(normalizeEmail(userEmail), userId) == null;
+    }
+
+    @Override
+    public void releaseEmail(String userEmail, String userId) {
+        emailIndex.remove(normalizeEmail(userEmail), userId);
+    }
+
+    @Override
+    public User removeUser(String userId) {
+        User[] removed = new User[1];
+        registeredUsers.compute(userId, (id, existing) -> {
+            removed[0] = existing;
+            String email = indexedEmails.remove(id);
+            if (email != null) {
+                emailIndex.remove(email, id);
+            }
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public boolean idExists(String userId) {
+        return registeredUsers.containsKey(userId);
+    }
+
+    @Override
+    public boolean emailExists(String userEmail) {
+        return emailIndex.containsKey(normalizeEmail(userEmail));
+    }
+
+    @Override
+    public User getUserById(String userId) {
+        return registeredUsers.get(userId);
+    }
+
+    @Override
+    public void forEach(Consumer<User> action) {
+        registeredUsers.values().forEach(action);
+    }
+
+    @Override
+    public void clear() {
+        registeredUsers.clear();
+        emailIndex.clear();
+        indexedEmails.clear();
+    }
+
+    /**
+     * Normalizes an email into the form used as the index key.
+     *
+     * @param userEmail Email to normalize
+     * @return trimmed, lower-case email
+     */
+    static String normalizeEmail(String userEmail) {
+        return userEmail.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,15 +1,11 @@
 package com.builderportfolio.dao;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * DAO class for managing Project Manager data.
  * <p>
- * Keeps an in-memory mapping of Project Manager IDs to the list of project IDs they manage.
+ * Static access point to the manager side of the shared {@link InMemoryAssignmentStore},
+ * which keeps an in-memory mapping of Project Manager IDs to the set of project IDs they manage.
  * Supports creating managers, adding/removing projects, and querying manager data.
  * Thread-safe collections are used for concurrent access.
  * </p>
@@ -17,11 +13,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class ManagerDAO {
 
     /**
-     * In-memory storage for manager data.
-     * Key   → Manager ID (ex: P1)
-     * Value → List of project IDs managed by the manager
+     * Shared in-memory storage for builder and manager assignments.
      */
-    private static Map<String, List<Long>> projectManagerDatabase = new ConcurrentHashMap<>();
+    private static final InMemoryAssignmentStore store = InMemoryStorageEngine.SHARED_ASSIGNMENTS;
 
     /**
      * Creates a new Project Manager entry when a manager registers.
@@ -30,11 +24,11 @@ public class ManagerDAO {
      * @param projectManagerId ID of the manager to create
      */
     public static void createProjectManager(String projectManagerId) {
-        projectManagerDatabase.put(projectManagerId, new ArrayList<>());
+        store.createProjectManager(projectManagerId);
     }
 
     /**
-     * Adds a project ID to a Project Manager's project list.
+     * Adds a project ID to a Project Manager's project set.
      * If the manager does not exist, a new entry is created automatically.
      *
      * @param managerId ID of the manager
@@ -45,35 +39,29 @@ public class ManagerDAO {
         if (managerId == null) throw new NullPointerException("Manager ID cannot be null");
         if (projectId == null) throw new NullPointerException("Project ID cannot be null");
 
-        projectManagerDatabase
-                .computeIfAbsent(managerId, k -> new CopyOnWriteArrayList<>())
-                .add(projectId);
+        store.addProjectToManager(managerId, projectId);
     }
 
     /**
      * Returns all project IDs assigned to a manager.
      *
      * @param managerId ID of the manager
-     * @return List of project IDs; empty list if manager has no projects
+     * @return Set of project IDs; empty set if manager has no projects
      */
-    public static List<Long> getProjectIds(String managerId) {
-        return projectManagerDatabase.getOrDefault(managerId, new ArrayList<>());
+    public static ConcurrentLongSet getProjectIds(String managerId) {
+        return store.getManagerProjectIds(managerId);
     }
 
 
     /**
-     * Removes a project from a manager's project list.
+     * Removes a project from a manager's project set.
      * Called when a project is deleted.
      *
      * @param managerId ID of the manager
      * @param projectId ID of the project to remove
      */
     public static void removeProjectFromManager(String managerId, long projectId) {
-        List<Long> projects = projectManagerDatabase.get(managerId);
-        if (projects != null) {
-            projects.remove(projectId);
-
-        }
+        store.removeProjectFromManager(managerId, projectId);
     }
 
     /**
@@ -83,7 +71,7 @@ public class ManagerDAO {
      * @return true if the manager exists, false otherwise
      */
     public static boolean projectManagerExists(String managerId) {
-        return projectManagerDatabase.containsKey(managerId);
+        return store.projectManagerExists(managerId);
     }
 
     /**
@@ -91,7 +79,7 @@ public class ManagerDAO {
      * Useful for resetting in-memory storage during tests.
      */
     public static void clearDatabase() {
-        projectManagerDatabase.clear();
+        store.clearManagers();
     }
 
 }
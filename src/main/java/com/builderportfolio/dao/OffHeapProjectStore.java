@@ -0,0 +1,591 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link ProjectStore} keeping project data outside the Java heap, for very
+ * large portfolios.
+ * <p>
+ * Each project is one fixed-width 64-byte record in direct {@link ByteBuffer}
+ * chunks: ID, start and end as epoch days, client ID, {@link Status} ordinal
+ * and references into an {@link OffHeapStringTable} for the name, description,
+ * client details and builder and manager IDs. Repeated strings such as user
+ * IDs and client details are stored once. The heap holds only primitive
+ * arrays — the ID-to-slot table and the free-slot stack — plus the indexes, so
+ * the garbage collector has a handful of objects to trace however many
+ * projects are stored.
+ * </p>
+ * <p>
+ * {@link #getProjectById} and {@link #forEach} build a new {@link Project}
+ * from the record on every call, so setters on the returned project do not
+ * change the store; changes go through {@link #transitionStatus},
+ * {@link #updateDates} and {@link #updateDetails}. {@link #forEachRecord}
+ * visits records through one reusable {@link ProjectRecord} flyweight instead,
+ * decoding only the fields the caller reads.
+ * </p>
+ * <p>
+ * All access is guarded by one read-write lock. The space of a removed record
+ * is reused by the next save; strings are reclaimed only by {@link #clear()}.
+ * </p>
+ */
+public class OffHeapProjectStore implements ProjectStore {
+
+    /** Size of one project record. */
+    static final int RECORD_BYTES = 64;
+    private static final int RECORDS_PER_CHUNK = 1 << 14;
+    private static final int MIN_TABLE = 1 << 10;
+    /** Projects materialised per lock hold in {@link #forEach}. */
+    private static final int BATCH = 256;
+
+    // Record layout
+    static final int ID = 0;
+    static final int START = 8;
+    static final int END = 16;
+    static final int CLIENT_ID = 24;
+    static final int NAME = 32;
+    static final int DESCRIPTION = 36;
+    static final int CLIENT_NAME = 40;
+    static final int CLIENT_EMAIL = 44;
+    static final int CLIENT_PHONE = 48;
+    static final int BUILDER = 52;
+    static final int MANAGER = 56;
+    static final int STATUS = 60;
+    static final int IN_USE = 61;
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final byte NO_STATUS = -1;
+    private static final Status[] STATUSES = Status.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Record chunks of {@link #RECORDS_PER_CHUNK} records each. */
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    private final OffHeapStringTable strings = new OffHeapStringTable();
+
+    /**
+     * Open-addressing table from project ID to record slot.
+     * Each entry is slot + 1, 0 for a free entry; the ID is read from the record.
+     */
+    private int[] slotTable = new int[MIN_TABLE];
+
+    /** Slots of removed records, reused before {@link #nextSlot}. */
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    /** Slots below this have been handed out at least once. */
+    private int nextSlot;
+    private int size;
+
+    private final StatusIndex statusIndex = new StatusIndex();
+
+    private final DateRangeIndex dateRangeIndex = new DateRangeIndex();
+
+    private final TextIndex textIndex = new TextIndex();
+
+    private final StatusHistory statusHistory = new StatusHistory();
+
+    @Override
+    public void saveProject(Project project) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(project.getProjectId());
+            if (slot < 0) {
+                slot = allocateSlot();
+                insertSlot(project.getProjectId(), slot);
+                size++;
+            } else {
+                statusIndex.remove(read(slot));
+            }
+            write(slot, project);
+            statusIndex.add(project);
+            dateRangeIndex.add(project);
+            textIndex.add(project);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Project getProjectById(long projectId) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(projectId);
+            return slot < 0 ? null : read(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean replayStatus(long projectId, Status status) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(projectId);
+            if (slot < 0) return false;
+            chunk(slot).put(offset(slot) + STATUS, status == null ? NO_STATUS : (byte) status.ordinal());
+            statusIndex.update(read(slot));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean transitionStatus(long projectId, Status expected, Status status, String actorId, long timestampMillis) {
+        lock.writeLock().lock();
+        try {
+            if (!swapStatus(projectId, expected, status)) return false;
+            statusHistory.record(projectId, expected, status, actorId, timestampMillis);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the status if it is still {@code expected}. The caller holds the write lock.
+     */
+    private boolean swapStatus(long projectId, Status expected, Status status) {
+        int slot = findSlot(projectId);
+        if (slot < 0) return false;
+        ByteBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+        if (chunk.get(offset + STATUS) != (expected == null ? NO_STATUS : (byte) expected.ordinal())) return false;
+        chunk.put(offset + STATUS, status == null ? NO_STATUS : (byte) status.ordinal());
+        statusIndex.update(read(slot));
+        return true;
+    }
+
+    /**
+     * Applies the same check as {@link Project#setDates}: the new end may
+     * not be before the new start.
+     */
+    @Override
+    public boolean updateDates(long projectId, LocalDate startDate, LocalDate endDate) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(projectId);
+            if (slot < 0) return false;
+            if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+                throw new IllegalArgumentException("End date cannot be before start date");
+            }
+            ByteBuffer chunk = chunk(slot);
+            int offset = offset(slot);
+            chunk.putLong(offset + START, toDay(startDate));
+            chunk.putLong(offset + END, toDay(endDate));
+            dateRangeIndex.update(read(slot));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateDetails(long projectId, String projectName, String description, Client client) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(projectId);
+            if (slot < 0) return false;
+            ByteBuffer chunk = chunk(slot);
+            int offset = offset(slot);
+            chunk.putInt(offset + NAME, strings.intern(projectName));
+            chunk.putInt(offset + DESCRIPTION, strings.intern(description));
+            writeClient(chunk, offset, client);
+            textIndex.add(read(slot));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeProject(long projectId) {
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(projectId);
+            if (slot < 0) return;
+            Project current = read(slot);
+            statusIndex.remove(current);
+            dateRangeIndex.remove(current);
+            textIndex.remove(current);
+            deleteSlot(projectId);
+            chunk(slot).put(offset(slot) + IN_USE, (byte) 0);
+            if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            freeSlots[freeCount++] = slot;
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the projects a batch at a time under the read lock and runs the
+     * action outside it, so the action may itself read or change the store.
+     * Like the in-memory store, the iteration is weakly consistent.
+     */
+    @Override
+    public void forEach(Consumer<Project> action) {
+        Project[] batch = new Project[BATCH];
+        int slot = 0;
+        while (true) {
+            int count = 0;
+            lock.readLock().lock();
+            try {
+                for (; slot < nextSlot && count < BATCH; slot++) {
+                    if (inUse(slot)) batch[count++] = read(slot);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (count == 0) return;
+            for (int i = 0; i < count; i++) {
+                action.accept(batch[i]);
+                batch[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Splits by ranges of record slots. Each part builds its projects a batch
+     * at a time under the read lock, as {@link #forEach} does, so parts on
+     * different threads only share the lock in read mode.
+     */
+    @Override
+    public Spliterator<Project> spliterator() {
+        lock.readLock().lock();
+        try {
+            return new SlotSpliterator(0, nextSlot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Traverses the slots {@code [next, end)}. Slots handed out after the
+     * spliterator was created are not visited.
+     */
+    private final class SlotSpliterator implements Spliterator<Project> {
+        private int next;
+        private final int end;
+        private final Project[] batch = new Project[BATCH];
+        private int batchSize;
+        private int batchIndex;
+
+        SlotSpliterator(int next, int end) {
+            this.next = next;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Project> action) {
+            if (batchIndex == batchSize && !fill()) return false;
+            Project project = batch[batchIndex];
+            batch[batchIndex++] = null;
+            action.accept(project);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Project> action) {
+            do {
+                while (batchIndex < batchSize) {
+                    Project project = batch[batchIndex];
+                    batch[batchIndex++] = null;
+                    action.accept(project);
+                }
+            } while (fill());
+        }
+
+        /**
+         * Reads the next batch of projects; false once the range is exhausted.
+         */
+        private boolean fill() {
+            batchSize = 0;
+            batchIndex = 0;
+            while (batchSize == 0 && next < end) {
+                lock.readLock().lock();
+                try {
+                    int limit = Math.min(end, nextSlot);
+                    for (; next < end && batchSize < BATCH; next++) {
+                        if (next < limit && inUse(next)) batch[batchSize++] = read(next);
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            return batchSize > 0;
+        }
+
+        @Override
+        public Spliterator<Project> trySplit() {
+            int remaining = end - next;
+            if (batchIndex < batchSize || remaining < 2 * BATCH) return null;
+            int middle = next + remaining / 2;
+            Spliterator<Project> prefix = new SlotSpliterator(next, middle);
+            next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next + (batchSize - batchIndex);
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | CONCURRENT;
+        }
+    }
+
+    /**
+     * Visits every stored project through one reusable flyweight, without
+     * building {@link Project} instances.
+     * <p>
+     * The action runs under the read lock: the flyweight is only valid during
+     * the call, and the action must not change this store.
+     * </p>
+     *
+     * @param action receives the flyweight positioned on each record in turn
+     */
+    public void forEachRecord(Consumer<ProjectRecord> action) {
+        ProjectRecord record = new ProjectRecord(this);
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < nextSlot; slot++) {
+                if (!inUse(slot)) continue;
+                record.slot = slot;
+                action.accept(record);
+            }
+        } finally {
+            record.slot = -1;
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return number of stored projects */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return off-heap bytes reserved for records and strings */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) chunks.size() * RECORDS_PER_CHUNK * RECORD_BYTES + strings.reservedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every project and releases the off-heap buffers to the garbage collector.
+     */
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            chunks.clear();
+            strings.clear();
+            slotTable = new int[MIN_TABLE];
+            freeSlots = new int[16];
+            freeCount = 0;
+            nextSlot = 0;
+            size = 0;
+            statusIndex.clear();
+            dateRangeIndex.clear();
+            textIndex.clear();
+            statusHistory.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public StatusIndex statusIndex() {
+        return statusIndex;
+    }
+
+    @Override
+    public DateRangeIndex dateRangeIndex() {
+        return dateRangeIndex;
+    }
+
+    @Override
+    public TextIndex textIndex() {
+        return textIndex;
+    }
+
+    @Override
+    public StatusHistory statusHistory() {
+        return statusHistory;
+    }
+
+    // ---- Record access, called with the lock held ----
+
+    ByteBuffer chunk(int slot) {
+        return chunks.get(slot / RECORDS_PER_CHUNK);
+    }
+
+    static int offset(int slot) {
+        return (slot % RECORDS_PER_CHUNK) * RECORD_BYTES;
+    }
+
+    String string(int ref) {
+        return strings.get(ref);
+    }
+
+    private boolean inUse(int slot) {
+        return chunk(slot).get(offset(slot) + IN_USE) != 0;
+    }
+
+    private void write(int slot, Project project) {
+        ByteBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+        chunk.putLong(offset + ID, project.getProjectId());
+        chunk.putLong(offset + START, toDay(project.getStartDate()));
+        chunk.putLong(offset + END, toDay(project.getEndDate()));
+        chunk.putInt(offset + NAME, strings.intern(project.getProjectName()));
+        chunk.putInt(offset + DESCRIPTION, strings.intern(project.getProjectDescription()));
+        writeClient(chunk, offset, project.getAssignedClient());
+        chunk.putInt(offset + BUILDER, strings.intern(project.getBuilderId()));
+        chunk.putInt(offset + MANAGER, strings.intern(project.getProjectManagerId()));
+        Status status = project.getStatus();
+        chunk.put(offset + STATUS, status == null ? NO_STATUS : (byte) status.ordinal());
+        chunk.put(offset + IN_USE, (byte) 1);
+    }
+
+    private void writeClient(ByteBuffer chunk, int offset, Client client) {
+        chunk.putLong(offset + CLIENT_ID, client.getClientId());
+        chunk.putInt(offset + CLIENT_NAME, strings.intern(client.getClientName()));
+        chunk.putInt(offset + CLIENT_EMAIL, strings.intern(client.getClientEmail()));
+        chunk.putInt(offset + CLIENT_PHONE, strings.intern(client.getClientPhoneNo()));
+    }
+
+    /**
+     * Builds a project from its record. Its IDs were allocated or observed when it
+     * was created or loaded, so reads leave the shared ID allocators alone.
+     */
+    Project read(int slot) {
+        ByteBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+        Client client = Client.withAllocatedId(chunk.getLong(offset + CLIENT_ID),
+                strings.get(chunk.getInt(offset + CLIENT_NAME)),
+                strings.get(chunk.getInt(offset + CLIENT_EMAIL)),
+                strings.get(chunk.getInt(offset + CLIENT_PHONE)));
+        return Project.withAllocatedId(chunk.getLong(offset + ID),
+                strings.get(chunk.getInt(offset + NAME)),
+                strings.get(chunk.getInt(offset + DESCRIPTION)),
+                toDate(chunk.getLong(offset + START)),
+                toDate(chunk.getLong(offset + END)),
+                client,
+                toStatus(chunk.get(offset + STATUS)),
+                strings.get(chunk.getInt(offset + BUILDER)),
+                strings.get(chunk.getInt(offset + MANAGER)));
+    }
+
+    static LocalDate toDate(long epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    static Status toStatus(byte ordinal) {
+        return ordinal == NO_STATUS ? null : STATUSES[ordinal];
+    }
+
+    private static long toDay(LocalDate date) {
+        return date == null ? NO_DATE : date.toEpochDay();
+    }
+
+    // ---- Slot allocation and the ID-to-slot table ----
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        if (nextSlot == chunks.size() * RECORDS_PER_CHUNK) {
+            chunks.add(ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * RECORD_BYTES));
+        }
+        return nextSlot++;
+    }
+
+    private long idAt(int slot) {
+        return chunk(slot).getLong(offset(slot) + ID);
+    }
+
+    private int findSlot(long projectId) {
+        int mask = slotTable.length - 1;
+        for (int i = mix(projectId) & mask; slotTable[i] != 0; i = (i + 1) & mask) {
+            int slot = slotTable[i] - 1;
+            if (idAt(slot) == projectId) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a table entry and writes the ID into the record, where later probes read it.
+     */
+    private void insertSlot(long projectId, int slot) {
+        if ((size + 1) * 2 > slotTable.length) resizeTable(slotTable.length * 2);
+        int mask = slotTable.length - 1;
+        int i = mix(projectId) & mask;
+        while (slotTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slotTable[i] = slot + 1;
+        chunk(slot).putLong(offset(slot) + ID, projectId);
+    }
+
+    /**
+     * Removes a table entry by shifting later entries of the same probe run back.
+     */
+    private void deleteSlot(long projectId) {
+        int mask = slotTable.length - 1;
+        int i = mix(projectId) & mask;
+        while (idAt(slotTable[i] - 1) != projectId) {
+            i = (i + 1) & mask;
+        }
+        int hole = i;
+        for (int j = (hole + 1) & mask; slotTable[j] != 0; j = (j + 1) & mask) {
+            int home = mix(idAt(slotTable[j] - 1)) & mask;
+            // Move the entry at j into the hole unless its home lies cyclically in (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                slotTable[hole] = slotTable[j];
+                hole = j;
+            }
+        }
+        slotTable[hole] = 0;
+    }
+
+    private void resizeTable(int capacity) {
+        int[] old = slotTable;
+        slotTable = new int[capacity];
+        int mask = capacity - 1;
+        for (int entry : old) {
+            if (entry == 0) continue;
+            int i = mix(idAt(entry - 1)) & mask;
+            while (slotTable[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slotTable[i] = entry;
+        }
+    }
+
+    private static int mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
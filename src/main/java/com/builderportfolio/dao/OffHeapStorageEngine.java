@@ -0,0 +1,40 @@
+package com.builderportfolio.dao;
+
+/**
+ * {@link StorageEngine} keeping projects in an {@link OffHeapProjectStore}.
+ * <p>
+ * Users and assignments stay in the in-memory stores; only project data,
+ * which dominates memory in very large portfolios, moves off the heap.
+ * Selected with {@code -Dbuilderportfolio.storage=offheap}; every engine
+ * created is independent of the static DAO classes.
+ * </p>
+ */
+public class OffHeapStorageEngine implements StorageEngine {
+
+    /** Registry name of this engine. */
+    public static final String NAME = "offheap";
+
+    private final UserStore userStore = new InMemoryUserStore();
+    private final OffHeapProjectStore projectStore = new OffHeapProjectStore();
+    private final AssignmentStore assignmentStore = new InMemoryAssignmentStore();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public UserStore userStore() {
+        return userStore;
+    }
+
+    @Override
+    public OffHeapProjectStore projectStore() {
+        return projectStore;
+    }
+
+    @Override
+    public AssignmentStore assignmentStore() {
+        return assignmentStore;
+    }
+}
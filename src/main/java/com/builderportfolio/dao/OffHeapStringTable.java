@@ -0,0 +1,151 @@
+package com.builderportfolio.dao;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Interned strings stored as UTF-8 outside the Java heap.
+ * <p>
+ * Each distinct string is written once into direct {@link ByteBuffer} chunks
+ * as {@code hash, length, bytes}, aligned to 8 bytes, and identified by an
+ * {@code int} reference: its offset divided by 8, so 16 GiB of text can be
+ * addressed. Reference 0 stands for {@code null}. Interning the same string
+ * again returns the same reference, found through an open-addressing table of
+ * references that compares hashes first and bytes only on a hash match.
+ * <p>
+ * Entries are never freed individually, since any number of records may share
+ * one; the space is reclaimed by {@link #clear()}. Not thread-safe: the owning
+ * store guards it with its own lock.
+ */
+class OffHeapStringTable {
+
+    /** Size of each direct buffer; also bounds the length of one string. */
+    static final int CHUNK_BYTES = 1 << 22;
+    private static final int HEADER_BYTES = 8;
+    private static final int MIN_TABLE = 1 << 10;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    /** Offset of the next free byte; starts past 0 so that no entry gets reference 0. */
+    private long used;
+    /** References of the interned strings, 0 for a free slot. */
+    private int[] table;
+    private int count;
+
+    OffHeapStringTable() {
+        clear();
+    }
+
+    /**
+     * @param value string to store, may be null
+     * @return reference to the stored copy; 0 for null
+     * @throws IllegalArgumentException if the encoded string does not fit in one chunk
+     */
+    int intern(String value) {
+        if (value == null) return 0;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = Arrays.hashCode(bytes);
+        int mask = table.length - 1;
+        int i = mix(hash) & mask;
+        for (int ref = table[i]; ref != 0; ref = table[i]) {
+            if (matches(ref, hash, bytes)) return ref;
+            i = (i + 1) & mask;
+        }
+        int ref = append(hash, bytes);
+        table[i] = ref;
+        if (++count * 2 > table.length) resize();
+        return ref;
+    }
+
+    /**
+     * @param ref reference returned by {@link #intern}
+     * @return the stored string, or null for reference 0
+     */
+    String get(int ref) {
+        if (ref == 0) return null;
+        long offset = (ref & 0xFFFFFFFFL) << 3;
+        ByteBuffer chunk = chunks.get((int) (offset / CHUNK_BYTES));
+        int position = (int) (offset % CHUNK_BYTES);
+        byte[] bytes = new byte[chunk.getInt(position + 4)];
+        chunk.get(position + HEADER_BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** @return off-heap bytes reserved for string data */
+    long reservedBytes() {
+        return (long) chunks.size() * CHUNK_BYTES;
+    }
+
+    /** @return number of distinct strings stored */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Drops every string and releases the buffers to the garbage collector.
+     */
+    void clear() {
+        chunks.clear();
+        used = HEADER_BYTES;
+        table = new int[MIN_TABLE];
+        count = 0;
+    }
+
+    private int append(int hash, byte[] bytes) {
+        int entryBytes = HEADER_BYTES + bytes.length;
+        if (entryBytes > CHUNK_BYTES) {
+            throw new IllegalArgumentException("String too long to store: " + bytes.length + " bytes");
+        }
+        long offset = (used + 7) & ~7L;
+        if (offset % CHUNK_BYTES + entryBytes > CHUNK_BYTES) {
+            offset = (offset / CHUNK_BYTES + 1) * CHUNK_BYTES;
+        }
+        int chunkIndex = (int) (offset / CHUNK_BYTES);
+        while (chunks.size() <= chunkIndex) {
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_BYTES));
+        }
+        ByteBuffer chunk = chunks.get(chunkIndex);
+        int position = (int) (offset % CHUNK_BYTES);
+        chunk.putInt(position, hash);
+        chunk.putInt(position + 4, bytes.length);
+        chunk.put(position + HEADER_BYTES, bytes);
+        used = offset + entryBytes;
+        return (int) (offset >>> 3);
+    }
+
+    private boolean matches(int ref, int hash, byte[] bytes) {
+        long offset = (ref & 0xFFFFFFFFL) << 3;
+        ByteBuffer chunk = chunks.get((int) (offset / CHUNK_BYTES));
+        int position = (int) (offset % CHUNK_BYTES);
+        if (chunk.getInt(position) != hash || chunk.getInt(position + 4) != bytes.length) return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (chunk.get(position + HEADER_BYTES + i) != bytes[i]) return false;
+        }
+        return true;
+    }
+
+    private int storedHash(int ref) {
+        long offset = (ref & 0xFFFFFFFFL) << 3;
+        return chunks.get((int) (offset / CHUNK_BYTES)).getInt((int) (offset % CHUNK_BYTES));
+    }
+
+    private void resize() {
+        int[] old = table;
+        table = new int[old.length * 2];
+        int mask = table.length - 1;
+        for (int ref : old) {
+            if (ref == 0) continue;
+            int i = mix(storedHash(ref)) & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = ref;
+        }
+    }
+
+    private static int mix(int hash) {
+        return hash * 0x9E3779B9 ^ (hash >>> 16);
+    }
+}
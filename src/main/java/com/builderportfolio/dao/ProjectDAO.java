@@ -2,25 +2,29 @@ package com.builderportfolio.dao;
 
 import com.builderportfolio.model.Project;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * DAO class for managing Project data.
  * <p>
- * Maintains an in-memory mapping of Project IDs to Project objects.
- * Provides methods to save, fetch, remove, and clear projects.
+ * Static access point to the shared {@link InMemoryProjectStore}, which maintains
+ * an in-memory mapping of Project IDs to Project objects.
+ * Provides methods to save, fetch, remove, and clear projects,
+ * and access to the status, date range and text indexes kept alongside them.
  * Thread-safe collections are used to allow concurrent access.
  * </p>
  */
 public class ProjectDAO {
 
     /**
-     * In-memory storage for project data.
-     * Key   → Project ID
-     * Value → Project object
+     * Shared in-memory storage for project data.
      */
-    private static Map<Long, Project> projectDatabase = new ConcurrentHashMap<>();
+    private static final InMemoryProjectStore store = InMemoryStorageEngine.SHARED_PROJECTS;
+
+    /**
+     * @return the store behind this DAO, for wiring into services
+     */
+    public static ProjectStore store() {
+        return store;
+    }
 
     /**
      * Saves a new project into the database.
@@ -29,7 +33,7 @@ public class ProjectDAO {
      * @param project Project object to save
      */
     public static void saveProject(Project project) {
-        projectDatabase.put(project.getProjectId(), project);
+        store.saveProject(project);
     }
 
     /**
@@ -39,7 +43,7 @@ public class ProjectDAO {
      * @return Project object if found, otherwise null
      */
     public static Project getProjectById(Long projectId) {
-        return projectDatabase.get(projectId);
+        return store.getProjectById(projectId);
     }
 
     /**
@@ -49,7 +53,28 @@ public class ProjectDAO {
      * @param projectId ID of the project to remove
      */
     public static void removeProject(Long projectId) {
-        projectDatabase.remove(projectId);
+        store.removeProject(projectId);
+    }
+
+    /**
+     * @return the status index of the shared project store
+     */
+    public static StatusIndex statusIndex() {
+        return store.statusIndex();
+    }
+
+    /**
+     * @return the date range index of the shared project store
+     */
+    public static DateRangeIndex dateRangeIndex() {
+        return store.dateRangeIndex();
+    }
+
+    /**
+     * @return the full-text index of the shared project store
+     */
+    public static TextIndex textIndex() {
+        return store.textIndex();
     }
 
     /**
@@ -57,8 +82,7 @@ public class ProjectDAO {
      * Useful for resetting in-memory storage during tests.
      */
     public static void clearDatabase() {
-        projectDatabase.clear();
+        store.clear();
     }
 
 }
-
@@ -0,0 +1,86 @@
+package com.builderportfolio.dao;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by project ID, guarding changes that span several stores.
+ * <p>
+ * Creating or deleting a project touches the project store and both
+ * assignment sets. Holding the project's stripe for the whole change keeps a
+ * deletion from running between the steps of the creation of the same
+ * project, which would leave its ID behind in an assignment set. Reads take
+ * no lock: stores are written in an order that keeps every ID in an
+ * assignment set pointing at a stored project.
+ * </p>
+ * <p>
+ * The stripes are shared by all engines in the JVM; two projects sharing a
+ * stripe merely wait for each other. The locks are reentrant, so a durable
+ * engine can take the stripe and then call the engine it wraps.
+ * </p>
+ */
+public final class ProjectLocks {
+
+    private static final int STRIPES = 256;
+
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    private ProjectLocks() {
+    }
+
+    /**
+     * Runs an action holding the stripe of one project.
+     *
+     * @param projectId project being changed
+     * @param action    change to make
+     * @param <T>       result type
+     * @return the action's result
+     */
+    public static <T> T withLock(long projectId, Supplier<T> action) {
+        ReentrantLock lock = LOCKS[stripe(projectId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs an action holding the stripes of several projects. Stripes are
+     * always taken in ascending order, so two batches cannot deadlock.
+     *
+     * @param projectIds projects being changed
+     * @param action     change to make
+     * @param <T>        result type
+     * @return the action's result
+     */
+    public static <T> T withLocks(long[] projectIds, Supplier<T> action) {
+        boolean[] needed = new boolean[STRIPES];
+        for (long projectId : projectIds) {
+            needed[stripe(projectId)] = true;
+        }
+        int locked = 0;
+        try {
+            for (; locked < STRIPES; locked++) {
+                if (needed[locked]) LOCKS[locked].lock();
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                if (needed[i]) LOCKS[i].unlock();
+            }
+        }
+    }
+
+    private static int stripe(long projectId) {
+        long h = projectId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 56);
+    }
+}
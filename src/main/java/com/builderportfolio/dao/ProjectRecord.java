@@ -0,0 +1,113 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Flyweight view of one record in an {@link OffHeapProjectStore}.
+ * <p>
+ * {@link OffHeapProjectStore#forEachRecord} moves a single instance from
+ * record to record, so a scan allocates nothing per project beyond the
+ * fields it actually reads: numbers and the status come straight from the
+ * record, strings are decoded on each call. The view is only valid inside
+ * the callback that received it.
+ * </p>
+ */
+public final class ProjectRecord {
+
+    private final OffHeapProjectStore store;
+
+    /** Slot the view is positioned on, -1 outside a callback. */
+    int slot = -1;
+
+    ProjectRecord(OffHeapProjectStore store) {
+        this.store = store;
+    }
+
+    /** @return the unique project ID */
+    public long getProjectId() {
+        return chunk().getLong(base() + OffHeapProjectStore.ID);
+    }
+
+    /** @return the name of the project */
+    public String getProjectName() {
+        return string(OffHeapProjectStore.NAME);
+    }
+
+    /** @return the project description */
+    public String getProjectDescription() {
+        return string(OffHeapProjectStore.DESCRIPTION);
+    }
+
+    /** @return the project start date as an epoch day */
+    public long getStartEpochDay() {
+        return chunk().getLong(base() + OffHeapProjectStore.START);
+    }
+
+    /** @return the project end date as an epoch day */
+    public long getEndEpochDay() {
+        return chunk().getLong(base() + OffHeapProjectStore.END);
+    }
+
+    /** @return the project start date */
+    public LocalDate getStartDate() {
+        return OffHeapProjectStore.toDate(getStartEpochDay());
+    }
+
+    /** @return the project end date */
+    public LocalDate getEndDate() {
+        return OffHeapProjectStore.toDate(getEndEpochDay());
+    }
+
+    /** @return the current status of the project */
+    public Status getStatus() {
+        return OffHeapProjectStore.toStatus(chunk().get(base() + OffHeapProjectStore.STATUS));
+    }
+
+    /** @return the ID of the assigned client */
+    public long getClientId() {
+        return chunk().getLong(base() + OffHeapProjectStore.CLIENT_ID);
+    }
+
+    /** @return the name of the assigned client */
+    public String getClientName() {
+        return string(OffHeapProjectStore.CLIENT_NAME);
+    }
+
+    /** @return the builder ID responsible for this project */
+    public String getBuilderId() {
+        return string(OffHeapProjectStore.BUILDER);
+    }
+
+    /** @return the project manager ID */
+    public String getProjectManagerId() {
+        return string(OffHeapProjectStore.MANAGER);
+    }
+
+    /**
+     * @return a {@link Project} copied from the record, independent of the store
+     */
+    public Project toProject() {
+        return store.read(checkedSlot());
+    }
+
+    private String string(int field) {
+        return store.string(chunk().getInt(base() + field));
+    }
+
+    private ByteBuffer chunk() {
+        return store.chunk(checkedSlot());
+    }
+
+    private int base() {
+        return OffHeapProjectStore.offset(slot);
+    }
+
+    private int checkedSlot() {
+        if (slot < 0) throw new IllegalStateException("Project record used outside forEachRecord");
+        return slot;
+    }
+}
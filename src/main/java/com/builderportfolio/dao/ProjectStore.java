@@ -0,0 +1,158 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Storage contract for projects, keyed by project ID.
+ * <p>
+ * The default implementation is {@link InMemoryProjectStore}; other engines
+ * are selected through {@link StorageEngines}.
+ * </p>
+ */
+public interface ProjectStore {
+
+    /**
+     * Saves a project, overwriting any project with the same ID.
+     *
+     * @param project Project object to save
+     */
+    void saveProject(Project project);
+
+    /**
+     * Saves several projects, overwriting any project with the same ID.
+     * Implementations may apply the whole batch with a single update.
+     *
+     * @param projects Project objects to save
+     */
+    default void saveProjects(Collection<Project> projects) {
+        for (Project project : projects) {
+            saveProject(project);
+        }
+    }
+
+    /**
+     * @param projectId ID of the project to fetch
+     * @return Project object if found, otherwise null
+     */
+    Project getProjectById(long projectId);
+
+    /**
+     * Sets the status of a stored project as logged, for log replay only.
+     * It neither checks {@link Status#canMoveTo} nor records a
+     * {@link #statusHistory()} entry: it exists to replay status updates logged
+     * before the history was kept, and transitions whose expected status no
+     * longer matches. Every other status change goes through {@link #transitionStatus}.
+     *
+     * @param projectId ID of the project
+     * @param status    logged status
+     * @return true if the project exists and was updated, false otherwise
+     */
+    boolean replayStatus(long projectId, Status status);
+
+    /**
+     * Changes the status of a stored project only if it still has the expected
+     * status, and records the change in the {@link #statusHistory()} in the
+     * same atomic step. Callers check the transition is allowed.
+     *
+     * @param projectId       ID of the project
+     * @param expected        status the caller last saw
+     * @param status          new status
+     * @param actorId         ID of the user making the change
+     * @param timestampMillis time of the change, in milliseconds since the epoch
+     * @return true if the project exists, had the expected status and was updated, false otherwise
+     */
+    boolean transitionStatus(long projectId, Status expected, Status status, String actorId, long timestampMillis);
+
+    /**
+     * Changes the start and end dates of a stored project.
+     * Callers validate the dates; the end date must not be before the start date.
+     *
+     * @param projectId ID of the project
+     * @param startDate new start date
+     * @param endDate   new end date
+     * @return true if the project exists and was updated, false otherwise
+     */
+    boolean updateDates(long projectId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Changes the searchable text of a stored project: its name, description and client.
+     * Callers validate the values.
+     *
+     * @param projectId   ID of the project
+     * @param projectName new name
+     * @param description new description
+     * @param client      new client
+     * @return true if the project exists and was updated, false otherwise
+     */
+    boolean updateDetails(long projectId, String projectName, String description, Client client);
+
+    /**
+     * Removes a project.
+     *
+     * @param projectId ID of the project to remove
+     */
+    void removeProject(long projectId);
+
+    /**
+     * Visits every stored project without copying the store.
+     * Projects saved or removed during the walk may or may not be seen.
+     *
+     * @param action called once per project
+     */
+    void forEach(Consumer<Project> action);
+
+    /**
+     * Returns a spliterator over the stored projects that splits into roughly
+     * even parts, for parallel traversal. Like {@link #forEach}, it is weakly
+     * consistent: projects saved or removed during the traversal may or may not
+     * be seen, and none is seen twice.
+     *
+     * @return a spliterator over the stored projects
+     */
+    Spliterator<Project> spliterator();
+
+    /**
+     * Removes every project and every recorded status transition from the store.
+     */
+    void clear();
+
+    /**
+     * Index of the stored projects by status, kept up to date by
+     * {@link #saveProject}, {@link #transitionStatus} and {@link #removeProject}.
+     *
+     * @return the store's status index
+     */
+    StatusIndex statusIndex();
+
+    /**
+     * Index of the stored projects by start and end date, kept up to date by
+     * {@link #saveProject}, {@link #updateDates} and {@link #removeProject}.
+     *
+     * @return the store's date range index
+     */
+    DateRangeIndex dateRangeIndex();
+
+    /**
+     * Full-text index of the stored projects' names, descriptions and client
+     * names, kept up to date by {@link #saveProject}, {@link #updateDetails}
+     * and {@link #removeProject}.
+     *
+     * @return the store's text index
+     */
+    TextIndex textIndex();
+
+    /**
+     * Log of the status transitions made through {@link #transitionStatus}.
+     * Entries outlive the removal of their project.
+     *
+     * @return the store's status history
+     */
+    StatusHistory statusHistory();
+}
@@ -0,0 +1,222 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.StatusTransition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only log of every project's status transitions.
+ * <p>
+ * Each transition takes three longs in chunks of primitive arrays, 24 bytes
+ * whatever the number of entries: the project ID, the timestamp in
+ * milliseconds, and one packed word holding the index of the project's
+ * previous entry (32 bits), the actor (24 bits, a reference into a table
+ * where each user ID is stored once) and the from and to {@link Status}
+ * ordinals (4 bits each). The previous-entry links chain each project's
+ * transitions together, so one project's history is read without scanning
+ * the others. Chunks are never copied as the log grows.
+ * </p>
+ * <p>
+ * A {@link ProjectStore} records a transition while it holds whatever lock it
+ * already uses for the project, so one project's entries are in the order its
+ * status changed. Appends and reads are guarded by one read-write lock.
+ * </p>
+ */
+public class StatusHistory {
+
+    private static final int CHUNK_SHIFT = 12;
+    /** Entries per chunk. */
+    private static final int CHUNK_ENTRIES = 1 << CHUNK_SHIFT;
+    private static final int LONGS_PER_ENTRY = 3;
+    private static final int MAX_ACTORS = 1 << 24;
+    private static final int NO_STATUS = 0xF;
+    private static final Status[] STATUSES = Status.values();
+
+    /**
+     * Receives transitions without creating an object per entry.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * @param projectId       ID of the project that changed
+         * @param timestampMillis time of the change, in milliseconds since the epoch
+         * @param actorId         ID of the user who made the change
+         * @param from            status before the change, or null
+         * @param to              status after the change, or null
+         */
+        void visit(long projectId, long timestampMillis, String actorId, Status from, Status to);
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[][] chunks = new long[4][];
+    private int size;
+
+    /**
+     * Latest entry per project.
+     * Key   → Project ID
+     * Value → index of the project's most recent entry
+     */
+    private final Map<Long, Integer> lastEntry = new HashMap<>();
+
+    /**
+     * Actor IDs, each stored once.
+     * Key   → User ID
+     * Value → index in {@link #actors}
+     */
+    private final Map<String, Integer> actorRefs = new HashMap<>();
+    private final List<String> actors = new ArrayList<>();
+
+    /**
+     * Appends a transition.
+     *
+     * @param projectId       ID of the project that changed
+     * @param from            status before the change, or null
+     * @param to              status after the change, or null
+     * @param actorId         ID of the user who made the change
+     * @param timestampMillis time of the change, in milliseconds since the epoch
+     * @throws IllegalStateException if the log or its actor table is full
+     */
+    public void record(long projectId, Status from, Status to, String actorId, long timestampMillis) {
+        lock.writeLock().lock();
+        try {
+            if (size == Integer.MAX_VALUE) throw new IllegalStateException("Status history is full");
+            int actor = actorRef(actorId);
+            int entry = size;
+            int chunk = entry >>> CHUNK_SHIFT;
+            if (chunk == chunks.length) chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            if (chunks[chunk] == null) chunks[chunk] = new long[CHUNK_ENTRIES * LONGS_PER_ENTRY];
+
+            Integer previous = lastEntry.put(projectId, entry);
+            int offset = (entry & (CHUNK_ENTRIES - 1)) * LONGS_PER_ENTRY;
+            long[] values = chunks[chunk];
+            values[offset] = projectId;
+            values[offset + 1] = timestampMillis;
+            values[offset + 2] = pack(previous == null ? -1 : previous, actor, ordinal(from), ordinal(to));
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param projectId ID of the project
+     * @return the project's transitions, oldest first; empty if it has none
+     */
+    public List<StatusTransition> transitionsOf(long projectId) {
+        List<StatusTransition> transitions = new ArrayList<>();
+        forEachOf(projectId, (id, timestamp, actor, from, to) ->
+                transitions.add(new StatusTransition(id, timestamp, actor, from, to)));
+        return transitions;
+    }
+
+    /**
+     * Visits one project's transitions, oldest first.
+     *
+     * @param projectId ID of the project
+     * @param visitor   called once per transition
+     */
+    public void forEachOf(long projectId, Visitor visitor) {
+        lock.readLock().lock();
+        try {
+            Integer last = lastEntry.get(projectId);
+            if (last == null) return;
+            // Follow the links newest first, then visit in the order of the changes
+            int[] entries = new int[8];
+            int count = 0;
+            for (int entry = last; entry >= 0; entry = previous(entry)) {
+                if (count == entries.length) entries = Arrays.copyOf(entries, count * 2);
+                entries[count++] = entry;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                visit(entries[i], visitor);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visits every transition of every project in the order they were recorded.
+     * Appends wait until the walk has finished.
+     *
+     * @param visitor called once per transition
+     */
+    public void forEach(Visitor visitor) {
+        lock.readLock().lock();
+        try {
+            for (int entry = 0; entry < size; entry++) {
+                visit(entry, visitor);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return number of recorded transitions */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the log.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            chunks = new long[4][];
+            size = 0;
+            lastEntry.clear();
+            actorRefs.clear();
+            actors.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void visit(int entry, Visitor visitor) {
+        long[] values = chunks[entry >>> CHUNK_SHIFT];
+        int offset = (entry & (CHUNK_ENTRIES - 1)) * LONGS_PER_ENTRY;
+        long packed = values[offset + 2];
+        visitor.visit(values[offset], values[offset + 1], actors.get((int) (packed >>> 8) & (MAX_ACTORS - 1)),
+                status((int) (packed >>> 4) & 0xF), status((int) packed & 0xF));
+    }
+
+    private int previous(int entry) {
+        return (int) (chunks[entry >>> CHUNK_SHIFT][(entry & (CHUNK_ENTRIES - 1)) * LONGS_PER_ENTRY + 2] >> 32);
+    }
+
+    private int actorRef(String actorId) {
+        Integer ref = actorRefs.get(actorId);
+        if (ref == null) {
+            if (actors.size() == MAX_ACTORS) throw new IllegalStateException("Too many actors in status history");
+            ref = actors.size();
+            actorRefs.put(actorId, ref);
+            actors.add(actorId);
+        }
+        return ref;
+    }
+
+    private static long pack(int previous, int actor, int from, int to) {
+        return ((long) previous << 32) | ((long) actor << 8) | ((long) from << 4) | to;
+    }
+
+    private static int ordinal(Status status) {
+        return status == null ? NO_STATUS : status.ordinal();
+    }
+
+    private static Status status(int ordinal) {
+        return ordinal == NO_STATUS ? null : STATUSES[ordinal];
+    }
+}
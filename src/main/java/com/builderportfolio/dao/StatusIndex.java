@@ -0,0 +1,209 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Secondary index of project IDs by {@link Status}, overall and per manager and builder.
+ * <p>
+ * Counts and ID walks never touch the projects themselves: overall counts come
+ * from one {@link LongAdder} per status, and per-manager and per-builder counts
+ * are the sizes of their {@link ConcurrentLongSet}s. A {@link ProjectStore}
+ * updates the index while it holds whatever lock it already uses for the
+ * project, so every add, move and remove of one project is applied in order.
+ * <p>
+ * Removal looks the ID up in every status set rather than trusting the
+ * project's current status, so a status changed without going through the
+ * store cannot leave a stale entry behind.
+ */
+public class StatusIndex {
+
+    private static final Status[] STATUSES = Status.values();
+
+    /**
+     * Project IDs per status.
+     * Index → Status ordinal
+     * Value → IDs of the projects with that status
+     */
+    private final ConcurrentLongSet[] byStatus = newSets();
+
+    /**
+     * Number of projects per status.
+     * Index → Status ordinal
+     * Value → count, kept in step with {@link #byStatus}
+     */
+    private final LongAdder[] counts = new LongAdder[STATUSES.length];
+
+    /**
+     * Project IDs per manager and status.
+     * Key   → Project Manager ID
+     * Value → IDs of that manager's projects, by status ordinal
+     */
+    private final Map<String, ConcurrentLongSet[]> byManager = new ConcurrentHashMap<>();
+
+    /**
+     * Project IDs per builder and status.
+     * Key   → Builder ID
+     * Value → IDs of that builder's projects, by status ordinal
+     */
+    private final Map<String, ConcurrentLongSet[]> byBuilder = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty index.
+     */
+    public StatusIndex() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Indexes a newly stored project under its current status.
+     * Projects without a status are not indexed.
+     *
+     * @param project stored project
+     */
+    public void add(Project project) {
+        Status status = project.getStatus();
+        if (status == null) return;
+        long projectId = project.getProjectId();
+        int ordinal = status.ordinal();
+        if (byStatus[ordinal].add(projectId)) {
+            counts[ordinal].increment();
+        }
+        if (project.getProjectManagerId() != null) {
+            byManager.computeIfAbsent(project.getProjectManagerId(), k -> newSets())[ordinal].add(projectId);
+        }
+        if (project.getBuilderId() != null) {
+            byBuilder.computeIfAbsent(project.getBuilderId(), k -> newSets())[ordinal].add(projectId);
+        }
+    }
+
+    /**
+     * Removes a project from the index, whatever status it was indexed under.
+     *
+     * @param project project leaving the store
+     */
+    public void remove(Project project) {
+        removeExcept(project, -1);
+    }
+
+    /**
+     * Re-indexes a project after its status changed. The project is added under
+     * its new status before it is removed from the old one, so it never drops
+     * out of the index in between.
+     *
+     * @param project project whose status was just updated
+     */
+    public void update(Project project) {
+        add(project);
+        removeExcept(project, project.getStatus() == null ? -1 : project.getStatus().ordinal());
+    }
+
+    /**
+     * Empties the index.
+     */
+    public void clear() {
+        for (int ordinal = 0; ordinal < STATUSES.length; ordinal++) {
+            byStatus[ordinal].clear();
+            counts[ordinal].reset();
+        }
+        byManager.clear();
+        byBuilder.clear();
+    }
+
+    /**
+     * @param status status to count
+     * @return number of projects with that status
+     */
+    public long count(Status status) {
+        return counts[status.ordinal()].sum();
+    }
+
+    /**
+     * @param managerId Project Manager ID
+     * @param status    status to count
+     * @return number of the manager's projects with that status
+     */
+    public long countForManager(String managerId, Status status) {
+        ConcurrentLongSet[] sets = byManager.get(managerId);
+        return sets == null ? 0 : sets[status.ordinal()].size();
+    }
+
+    /**
+     * @param builderId Builder ID
+     * @param status    status to count
+     * @return number of the builder's projects with that status
+     */
+    public long countForBuilder(String builderId, Status status) {
+        ConcurrentLongSet[] sets = byBuilder.get(builderId);
+        return sets == null ? 0 : sets[status.ordinal()].size();
+    }
+
+    /**
+     * Passes the ID of every project with {@code status} to {@code action},
+     * with the semantics of {@link ConcurrentLongSet#forEach}.
+     *
+     * @param status status to look up
+     * @param action receives each project ID
+     */
+    public void forEach(Status status, LongConsumer action) {
+        byStatus[status.ordinal()].forEach(action);
+    }
+
+    /**
+     * @param managerId Project Manager ID
+     * @param status    status to look up
+     * @param action    receives the ID of each of the manager's projects with that status
+     */
+    public void forEachForManager(String managerId, Status status, LongConsumer action) {
+        ConcurrentLongSet[] sets = byManager.get(managerId);
+        if (sets != null) sets[status.ordinal()].forEach(action);
+    }
+
+    /**
+     * @param builderId Builder ID
+     * @param status    status to look up
+     * @param action    receives the ID of each of the builder's projects with that status
+     */
+    public void forEachForBuilder(String builderId, Status status, LongConsumer action) {
+        ConcurrentLongSet[] sets = byBuilder.get(builderId);
+        if (sets != null) sets[status.ordinal()].forEach(action);
+    }
+
+    /**
+     * Removes the project from every status set except the one for {@code keptOrdinal}.
+     */
+    private void removeExcept(Project project, int keptOrdinal) {
+        long projectId = project.getProjectId();
+        for (int ordinal = 0; ordinal < STATUSES.length; ordinal++) {
+            if (ordinal != keptOrdinal && byStatus[ordinal].remove(projectId)) {
+                counts[ordinal].decrement();
+            }
+        }
+        removeFrom(byManager, project.getProjectManagerId(), projectId, keptOrdinal);
+        removeFrom(byBuilder, project.getBuilderId(), projectId, keptOrdinal);
+    }
+
+    private static void removeFrom(Map<String, ConcurrentLongSet[]> index, String userId, long projectId, int keptOrdinal) {
+        if (userId == null) return;
+        ConcurrentLongSet[] sets = index.get(userId);
+        if (sets == null) return;
+        for (int ordinal = 0; ordinal < sets.length; ordinal++) {
+            if (ordinal != keptOrdinal) sets[ordinal].remove(projectId);
+        }
+    }
+
+    private static ConcurrentLongSet[] newSets() {
+        ConcurrentLongSet[] sets = new ConcurrentLongSet[STATUSES.length];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = new ConcurrentLongSet();
+        }
+        return sets;
+    }
+}
@@ -0,0 +1,105 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Project;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A complete storage backend: one store for users, projects and assignments.
+ * <p>
+ * Services are built from an engine, so the whole backend can be replaced
+ * (in-memory, file-backed, off-heap, sharded...) in one place.
+ * </p>
+ * <p>
+ * {@link #createProject}, {@link #createProjects} and {@link #deleteProject}
+ * change the project store and the assignment store as one unit, under the
+ * {@link ProjectLocks} stripes of the projects involved. Projects are stored
+ * before their assignments and unassigned before they are removed, so a
+ * concurrent reader never finds an assigned ID without its project.
+ * Durable engines also log each of them as a single record.
+ * </p>
+ */
+public interface StorageEngine extends AutoCloseable {
+
+    /** @return name under which the engine is registered in {@link StorageEngines} */
+    String name();
+
+    /** @return store for registered users */
+    UserStore userStore();
+
+    /** @return store for projects */
+    ProjectStore projectStore();
+
+    /** @return store for builder and manager assignments */
+    AssignmentStore assignmentStore();
+
+    /**
+     * Stores a new project and assigns it to its manager and builder.
+     *
+     * @param project project to create
+     */
+    default void createProject(Project project) {
+        ProjectLocks.withLock(project.getProjectId(), () -> {
+            projectStore().saveProject(project);
+            assignmentStore().addProjectToManager(project.getProjectManagerId(), project.getProjectId());
+            assignmentStore().addProjectToBuilder(project.getBuilderId(), project.getProjectId());
+            return null;
+        });
+    }
+
+    /**
+     * Stores new projects and assigns each to its manager and builder, with
+     * one assignment call per manager and per builder.
+     *
+     * @param projects projects to create
+     */
+    default void createProjects(List<Project> projects) {
+        long[] projectIds = new long[projects.size()];
+        Map<String, IdBatch> byManager = new LinkedHashMap<>();
+        Map<String, IdBatch> byBuilder = new LinkedHashMap<>();
+        for (int i = 0; i < projectIds.length; i++) {
+            Project project = projects.get(i);
+            projectIds[i] = project.getProjectId();
+            byManager.computeIfAbsent(project.getProjectManagerId(), k -> new IdBatch()).add(projectIds[i]);
+            byBuilder.computeIfAbsent(project.getBuilderId(), k -> new IdBatch()).add(projectIds[i]);
+        }
+        ProjectLocks.withLocks(projectIds, () -> {
+            projectStore().saveProjects(projects);
+            byManager.forEach((managerId, ids) -> assignmentStore().addProjectsToManager(managerId, ids.toArray()));
+            byBuilder.forEach((builderId, ids) -> assignmentStore().addProjectsToBuilder(builderId, ids.toArray()));
+            return null;
+        });
+    }
+
+    /**
+     * Unassigns and removes a project if it exists and passes a check, made
+     * under the same lock so the project cannot change in between.
+     *
+     * @param projectId project to delete
+     * @param condition decides whether the stored project may be deleted
+     * @return the deleted project, or null if it does not exist or failed the check
+     */
+    default Project deleteProject(long projectId, Predicate<Project> condition) {
+        return ProjectLocks.withLock(projectId, () -> {
+            Project project = projectStore().getProjectById(projectId);
+            if (project == null || !condition.test(project)) return null;
+            assignmentStore().removeProjectFromManager(project.getProjectManagerId(), projectId);
+            if (project.getBuilderId() != null) {
+                assignmentStore().removeProjectFromBuilder(project.getBuilderId(), projectId);
+            }
+            projectStore().removeProject(projectId);
+            return project;
+        });
+    }
+
+    /**
+     * Releases files or other resources held by the engine.
+     * In-memory engines have nothing to release.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,77 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.dao.wal.WalStorageEngine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of available {@link StorageEngine}s.
+ * <p>
+ * The engine used by the application is chosen with the
+ * {@code builderportfolio.storage} system property (default {@code memory};
+ * {@code wal} for the durable write-ahead-logged engine, {@code offheap} to keep
+ * project data outside the Java heap).
+ * New engines are added with {@link #register(String, Supplier)}.
+ * </p>
+ */
+public class StorageEngines {
+
+    /** System property naming the engine to use. */
+    public static final String STORAGE_PROPERTY = "builderportfolio.storage";
+
+    /**
+     * Registered engines.
+     * Key   → Engine name
+     * Value → Factory creating the engine
+     */
+    private static final Map<String, Supplier<StorageEngine>> engines = new ConcurrentHashMap<>();
+
+    static {
+        register(InMemoryStorageEngine.NAME, InMemoryStorageEngine::shared);
+        register(WalStorageEngine.NAME, WalStorageEngine::fromConfiguration);
+        register(OffHeapStorageEngine.NAME, OffHeapStorageEngine::new);
+    }
+
+    /**
+     * Registers an engine factory under a name, replacing any previous one.
+     *
+     * @param name    name used in configuration
+     * @param factory creates the engine when it is selected
+     */
+    public static void register(String name, Supplier<StorageEngine> factory) {
+        engines.put(name, factory);
+    }
+
+    /**
+     * Creates the engine registered under a name.
+     *
+     * @param name engine name
+     * @return the engine
+     * @throws IllegalArgumentException if no engine is registered under that name
+     */
+    public static StorageEngine forName(String name) {
+        Supplier<StorageEngine> factory = engines.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown storage engine: " + name);
+        }
+        return factory.get();
+    }
+
+    /**
+     * Creates the engine selected by the {@code builderportfolio.storage} system property.
+     *
+     * @return the configured engine, or the shared in-memory engine if nothing is configured
+     */
+    public static StorageEngine fromConfiguration() {
+        return forName(System.getProperty(STORAGE_PROPERTY, InMemoryStorageEngine.NAME));
+    }
+
+    /**
+     * @return the shared in-memory engine behind the static DAO classes
+     */
+    public static StorageEngine defaultEngine() {
+        return InMemoryStorageEngine.shared();
+    }
+}
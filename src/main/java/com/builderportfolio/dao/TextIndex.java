@@ -0,0 +1,452 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Inverted index over project names, descriptions and client names.
+ * <p>
+ * Text is split into lower-case runs of letters and digits. Each term maps
+ * to a posting list of the projects containing it, stored as delta-encoded
+ * variable-length IDs in ascending order, each followed by one byte naming
+ * the fields the term appeared in. New projects get ever larger IDs, so
+ * indexing one is an append to each of its postings; re-indexing an older
+ * project or removing one rewrites only the postings of the terms that
+ * changed, in time linear in their length.
+ * <p>
+ * Terms are kept sorted, so every query token matches as a prefix with one
+ * range lookup. A project must match every query token. Its score adds up,
+ * per token, the weight of the best field it matched in (name 4, client 2,
+ * description 1), doubled when the token matched a whole term. Query time
+ * grows with the postings the tokens touch, not with the number of projects.
+ * <p>
+ * The index keeps its own copy of each project's terms, so removal and
+ * re-indexing never depend on the project's current text. Writers take an
+ * exclusive lock and searches share a read lock.
+ */
+public class TextIndex {
+
+    /** Field flags stored with each posting entry. */
+    static final int NAME = 1;
+    static final int DESCRIPTION = 2;
+    static final int CLIENT = 4;
+
+    /**
+     * Posting list per term.
+     * Key   → lower-case term
+     * Value → projects containing it, in ID order
+     */
+    private final TreeMap<String, Posting> terms = new TreeMap<>();
+
+    /**
+     * Terms each project is indexed under.
+     * Key   → Project ID
+     * Value → its terms and their field flags
+     */
+    private final Map<Long, DocumentTerms> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a stored project under its current text, replacing the terms
+     * it was indexed under before. Only postings whose entry changes are touched.
+     *
+     * @param project stored project
+     */
+    public void add(Project project) {
+        long projectId = project.getProjectId();
+        DocumentTerms current = DocumentTerms.of(project);
+        lock.writeLock().lock();
+        try {
+            DocumentTerms previous = documents.put(projectId, current);
+            if (previous != null) {
+                for (int i = 0; i < previous.terms.length; i++) {
+                    if (current.flags(previous.terms[i]) == 0) removePosting(previous.terms[i], projectId);
+                }
+            }
+            for (int i = 0; i < current.terms.length; i++) {
+                String term = current.terms[i];
+                int flags = current.flags[i];
+                if (previous != null && previous.flags(term) == flags) continue;
+                Posting posting = terms.get(term);
+                if (posting == null) {
+                    posting = new Posting();
+                    terms.put(term, posting);
+                } else {
+                    // Share the dictionary's copy of the term
+                    current.terms[i] = terms.ceilingKey(term);
+                }
+                posting.put(projectId, flags);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a project from the index, whatever text it was indexed under.
+     *
+     * @param project project leaving the store
+     */
+    public void remove(Project project) {
+        long projectId = project.getProjectId();
+        lock.writeLock().lock();
+        try {
+            DocumentTerms previous = documents.remove(projectId);
+            if (previous == null) return;
+            for (String term : previous.terms) {
+                removePosting(term, projectId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of distinct terms indexed
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best-scoring projects matching every token of {@code query}.
+     *
+     * @param query  free text; each token matches terms starting with it
+     * @param limit  most IDs to return
+     * @param filter accepts the project IDs that may be returned
+     * @return matching project IDs, best score first, ties in ID order
+     */
+    public long[] search(String query, int limit, LongPredicate filter) {
+        String[] tokens = tokenize(query).keySet().toArray(new String[0]);
+        if (tokens.length == 0 || limit < 1) return new long[0];
+        lock.readLock().lock();
+        try {
+            long[] estimates = new long[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                for (Posting posting : withPrefix(tokens[i]).values()) {
+                    estimates[i] += posting.count;
+                }
+            }
+            // Most selective token first, so the candidate set starts small
+            Integer[] order = new Integer[tokens.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Long.compare(estimates[a], estimates[b]));
+
+            Matches candidates = null;
+            for (int i : order) {
+                int expected = (int) Math.min(estimates[i], candidates == null ? Integer.MAX_VALUE : candidates.size);
+                Matches matches = match(tokens[i], candidates, expected);
+                candidates = candidates == null ? matches : candidates.intersect(matches);
+                if (candidates.size == 0) break;
+            }
+            return candidates.top(limit, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case runs of letters and digits, recording for each
+     * distinct term the fields it was found in.
+     */
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        addTokens(tokens, text, 0);
+        return tokens;
+    }
+
+    private static void addTokens(Map<String, Integer> tokens, String text, int field) {
+        if (text == null) return;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.merge(text.substring(start, i).toLowerCase(Locale.ROOT), field, (a, b) -> a | b);
+                start = -1;
+            }
+        }
+    }
+
+    private SortedMap<String, Posting> withPrefix(String prefix) {
+        return terms.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    /**
+     * Scores every project matching one token. With a candidate set already
+     * built, projects outside it are skipped without being collected.
+     */
+    private Matches match(String token, Matches candidates, int expectedSize) {
+        SortedMap<String, Posting> postings = withPrefix(token);
+        Matches matches = new Matches(Math.max(16, expectedSize));
+        for (Map.Entry<String, Posting> entry : postings.entrySet()) {
+            boolean exact = entry.getKey().equals(token);
+            entry.getValue().forEach((projectId, flags) -> {
+                if (candidates == null || candidates.contains(projectId)) {
+                    matches.add(projectId, score(flags, exact));
+                }
+            });
+        }
+        if (postings.size() > 1) matches.sortAndMerge();
+        return matches;
+    }
+
+    private static int score(int flags, boolean exact) {
+        int weight = (flags & NAME) != 0 ? 4 : (flags & CLIENT) != 0 ? 2 : 1;
+        return exact ? weight * 2 : weight;
+    }
+
+    private void removePosting(String term, long projectId) {
+        Posting posting = terms.get(term);
+        if (posting != null && posting.remove(projectId) && posting.count == 0) {
+            terms.remove(term);
+        }
+    }
+
+    /**
+     * Distinct terms of one project with their field flags, in parallel arrays.
+     */
+    private static final class DocumentTerms {
+        final String[] terms;
+        final byte[] flags;
+
+        private DocumentTerms(String[] terms, byte[] flags) {
+            this.terms = terms;
+            this.flags = flags;
+        }
+
+        static DocumentTerms of(Project project) {
+            Map<String, Integer> tokens = new LinkedHashMap<>();
+            addTokens(tokens, project.getProjectName(), NAME);
+            addTokens(tokens, project.getProjectDescription(), DESCRIPTION);
+            Client client = project.getAssignedClient();
+            if (client != null) addTokens(tokens, client.getClientName(), CLIENT);
+            String[] terms = new String[tokens.size()];
+            byte[] flags = new byte[tokens.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : tokens.entrySet()) {
+                terms[i] = entry.getKey();
+                flags[i++] = entry.getValue().byteValue();
+            }
+            return new DocumentTerms(terms, flags);
+        }
+
+        /** @return the flags of {@code term}, or 0 if the project does not contain it */
+        int flags(String term) {
+            for (int i = 0; i < terms.length; i++) {
+                if (terms[i].equals(term)) return flags[i];
+            }
+            return 0;
+        }
+    }
+
+    /** Receives one decoded posting entry. */
+    private interface EntryConsumer {
+        void accept(long projectId, int flags);
+    }
+
+    /**
+     * Posting list of one term: per project, the ID as an unsigned varint delta
+     * from the previous ID, then one byte of field flags.
+     */
+    private static final class Posting {
+        private byte[] data = new byte[8];
+        private int length;
+        private int count;
+        private long lastId;
+
+        /** Adds or replaces the entry for {@code projectId}. */
+        void put(long projectId, int flags) {
+            if (count == 0 || projectId > lastId) {
+                append(projectId, flags);
+            } else {
+                rewrite(projectId, flags);
+            }
+        }
+
+        /** @return true if the project had an entry */
+        boolean remove(long projectId) {
+            if (count == 0 || projectId > lastId) return false;
+            int before = count;
+            rewrite(projectId, 0);
+            return count < before;
+        }
+
+        void forEach(EntryConsumer action) {
+            long id = 0;
+            int position = 0;
+            while (position < length) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                action.accept(id, data[position++]);
+            }
+        }
+
+        private void append(long projectId, int flags) {
+            if (length + 11 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 11));
+            }
+            long delta = projectId - (count == 0 ? 0 : lastId);
+            while ((delta & ~0x7FL) != 0) {
+                data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+            data[length++] = (byte) flags;
+            lastId = projectId;
+            count++;
+        }
+
+        /**
+         * Re-encodes the list with {@code projectId} given {@code flags},
+         * or dropped when {@code flags} is 0.
+         */
+        private void rewrite(long projectId, int flags) {
+            Posting rebuilt = new Posting();
+            rebuilt.data = new byte[Math.max(8, length + 11)];
+            boolean[] placed = {flags == 0};
+            forEach((id, entryFlags) -> {
+                if (!placed[0] && id > projectId) {
+                    rebuilt.append(projectId, flags);
+                    placed[0] = true;
+                }
+                if (id == projectId) return;
+                rebuilt.append(id, entryFlags);
+            });
+            if (!placed[0]) rebuilt.append(projectId, flags);
+            data = rebuilt.data;
+            length = rebuilt.length;
+            count = rebuilt.count;
+            lastId = rebuilt.lastId;
+        }
+    }
+
+    /**
+     * Project IDs with scores. Each entry is packed as {@code id << 5 | score},
+     * so sorting the packed values orders them by ID; project IDs stay far
+     * below 2^58 and scores below 32 per token.
+     */
+    private static final class Matches {
+        private long[] ids;
+        private int[] scores;
+        private int size;
+
+        Matches(int capacity) {
+            ids = new long[capacity];
+            scores = new int[capacity];
+        }
+
+        void add(long projectId, int score) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            ids[size] = projectId;
+            scores[size++] = score;
+        }
+
+        boolean contains(long projectId) {
+            return Arrays.binarySearch(ids, 0, size, projectId) >= 0;
+        }
+
+        /** Sorts by ID and keeps the best score of each project seen under several terms. */
+        void sortAndMerge() {
+            long[] packed = new long[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = ids[i] << 5 | scores[i];
+            }
+            Arrays.sort(packed);
+            int n = 0;
+            for (long value : packed) {
+                long id = value >>> 5;
+                int score = (int) (value & 31);
+                if (n > 0 && ids[n - 1] == id) {
+                    scores[n - 1] = Math.max(scores[n - 1], score);
+                } else {
+                    ids[n] = id;
+                    scores[n++] = score;
+                }
+            }
+            size = n;
+        }
+
+        /** @return the projects in both sets, with their scores added */
+        Matches intersect(Matches other) {
+            Matches result = new Matches(Math.max(1, Math.min(size, other.size)));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] < other.ids[j]) {
+                    i++;
+                } else if (ids[i] > other.ids[j]) {
+                    j++;
+                } else {
+                    result.add(ids[i], scores[i++] + other.scores[j++]);
+                }
+            }
+            return result;
+        }
+
+        /** @return up to {@code limit} accepted IDs, best score first, ties in ID order */
+        long[] top(int limit, LongPredicate filter) {
+            List<long[]> best = new ArrayList<>(Math.min(limit, size) + 1);
+            int worst = Integer.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                int score = scores[i];
+                if (best.size() == limit && score <= worst) continue;
+                if (!filter.test(ids[i])) continue;
+                // IDs arrive in ascending order, so an equal score goes after the ones already kept
+                int position = best.size();
+                while (position > 0 && best.get(position - 1)[1] < score) position--;
+                best.add(position, new long[]{ids[i], score});
+                if (best.size() > limit) best.remove(limit);
+                worst = (int) best.get(best.size() - 1)[1];
+            }
+            long[] result = new long[best.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = best.get(i)[0];
+            }
+            return result;
+        }
+    }
+}
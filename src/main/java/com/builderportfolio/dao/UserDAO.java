@@ -2,35 +2,74 @@ package com.builderportfolio.dao;
 
 import com.builderportfolio.model.User;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * DAO class for managing User data.
  * <p>
- * Maintains an in-memory mapping of User IDs to User objects.
+ * Static access point to the shared {@link InMemoryUserStore}, which maintains
+ * an in-memory mapping of User IDs to User objects together with a secondary
+ * email index, so registration does not slow down as the number of users grows.
  * Provides methods to save, fetch, and check users.
- * Thread-safe collection is used for concurrent access.
+ * Thread-safe collections are used for concurrent access.
  * </p>
  */
 public class UserDAO {
 
     /**
-     * In-memory storage for registered users.
-     * Key   → User ID (e.g., B1, P2)
-     * Value → User object containing full user details
+     * Shared in-memory storage for registered users.
      */
-    private static Map<String, User> registeredUsers = new ConcurrentHashMap<>();
+    private static final InMemoryUserStore store = InMemoryStorageEngine.SHARED_USERS;
 
+    /**
+     * @return the store behind this DAO, for wiring into services
+     */
+    public static UserStore store() {
+        return store;
+    }
 
     /**
      * Saves a new user into the database.
-     * If the user ID already exists, it will overwrite the existing user.
+     * If the user ID already exists, it will overwrite the existing user
+     * and move the email index entry if the email has changed.
      *
      * @param user User object to save
+     * @throws com.builderportfolio.exception.UserAlreadyExistsException
+     *         if the email is registered or reserved by another user ID
      */
     public static void saveUser(User user) {
-        registeredUsers.put(user.getUserId(), user);
+        store.saveUser(user);
+    }
+
+    /**
+     * Atomically reserves an email for a user about to be registered.
+     * Only one of several concurrent reservations for the same email succeeds.
+     *
+     * @param userEmail Email to reserve
+     * @param userId    ID of the user claiming the email
+     * @return true if the email was free and is now reserved, false if it is already taken
+     */
+    public static boolean reserveEmail(String userEmail, String userId) {
+        return store.reserveEmail(userEmail, userId);
+    }
+
+    /**
+     * Releases an email reservation, e.g. when a registration is rolled back.
+     * The entry is removed only if it still belongs to the given user.
+     *
+     * @param userEmail Email to release
+     * @param userId    ID of the user holding the reservation
+     */
+    public static void releaseEmail(String userEmail, String userId) {
+        store.releaseEmail(userEmail, userId);
+    }
+
+    /**
+     * Removes a user and its email index entry.
+     *
+     * @param userId ID of the user to remove
+     * @return the removed User, or null if no user exists with that ID
+     */
+    public static User removeUser(String userId) {
+        return store.removeUser(userId);
     }
 
     /**
@@ -40,22 +79,18 @@ public class UserDAO {
      * @return true if the user ID exists, false otherwise
      */
     public static boolean idExists(String userId) {
-        return registeredUsers.containsKey(userId);
+        return store.idExists(userId);
     }
 
     /**
      * Checks whether an email is already registered.
+     * The check is case-insensitive and ignores surrounding whitespace.
      *
      * @param userEmail Email to check
      * @return true if the email exists, false otherwise
      */
     public static boolean emailExists(String userEmail) {
-        for (User user : registeredUsers.values()) {
-            if (user.getUserEmail().equals(userEmail)) {
-                return true;
-            }
-        }
-        return false;
+        return store.emailExists(userEmail);
     }
 
 
@@ -66,7 +101,7 @@ public class UserDAO {
      * @return User object if found, otherwise null
      */
     public static User getUserById(String userId) {
-        return registeredUsers.get(userId);
+        return store.getUserById(userId);
     }
 
     /**
@@ -74,7 +109,7 @@ public class UserDAO {
      * Useful for resetting during tests.
      */
     public static void clear() {
-        registeredUsers.clear();
+        store.clear();
     }
 
 
@@ -0,0 +1,81 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.User;
+
+import java.util.function.Consumer;
+
+/**
+ * Storage contract for registered users.
+ * <p>
+ * Implementations decide where users live (in memory, on disk, sharded...).
+ * The service layer only talks to this interface, so engines can be swapped
+ * through {@link StorageEngines} without touching {@code UserService}.
+ * </p>
+ */
+public interface UserStore {
+
+    /**
+     * Saves a user, overwriting any user with the same ID.
+     *
+     * @param user User object to save
+     * @throws com.builderportfolio.exception.UserAlreadyExistsException
+     *         if the email is registered or reserved by another user ID
+     */
+    void saveUser(User user);
+
+    /**
+     * @param userId ID to check
+     * @return true if a user with this ID exists
+     */
+    boolean idExists(String userId);
+
+    /**
+     * @param userEmail Email to check (case-insensitive)
+     * @return true if the email is registered or reserved
+     */
+    boolean emailExists(String userEmail);
+
+    /**
+     * Atomically reserves an email for a user about to be registered.
+     *
+     * @param userEmail Email to reserve
+     * @param userId    ID of the user claiming the email
+     * @return true if the email was free and is now reserved
+     */
+    boolean reserveEmail(String userEmail, String userId);
+
+    /**
+     * Releases an email reservation held by the given user.
+     *
+     * @param userEmail Email to release
+     * @param userId    ID of the user holding the reservation
+     */
+    void releaseEmail(String userEmail, String userId);
+
+    /**
+     * @param userId ID of the user to fetch
+     * @return User object if found, otherwise null
+     */
+    User getUserById(String userId);
+
+    /**
+     * Removes a user and its email reservation.
+     *
+     * @param userId ID of the user to remove
+     * @return the removed User, or null if none existed
+     */
+    User removeUser(String userId);
+
+    /**
+     * Visits every stored user without copying the store.
+     * Users saved or removed during the walk may or may not be seen.
+     *
+     * @param action called once per user
+     */
+    void forEach(Consumer<User> action);
+
+    /**
+     * Removes every user from the store.
+     */
+    void clear();
+}
@@ -0,0 +1,218 @@
+package com.builderportfolio.dao.wal;
+
+import com.builderportfolio.dao.AssignmentStore;
+import com.builderportfolio.dao.StatusHistory;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Loads a snapshot written by {@link SnapshotWriter} into the stores of a {@link StorageEngine}.
+ * <p>
+ * The file is memory-mapped read-only and its checksum verified first. Because every
+ * column has a fixed width, row {@code i} of any column is read directly by offset,
+ * so strings, users, projects and assignments are each materialized in parallel.
+ * Each builder's and manager's list is filled by a single task.
+ */
+public class SnapshotLoader {
+
+    private static final Status[] STATUSES = Status.values();
+
+    /**
+     * Reads {@code file} into {@code target}.
+     *
+     * @param file   snapshot file
+     * @param target engine receiving the data; should start out empty
+     * @return number of projects loaded
+     * @throws IOException if the file cannot be read, is corrupt or has an unknown version
+     */
+    public static int load(Path file, StorageEngine target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map: " + file);
+            }
+            if (size < 3 * Integer.BYTES) {
+                throw new IOException("Snapshot is truncated: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int contentBytes = (int) size - Integer.BYTES;
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(contentBytes));
+            if ((int) crc.getValue() != buffer.getInt(contentBytes)) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+            if (buffer.getInt(0) != SnapshotWriter.MAGIC) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            int version = buffer.getInt(4);
+            if (version != SnapshotWriter.VERSION && version != SnapshotWriter.VERSION_WITHOUT_HISTORY) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            return new SnapshotLoader(buffer, version).readInto(target);
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final int version;
+    private int position = 2 * Integer.BYTES;
+    private String[] strings;
+
+    private SnapshotLoader(ByteBuffer buffer, int version) {
+        this.buffer = buffer;
+        this.version = version;
+    }
+
+    private int readInto(StorageEngine target) {
+        readStrings();
+        readUsers(target);
+        int projects = readProjects(target);
+        AssignmentStore assignments = target.assignmentStore();
+        readAssignments(assignments::createBuilder, assignments::addProjectToBuilder);
+        readAssignments(assignments::createProjectManager, assignments::addProjectToManager);
+        if (version != SnapshotWriter.VERSION_WITHOUT_HISTORY) {
+            readHistory(target.projectStore().statusHistory());
+        }
+        return projects;
+    }
+
+    private void readStrings() {
+        int count = buffer.getInt(position);
+        int offsets = position + Integer.BYTES;
+        int bytes = offsets + (count + 1) * Integer.BYTES;
+        strings = new String[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int from = buffer.getInt(offsets + i * Integer.BYTES);
+            byte[] value = new byte[buffer.getInt(offsets + (i + 1) * Integer.BYTES) - from];
+            buffer.get(bytes + from, value);
+            strings[i] = new String(value, StandardCharsets.UTF_8);
+        });
+        position = bytes + buffer.getInt(offsets + count * Integer.BYTES);
+    }
+
+    private void readUsers(StorageEngine target) {
+        int count = buffer.getInt(position);
+        int ids = position + Integer.BYTES;
+        int names = ids + count * Integer.BYTES;
+        int emails = names + count * Integer.BYTES;
+        int phones = emails + count * Integer.BYTES;
+        int passwords = phones + count * Integer.BYTES;
+        int experiences = passwords + count * Integer.BYTES;
+        int roles = experiences + count * Integer.BYTES;
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int offset = i * Integer.BYTES;
+            target.userStore().saveUser(User.restore(string(ids + offset), string(names + offset),
+                    string(emails + offset), string(phones + offset), buffer.getInt(experiences + offset),
+                    string(passwords + offset), buffer.getInt(roles + offset)));
+        });
+        position = roles + count * Integer.BYTES;
+    }
+
+    private int readProjects(StorageEngine target) {
+        int count = buffer.getInt(position);
+        int ids = position + Integer.BYTES;
+        int names = ids + count * Long.BYTES;
+        int descriptions = names + count * Integer.BYTES;
+        int starts = descriptions + count * Integer.BYTES;
+        int ends = starts + count * Long.BYTES;
+        int statuses = ends + count * Long.BYTES;
+        int clientIds = statuses + count;
+        int clientNames = clientIds + count * Long.BYTES;
+        int clientEmails = clientNames + count * Integer.BYTES;
+        int clientPhones = clientEmails + count * Integer.BYTES;
+        int builders = clientPhones + count * Integer.BYTES;
+        int managers = builders + count * Integer.BYTES;
+
+        // Projects of the same client share one Client object, as they did before the snapshot
+        Map<Long, Client> clients = new ConcurrentHashMap<>();
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int intOffset = i * Integer.BYTES;
+            int longOffset = i * Long.BYTES;
+            Client client = clients.computeIfAbsent(buffer.getLong(clientIds + longOffset),
+                    clientId -> Client.restore(clientId, string(clientNames + intOffset),
+                            string(clientEmails + intOffset), string(clientPhones + intOffset)));
+            byte status = buffer.get(statuses + i);
+            target.projectStore().saveProject(Project.restore(buffer.getLong(ids + longOffset),
+                    string(names + intOffset), string(descriptions + intOffset),
+                    LocalDate.ofEpochDay(buffer.getLong(starts + longOffset)),
+                    LocalDate.ofEpochDay(buffer.getLong(ends + longOffset)),
+                    client, status < 0 ? null : STATUSES[status],
+                    string(builders + intOffset), string(managers + intOffset)));
+        });
+        position = managers + count * Integer.BYTES;
+        return count;
+    }
+
+    /**
+     * Reads one builder or manager section.
+     *
+     * @param create creates an empty entry for an ID
+     * @param add    appends a project ID to an entry
+     */
+    private void readAssignments(Consumer<String> create, ObjLongConsumer<String> add) {
+        int count = buffer.getInt(position);
+        int ids = position + Integer.BYTES;
+        int counts = ids + count * Integer.BYTES;
+        int total = buffer.getInt(counts + count * Integer.BYTES);
+        int projectIds = counts + (count + 1) * Integer.BYTES;
+
+        int[] starts = new int[count];
+        for (int i = 1; i < count; i++) {
+            starts[i] = starts[i - 1] + buffer.getInt(counts + (i - 1) * Integer.BYTES);
+        }
+        IntStream.range(0, count).parallel().forEach(i -> {
+            String id = string(ids + i * Integer.BYTES);
+            create.accept(id);
+            int from = projectIds + starts[i] * Long.BYTES;
+            int entries = buffer.getInt(counts + i * Integer.BYTES);
+            for (int j = 0; j < entries; j++) {
+                add.accept(id, buffer.getLong(from + j * Long.BYTES));
+            }
+        });
+        position = projectIds + total * Long.BYTES;
+    }
+
+    /**
+     * Reads the status history section. Entries are appended one by one in
+     * file order, which is the order they were recorded.
+     */
+    private void readHistory(StatusHistory history) {
+        int count = buffer.getInt(position);
+        int projectIds = position + Integer.BYTES;
+        int timestamps = projectIds + count * Long.BYTES;
+        int actors = timestamps + count * Long.BYTES;
+        int from = actors + count * Integer.BYTES;
+        int to = from + count;
+        for (int i = 0; i < count; i++) {
+            byte fromStatus = buffer.get(from + i);
+            byte toStatus = buffer.get(to + i);
+            history.record(buffer.getLong(projectIds + i * Long.BYTES),
+                    fromStatus < 0 ? null : STATUSES[fromStatus], toStatus < 0 ? null : STATUSES[toStatus],
+                    string(actors + i * Integer.BYTES), buffer.getLong(timestamps + i * Long.BYTES));
+        }
+        position = to + count;
+    }
+
+    private String string(int offset) {
+        int ref = buffer.getInt(offset);
+        return ref < 0 ? null : strings[ref];
+    }
+}
@@ -0,0 +1,353 @@
+package com.builderportfolio.dao.wal;
+
+import com.builderportfolio.dao.ConcurrentLongSet;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes the full contents of a {@link StorageEngine} as one compact, columnar snapshot file.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header      int magic, int version
+ * strings     int count, int[count + 1] byte offsets, UTF-8 bytes
+ * users       int count, int[count] id, name, email, phone, password (string refs),
+ *             int[count] experience, int[count] role
+ * projects    int count, long[count] id, int[count] name, description,
+ *             long[count] start, end (epoch days), byte[count] status (-1 for none),
+ *             long[count] client id, int[count] client name, email, phone,
+ *             int[count] builder, manager
+ * builders    int count, int[count] id, int[count] project count, int total, long[total] project ids
+ * managers    same as builders
+ * history     int count, long[count] project id, long[count] timestamp (ms),
+ *             int[count] actor, byte[count] from, to (-1 for none)
+ * trailer     int crc32 of everything before it
+ * </pre>
+ * Every string is stored once in the string table and referenced by index (-1 for null).
+ * Fixed-width columns let {@link SnapshotLoader} read any row straight from a memory-mapped file.
+ * <p>
+ * Rows are {@link #capture captured} first, as plain copies of their fields, and
+ * encoded afterwards. The file is written under a temporary name,
+ * fsynced and then atomically renamed, so a crash never leaves a half-written snapshot behind.
+ */
+public class SnapshotWriter {
+
+    /** "BPSN" – identifies a snapshot file. */
+    static final int MAGIC = 0x4250534E;
+    static final int VERSION = 2;
+    /** Last version without the status history section; still loaded. */
+    static final int VERSION_WITHOUT_HISTORY = 1;
+
+    private final List<UserRow> users = new ArrayList<>();
+    private final List<ProjectRow> projects = new ArrayList<>();
+    private final Assignments builders = new Assignments();
+    private final Assignments managers = new Assignments();
+    private final Transitions history = new Transitions();
+
+    private SnapshotWriter() {
+    }
+
+    /**
+     * Copies the rows of {@code source} that go into a snapshot.
+     * Users and projects are mutable, so their fields are copied rather than the
+     * objects themselves. The source must not change while it is copied;
+     * {@link WalStorageEngine#snapshot} copies a private engine rebuilt from
+     * the closed log segments, so every row, assignment and history entry is
+     * taken at the same point in the log.
+     *
+     * @param source engine to copy
+     * @return a writer holding the captured rows
+     */
+    public static SnapshotWriter capture(StorageEngine source) {
+        SnapshotWriter snapshot = new SnapshotWriter();
+        source.userStore().forEach(user -> snapshot.users.add(new UserRow(user)));
+        source.projectStore().forEach(project -> snapshot.projects.add(new ProjectRow(project)));
+        source.assignmentStore().forEachBuilder(snapshot.builders::add);
+        source.assignmentStore().forEachManager(snapshot.managers::add);
+        source.projectStore().statusHistory().forEach(snapshot.history::add);
+        return snapshot;
+    }
+
+    /** @return number of captured projects */
+    public int projectCount() {
+        return projects.size();
+    }
+
+    /**
+     * Encodes the captured rows and writes them to {@code file}.
+     *
+     * @param file destination; replaced atomically if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        StringTable strings = new StringTable();
+
+        int[] userColumns = new int[users.size() * 5];
+        for (int i = 0; i < users.size(); i++) {
+            UserRow user = users.get(i);
+            userColumns[i] = strings.ref(user.id);
+            userColumns[users.size() + i] = strings.ref(user.name);
+            userColumns[2 * users.size() + i] = strings.ref(user.email);
+            userColumns[3 * users.size() + i] = strings.ref(user.phone);
+            userColumns[4 * users.size() + i] = strings.ref(user.password);
+        }
+
+        int[] projectColumns = new int[projects.size() * 7];
+        for (int i = 0; i < projects.size(); i++) {
+            ProjectRow project = projects.get(i);
+            projectColumns[i] = strings.ref(project.name);
+            projectColumns[projects.size() + i] = strings.ref(project.description);
+            projectColumns[2 * projects.size() + i] = strings.ref(project.clientName);
+            projectColumns[3 * projects.size() + i] = strings.ref(project.clientEmail);
+            projectColumns[4 * projects.size() + i] = strings.ref(project.clientPhone);
+            projectColumns[5 * projects.size() + i] = strings.ref(project.builderId);
+            projectColumns[6 * projects.size() + i] = strings.ref(project.managerId);
+        }
+        int[] builderRefs = builders.refs(strings);
+        int[] managerRefs = managers.refs(strings);
+        int[] actorRefs = history.refs(strings);
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            strings.writeTo(out);
+
+            out.writeInt(users.size());
+            writeInts(out, userColumns);
+            for (UserRow user : users) out.writeInt(user.experience);
+            for (UserRow user : users) out.writeInt(user.role);
+
+            out.writeInt(projects.size());
+            for (ProjectRow project : projects) out.writeLong(project.id);
+            writeInts(out, projectColumns, 0, 2 * projects.size());
+            for (ProjectRow project : projects) out.writeLong(project.startDate.toEpochDay());
+            for (ProjectRow project : projects) out.writeLong(project.endDate.toEpochDay());
+            for (ProjectRow project : projects) out.writeByte(project.status == null ? -1 : project.status.ordinal());
+            for (ProjectRow project : projects) out.writeLong(project.clientId);
+            writeInts(out, projectColumns, 2 * projects.size(), projectColumns.length);
+
+            builders.writeTo(out, builderRefs);
+            managers.writeTo(out, managerRefs);
+            history.writeTo(out, actorRefs);
+
+            // The trailer itself is not part of the checksum
+            out.flush();
+            int checksum = (int) crc.getValue();
+            out.writeInt(checksum);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        writeInts(out, values, 0, values.length);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            out.writeInt(values[i]);
+        }
+    }
+
+    /**
+     * Fields of a user as they were when captured.
+     */
+    private static final class UserRow {
+        final String id;
+        final String name;
+        final String email;
+        final String phone;
+        final String password;
+        final int experience;
+        final int role;
+
+        UserRow(User user) {
+            this.id = user.getUserId();
+            this.name = user.getUserName();
+            this.email = user.getUserEmail();
+            this.phone = user.getUserPhoneNo();
+            this.password = user.getPassword();
+            this.experience = user.getUserExperience();
+            this.role = user.getRole();
+        }
+    }
+
+    /**
+     * Fields of a project and its client as they were when captured.
+     */
+    private static final class ProjectRow {
+        final long id;
+        final String name;
+        final String description;
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final Status status;
+        final long clientId;
+        final String clientName;
+        final String clientEmail;
+        final String clientPhone;
+        final String builderId;
+        final String managerId;
+
+        ProjectRow(Project project) {
+            Client client = project.getAssignedClient();
+            this.id = project.getProjectId();
+            this.name = project.getProjectName();
+            this.description = project.getProjectDescription();
+            this.startDate = project.getStartDate();
+            this.endDate = project.getEndDate();
+            this.status = project.getStatus();
+            this.clientId = client.getClientId();
+            this.clientName = client.getClientName();
+            this.clientEmail = client.getClientEmail();
+            this.clientPhone = client.getClientPhoneNo();
+            this.builderId = project.getBuilderId();
+            this.managerId = project.getProjectManagerId();
+        }
+    }
+
+    /**
+     * Deduplicating string table.
+     * Key   → String value
+     * Value → Index in the table
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private int totalBytes;
+
+        int ref(String value) {
+            if (value == null) return -1;
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = encoded.size();
+                indexes.put(value, index);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                totalBytes += bytes.length;
+            }
+            return index;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(encoded.size());
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                offset += bytes.length;
+                out.writeInt(offset);
+            }
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Project IDs per builder or manager, copied out of the live lists.
+     */
+    private static final class Assignments {
+        private final List<String> ids = new ArrayList<>();
+        private final List<long[]> projectIds = new ArrayList<>();
+        private int total;
+
+        void add(String id, ConcurrentLongSet projects) {
+            long[] values = projects.toArray();
+            ids.add(id);
+            projectIds.add(values);
+            total += values.length;
+        }
+
+        int[] refs(StringTable strings) {
+            int[] refs = new int[ids.size()];
+            for (int i = 0; i < refs.length; i++) {
+                refs[i] = strings.ref(ids.get(i));
+            }
+            return refs;
+        }
+
+        void writeTo(DataOutputStream out, int[] refs) throws IOException {
+            out.writeInt(ids.size());
+            writeInts(out, refs);
+            for (long[] values : projectIds) out.writeInt(values.length);
+            out.writeInt(total);
+            for (long[] values : projectIds) {
+                for (long value : values) out.writeLong(value);
+            }
+        }
+    }
+
+    /**
+     * Status transitions in the order they were recorded, copied out of the
+     * live history into primitive columns.
+     */
+    private static final class Transitions {
+        private long[] projectIds = new long[16];
+        private long[] timestamps = new long[16];
+        private final List<String> actors = new ArrayList<>();
+        private byte[] from = new byte[16];
+        private byte[] to = new byte[16];
+        private int size;
+
+        void add(long projectId, long timestampMillis, String actorId, Status fromStatus, Status toStatus) {
+            if (size == projectIds.length) {
+                projectIds = Arrays.copyOf(projectIds, size * 2);
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+            }
+            projectIds[size] = projectId;
+            timestamps[size] = timestampMillis;
+            actors.add(actorId);
+            from[size] = (byte) (fromStatus == null ? -1 : fromStatus.ordinal());
+            to[size] = (byte) (toStatus == null ? -1 : toStatus.ordinal());
+            size++;
+        }
+
+        int[] refs(StringTable strings) {
+            int[] refs = new int[size];
+            for (int i = 0; i < size; i++) {
+                refs[i] = strings.ref(actors.get(i));
+            }
+            return refs;
+        }
+
+        void writeTo(DataOutputStream out, int[] refs) throws IOException {
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) out.writeLong(projectIds[i]);
+            for (int i = 0; i < size; i++) out.writeLong(timestamps[i]);
+            writeInts(out, refs);
+            out.write(from, 0, size);
+            out.write(to, 0, size);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.builderportfolio.dao.wal;
+
+import com.builderportfolio.dao.AssignmentStore;
+import com.builderportfolio.dao.ConcurrentLongSet;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link AssignmentStore} that logs every builder and manager assignment change
+ * before applying it to a delegate store.
+ */
+public class WalAssignmentStore implements AssignmentStore {
+
+    /** Project IDs per log record when assigning a batch, so records stay small. */
+    static final int IDS_PER_RECORD = 8192;
+
+    private final AssignmentStore delegate;
+    private final WriteAheadLog log;
+
+    /**
+     * @param delegate store holding the live data
+     * @param log      log receiving the mutations
+     */
+    public WalAssignmentStore(AssignmentStore delegate, WriteAheadLog log) {
+        this.delegate = delegate;
+        this.log = log;
+    }
+
+    @Override
+    public void createBuilder(String builderId) {
+        log.append(WalRecordType.CREATE_BUILDER, w -> w.writeString(builderId), () -> delegate.createBuilder(builderId));
+    }
+
+    @Override
+    public void addProjectToBuilder(String builderId, long projectId) {
+        log.append(WalRecordType.ADD_PROJECT_TO_BUILDER, w -> w.writeString(builderId).writeLong(projectId),
+                () -> delegate.addProjectToBuilder(builderId, projectId));
+    }
+
+    @Override
+    public void addProjectsToBuilder(String builderId, long[] projectIds) {
+        for (int from = 0; from < projectIds.length; from += IDS_PER_RECORD) {
+            int start = from;
+            int end = Math.min(projectIds.length, from + IDS_PER_RECORD);
+            long[] chunk = start == 0 && end == projectIds.length ? projectIds : Arrays.copyOfRange(projectIds, start, end);
+            log.append(WalRecordType.ADD_PROJECTS_TO_BUILDER,
+                    w -> WalRecords.writeProjectIds(w.writeString(builderId), chunk, 0, chunk.length),
+                    () -> delegate.addProjectsToBuilder(builderId, chunk));
+        }
+    }
+
+    @Override
+    public void removeProjectFromBuilder(String builderId, long projectId) {
+        log.append(WalRecordType.REMOVE_PROJECT_FROM_BUILDER, w -> w.writeString(builderId).writeLong(projectId),
+                () -> delegate.removeProjectFromBuilder(builderId, projectId));
+    }
+
+    @Override
+    public void createProjectManager(String managerId) {
+        log.append(WalRecordType.CREATE_MANAGER, w -> w.writeString(managerId), () -> delegate.createProjectManager(managerId));
+    }
+
+    @Override
+    public void addProjectToManager(String managerId, long projectId) {
+        log.append(WalRecordType.ADD_PROJECT_TO_MANAGER, w -> w.writeString(managerId).writeLong(projectId),
+                () -> delegate.addProjectToManager(managerId, projectId));
+    }
+
+    @Override
+    public void addProjectsToManager(String managerId, long[] projectIds) {
+        for (int from = 0; from < projectIds.length; from += IDS_PER_RECORD) {
+            int start = from;
+            int end = Math.min(projectIds.length, from + IDS_PER_RECORD);
+            long[] chunk = start == 0 && end == projectIds.length ? projectIds : Arrays.copyOfRange(projectIds, start, end);
+            log.append(WalRecordType.ADD_PROJECTS_TO_MANAGER,
+                    w -> WalRecords.writeProjectIds(w.writeString(managerId), chunk, 0, chunk.length),
+                    () -> delegate.addProjectsToManager(managerId, chunk));
+        }
+    }
+
+    @Override
+    public void removeProjectFromManager(String managerId, long projectId) {
+        log.append(WalRecordType.REMOVE_PROJECT_FROM_MANAGER, w -> w.writeString(managerId).writeLong(projectId),
+                () -> delegate.removeProjectFromManager(managerId, projectId));
+    }
+
+    @Override
+    public void clear() {
+        log.append(WalRecordType.CLEAR_ASSIGNMENTS, w -> { }, delegate::clear);
+    }
+
+    @Override
+    public ConcurrentLongSet getBuilderProjectIds(String builderId) {
+        return delegate.getBuilderProjectIds(builderId);
+    }
+
+    @Override
+    public int builderProjectIdsAfter(String builderId, long after, long[] into) {
+        return delegate.builderProjectIdsAfter(builderId, after, into);
+    }
+
+    @Override
+    public boolean builderExists(String builderId) {
+        return delegate.builderExists(builderId);
+    }
+
+    @Override
+    public ConcurrentLongSet getManagerProjectIds(String managerId) {
+        return delegate.getManagerProjectIds(managerId);
+    }
+
+    @Override
+    public int managerProjectIdsAfter(String managerId, long after, long[] into) {
+        return delegate.managerProjectIdsAfter(managerId, after, into);
+    }
+
+    @Override
+    public boolean projectManagerExists(String managerId) {
+        return delegate.projectManagerExists(managerId);
+    }
+
+    @Override
+    public void forEachBuilder(BiConsumer<String, ConcurrentLongSet> action) {
+        delegate.forEachBuilder(action);
+    }
+
+    @Override
+    public void forEachManager(BiConsumer<String, ConcurrentLongSet> action) {
+        delegate.forEachManager(action);
+    }
+}
@@ -0,0 +1,160 @@
+package com.builderportfolio.dao.wal;
+
+import com.builderportfolio.dao.DateRangeIndex;
+import com.builderportfolio.dao.ProjectLocks;
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.dao.StatusHistory;
+import com.builderportfolio.dao.StatusIndex;
+import com.builderportfolio.dao.TextIndex;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link ProjectStore} that logs every project mutation before applying it to a delegate store.
+ */
+public class WalProjectStore implements ProjectStore {
+
+    /** Projects per log record when saving a batch, so records stay small. */
+    static final int PROJECTS_PER_RECORD = 1024;
+
+    private final ProjectStore delegate;
+    private final WriteAheadLog log;
+
+    /**
+     * @param delegate store holding the live data
+     * @param log      log receiving the mutations
+     */
+    public WalProjectStore(ProjectStore delegate, WriteAheadLog log) {
+        this.delegate = delegate;
+        this.log = log;
+    }
+
+    @Override
+    public void saveProject(Project project) {
+        log.append(WalRecordType.SAVE_PROJECT, w -> WalRecords.writeProject(w, project), () -> delegate.saveProject(project));
+    }
+
+    /**
+     * Logs the batch as one record per {@link #PROJECTS_PER_RECORD} projects.
+     */
+    @Override
+    public void saveProjects(Collection<Project> projects) {
+        List<Project> all = projects instanceof List ? (List<Project>) projects : new ArrayList<>(projects);
+        for (int from = 0; from < all.size(); from += PROJECTS_PER_RECORD) {
+            List<Project> chunk = all.subList(from, Math.min(all.size(), from + PROJECTS_PER_RECORD));
+            log.append(WalRecordType.SAVE_PROJECTS, w -> WalRecords.writeProjects(w, chunk),
+                    () -> delegate.saveProjects(chunk));
+        }
+    }
+
+    /**
+     * Holds the project's {@link ProjectLocks} stripe, like
+     * {@link #transitionStatus}, so the log records status changes in the
+     * order they are applied.
+     */
+    @Override
+    public boolean replayStatus(long projectId, Status status) {
+        return ProjectLocks.withLock(projectId, () -> {
+            if (delegate.getProjectById(projectId) == null) {
+                return false;
+            }
+            return log.appendAndGet(WalRecordType.UPDATE_STATUS,
+                    w -> w.writeLong(projectId).writeByte(status == null ? -1 : status.ordinal()),
+                    () -> delegate.replayStatus(projectId, status));
+        });
+    }
+
+    /**
+     * Compares under the project's {@link ProjectLocks} stripe and logs the
+     * expected status, actor and time with the change, so replay rebuilds the
+     * status history as well.
+     */
+    @Override
+    public boolean transitionStatus(long projectId, Status expected, Status status, String actorId, long timestampMillis) {
+        return ProjectLocks.withLock(projectId, () -> {
+            Project current = delegate.getProjectById(projectId);
+            if (current == null || current.getStatus() != expected) {
+                return false;
+            }
+            return log.appendAndGet(WalRecordType.TRANSITION_STATUS, w -> w.writeLong(projectId)
+                            .writeByte(expected == null ? -1 : expected.ordinal())
+                            .writeByte(status == null ? -1 : status.ordinal())
+                            .writeString(actorId).writeLong(timestampMillis),
+                    () -> delegate.transitionStatus(projectId, expected, status, actorId, timestampMillis));
+        });
+    }
+
+    @Override
+    public boolean updateDates(long projectId, LocalDate startDate, LocalDate endDate) {
+        if (delegate.getProjectById(projectId) == null) {
+            return false;
+        }
+        return log.appendAndGet(WalRecordType.UPDATE_DATES,
+                w -> w.writeLong(projectId).writeLong(startDate.toEpochDay()).writeLong(endDate.toEpochDay()),
+                () -> delegate.updateDates(projectId, startDate, endDate));
+    }
+
+    @Override
+    public boolean updateDetails(long projectId, String projectName, String description, Client client) {
+        if (delegate.getProjectById(projectId) == null) {
+            return false;
+        }
+        return log.appendAndGet(WalRecordType.UPDATE_DETAILS, w -> {
+            w.writeLong(projectId).writeString(projectName).writeString(description);
+            WalRecords.writeClient(w, client);
+        }, () -> delegate.updateDetails(projectId, projectName, description, client));
+    }
+
+    @Override
+    public void removeProject(long projectId) {
+        log.append(WalRecordType.REMOVE_PROJECT, w -> w.writeLong(projectId), () -> delegate.removeProject(projectId));
+    }
+
+    @Override
+    public void clear() {
+        log.append(WalRecordType.CLEAR_PROJECTS, w -> { }, delegate::clear);
+    }
+
+    @Override
+    public Project getProjectById(long projectId) {
+        return delegate.getProjectById(projectId);
+    }
+
+    @Override
+    public void forEach(Consumer<Project> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public Spliterator<Project> spliterator() {
+        return delegate.spliterator();
+    }
+
+    @Override
+    public StatusIndex statusIndex() {
+        return delegate.statusIndex();
+    }
+
+    @Override
+    public DateRangeIndex dateRangeIndex() {
+        return delegate.dateRangeIndex();
+    }
+
+    @Override
+    public TextIndex textIndex() {
+        return delegate.textIndex();
+    }
+
+    @Override
+    public StatusHistory statusHistory() {
+        return delegate.statusHistory();
+    }
+}
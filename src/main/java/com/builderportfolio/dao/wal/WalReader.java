@@ -0,0 +1,45 @@
+package com.builderportfolio.dao.wal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the fields of a single log record written by {@link WalWriter}.
+ */
+public class WalReader {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * @param buffer record payload, positioned at its first field
+     */
+    public WalReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /** @return the next field, read as a byte */
+    public byte readByte() {
+        return buffer.get();
+    }
+
+    /** @return the next field, read as an int */
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    /** @return the next field, read as a long */
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    /** @return the next field, read as a nullable string */
+    public String readString() {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,62 @@
+package com.builderportfolio.dao.wal;
+
+/**
+ * Kinds of mutation recorded in the write-ahead log.
+ * <p>
+ * Each type is stored as a single byte, so the codes must never be
+ * renumbered once logs exist on disk.
+ */
+public enum WalRecordType {
+    SAVE_USER(1),
+    REMOVE_USER(2),
+    CLEAR_USERS(3),
+    SAVE_PROJECT(10),
+    UPDATE_STATUS(11),
+    REMOVE_PROJECT(12),
+    CLEAR_PROJECTS(13),
+    SAVE_PROJECTS(14),
+    UPDATE_DATES(15),
+    UPDATE_DETAILS(16),
+    CREATE_PROJECT(17),
+    CREATE_PROJECTS(18),
+    DELETE_PROJECT(19),
+    CREATE_BUILDER(20),
+    ADD_PROJECT_TO_BUILDER(21),
+    REMOVE_PROJECT_FROM_BUILDER(22),
+    CREATE_MANAGER(23),
+    ADD_PROJECT_TO_MANAGER(24),
+    REMOVE_PROJECT_FROM_MANAGER(25),
+    CLEAR_ASSIGNMENTS(26),
+    ADD_PROJECTS_TO_BUILDER(27),
+    ADD_PROJECTS_TO_MANAGER(28),
+    TRANSITION_STATUS(30);
+
+    private static final WalRecordType[] BY_CODE = new WalRecordType[128];
+
+    static {
+        for (WalRecordType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    WalRecordType(int code) {
+        this.code = (byte) code;
+    }
+
+    /** @return the byte written to the log for this type */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Looks up a record type by its on-disk code.
+     *
+     * @param code byte read from the log
+     * @return the matching type, or null if the code is unknown
+     */
+    public static WalRecordType fromCode(byte code) {
+        return code >= 0 ? BY_CODE[code] : null;
+    }
+}
@@ -0,0 +1,241 @@
+package com.builderportfolio.dao.wal;
+
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Encoding of users and projects in log records, and replay of records
+ * into the stores of a {@link StorageEngine}.
+ */
+public class WalRecords {
+
+    private static final Logger logger =
+            Logger.getLogger(WalRecords.class.getName());
+
+    private static final Status[] STATUSES = Status.values();
+
+    /**
+     * Writes every field of a user.
+     *
+     * @param writer destination
+     * @param user   user to encode
+     */
+    public static void writeUser(WalWriter writer, User user) {
+        writer.writeString(user.getUserId())
+                .writeString(user.getUserName())
+                .writeString(user.getUserEmail())
+                .writeString(user.getUserPhoneNo())
+                .writeInt(user.getUserExperience())
+                .writeInt(user.getRole())
+                .writeString(user.getPassword());
+    }
+
+    /**
+     * Reads a user written by {@link #writeUser}.
+     *
+     * @param reader source
+     * @return the restored user
+     */
+    public static User readUser(WalReader reader) {
+        String userId = reader.readString();
+        String name = reader.readString();
+        String email = reader.readString();
+        String phone = reader.readString();
+        int experience = reader.readInt();
+        int role = reader.readInt();
+        String password = reader.readString();
+        return User.restore(userId, name, email, phone, experience, password, role);
+    }
+
+    /**
+     * Writes every field of a project, including its client.
+     * Dates are stored as epoch days and the status as its ordinal (-1 for none).
+     *
+     * @param writer  destination
+     * @param project project to encode
+     */
+    public static void writeProject(WalWriter writer, Project project) {
+        writer.writeLong(project.getProjectId())
+                .writeString(project.getProjectName())
+                .writeString(project.getProjectDescription())
+                .writeLong(project.getStartDate().toEpochDay())
+                .writeLong(project.getEndDate().toEpochDay())
+                .writeByte(project.getStatus() == null ? -1 : project.getStatus().ordinal());
+        writeClient(writer, project.getAssignedClient());
+        writer.writeString(project.getBuilderId())
+                .writeString(project.getProjectManagerId());
+    }
+
+    /**
+     * Reads a project written by {@link #writeProject}.
+     *
+     * @param reader source
+     * @return the restored project
+     */
+    public static Project readProject(WalReader reader) {
+        long projectId = reader.readLong();
+        String name = reader.readString();
+        String description = reader.readString();
+        LocalDate startDate = LocalDate.ofEpochDay(reader.readLong());
+        LocalDate endDate = LocalDate.ofEpochDay(reader.readLong());
+        Status status = readStatus(reader);
+        Client client = readClient(reader);
+        String builderId = reader.readString();
+        String managerId = reader.readString();
+        return Project.restore(projectId, name, description, startDate, endDate, client, status, builderId, managerId);
+    }
+
+    /**
+     * Writes a count followed by the projects.
+     *
+     * @param writer   destination
+     * @param projects projects to encode
+     */
+    public static void writeProjects(WalWriter writer, List<Project> projects) {
+        writer.writeInt(projects.size());
+        for (Project project : projects) {
+            writeProject(writer, project);
+        }
+    }
+
+    /**
+     * Reads projects written by {@link #writeProjects}.
+     *
+     * @param reader source
+     * @return the restored projects
+     */
+    public static List<Project> readProjects(WalReader reader) {
+        int count = reader.readInt();
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            projects.add(readProject(reader));
+        }
+        return projects;
+    }
+
+    /**
+     * Writes a client's ID, name, email and phone number.
+     *
+     * @param writer destination
+     * @param client client to encode
+     */
+    public static void writeClient(WalWriter writer, Client client) {
+        writer.writeLong(client.getClientId())
+                .writeString(client.getClientName())
+                .writeString(client.getClientEmail())
+                .writeString(client.getClientPhoneNo());
+    }
+
+    /**
+     * Reads a client written by {@link #writeClient}.
+     *
+     * @param reader source
+     * @return the restored client
+     */
+    public static Client readClient(WalReader reader) {
+        return Client.restore(reader.readLong(), reader.readString(), reader.readString(), reader.readString());
+    }
+
+    /**
+     * Writes a count followed by the project IDs.
+     *
+     * @param writer     destination
+     * @param projectIds IDs to encode
+     * @param from       index of the first ID to write
+     * @param to         index after the last ID to write
+     */
+    public static void writeProjectIds(WalWriter writer, long[] projectIds, int from, int to) {
+        writer.writeInt(to - from);
+        for (int i = from; i < to; i++) {
+            writer.writeLong(projectIds[i]);
+        }
+    }
+
+    /**
+     * Reads IDs written by {@link #writeProjectIds}.
+     *
+     * @param reader source
+     * @return the project IDs
+     */
+    public static long[] readProjectIds(WalReader reader) {
+        long[] projectIds = new long[reader.readInt()];
+        for (int i = 0; i < projectIds.length; i++) {
+            projectIds[i] = reader.readLong();
+        }
+        return projectIds;
+    }
+
+    /**
+     * Reads a status ordinal, where -1 stands for no status.
+     *
+     * @param reader source
+     * @return the status, or null
+     */
+    public static Status readStatus(WalReader reader) {
+        byte ordinal = reader.readByte();
+        return ordinal < 0 ? null : STATUSES[ordinal];
+    }
+
+    /**
+     * Re-applies a logged mutation to the stores of an engine.
+     *
+     * @param type   record type
+     * @param reader reader positioned at the payload
+     * @param engine engine whose stores receive the mutation
+     */
+    public static void apply(WalRecordType type, WalReader reader, StorageEngine engine) {
+        switch (type) {
+            case SAVE_USER -> engine.userStore().saveUser(readUser(reader));
+            case REMOVE_USER -> engine.userStore().removeUser(reader.readString());
+            case CLEAR_USERS -> engine.userStore().clear();
+            case SAVE_PROJECT -> engine.projectStore().saveProject(readProject(reader));
+            case UPDATE_STATUS -> engine.projectStore().replayStatus(reader.readLong(), readStatus(reader));
+            case TRANSITION_STATUS -> replayTransition(engine, reader.readLong(), readStatus(reader),
+                    readStatus(reader), reader.readString(), reader.readLong());
+            case UPDATE_DATES -> engine.projectStore().updateDates(reader.readLong(),
+                    LocalDate.ofEpochDay(reader.readLong()), LocalDate.ofEpochDay(reader.readLong()));
+            case UPDATE_DETAILS -> engine.projectStore().updateDetails(reader.readLong(),
+                    reader.readString(), reader.readString(), readClient(reader));
+            case REMOVE_PROJECT -> engine.projectStore().removeProject(reader.readLong());
+            case CLEAR_PROJECTS -> engine.projectStore().clear();
+            case SAVE_PROJECTS -> engine.projectStore().saveProjects(readProjects(reader));
+            case CREATE_PROJECT -> engine.createProject(readProject(reader));
+            case CREATE_PROJECTS -> engine.createProjects(readProjects(reader));
+            case DELETE_PROJECT -> engine.deleteProject(reader.readLong(), project -> true);
+            case CREATE_BUILDER -> engine.assignmentStore().createBuilder(reader.readString());
+            case ADD_PROJECT_TO_BUILDER -> engine.assignmentStore().addProjectToBuilder(reader.readString(), reader.readLong());
+            case REMOVE_PROJECT_FROM_BUILDER -> engine.assignmentStore().removeProjectFromBuilder(reader.readString(), reader.readLong());
+            case CREATE_MANAGER -> engine.assignmentStore().createProjectManager(reader.readString());
+            case ADD_PROJECT_TO_MANAGER -> engine.assignmentStore().addProjectToManager(reader.readString(), reader.readLong());
+            case REMOVE_PROJECT_FROM_MANAGER -> engine.assignmentStore().removeProjectFromManager(reader.readString(), reader.readLong());
+            case CLEAR_ASSIGNMENTS -> engine.assignmentStore().clear();
+            case ADD_PROJECTS_TO_BUILDER -> engine.assignmentStore().addProjectsToBuilder(reader.readString(), readProjectIds(reader));
+            case ADD_PROJECTS_TO_MANAGER -> engine.assignmentStore().addProjectsToManager(reader.readString(), readProjectIds(reader));
+        }
+    }
+
+    /**
+     * Replays a logged transition. The log only holds transitions that succeeded,
+     * so a project not in the expected status means the log and the state it is
+     * replayed onto disagree; the logged status and history entry are applied
+     * anyway, with a warning, rather than losing the entry.
+     */
+    private static void replayTransition(StorageEngine engine, long projectId, Status expected, Status status,
+                                         String actorId, long timestampMillis) {
+        if (engine.projectStore().transitionStatus(projectId, expected, status, actorId, timestampMillis)) {
+            return;
+        }
+        logger.warning("Replayed transition of project " + projectId + " from " + expected + " to " + status
+                + " did not match its current status; applying it anyway");
+        engine.projectStore().replayStatus(projectId, status);
+        engine.projectStore().statusHistory().record(projectId, expected, status, actorId, timestampMillis);
+    }
+}
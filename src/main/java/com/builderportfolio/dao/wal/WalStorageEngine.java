@@ -0,0 +1,376 @@
+package com.builderportfolio.dao.wal;
+
+import com.builderportfolio.dao.AssignmentStore;
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.ProjectLocks;
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.dao.UserStore;
+import com.builderportfolio.model.IdAllocators;
+import com.builderportfolio.model.Project;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Durable {@link StorageEngine}: keeps data in a delegate engine and records
+ * every mutation in a {@link WriteAheadLog}, which is replayed on startup.
+ * <p>
+ * The data directory holds numbered generations. {@code snapshot-N.bin} is the full
+ * state at the moment {@code wal-N.log} was started, so startup loads the newest
+ * snapshot and replays only the log segments from {@code N} on.
+ * {@link #snapshot()} starts the next generation and then deletes the older ones,
+ * which keeps both the log and the startup time bounded.
+ * <p>
+ * Selected with {@code -Dbuilderportfolio.storage=wal}. Further settings:
+ * <ul>
+ *     <li>{@code builderportfolio.wal.dir} – directory of the log (default {@code data})</li>
+ *     <li>{@code builderportfolio.wal.batchRecords} – fsync after this many records (default 512)</li>
+ *     <li>{@code builderportfolio.wal.batchMillis} – fsync after this many milliseconds (default 5)</li>
+ *     <li>{@code builderportfolio.wal.sync} – block writers until fsynced (default false)</li>
+ *     <li>{@code builderportfolio.wal.snapshotSeconds} – take a snapshot this often, 0 to disable (default 300)</li>
+ * </ul>
+ * Only writes going through this engine's stores are logged.
+ */
+public class WalStorageEngine implements StorageEngine {
+
+    /** Registry name of this engine. */
+    public static final String NAME = "wal";
+
+    public static final String DIR_PROPERTY = "builderportfolio.wal.dir";
+    public static final String BATCH_RECORDS_PROPERTY = "builderportfolio.wal.batchRecords";
+    public static final String BATCH_MILLIS_PROPERTY = "builderportfolio.wal.batchMillis";
+    public static final String SYNC_PROPERTY = "builderportfolio.wal.sync";
+    public static final String SNAPSHOT_SECONDS_PROPERTY = "builderportfolio.wal.snapshotSeconds";
+
+    private static final Logger logger =
+            Logger.getLogger(WalStorageEngine.class.getName());
+
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    /** Single-file log written before snapshots existed; adopted as generation 0. */
+    private static final String LEGACY_LOG_FILE = "portfolio.wal";
+
+    private final StorageEngine delegate;
+    private final Path directory;
+    private final WriteAheadLog log;
+    private final WalUserStore userStore;
+    private final WalProjectStore projectStore;
+    private final WalAssignmentStore assignmentStore;
+
+    /** Generation of the log segment currently appended to; guarded by {@code this}. */
+    private long generation;
+    private ScheduledExecutorService snapshotScheduler;
+
+    private WalStorageEngine(StorageEngine delegate, Path directory, WriteAheadLog log, long generation) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.log = log;
+        this.generation = generation;
+        this.userStore = new WalUserStore(delegate.userStore(), log);
+        this.projectStore = new WalProjectStore(delegate.projectStore(), log);
+        this.assignmentStore = new WalAssignmentStore(delegate.assignmentStore(), log);
+    }
+
+    /**
+     * Loads the newest snapshot in {@code directory} into {@code delegate}, replays the
+     * log segments written after it and opens the newest segment for appending.
+     *
+     * @param delegate        engine holding the live data; should start out empty
+     * @param directory       data directory, created if missing
+     * @param maxBatchRecords fsync once this many records are pending
+     * @param maxBatchMillis  fsync once the oldest pending record is this old
+     * @param waitForSync     whether writers block until their mutation is fsynced
+     * @return the opened engine
+     * @throws IOException if the snapshot or log cannot be read or opened
+     */
+    public static WalStorageEngine open(StorageEngine delegate, Path directory, int maxBatchRecords,
+                                        long maxBatchMillis, boolean waitForSync) throws IOException {
+        Files.createDirectories(directory);
+        Path legacy = directory.resolve(LEGACY_LOG_FILE);
+        if (Files.exists(legacy) && generations(directory, LOG_PREFIX, LOG_SUFFIX).isEmpty()) {
+            Files.move(legacy, logFile(directory, 0));
+        }
+
+        List<Long> snapshots = generations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long first = 0;
+        if (!snapshots.isEmpty()) {
+            first = snapshots.get(snapshots.size() - 1);
+            long start = System.nanoTime();
+            int projects = SnapshotLoader.load(snapshotFile(directory, first), delegate);
+            logger.info("Loaded snapshot " + first + " with " + projects + " projects in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        }
+
+        WriteAheadLog.RecordHandler handler = (type, reader) -> WalRecords.apply(type, reader, delegate);
+        List<Long> segments = generations(directory, LOG_PREFIX, LOG_SUFFIX);
+        long oldest = first;
+        segments.removeIf(segment -> segment < oldest);
+        long current = segments.isEmpty() ? first : segments.get(segments.size() - 1);
+        for (long segment : segments) {
+            if (segment != current) {
+                WriteAheadLog.replayFile(logFile(directory, segment), handler);
+            }
+        }
+        WriteAheadLog log = WriteAheadLog.open(logFile(directory, current), maxBatchRecords, maxBatchMillis,
+                waitForSync, handler);
+        return new WalStorageEngine(delegate, directory, log, current);
+    }
+
+    /**
+     * Opens the engine over the shared in-memory engine using the system properties above.
+     * The model's ID sequences are persisted to the same directory, so new IDs stay
+     * above every ID handed out before a restart.
+     *
+     * @return the opened engine
+     * @throws UncheckedIOException if the log cannot be opened
+     */
+    public static StorageEngine fromConfiguration() {
+        Path directory = Paths.get(System.getProperty(DIR_PROPERTY, "data"));
+        try {
+            WalStorageEngine engine = open(InMemoryStorageEngine.shared(), directory,
+                    Integer.getInteger(BATCH_RECORDS_PROPERTY, 512),
+                    Long.getLong(BATCH_MILLIS_PROPERTY, 5L),
+                    Boolean.getBoolean(SYNC_PROPERTY));
+            IdAllocators.persistTo(directory);
+            long snapshotSeconds = Long.getLong(SNAPSHOT_SECONDS_PROPERTY, 300L);
+            if (snapshotSeconds > 0) {
+                engine.scheduleSnapshots(snapshotSeconds);
+            }
+            return engine;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log in " + directory, e);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current state and deletes the files it supersedes.
+     * <p>
+     * Writers are paused only while the log flushes and switches to a new
+     * segment, which is O(1) in the size of the data. The closed segments end
+     * at one point in the log, so they are the consistent cut: the snapshot is
+     * built by {@link #writeSnapshot replaying} them into a private engine,
+     * not by copying the live rows, which would need every writer held off for
+     * the whole O(n) copy or a copy-on-write version of every row. Mutations
+     * made meanwhile go to the new segment only. The price is a second copy of
+     * the data in memory while the snapshot is built, and the time to replay
+     * the segments written since the previous snapshot.
+     *
+     * @throws IOException if the log cannot be rotated or the snapshot written
+     */
+    public synchronized void snapshot() throws IOException {
+        long next = generation + 1;
+        log.rotate(logFile(directory, next));
+        generation = next;
+
+        long start = System.nanoTime();
+        int projects = writeSnapshot(directory, next);
+        logger.info("Wrote snapshot " + next + " with " + projects + " projects in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+
+        for (long old : generations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (old < next) Files.deleteIfExists(snapshotFile(directory, old));
+        }
+        for (long old : generations(directory, LOG_PREFIX, LOG_SUFFIX)) {
+            if (old < next) Files.deleteIfExists(logFile(directory, old));
+        }
+    }
+
+    /**
+     * Writes snapshot {@code generation} from the files before it: the newest
+     * older snapshot, if any, plus the log segments written since. Touches
+     * neither the live engine nor the segment being appended to.
+     *
+     * @param directory  data directory
+     * @param generation generation to write; its log segment must already be the current one
+     * @return number of projects in the snapshot
+     * @throws IOException if a file cannot be read or the snapshot written
+     */
+    static int writeSnapshot(Path directory, long generation) throws IOException {
+        StorageEngine cut = new InMemoryStorageEngine();
+        List<Long> snapshots = generations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        snapshots.removeIf(snapshot -> snapshot >= generation);
+        long first = 0;
+        if (!snapshots.isEmpty()) {
+            first = snapshots.get(snapshots.size() - 1);
+            SnapshotLoader.load(snapshotFile(directory, first), cut);
+        }
+        WriteAheadLog.RecordHandler handler = (type, reader) -> WalRecords.apply(type, reader, cut);
+        for (long segment : generations(directory, LOG_PREFIX, LOG_SUFFIX)) {
+            if (segment >= first && segment < generation) {
+                WriteAheadLog.replayFile(logFile(directory, segment), handler);
+            }
+        }
+        SnapshotWriter snapshot = SnapshotWriter.capture(cut);
+        snapshot.writeTo(snapshotFile(directory, generation));
+        return snapshot.projectCount();
+    }
+
+    /**
+     * Takes a {@link #snapshot()} every {@code intervalSeconds} on a background thread
+     * until the engine is closed.
+     *
+     * @param intervalSeconds time between snapshots
+     */
+    public synchronized void scheduleSnapshots(long intervalSeconds) {
+        if (snapshotScheduler != null) throw new IllegalStateException("Snapshots are already scheduled");
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "wal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                logger.severe("Snapshot failed: " + e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param directory  data directory
+     * @param generation segment number
+     * @return path of that log segment
+     */
+    static Path logFile(Path directory, long generation) {
+        return directory.resolve(String.format("%s%016d%s", LOG_PREFIX, generation, LOG_SUFFIX));
+    }
+
+    /**
+     * @param directory  data directory
+     * @param generation snapshot number
+     * @return path of that snapshot
+     */
+    static Path snapshotFile(Path directory, long generation) {
+        return directory.resolve(String.format("%s%016d%s", SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+    }
+
+    /**
+     * Lists the generation numbers of files named {@code prefix + number + suffix}, in ascending order.
+     */
+    private static List<Long> generations(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .forEach(name -> {
+                        try {
+                            generations.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                        } catch (NumberFormatException e) {
+                            // Not one of ours
+                        }
+                    });
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    /** @return the log behind this engine */
+    public WriteAheadLog log() {
+        return log;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public UserStore userStore() {
+        return userStore;
+    }
+
+    @Override
+    public ProjectStore projectStore() {
+        return projectStore;
+    }
+
+    @Override
+    public AssignmentStore assignmentStore() {
+        return assignmentStore;
+    }
+
+    /**
+     * Logs the creation as one record, so replay restores the project and
+     * both assignments or none of them.
+     */
+    @Override
+    public void createProject(Project project) {
+        ProjectLocks.withLock(project.getProjectId(), () -> {
+            log.append(WalRecordType.CREATE_PROJECT, w -> WalRecords.writeProject(w, project),
+                    () -> delegate.createProject(project));
+            return null;
+        });
+    }
+
+    /**
+     * Logs one record per {@link WalProjectStore#PROJECTS_PER_RECORD} projects;
+     * each record restores its projects together with their assignments.
+     */
+    @Override
+    public void createProjects(List<Project> projects) {
+        for (int from = 0; from < projects.size(); from += WalProjectStore.PROJECTS_PER_RECORD) {
+            List<Project> chunk = projects.subList(from, Math.min(projects.size(), from + WalProjectStore.PROJECTS_PER_RECORD));
+            long[] projectIds = chunk.stream().mapToLong(Project::getProjectId).toArray();
+            ProjectLocks.withLocks(projectIds, () -> {
+                log.append(WalRecordType.CREATE_PROJECTS, w -> WalRecords.writeProjects(w, chunk),
+                        () -> delegate.createProjects(chunk));
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Checks the condition before logging, so only deletions that happen are
+     * logged, and logs the deletion as one record.
+     */
+    @Override
+    public Project deleteProject(long projectId, Predicate<Project> condition) {
+        return ProjectLocks.withLock(projectId, () -> {
+            Project project = delegate.projectStore().getProjectById(projectId);
+            if (project == null || !condition.test(project)) return null;
+            return log.appendAndGet(WalRecordType.DELETE_PROJECT, w -> w.writeLong(projectId),
+                    () -> delegate.deleteProject(projectId, stored -> true));
+        });
+    }
+
+    /**
+     * Stops scheduled snapshots, flushes outstanding mutations and closes the log.
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            scheduler = snapshotScheduler;
+        }
+        if (scheduler != null) {
+            // Let a snapshot in progress finish rather than leave a half-written file
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            log.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close write-ahead log", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.builderportfolio.dao.wal;
+
+import com.builderportfolio.dao.UserStore;
+import com.builderportfolio.model.User;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link UserStore} that logs every user mutation before applying it to a delegate store.
+ * Email reservations are transient and are not logged; replaying saved users rebuilds them.
+ */
+public class WalUserStore implements UserStore {
+
+    private final UserStore delegate;
+    private final WriteAheadLog log;
+
+    /**
+     * @param delegate store holding the live data
+     * @param log      log receiving the mutations
+     */
+    public WalUserStore(UserStore delegate, WriteAheadLog log) {
+        this.delegate = delegate;
+        this.log = log;
+    }
+
+    @Override
+    public void saveUser(User user) {
+        log.append(WalRecordType.SAVE_USER, w -> WalRecords.writeUser(w, user), () -> delegate.saveUser(user));
+    }
+
+    @Override
+    public User removeUser(String userId) {
+        return log.appendAndGet(WalRecordType.REMOVE_USER, w -> w.writeString(userId), () -> delegate.removeUser(userId));
+    }
+
+    @Override
+    public void clear() {
+        log.append(WalRecordType.CLEAR_USERS, w -> { }, delegate::clear);
+    }
+
+    @Override
+    public boolean reserveEmail(String userEmail, String userId) {
+        return delegate.reserveEmail(userEmail, userId);
+    }
+
+    @Override
+    public void releaseEmail(String userEmail, String userId) {
+        delegate.releaseEmail(userEmail, userId);
+    }
+
+    @Override
+    public boolean idExists(String userId) {
+        return delegate.idExists(userId);
+    }
+
+    @Override
+    public boolean emailExists(String userEmail) {
+        return delegate.emailExists(userEmail);
+    }
+
+    @Override
+    public User getUserById(String userId) {
+        return delegate.getUserById(userId);
+    }
+
+    @Override
+    public void forEach(Consumer<User> action) {
+        delegate.forEach(action);
+    }
+}
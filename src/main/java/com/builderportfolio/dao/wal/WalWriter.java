@@ -0,0 +1,119 @@
+package com.builderportfolio.dao.wal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Growable buffer used to encode log records.
+ * <p>
+ * Strings are written as a length-prefixed UTF-8 byte array,
+ * with a length of -1 standing for null.
+ */
+public class WalWriter {
+
+    private ByteBuffer buffer;
+
+    /**
+     * @param initialCapacity starting size of the buffer in bytes
+     */
+    public WalWriter(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    /**
+     * Appends the low 8 bits of an int.
+     *
+     * @param value value to append
+     * @return this writer
+     */
+    public WalWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer.put((byte) value);
+        return this;
+    }
+
+    /**
+     * Appends an int.
+     *
+     * @param value value to append
+     * @return this writer
+     */
+    public WalWriter writeInt(int value) {
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(value);
+        return this;
+    }
+
+    /**
+     * Appends a long.
+     *
+     * @param value value to append
+     * @return this writer
+     */
+    public WalWriter writeLong(long value) {
+        ensureCapacity(Long.BYTES);
+        buffer.putLong(value);
+        return this;
+    }
+
+    /**
+     * Appends a nullable string.
+     *
+     * @param value value to append
+     * @return this writer
+     */
+    public WalWriter writeString(String value) {
+        if (value == null) {
+            return writeInt(-1);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    /** @return number of bytes written so far */
+    public int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Moves the write position, e.g. back to the start of a record that must be discarded.
+     *
+     * @param position new write position
+     */
+    public void position(int position) {
+        buffer.position(position);
+    }
+
+    /**
+     * Overwrites an int at an absolute position without moving the write position.
+     *
+     * @param index byte offset
+     * @param value value to write
+     */
+    public void putInt(int index, int value) {
+        buffer.putInt(index, value);
+    }
+
+    /** @return the underlying buffer; bytes [0, position) hold the encoded data */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /** Discards all written bytes. */
+    public void clear() {
+        buffer.clear();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (buffer.remaining() < extra) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + extra);
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.builderportfolio.dao.wal;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, length-prefixed binary log of storage mutations.
+ * <p>
+ * Every record is framed as {@code [int length][byte type][payload][int crc32]},
+ * where the length covers the type byte and payload and the CRC protects them.
+ * Appends are encoded into an in-memory batch; a background flusher writes the
+ * batch through a {@link FileChannel} and fsyncs it once the batch holds
+ * {@code maxBatchRecords} records or its oldest record is {@code maxBatchDelayMillis} old
+ * (group commit). Otherwise at most one batch window of mutations can be lost on a crash.
+ * In sync mode callers wait until their record is on disk, and the flusher
+ * starts a new batch as soon as the previous fsync completes: records that
+ * arrive during an fsync share the next one.
+ * Writers are held back if the pending batch reaches {@link #MAX_PENDING_BYTES}.
+ * <p>
+ * On {@link #open open} the existing log is replayed record by record. A torn or
+ * corrupt tail (e.g. after a crash mid-write) is cut off at the last valid record.
+ * {@link #rotate} switches appends to a new file, so older files can be retired
+ * once a snapshot covers them.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final Logger logger =
+            Logger.getLogger(WriteAheadLog.class.getName());
+
+    /** Bytes around each record: the length prefix and the CRC trailer. */
+    static final int FRAME_BYTES = 2 * Integer.BYTES;
+
+    /** Writers wait for the flusher once this many bytes are pending, so the batch cannot outgrow the disk. */
+    static final int MAX_PENDING_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * Receives each valid record found while replaying a log.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * @param type   record type
+         * @param reader reader positioned at the start of the payload
+         */
+        void apply(WalRecordType type, WalReader reader);
+    }
+
+    private FileChannel channel;
+    private final int maxBatchRecords;
+    private final long maxBatchDelayNanos;
+    private final boolean waitForSync;
+    private final long replayedRecords;
+
+    /** Guards every field below. */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signalled when the flusher may have work to do. */
+    private final Condition batchAvailable = lock.newCondition();
+    /** Signalled when a batch has reached the disk (or the log failed). */
+    private final Condition batchDurable = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+    private WalWriter pending = new WalWriter(64 * 1024);
+    private WalWriter flushing = new WalWriter(64 * 1024);
+    private int pendingRecords;
+    private long firstPendingNanos;
+    private boolean flushRequested;
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean closed;
+    private boolean rotating;
+    private IOException failure;
+
+    private final Thread flusher;
+
+    private WriteAheadLog(FileChannel channel, int maxBatchRecords, long maxBatchDelayMillis,
+                          boolean waitForSync, long replayedRecords) {
+        this.channel = channel;
+        this.maxBatchRecords = maxBatchRecords;
+        this.maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMillis);
+        this.waitForSync = waitForSync;
+        this.replayedRecords = replayedRecords;
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens (or creates) a log file, replays its records and prepares it for appending.
+     *
+     * @param file                log file
+     * @param maxBatchRecords     fsync once this many records are pending
+     * @param maxBatchDelayMillis fsync once the oldest pending record is this old
+     * @param waitForSync         whether appends block until their record is fsynced
+     * @param handler             receives every valid record already in the log
+     * @return the opened log
+     * @throws IOException if the file cannot be read or opened for writing
+     */
+    public static WriteAheadLog open(Path file, int maxBatchRecords, long maxBatchDelayMillis,
+                                     boolean waitForSync, RecordHandler handler) throws IOException {
+        if (maxBatchRecords < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+        if (maxBatchDelayMillis < 0) throw new IllegalArgumentException("Batch delay cannot be negative");
+
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long[] count = new long[1];
+            long validBytes = replay(channel, (type, reader) -> {
+                handler.apply(type, reader);
+                count[0]++;
+            });
+            if (validBytes < channel.size()) {
+                logger.warning("Discarding " + (channel.size() - validBytes) + " bytes of torn log tail in " + file);
+                channel.truncate(validBytes);
+            }
+            channel.position(validBytes);
+            logger.info("Replayed " + count[0] + " log records from " + file);
+            return new WriteAheadLog(channel, maxBatchRecords, maxBatchDelayMillis, waitForSync, count[0]);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replays a log file that is no longer appended to, without modifying it.
+     *
+     * @param file    log file
+     * @param handler receives every valid record
+     * @return number of records replayed
+     * @throws IOException if the file cannot be read
+     */
+    public static long replayFile(Path file, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] count = new long[1];
+            long validBytes = replay(channel, (type, reader) -> {
+                handler.apply(type, reader);
+                count[0]++;
+            });
+            if (validBytes < channel.size()) {
+                logger.warning("Ignoring " + (channel.size() - validBytes) + " unreadable bytes at the end of " + file);
+            }
+            return count[0];
+        }
+    }
+
+    /**
+     * Reads records from the start of the channel until the end of the log
+     * or the first incomplete or corrupt record.
+     *
+     * @return number of bytes holding valid records
+     */
+    private static long replay(FileChannel channel, RecordHandler handler) throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        CRC32 crc = new CRC32();
+
+        try {
+            while (offset + FRAME_BYTES < size) {
+                int length = in.readInt();
+                if (length <= 0 || offset + FRAME_BYTES + length > size) break;
+
+                byte[] record = new byte[length];
+                in.readFully(record);
+                int storedCrc = in.readInt();
+
+                crc.reset();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != storedCrc) break;
+
+                WalRecordType type = WalRecordType.fromCode(record[0]);
+                if (type == null) break;
+
+                handler.apply(type, new WalReader(ByteBuffer.wrap(record, 1, length - 1)));
+                offset += FRAME_BYTES + length;
+            }
+        } catch (EOFException e) {
+            // Torn tail: keep everything before it
+        }
+        return offset;
+    }
+
+    /**
+     * Appends a record and applies the matching in-memory mutation.
+     * Both happen under the log lock, so the log order always matches the order
+     * in which mutations were applied. If the mutation throws, the record is discarded.
+     *
+     * @param type     record type
+     * @param body     writes the record payload
+     * @param mutation applies the change to the in-memory state
+     */
+    public void append(WalRecordType type, Consumer<WalWriter> body, Runnable mutation) {
+        appendAndGet(type, body, () -> {
+            mutation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Same as {@link #append(WalRecordType, Consumer, Runnable)} for mutations returning a value.
+     *
+     * @param type     record type
+     * @param body     writes the record payload
+     * @param mutation applies the change to the in-memory state
+     * @param <T>      result type of the mutation
+     * @return the mutation's result
+     */
+    public <T> T appendAndGet(WalRecordType type, Consumer<WalWriter> body, Supplier<T> mutation) {
+        T result;
+        long sequence;
+        lock.lock();
+        try {
+            checkUsable();
+            while (rotating) {
+                batchDurable.awaitUninterruptibly();
+                checkUsable();
+            }
+            while (pending.position() >= MAX_PENDING_BYTES) {
+                flushRequested = true;
+                batchAvailable.signal();
+                batchDurable.awaitUninterruptibly();
+                checkUsable();
+            }
+            int start = pending.position();
+            try {
+                pending.writeInt(0);
+                pending.writeByte(type.code());
+                body.accept(pending);
+
+                int end = pending.position();
+                int length = end - start - Integer.BYTES;
+                pending.putInt(start, length);
+                crc.reset();
+                crc.update(pending.buffer().array(), start + Integer.BYTES, length);
+                pending.writeInt((int) crc.getValue());
+
+                result = mutation.get();
+            } catch (RuntimeException e) {
+                pending.position(start);
+                throw e;
+            }
+
+            sequence = ++appendedSequence;
+            if (pendingRecords++ == 0) {
+                firstPendingNanos = System.nanoTime();
+                batchAvailable.signal();
+            } else if (pendingRecords >= maxBatchRecords) {
+                batchAvailable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (waitForSync) {
+            awaitDurable(sequence);
+        }
+        return result;
+    }
+
+    /**
+     * Forces every record appended so far to disk and waits for it.
+     */
+    public void sync() {
+        long sequence;
+        lock.lock();
+        try {
+            sequence = appendedSequence;
+            if (durableSequence < sequence) {
+                flushRequested = true;
+                batchAvailable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Makes every record appended so far durable in the current file, then
+     * directs all further appends to a new file. Appends wait only while the
+     * current batch is flushed and the files are switched, so the old files end
+     * at one point in the log and every later record goes to the new one.
+     *
+     * @param nextFile file receiving appends from now on; created if missing
+     * @throws IOException if the current file cannot be synced or the new one opened
+     */
+    public void rotate(Path nextFile) throws IOException {
+        lock.lock();
+        try {
+            checkUsable();
+            while (rotating) {
+                batchDurable.awaitUninterruptibly();
+                checkUsable();
+            }
+            rotating = true;
+            try {
+                while (durableSequence < appendedSequence) {
+                    flushRequested = true;
+                    batchAvailable.signal();
+                    batchDurable.awaitUninterruptibly();
+                    checkUsable();
+                }
+                FileChannel next = FileChannel.open(nextFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                next.position(next.size());
+                FileChannel previous = channel;
+                channel = next;
+                previous.close();
+            } finally {
+                rotating = false;
+                batchDurable.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return number of records read back when the log was opened */
+    public long replayedRecords() {
+        return replayedRecords;
+    }
+
+    /** @return number of records appended since the log was opened */
+    public long appendedRecords() {
+        lock.lock();
+        try {
+            return appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes outstanding records, stops the flusher and closes the file.
+     * Calling close more than once has no effect.
+     *
+     * @throws IOException if the final flush or close fails
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            batchAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            channel.close();
+            if (failure != null) throw failure;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log is no longer writable", failure);
+                }
+                batchDurable.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkUsable() {
+        if (closed) throw new IllegalStateException("Write-ahead log is closed");
+        if (failure != null) throw new UncheckedIOException("Write-ahead log is no longer writable", failure);
+    }
+
+    /** Must be called while holding {@code lock}. */
+    private boolean batchReady() {
+        if (pendingRecords == 0) return false;
+        return flushRequested
+                || waitForSync
+                || pendingRecords >= maxBatchRecords
+                || System.nanoTime() - firstPendingNanos >= maxBatchDelayNanos;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long batchSequence;
+            FileChannel target;
+            lock.lock();
+            try {
+                while (!closed && !batchReady()) {
+                    if (pendingRecords == 0) {
+                        batchAvailable.await();
+                    } else {
+                        batchAvailable.awaitNanos(firstPendingNanos + maxBatchDelayNanos - System.nanoTime());
+                    }
+                }
+                if (pendingRecords == 0) {
+                    return;
+                }
+
+                target = channel;
+                WalWriter batch = pending;
+                pending = flushing;
+                flushing = batch;
+                batchSequence = appendedSequence;
+                pendingRecords = 0;
+                flushRequested = false;
+            } catch (InterruptedException e) {
+                // Nothing will flush from now on: fail the log so waiting and later writers don't hang
+                logger.severe("Write-ahead log flusher was interrupted");
+                failure = new InterruptedIOException("Write-ahead log flusher was interrupted");
+                batchDurable.signalAll();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                ByteBuffer bytes = flushing.buffer();
+                bytes.flip();
+                while (bytes.hasRemaining()) {
+                    target.write(bytes);
+                }
+                target.force(false);
+            } catch (IOException e) {
+                logger.severe("Write-ahead log flush failed: " + e.getMessage());
+                lock.lock();
+                try {
+                    failure = e;
+                    batchDurable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            } finally {
+                flushing.clear();
+            }
+
+            lock.lock();
+            try {
+                durableSequence = batchSequence;
+                batchDurable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.builderportfolio.exception;
+
+/**
+ * Exception thrown when a request is turned away because the work it needs
+ * is already queued to capacity, e.g. during a burst of logins.
+ * The request may be retried shortly.
+ */
+public class ServiceBusyException extends RuntimeException {
+    /**
+     * Constructs a new ServiceBusyException with the specified detail message.
+     *
+     * @param message Explanation of why the exception occurred
+     */
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.builderportfolio.exception;
+
+/**
+ * Exception thrown when a login is refused before the credentials are checked,
+ * because the user is locked out or the client has tried too often.
+ * <p>
+ * It carries no stack trace: it is thrown on every attempt of a flooding
+ * client, where filling one in would cost several times the check itself.
+ */
+public class TooManyLoginAttemptsException extends RuntimeException {
+    /**
+     * Constructs a new TooManyLoginAttemptsException with the specified detail message.
+     *
+     * @param message Explanation of why the exception occurred
+     */
+    public TooManyLoginAttemptsException(String message) {
+        super(message, null, false, false);
+    }
+}
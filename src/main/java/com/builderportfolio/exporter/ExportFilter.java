@@ -0,0 +1,79 @@
+package com.builderportfolio.exporter;
+
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+/**
+ * Selects which projects {@link PortfolioExporter#exportProjects} writes.
+ * <p>
+ * Every criterion left unset matches everything; set criteria must all match.
+ * Instances are immutable, each {@code with} method returns a new filter.
+ */
+public class ExportFilter {
+
+    private static final ExportFilter ALL = new ExportFilter(null, null, null);
+
+    private final String managerId;
+    private final String builderId;
+    private final Status status;
+
+    private ExportFilter(String managerId, String builderId, Status status) {
+        this.managerId = managerId;
+        this.builderId = builderId;
+        this.status = status;
+    }
+
+    /** @return a filter matching every project */
+    public static ExportFilter all() {
+        return ALL;
+    }
+
+    /**
+     * @param managerId project manager whose projects are kept
+     * @return a copy of this filter restricted to that manager
+     */
+    public ExportFilter withManager(String managerId) {
+        return new ExportFilter(managerId, builderId, status);
+    }
+
+    /**
+     * @param builderId builder whose projects are kept
+     * @return a copy of this filter restricted to that builder
+     */
+    public ExportFilter withBuilder(String builderId) {
+        return new ExportFilter(managerId, builderId, status);
+    }
+
+    /**
+     * @param status status of the projects that are kept
+     * @return a copy of this filter restricted to that status
+     */
+    public ExportFilter withStatus(Status status) {
+        return new ExportFilter(managerId, builderId, status);
+    }
+
+    /** @return the required manager ID, or null */
+    public String getManagerId() {
+        return managerId;
+    }
+
+    /** @return the required builder ID, or null */
+    public String getBuilderId() {
+        return builderId;
+    }
+
+    /** @return the required status, or null */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @param project project to test
+     * @return true if the project meets every set criterion
+     */
+    public boolean matches(Project project) {
+        return (managerId == null || managerId.equals(project.getProjectManagerId()))
+                && (builderId == null || builderId.equals(project.getBuilderId()))
+                && (status == null || status == project.getStatus());
+    }
+}
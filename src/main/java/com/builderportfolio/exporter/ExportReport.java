@@ -0,0 +1,58 @@
+package com.builderportfolio.exporter;
+
+import java.nio.file.Path;
+
+/**
+ * Summary of one {@link PortfolioExporter} run.
+ */
+public class ExportReport {
+    private final long rows;
+    private final long bytes;
+    private final long elapsedNanos;
+    private final Path file;
+
+    /**
+     * @param rows         rows written (CSV header excluded)
+     * @param bytes        size of the written file
+     * @param elapsedNanos wall time of the whole export
+     * @param file         the written file
+     */
+    public ExportReport(long rows, long bytes, long elapsedNanos, Path file) {
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.file = file;
+    }
+
+    /** @return rows written */
+    public long getRows() {
+        return rows;
+    }
+
+    /** @return bytes written */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /** @return wall time of the export in nanoseconds */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** @return the written file */
+    public Path getFile() {
+        return file;
+    }
+
+    /** @return rows written per second of wall time */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /** @return one-line summary with throughput */
+    @Override
+    public String toString() {
+        return String.format("%,d rows (%,d bytes) in %.2f s (%,.0f rows/s) -> %s",
+                rows, bytes, elapsedNanos / 1e9, getRowsPerSecond(), file);
+    }
+}
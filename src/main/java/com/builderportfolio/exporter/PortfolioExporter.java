@@ -0,0 +1,156 @@
+package com.builderportfolio.exporter;
+
+import com.builderportfolio.dao.AssignmentStore;
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.dao.UserStore;
+import com.builderportfolio.importer.BulkImporter;
+import com.builderportfolio.importer.ImportFormat;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Streams the portfolio out of a storage engine as CSV or JSON lines.
+ * <p>
+ * Projects and users are written straight from the store iterators, one row at
+ * a time, through a {@link RowWriter}; nothing is collected first, so the heap
+ * needed does not grow with the portfolio. A manager or builder filter walks
+ * only that user's assigned project IDs instead of the whole project store.
+ * <p>
+ * The columns are the ones {@link BulkImporter} reads, plus the stored IDs,
+ * so an export can be imported into another engine. User passwords are never
+ * exported, so user rows need a password column added before re-import.
+ * Writes that happen during an export may or may not appear in it.
+ */
+public class PortfolioExporter {
+
+    /** Project columns, in file order. */
+    private static final String[] PROJECT_COLUMNS = {"projectId", "name", "description", "startDate", "endDate",
+            "clientName", "clientEmail", "clientPhone", "status", "builderId", "managerId"};
+
+    /** User columns, in file order. */
+    private static final String[] USER_COLUMNS = {"userId", "name", "email", "phone", "experience", "role"};
+
+    private final ProjectStore projectStore;
+    private final UserStore userStore;
+    private final AssignmentStore assignmentStore;
+
+    /**
+     * @param storageEngine engine whose data is exported
+     */
+    public PortfolioExporter(StorageEngine storageEngine) {
+        this.projectStore = storageEngine.projectStore();
+        this.userStore = storageEngine.userStore();
+        this.assignmentStore = storageEngine.assignmentStore();
+    }
+
+    /**
+     * Writes every project accepted by {@code filter}.
+     *
+     * @param file   destination, replaced if it exists; format by extension (see {@link ImportFormat#of})
+     * @param filter projects to include
+     * @return rows, bytes and throughput
+     * @throws IOException if the file cannot be written
+     */
+    public ExportReport exportProjects(Path file, ExportFilter filter) throws IOException {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        RowWriter writer = new RowWriter(file, ImportFormat.of(file), PROJECT_COLUMNS);
+        try (writer) {
+            Consumer<Project> sink = project -> {
+                if (project != null && filter.matches(project)) {
+                    writeProject(writer, project);
+                    rows[0]++;
+                }
+            };
+            try {
+                if (filter.getManagerId() != null) {
+                    forEachAssigned(assignmentStore.getManagerProjectIds(filter.getManagerId()).toArray(), sink);
+                } else if (filter.getBuilderId() != null) {
+                    forEachAssigned(assignmentStore.getBuilderProjectIds(filter.getBuilderId()).toArray(), sink);
+                } else {
+                    projectStore.forEach(sink);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return new ExportReport(rows[0], writer.bytesWritten(), System.nanoTime() - start, file);
+    }
+
+    /**
+     * Writes every registered user, without passwords.
+     *
+     * @param file destination, replaced if it exists; format by extension (see {@link ImportFormat#of})
+     * @return rows, bytes and throughput
+     * @throws IOException if the file cannot be written
+     */
+    public ExportReport exportUsers(Path file) throws IOException {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        RowWriter writer = new RowWriter(file, ImportFormat.of(file), USER_COLUMNS);
+        try (writer) {
+            try {
+                userStore.forEach(user -> {
+                    writeUser(writer, user);
+                    rows[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return new ExportReport(rows[0], writer.bytesWritten(), System.nanoTime() - start, file);
+    }
+
+    /**
+     * Looks up each assigned project by ID. The IDs are a primitive copy of the
+     * assignment set, so the set's lock is not held while the file is written.
+     */
+    private void forEachAssigned(long[] projectIds, Consumer<Project> sink) {
+        for (long projectId : projectIds) {
+            sink.accept(projectStore.getProjectById(projectId));
+        }
+    }
+
+    private static void writeProject(RowWriter writer, Project project) {
+        Client client = project.getAssignedClient();
+        writer.beginRow();
+        writer.number(project.getProjectId());
+        writer.text(project.getProjectName());
+        writer.text(project.getProjectDescription());
+        writer.date(project.getStartDate());
+        writer.date(project.getEndDate());
+        writer.text(client.getClientName());
+        writer.text(client.getClientEmail());
+        writer.text(client.getClientPhoneNo());
+        writer.text(project.getStatus() == null ? null : project.getStatus().name());
+        writer.text(project.getBuilderId());
+        writer.text(project.getProjectManagerId());
+        endRow(writer);
+    }
+
+    private static void writeUser(RowWriter writer, User user) {
+        writer.beginRow();
+        writer.text(user.getUserId());
+        writer.text(user.getUserName());
+        writer.text(user.getUserEmail());
+        writer.text(user.getUserPhoneNo());
+        writer.number(user.getUserExperience());
+        writer.text(user.getRole() == 1 ? "builder" : "manager");
+        endRow(writer);
+    }
+
+    private static void endRow(RowWriter writer) {
+        try {
+            writer.endRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.builderportfolio.exporter;
+
+import com.builderportfolio.importer.ImportFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Writes rows of named columns as CSV or JSON lines to a file channel.
+ * <p>
+ * Each row is built in one reused character buffer and encoded straight into
+ * a reused direct byte buffer, which is written to the channel whenever it
+ * fills up. Writing a row therefore allocates nothing, whatever the file size.
+ * <p>
+ * Call {@link #beginRow()}, then one field method per column in column order,
+ * then {@link #endRow()}. Not thread-safe.
+ */
+final class RowWriter implements AutoCloseable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final boolean json;
+    private final String[] columns;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private char[] row = new char[512];
+    private CharBuffer rowBuffer = CharBuffer.wrap(row);
+    private int length;
+    private int column;
+    private long bytesWritten;
+
+    /**
+     * Creates or truncates {@code file} and writes the CSV header if needed.
+     *
+     * @param file    destination file
+     * @param format  CSV (with a header line) or JSON lines
+     * @param columns column names, in the order the fields are written
+     * @throws IOException if the file cannot be opened
+     */
+    RowWriter(Path file, ImportFormat format, String... columns) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.json = format == ImportFormat.JSON_LINES;
+        this.columns = columns;
+        if (!json) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) append(',');
+                append(columns[i]);
+            }
+            append('\n');
+            encodeRow();
+        }
+    }
+
+    /** Starts a new row. */
+    void beginRow() {
+        length = 0;
+        column = 0;
+        if (json) append('{');
+    }
+
+    /**
+     * @param value text for the next column; null writes an empty CSV field or a JSON null
+     */
+    void text(String value) {
+        nextField();
+        if (value == null) {
+            if (json) append("null");
+        } else if (json) {
+            jsonString(value);
+        } else {
+            csvField(value);
+        }
+    }
+
+    /**
+     * @param value number for the next column
+     */
+    void number(long value) {
+        nextField();
+        appendLong(value);
+    }
+
+    /**
+     * @param value date for the next column, written as YYYY-MM-DD; null as for {@link #text}
+     */
+    void date(LocalDate value) {
+        if (value == null) {
+            text(null);
+            return;
+        }
+        nextField();
+        if (json) append('"');
+        int year = value.getYear();
+        if (year >= 0 && year <= 9999) {
+            appendPadded(year, 4);
+        } else {
+            appendLong(year);
+        }
+        append('-');
+        appendPadded(value.getMonthValue(), 2);
+        append('-');
+        appendPadded(value.getDayOfMonth(), 2);
+        if (json) append('"');
+    }
+
+    /**
+     * Finishes the row and encodes it into the output buffer.
+     *
+     * @throws IOException if a full buffer cannot be written out
+     */
+    void endRow() throws IOException {
+        if (column != columns.length)
+            throw new IllegalStateException("Row has " + column + " fields, expected " + columns.length);
+        if (json) append('}');
+        append('\n');
+        encodeRow();
+    }
+
+    /** @return bytes written to the file so far, including buffered bytes */
+    long bytesWritten() {
+        return bytesWritten + bytes.position();
+    }
+
+    /**
+     * Writes out the buffered bytes and closes the file.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void nextField() {
+        if (column >= columns.length) throw new IllegalStateException("Too many fields in row");
+        if (json) {
+            if (column > 0) append(',');
+            append('"');
+            append(columns[column]);
+            append("\":");
+        } else if (column > 0) {
+            append(',');
+        }
+        column++;
+    }
+
+    /** Quotes the value if the importer would otherwise split or trim it. */
+    private void csvField(String value) {
+        boolean quote = !value.isEmpty()
+                && (value.charAt(0) <= ' ' || value.charAt(value.length() - 1) <= ' ' || value.charAt(0) == '"');
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            append(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') append('"');
+            append(c);
+        }
+        append('"');
+    }
+
+    private void jsonString(String value) {
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> append("\\\"");
+                case '\\' -> append("\\\\");
+                case '\n' -> append("\\n");
+                case '\r' -> append("\\r");
+                case '\t' -> append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        append("\\u00");
+                        append(Character.forDigit(c >> 4, 16));
+                        append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        append(c);
+                    }
+                }
+            }
+        }
+        append('"');
+    }
+
+    private void appendLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            append(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        appendPadded(value, digits);
+    }
+
+    private void appendPadded(long value, int digits) {
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            row[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void append(String value) {
+        ensure(value.length());
+        value.getChars(0, value.length(), row, length);
+        length += value.length();
+    }
+
+    private void append(char c) {
+        ensure(1);
+        row[length++] = c;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > row.length) {
+            char[] grown = new char[Math.max(row.length * 2, length + extra)];
+            System.arraycopy(row, 0, grown, 0, length);
+            row = grown;
+            rowBuffer = CharBuffer.wrap(row);
+        }
+    }
+
+    private void encodeRow() throws IOException {
+        rowBuffer.clear().limit(length);
+        while (true) {
+            CoderResult result = encoder.encode(rowBuffer, bytes, true);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        encoder.reset();
+        length = 0;
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            bytesWritten += channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,351 @@
+package com.builderportfolio.importer;
+
+import com.builderportfolio.dao.AssignmentStore;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.exception.ServiceBusyException;
+import com.builderportfolio.exception.UserAlreadyExistsException;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+import com.builderportfolio.service.ProjectBatchResult;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.ProjectSpec;
+import com.builderportfolio.security.PasswordHasher;
+import com.builderportfolio.security.PasswordVerifier;
+import com.builderportfolio.service.UserService;
+import com.builderportfolio.view.util.InputFields;
+import com.builderportfolio.view.util.Validator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams users or projects from a CSV or JSON-lines file into a storage engine.
+ * <p>
+ * One thread reads the file line by line and hands fixed-size batches of raw
+ * lines to a pool of workers, which parse, validate and store them. At most two
+ * batches per worker are in flight, so memory stays constant however large the
+ * file is. Rows are checked with the same rules as the registration and
+ * add-project menus and the API ({@link InputFields} plus the model
+ * constructors), and a row that fails is written to the rejects file instead of stopping the import.
+ * <p>
+ * User columns: {@code name, email, phone, experience, role, password}, where
+ * role is {@code 1}/{@code builder} or {@code 2}/{@code manager}.
+ * <p>
+ * Every plain-text password is hashed at the work factor of the importer's
+ * {@link PasswordVerifier}, which dominates the cost of a user import: at the
+ * default work factor a core hashes a few passwords a second, against tens of
+ * thousands of rows a second for everything else. Large migrations can either
+ * supply passwords that are already {@link PasswordHasher} hashes, which are
+ * stored as is and skip the password rules, or hash with a verifier of a lower
+ * work factor; such hashes are re-hashed at the configured work factor on each
+ * user's first login. A row turned away because the hashing pool is full is
+ * rejected like any other bad row.
+ * <p>
+ * Project columns: {@code name, description, startDate, endDate, clientName,
+ * clientEmail, clientPhone, status, builderId, managerId}, with dates as
+ * YYYY-MM-DD. The builder and manager must already be registered.
+ * <p>
+ * Each line of the rejects file is {@code line number TAB reason TAB original line}.
+ * Rows are processed in parallel, so rejects are not in file order.
+ */
+public class BulkImporter {
+
+    /** System property overriding the worker count used by the command-line import. */
+    public static final String THREADS_PROPERTY = "builderportfolio.import.threads";
+
+    /**
+     * System property giving the PBKDF2 iteration count the command-line import
+     * hashes plain-text passwords with, instead of the configured work factor.
+     */
+    public static final String PASSWORD_ITERATIONS_PROPERTY = "builderportfolio.import.passwordIterations";
+
+    /** Rows handed to a worker at a time. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final UserService userService;
+    private final ProjectService projectService;
+    private final AssignmentStore assignmentStore;
+    private final int threads;
+    private final int batchSize;
+
+    /**
+     * Creates an importer with one worker per available processor.
+     *
+     * @param storageEngine engine the rows are stored in
+     */
+    public BulkImporter(StorageEngine storageEngine) {
+        this(storageEngine, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates an importer hashing passwords on the shared password verifier.
+     *
+     * @param storageEngine engine the rows are stored in
+     * @param threads       number of worker threads
+     * @param batchSize     rows handed to a worker at a time
+     * @throws IllegalArgumentException if threads or batchSize is not positive
+     */
+    public BulkImporter(StorageEngine storageEngine, int threads, int batchSize) {
+        this(storageEngine, threads, batchSize, PasswordVerifier.shared());
+    }
+
+    /**
+     * @param storageEngine    engine the rows are stored in
+     * @param threads          number of worker threads
+     * @param batchSize        rows handed to a worker at a time
+     * @param passwordVerifier pool hashing the plain-text passwords of imported users
+     * @throws IllegalArgumentException if threads or batchSize is not positive
+     */
+    public BulkImporter(StorageEngine storageEngine, int threads, int batchSize, PasswordVerifier passwordVerifier) {
+        if (threads < 1) throw new IllegalArgumentException("Threads must be positive");
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be positive");
+        this.userService = new UserService(storageEngine, passwordVerifier);
+        this.projectService = new ProjectService(storageEngine);
+        this.assignmentStore = storageEngine.assignmentStore();
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Registers every valid user row.
+     *
+     * @param file        CSV or JSON-lines file (see {@link ImportFormat#of})
+     * @param rejectsFile file that receives the rejected rows; replaced if it exists
+     * @return counts and throughput
+     * @throws IOException if the file cannot be read or the rejects cannot be written
+     */
+    public ImportReport importUsers(Path file, Path rejectsFile) throws IOException {
+        return run(file, rejectsFile, this::importUserBatch);
+    }
+
+    /**
+     * Creates every valid project row, one {@link ProjectService#createProjects} call per batch.
+     *
+     * @param file        CSV or JSON-lines file (see {@link ImportFormat#of})
+     * @param rejectsFile file that receives the rejected rows; replaced if it exists
+     * @return counts and throughput
+     * @throws IOException if the file cannot be read or the rejects cannot be written
+     */
+    public ImportReport importProjects(Path file, Path rejectsFile) throws IOException {
+        return run(file, rejectsFile, this::importProjectBatch);
+    }
+
+    private ImportReport run(Path file, Path rejectsFile, BatchHandler handler) throws IOException {
+        long start = System.nanoTime();
+        ImportFormat format = ImportFormat.of(file);
+        LongAdder imported = new LongAdder();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        long rows = 0;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), 1 << 16);
+             Rejects rejects = new Rejects(rejectsFile)) {
+
+            AtomicInteger workerNumber = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "import-worker-" + workerNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            Semaphore inFlight = new Semaphore(threads * 2);
+            try {
+                RowParser parser = null;
+                Batch batch = new Batch(batchSize);
+                long lineNumber = 0;
+                String line;
+                while ((line = reader.readLine()) != null && failure.get() == null) {
+                    lineNumber++;
+                    if (lineNumber == 1 && line.startsWith("\uFEFF")) line = line.substring(1);
+                    if (line.isBlank()) continue;
+                    if (parser == null) {
+                        if (format.hasHeader()) {
+                            parser = format.parser(line);
+                            continue;
+                        }
+                        parser = format.parser(null);
+                    }
+                    batch.add(lineNumber, line);
+                    rows++;
+                    if (batch.size == batchSize) {
+                        submit(workers, inFlight, handler, batch, parser, rejects, imported, failure);
+                        batch = new Batch(batchSize);
+                    }
+                }
+                if (batch.size > 0 && failure.get() == null) {
+                    submit(workers, inFlight, handler, batch, parser, rejects, imported, failure);
+                }
+                inFlight.acquire(threads * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            } finally {
+                workers.shutdownNow();
+            }
+
+            RuntimeException error = failure.get();
+            if (error instanceof UncheckedIOException) throw ((UncheckedIOException) error).getCause();
+            if (error != null) throw error;
+            return new ImportReport(rows, imported.sum(), rejects.count(), System.nanoTime() - start, rejectsFile);
+        }
+    }
+
+    private static void submit(ExecutorService workers, Semaphore inFlight, BatchHandler handler, Batch batch,
+                               RowParser parser, Rejects rejects, LongAdder imported,
+                               AtomicReference<RuntimeException> failure) throws InterruptedException {
+        inFlight.acquire();
+        workers.execute(() -> {
+            try {
+                imported.add(handler.handle(batch, parser, rejects));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private int importUserBatch(Batch batch, RowParser parser, Rejects rejects) {
+        int imported = 0;
+        Validator validator = new Validator();
+        for (int i = 0; i < batch.size; i++) {
+            try {
+                Map<String, String> fields = parser.parse(batch.lines[i]);
+                String email = fields.get("email");
+                String phone = fields.get("phone");
+                String password = fields.get("password");
+                InputFields.validateUser(validator, email, phone, password, true);
+                int experience = InputFields.parseExperience(fields.get("experience"));
+                int role = InputFields.parseRole(fields.get("role"));
+
+                User user = new User(fields.get("name"), email, phone, experience, password, role);
+                userService.registrationService(user, role);
+                imported++;
+            } catch (IllegalArgumentException | UserAlreadyExistsException | ServiceBusyException e) {
+                rejects.add(batch.lineNumbers[i], e.getMessage(), batch.lines[i]);
+            }
+        }
+        return imported;
+    }
+
+    private int importProjectBatch(Batch batch, RowParser parser, Rejects rejects) {
+        List<ProjectSpec> specs = new ArrayList<>(batch.size);
+        int[] specRows = new int[batch.size];
+        Validator validator = new Validator();
+        for (int i = 0; i < batch.size; i++) {
+            try {
+                Map<String, String> fields = parser.parse(batch.lines[i]);
+                LocalDate startDate = InputFields.parseDate(fields.get("startDate"), "start date");
+                LocalDate endDate = InputFields.parseDate(fields.get("endDate"), "end date");
+                String clientEmail = fields.get("clientEmail");
+                String clientPhone = fields.get("clientPhone");
+                InputFields.validateProject(validator, startDate, endDate, clientEmail, clientPhone);
+                Status status = InputFields.parseStatus(fields.get("status"));
+                String builderId = fields.get("builderId");
+                if (builderId != null && !builderId.isEmpty() && !assignmentStore.builderExists(builderId))
+                    throw new IllegalArgumentException("No builder exists with ID " + builderId);
+                String managerId = fields.get("managerId");
+                if (managerId != null && !managerId.isEmpty() && !assignmentStore.projectManagerExists(managerId))
+                    throw new IllegalArgumentException("No project manager exists with ID " + managerId);
+
+                Client client = new Client(fields.get("clientName"), clientEmail, clientPhone);
+                specRows[specs.size()] = i;
+                specs.add(new ProjectSpec(fields.get("name"), fields.getOrDefault("description", ""),
+                        startDate, endDate, client, status, builderId, managerId));
+            } catch (IllegalArgumentException e) {
+                rejects.add(batch.lineNumbers[i], e.getMessage(), batch.lines[i]);
+            }
+        }
+        if (specs.isEmpty()) return 0;
+
+        ProjectBatchResult result = projectService.createProjects(specs);
+        for (ProjectBatchResult.Failure failure : result.getFailures()) {
+            int row = specRows[failure.getIndex()];
+            rejects.add(batch.lineNumbers[row], failure.getReason(), batch.lines[row]);
+        }
+        return result.getCreated().size();
+    }
+
+    /**
+     * Validates and stores one batch, reporting bad rows to {@code rejects}.
+     */
+    private interface BatchHandler {
+        /** @return number of rows stored */
+        int handle(Batch batch, RowParser parser, Rejects rejects);
+    }
+
+    /**
+     * Raw lines handed to one worker, with their line numbers in the file.
+     */
+    private static final class Batch {
+        final long[] lineNumbers;
+        final String[] lines;
+        int size;
+
+        Batch(int capacity) {
+            lineNumbers = new long[capacity];
+            lines = new String[capacity];
+        }
+
+        void add(long lineNumber, String line) {
+            lineNumbers[size] = lineNumber;
+            lines[size] = line;
+            size++;
+        }
+    }
+
+    /**
+     * Rejects file shared by all workers.
+     */
+    private static final class Rejects implements AutoCloseable {
+        private final BufferedWriter writer;
+        private long count;
+
+        Rejects(Path file) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8));
+            writer.write("line\treason\trow");
+            writer.newLine();
+        }
+
+        synchronized void add(long lineNumber, String reason, String line) {
+            try {
+                writer.write(Long.toString(lineNumber));
+                writer.write('\t');
+                writer.write(reason == null ? "" : reason.replace('\t', ' '));
+                writer.write('\t');
+                writer.write(line);
+                writer.newLine();
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.builderportfolio.importer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses comma-separated rows against the column names of a header line.
+ * <p>
+ * Fields may be wrapped in double quotes to contain commas; a doubled quote
+ * inside a quoted field stands for one quote. Unquoted fields are trimmed.
+ * A quoted field cannot span several lines, because the importer hands out
+ * whole lines to its workers.
+ */
+public class CsvRowParser implements RowParser {
+
+    private final String[] columns;
+
+    /**
+     * @param headerLine first line of the file, naming the columns
+     * @throws IllegalArgumentException if the header is malformed or names a column twice
+     */
+    public CsvRowParser(String headerLine) {
+        List<String> names = split(headerLine);
+        for (int i = 0; i < names.size(); i++) {
+            if (names.indexOf(names.get(i)) != i)
+                throw new IllegalArgumentException("Duplicate column: " + names.get(i));
+        }
+        this.columns = names.toArray(new String[0]);
+    }
+
+    @Override
+    public Map<String, String> parse(String line) {
+        List<String> values = split(line);
+        if (values.size() != columns.length)
+            throw new IllegalArgumentException("Expected " + columns.length + " fields but found " + values.size());
+        Map<String, String> fields = new HashMap<>(columns.length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            fields.put(columns[i], values.get(i));
+        }
+        return fields;
+    }
+
+    private static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        int length = line.length();
+        while (true) {
+            field.setLength(0);
+            if (i < length && line.charAt(i) == '"') {
+                // Quoted field: runs to the closing quote, "" is an escaped quote
+                i++;
+                while (true) {
+                    if (i >= length) throw new IllegalArgumentException("Unterminated quoted field");
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < length && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                values.add(field.toString());
+                if (i < length && line.charAt(i) != ',')
+                    throw new IllegalArgumentException("Unexpected character after quoted field at position " + i);
+            } else {
+                int end = line.indexOf(',', i);
+                if (end < 0) end = length;
+                values.add(line.substring(i, end).trim());
+                i = end;
+            }
+            if (i >= length) return values;
+            i++; // skip the comma
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.builderportfolio.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats understood by {@link BulkImporter}.
+ */
+public enum ImportFormat {
+
+    /** Comma-separated values with a header line naming the columns. */
+    CSV {
+        @Override
+        boolean hasHeader() {
+            return true;
+        }
+
+        @Override
+        RowParser parser(String headerLine) {
+            return new CsvRowParser(headerLine);
+        }
+    },
+
+    /** One JSON object per line; field names are the column names. */
+    JSON_LINES {
+        @Override
+        boolean hasHeader() {
+            return false;
+        }
+
+        @Override
+        RowParser parser(String headerLine) {
+            return new JsonLinesRowParser();
+        }
+    };
+
+    /**
+     * @return true if the first non-blank line names the columns instead of holding a row
+     */
+    abstract boolean hasHeader();
+
+    /**
+     * @param headerLine the header line, or null if the format has none
+     * @return parser for the data lines
+     */
+    abstract RowParser parser(String headerLine);
+
+    /**
+     * Picks the format from the file extension: {@code .jsonl}, {@code .ndjson}
+     * and {@code .json} are JSON lines, anything else is CSV.
+     *
+     * @param file file to import
+     * @return the file's format
+     */
+    public static ImportFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return JSON_LINES;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,66 @@
+package com.builderportfolio.importer;
+
+import java.nio.file.Path;
+
+/**
+ * Summary of one {@link BulkImporter} run.
+ */
+public class ImportReport {
+    private final long rows;
+    private final long imported;
+    private final long rejected;
+    private final long elapsedNanos;
+    private final Path rejectsFile;
+
+    /**
+     * @param rows         data rows read (header and blank lines excluded)
+     * @param imported     rows stored
+     * @param rejected     rows written to the rejects file
+     * @param elapsedNanos wall time of the whole import
+     * @param rejectsFile  where rejected rows were written
+     */
+    public ImportReport(long rows, long imported, long rejected, long elapsedNanos, Path rejectsFile) {
+        this.rows = rows;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+        this.rejectsFile = rejectsFile;
+    }
+
+    /** @return data rows read */
+    public long getRows() {
+        return rows;
+    }
+
+    /** @return rows stored */
+    public long getImported() {
+        return imported;
+    }
+
+    /** @return rows rejected */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /** @return wall time of the import in nanoseconds */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** @return file holding the rejected rows */
+    public Path getRejectsFile() {
+        return rejectsFile;
+    }
+
+    /** @return rows read per second of wall time */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /** @return one-line summary with throughput */
+    @Override
+    public String toString() {
+        return String.format("%,d rows in %.2f s (%,.0f rows/s): %,d imported, %,d rejected -> %s",
+                rows, elapsedNanos / 1e9, getRowsPerSecond(), imported, rejected, rejectsFile);
+    }
+}
@@ -0,0 +1,134 @@
+package com.builderportfolio.importer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses one flat JSON object per line, e.g.
+ * {@code {"name": "Ravi", "experience": 3, "role": "builder"}}.
+ * <p>
+ * Strings, numbers and booleans are returned as their text; {@code null}
+ * leaves the field out. Nested objects and arrays are rejected, since no
+ * import column holds one.
+ */
+public class JsonLinesRowParser implements RowParser {
+
+    @Override
+    public Map<String, String> parse(String line) {
+        return new Cursor(line).object();
+    }
+
+    /**
+     * Position within the line being parsed.
+     */
+    private static final class Cursor {
+        private final String text;
+        private int pos;
+
+        Cursor(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> object() {
+            Map<String, String> fields = new HashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    String name = string();
+                    expect(':');
+                    String value = value();
+                    if (value != null) fields.put(name, value);
+                    char c = next();
+                    if (c == '}') break;
+                    if (c != ',') throw error("Expected ',' or '}'");
+                }
+            }
+            if (peek() != 0) throw error("Unexpected content after object");
+            return fields;
+        }
+
+        private String value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (c == '{' || c == '[') throw error("Nested values are not supported");
+            int start = pos;
+            while (pos < text.length() && ",} \t".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.equals("null")) return null;
+            if (literal.equals("true") || literal.equals("false")) return literal;
+            if (literal.isEmpty() || !isNumber(literal)) throw error("Invalid value '" + literal + "'");
+            return literal;
+        }
+
+        private String string() {
+            if (peek() != '"') throw error("Expected string");
+            pos++;
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (pos >= text.length()) throw error("Unterminated string");
+                char c = text.charAt(pos++);
+                if (c == '"') return value.toString();
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) throw error("Unterminated escape");
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case '"', '\\', '/' -> value.append(escaped);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) throw error("Truncated unicode escape");
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        pos += 4;
+                    }
+                    default -> throw error("Invalid escape '\\" + escaped + "'");
+                }
+            }
+        }
+
+        private static boolean isNumber(String literal) {
+            try {
+                Double.parseDouble(literal);
+                return Character.isDigit(literal.charAt(literal.length() - 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) throw error("Expected '" + expected + "'");
+        }
+
+        /** @return the next non-whitespace character, consuming it; 0 at the end */
+        private char next() {
+            char c = peek();
+            if (c != 0) pos++;
+            return c;
+        }
+
+        /** @return the next non-whitespace character without consuming it; 0 at the end */
+        private char peek() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            return pos < text.length() ? text.charAt(pos) : 0;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.builderportfolio.importer;
+
+import java.util.Map;
+
+/**
+ * Turns one line of an import file into named fields.
+ * <p>
+ * Parsers are stateless after construction, so one instance is shared
+ * by every import worker thread.
+ */
+public interface RowParser {
+
+    /**
+     * @param line one non-blank line of the file, without its line terminator
+     * @return field values by column name; a missing column has no entry
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    Map<String, String> parse(String line);
+}
@@ -5,9 +5,6 @@ package com.builderportfolio.model;
  * Each client has a unique ID, name, email, and phone number.
  */
 public class Client {
-    /** Static counter to generate unique client IDs */
-    private static long lastClientId = 0L;
-
     /** Unique ID for the client */
     private long clientId;
 
@@ -30,17 +27,66 @@ public class Client {
      * @throws IllegalArgumentException if any of the parameters are null or empty
      */
     public Client(String clientName, String clientEmail, String clientPhoneNo) {
+        validate(clientName, clientEmail, clientPhoneNo);
+
+        this.clientId = IdAllocators.CLIENTS.next();
+        this.clientName = clientName;
+        this.clientEmail = clientEmail;
+        this.clientPhoneNo = clientPhoneNo;
+    }
+
+    /**
+     * Creates a Client with an already assigned ID.
+     */
+    private Client(long clientId, String clientName, String clientEmail, String clientPhoneNo) {
+        validate(clientName, clientEmail, clientPhoneNo);
+
+        this.clientId = clientId;
+        this.clientName = clientName;
+        this.clientEmail = clientEmail;
+        this.clientPhoneNo = clientPhoneNo;
+    }
+
+    /**
+     * Recreates a client with a known ID, e.g. when reloading stored data.
+     * The restored ID is marked as taken so new clients never reuse it.
+     *
+     * @param clientId ID the client was originally given
+     * @param clientName Name of the client
+     * @param clientEmail Email of the client
+     * @param clientPhoneNo Phone number of the client
+     * @return the restored client
+     * @throws IllegalArgumentException if any of the details are null or empty
+     */
+    public static Client restore(long clientId, String clientName, String clientEmail, String clientPhoneNo) {
+        Client client = new Client(clientId, clientName, clientEmail, clientPhoneNo);
+        IdAllocators.CLIENTS.observe(clientId);
+        return client;
+    }
+
+    /**
+     * Recreates a client whose ID is already known to be taken, e.g. one read
+     * back from a store it was saved to. Unlike {@link #restore}, the ID is not
+     * marked as taken again, so building a client this way touches no shared state.
+     *
+     * @param clientId ID the client was originally given
+     * @param clientName Name of the client
+     * @param clientEmail Email of the client
+     * @param clientPhoneNo Phone number of the client
+     * @return the client
+     * @throws IllegalArgumentException if any of the details are null or empty
+     */
+    public static Client withAllocatedId(long clientId, String clientName, String clientEmail, String clientPhoneNo) {
+        return new Client(clientId, clientName, clientEmail, clientPhoneNo);
+    }
+
+    private static void validate(String clientName, String clientEmail, String clientPhoneNo) {
         if (clientName == null || clientName.isEmpty())
             throw new IllegalArgumentException("Client name cannot be null or empty");
         if (clientEmail == null || clientEmail.isEmpty())
             throw new IllegalArgumentException("Client email cannot be null or empty");
         if (clientPhoneNo == null || clientPhoneNo.isEmpty())
             throw new IllegalArgumentException("Client phone number cannot be null or empty");
-
-        this.clientId = ++lastClientId;
-        this.clientName = clientName;
-        this.clientEmail = clientEmail;
-        this.clientPhoneNo = clientPhoneNo;
     }
 
     /** @return the unique client ID */
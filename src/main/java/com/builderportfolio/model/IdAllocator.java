@@ -0,0 +1,253 @@
+package com.builderportfolio.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out unique, increasing numeric IDs to many threads without locking.
+ * <p>
+ * Each thread leases a block of {@code blockSize} IDs from a shared {@link AtomicLong}
+ * and then allocates from its block with no shared writes at all, so threads only
+ * meet once per block. IDs are unique but not gap-free: a thread's unused IDs are
+ * lost when it ends, and single-threaded callers still see 1, 2, 3, ...
+ * <p>
+ * Leases only pay off on long-lived threads. A virtual thread usually makes one
+ * or two allocations, e.g. one HTTP request, so on virtual threads (JDK 21 and
+ * later) {@link #next} takes each ID straight from the shared counter instead;
+ * otherwise almost every ID of every block would be lost.
+ * <p>
+ * {@link #observe} marks an ID as taken (e.g. when data is reloaded); IDs at or
+ * below the highest observed one are never handed out afterwards.
+ * <p>
+ * After {@link #persistTo} the allocator records, in a small file, an upper bound
+ * for every ID it has leased. The bound is fsynced before a lease is handed out and
+ * is moved forward {@code reserveBlocks} blocks at a time, so the file is written
+ * rarely. On restart allocation resumes above that bound, so IDs keep increasing
+ * even for entities that were deleted or never made it to disk.
+ */
+public class IdAllocator {
+
+    /** IDs a thread leases at a time, unless specified otherwise. */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    /** Blocks reserved per write of the persisted bound, unless specified otherwise. */
+    public static final int DEFAULT_RESERVE_BLOCKS = 16;
+
+    /**
+     * IDs leased to the current thread: {@code next} up to, excluding, {@code limit}.
+     */
+    private static final class Lease {
+        long next;
+        long limit;
+    }
+
+    /** {@code Thread.isVirtual()}, or null on JDKs without virtual threads. */
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    private final String name;
+    private final int blockSize;
+    private final int reserveBlocks;
+
+    /** Lowest ID not yet leased to any thread. */
+    private final AtomicLong ceiling = new AtomicLong(1);
+
+    /** Highest ID observed as taken; only IDs above it are handed out. */
+    private final AtomicLong floor = new AtomicLong(0);
+
+    private final ThreadLocal<Lease> leases = ThreadLocal.withInitial(Lease::new);
+
+    /** Persisted upper bound, or null while the allocator is memory-only. */
+    private volatile Reservation reservation;
+
+    /**
+     * Creates an allocator with the default block and reserve sizes.
+     *
+     * @param name name of the sequence, used in error messages
+     */
+    public IdAllocator(String name) {
+        this(name, DEFAULT_BLOCK_SIZE, DEFAULT_RESERVE_BLOCKS);
+    }
+
+    /**
+     * @param name          name of the sequence, used in error messages
+     * @param blockSize     IDs a thread leases at a time
+     * @param reserveBlocks blocks reserved per write of the persisted bound
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public IdAllocator(String name, int blockSize, int reserveBlocks) {
+        if (blockSize < 1) throw new IllegalArgumentException("Block size must be at least 1");
+        if (reserveBlocks < 1) throw new IllegalArgumentException("Reserve must be at least 1 block");
+        this.name = name;
+        this.blockSize = blockSize;
+        this.reserveBlocks = reserveBlocks;
+    }
+
+    /**
+     * @return a new ID, greater than every ID observed so far
+     * @throws UncheckedIOException if a new lease cannot be persisted
+     */
+    public long next() {
+        if (onVirtualThread()) return nextBlock(1);
+        Lease lease = leases.get();
+        long id = Math.max(lease.next, floor.get() + 1);
+        while (id >= lease.limit) {
+            long start = ceiling.getAndAdd(blockSize);
+            Reservation current = reservation;
+            if (current != null) current.reserve(start + blockSize);
+            lease.limit = start + blockSize;
+            id = Math.max(start, floor.get() + 1);
+        }
+        lease.next = id + 1;
+        return id;
+    }
+
+    /**
+     * Reserves {@code count} consecutive IDs in one step, e.g. for a batch insert.
+     * The block is taken straight from the shared counter and does not touch the
+     * calling thread's lease.
+     *
+     * @param count number of IDs needed
+     * @return the first ID of the block; the block is {@code [first, first + count)}
+     * @throws IllegalArgumentException if count is below 1
+     * @throws UncheckedIOException     if the block cannot be persisted
+     */
+    public long nextBlock(int count) {
+        if (count < 1) throw new IllegalArgumentException("Block must hold at least one ID");
+        while (true) {
+            long start = ceiling.getAndAdd(count);
+            Reservation current = reservation;
+            if (current != null) current.reserve(start + count);
+            // Only fails if an observe() raced with us; the block is then simply skipped
+            if (start > floor.get()) return start;
+        }
+    }
+
+    /**
+     * Marks an ID as taken, so it and every ID below it are never handed out.
+     * Meant for reloading existing data; an ID being allocated by another thread
+     * at the same moment is not protected.
+     *
+     * @param id ID in use
+     */
+    public void observe(long id) {
+        floor.accumulateAndGet(id, Math::max);
+        ceiling.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * Persists leases to {@code file} from now on and resumes above the bound
+     * already stored in it, if any. Replaces any file used before.
+     *
+     * @param file file holding the bound; created if missing
+     * @throws IOException if the file cannot be read, written or is corrupt
+     */
+    public synchronized void persistTo(Path file) throws IOException {
+        Reservation next = openReservation(file);
+        try {
+            observe(next.bound - 1);
+            next.reserve(ceiling.get());
+        } catch (UncheckedIOException e) {
+            next.close();
+            throw e.getCause();
+        }
+        Reservation previous = reservation;
+        reservation = next;
+        if (previous != null) previous.close();
+    }
+
+    private Reservation openReservation(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long bound = 1;
+            if (channel.size() > 0) {
+                ByteBuffer stored = ByteBuffer.allocate(2 * Long.BYTES);
+                while (stored.hasRemaining() && channel.read(stored, stored.position()) >= 0) {
+                    // keep reading until full or end of file
+                }
+                stored.flip();
+                if (stored.remaining() < 2 * Long.BYTES || stored.getLong(0) != ~stored.getLong(Long.BYTES)) {
+                    throw new IOException("Corrupt ID sequence file for " + name + ": " + file);
+                }
+                bound = stored.getLong(0);
+            }
+            return new Reservation(channel, file, bound);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static boolean onVirtualThread() {
+        if (IS_VIRTUAL == null) return false;
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            throw new IllegalStateException("Thread.isVirtual failed", e);
+        }
+    }
+
+    private static MethodHandle isVirtualHandle() {
+        try {
+            // Looked up reflectively so the code still compiles for, and runs on, older JDKs
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return name of the sequence
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Upper bound on leased IDs, kept in a file as {@code [long bound][long ~bound]}.
+     */
+    private final class Reservation {
+        private final FileChannel channel;
+        private final Path file;
+        private final ByteBuffer record = ByteBuffer.allocate(2 * Long.BYTES);
+        /** Every leased ID is below this value. */
+        private long bound;
+
+        private Reservation(FileChannel channel, Path file, long bound) {
+            this.channel = channel;
+            this.file = file;
+            this.bound = bound;
+        }
+
+        /**
+         * Moves the bound to at least {@code limit}, a few blocks ahead, before a lease up to it is used.
+         */
+        synchronized void reserve(long limit) {
+            if (limit <= bound) return;
+            long next = limit + (long) blockSize * reserveBlocks;
+            try {
+                record.clear();
+                record.putLong(next).putLong(~next).flip();
+                while (record.hasRemaining()) {
+                    channel.write(record, record.position());
+                }
+                channel.force(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot persist ID sequence " + name + " to " + file, e);
+            }
+            bound = next;
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.builderportfolio.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The ID sequences used by the model constructors.
+ * <p>
+ * Builders and project managers have separate sequences because their IDs
+ * are numbered separately (B1, B2, ... and P1, P2, ...).
+ */
+public class IdAllocators {
+
+    /** Project IDs. */
+    public static final IdAllocator PROJECTS = new IdAllocator("project");
+
+    /** Client IDs. */
+    public static final IdAllocator CLIENTS = new IdAllocator("client");
+
+    /** Numeric part of builder IDs. */
+    public static final IdAllocator BUILDERS = new IdAllocator("builder");
+
+    /** Numeric part of project manager IDs. */
+    public static final IdAllocator MANAGERS = new IdAllocator("manager");
+
+    /**
+     * Persists every sequence to a file {@code <name>.ids} in {@code directory},
+     * so IDs keep increasing across restarts.
+     *
+     * @param directory existing directory for the sequence files
+     * @throws IOException if a sequence file cannot be read or written
+     */
+    public static void persistTo(Path directory) throws IOException {
+        for (IdAllocator allocator : new IdAllocator[]{PROJECTS, CLIENTS, BUILDERS, MANAGERS}) {
+            allocator.persistTo(directory.resolve(allocator.name() + ".ids"));
+        }
+    }
+}
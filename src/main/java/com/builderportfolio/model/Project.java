@@ -1,23 +1,74 @@
 package com.builderportfolio.model;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.LocalDate;
+import java.util.function.UnaryOperator;
 
 /**
  * Represents a construction project in the Builder Portfolio Management System.
  * Each project has a unique ID, assigned client, builder, project manager, status,
  * start and end dates, and a description.
+ * <p>
+ * The ID, builder and manager never change. Everything else is held in one
+ * immutable state object that is replaced as a whole on every change, so a
+ * project can be shared between threads: readers always see a complete state
+ * and concurrent setters never overwrite each other's changes. Each change
+ * raises the project's {@link #getVersion() version}.
+ * </p>
  */
 public class Project {
-    private static long lastProjectId = 0L;
-    private long projectId;
-    private String projectName;
-    private String projectDescription;
-    private LocalDate startDate;
-    private LocalDate endDate;
-    private Status status;
-    private Client assignedClient;
-    private String builderId;
-    private String projectManagerId;
+
+    /**
+     * The changeable fields of a project, as of one version.
+     */
+    private static final class State {
+        final String projectName;
+        final String projectDescription;
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final Client assignedClient;
+        final Status status;
+        final long version;
+
+        State(String projectName, String projectDescription, LocalDate startDate, LocalDate endDate,
+              Client assignedClient, Status status, long version) {
+            this.projectName = projectName;
+            this.projectDescription = projectDescription;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.assignedClient = assignedClient;
+            this.status = status;
+            this.version = version;
+        }
+
+        State withDetails(String name, String description, Client client) {
+            return new State(name, description, startDate, endDate, client, status, version + 1);
+        }
+
+        State withDates(LocalDate start, LocalDate end) {
+            return new State(projectName, projectDescription, start, end, assignedClient, status, version + 1);
+        }
+
+        State withStatus(Status newStatus) {
+            return new State(projectName, projectDescription, startDate, endDate, assignedClient, newStatus, version + 1);
+        }
+    }
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Project.class, "state", State.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long projectId;
+    private final String builderId;
+    private final String projectManagerId;
+    private volatile State state;
 
 
     /**
@@ -34,7 +85,82 @@ public class Project {
      * @throws IllegalArgumentException if any mandatory field is invalid
      */
     public Project(String projectName, String projectDescription, LocalDate startDate, LocalDate endDate, Client assignedClient, Status status, String builderId, String projectManagerId) {
+        validate(projectName, startDate, endDate, assignedClient, builderId, projectManagerId);
+
+        this.projectId = IdAllocators.PROJECTS.next();
+        this.builderId = builderId;
+        this.projectManagerId = projectManagerId;
+        this.state = new State(projectName, projectDescription, startDate, endDate, assignedClient, status, 0);
+    }
+
+    /**
+     * Creates a Project with an already assigned ID.
+     */
+    private Project(long projectId, String projectName, String projectDescription, LocalDate startDate, LocalDate endDate, Client assignedClient, Status status, String builderId, String projectManagerId) {
+        validate(projectName, startDate, endDate, assignedClient, builderId, projectManagerId);
+
+        this.projectId = projectId;
+        this.builderId = builderId;
+        this.projectManagerId = projectManagerId;
+        this.state = new State(projectName, projectDescription, startDate, endDate, assignedClient, status, 0);
+    }
+
+    /**
+     * Recreates a project with a known ID, e.g. when reloading stored data.
+     * The restored ID is marked as taken so new projects never reuse it.
+     *
+     * @param projectId ID the project was originally given
+     * @param projectName Name of the project
+     * @param projectDescription Description of the project
+     * @param startDate Start date of the project
+     * @param endDate End date of the project
+     * @param assignedClient Client assigned to this project
+     * @param status Status of the project
+     * @param builderId Builder assigned to this project
+     * @param projectManagerId Project Manager assigned
+     * @return the restored project
+     * @throws IllegalArgumentException if any mandatory field is invalid
+     */
+    public static Project restore(long projectId, String projectName, String projectDescription, LocalDate startDate, LocalDate endDate, Client assignedClient, Status status, String builderId, String projectManagerId) {
+        Project project = new Project(projectId, projectName, projectDescription, startDate, endDate, assignedClient, status, builderId, projectManagerId);
+        IdAllocators.PROJECTS.observe(projectId);
+        return project;
+    }
+
+    /**
+     * Creates a project with an ID the caller has already taken from
+     * {@link IdAllocators#PROJECTS}, e.g. one of a block reserved for a batch,
+     * or one read back from a store it was saved to. Unlike {@link #restore},
+     * the ID is not marked as taken again.
+     *
+     * @param projectId ID allocated for this project
+     * @param projectName Name of the project
+     * @param projectDescription Description of the project
+     * @param startDate Start date of the project
+     * @param endDate End date of the project
+     * @param assignedClient Client assigned to this project
+     * @param status Status of the project
+     * @param builderId Builder assigned to this project
+     * @param projectManagerId Project Manager assigned
+     * @return the new project
+     * @throws IllegalArgumentException if any mandatory field is invalid
+     */
+    public static Project withAllocatedId(long projectId, String projectName, String projectDescription, LocalDate startDate, LocalDate endDate, Client assignedClient, Status status, String builderId, String projectManagerId) {
+        return new Project(projectId, projectName, projectDescription, startDate, endDate, assignedClient, status, builderId, projectManagerId);
+    }
 
+    /**
+     * Checks the fields every project needs, without creating one.
+     *
+     * @param projectName Name of the project (cannot be null or empty)
+     * @param startDate Start date of the project (cannot be null)
+     * @param endDate End date of the project (cannot be null, cannot be before start date)
+     * @param assignedClient Client assigned to this project (cannot be null)
+     * @param builderId Builder assigned to this project (cannot be null or empty)
+     * @param projectManagerId Project Manager assigned (cannot be null or empty)
+     * @throws IllegalArgumentException if any mandatory field is invalid
+     */
+    public static void validate(String projectName, LocalDate startDate, LocalDate endDate, Client assignedClient, String builderId, String projectManagerId) {
         if (projectName == null || projectName.isEmpty())
             throw new IllegalArgumentException("Project name cannot be null or empty");
         if (builderId == null || builderId.isEmpty())
@@ -47,16 +173,6 @@ public class Project {
             throw new IllegalArgumentException("Start date and end date cannot be null");
         if (endDate.isBefore(startDate))
             throw new IllegalArgumentException("End date cannot be before start date");
-
-        this.projectId = ++lastProjectId;
-        this.projectName = projectName;
-        this.projectDescription = projectDescription;
-        this.startDate = startDate;
-        this.endDate = endDate;
-        this.assignedClient = assignedClient;
-        this.status = status;
-        this.builderId = builderId;
-        this.projectManagerId = projectManagerId;
     }
 
     /** @return the unique project ID */
@@ -66,39 +182,50 @@ public class Project {
 
     /** @return the project name */
     public String getProjectName() {
-        return projectName;
+        return state.projectName;
     }
 
     /** @param projectName new name for the project */
     public void setProjectName(String projectName) {
-        this.projectName = projectName;
+        update(current -> current.withDetails(projectName, current.projectDescription, current.assignedClient));
     }
 
 
     /** @return the project description */
     public String getProjectDescription() {
-        return projectDescription;
+        return state.projectDescription;
     }
 
     /** @param projectDescription new description for the project */
     public void setProjectDescription(String projectDescription) {
-        this.projectDescription = projectDescription;
+        update(current -> current.withDetails(current.projectName, projectDescription, current.assignedClient));
+    }
+
+    /**
+     * Changes the name, description and client together, as one version.
+     *
+     * @param projectName new name for the project
+     * @param projectDescription new description for the project
+     * @param assignedClient new client for the project
+     */
+    public void setDetails(String projectName, String projectDescription, Client assignedClient) {
+        update(current -> current.withDetails(projectName, projectDescription, assignedClient));
     }
 
 
     /** @return the project start date */
     public LocalDate getStartDate() {
-        return startDate;
+        return state.startDate;
     }
 
     /** @param startDate new start date for the project */
     public void setStartDate(LocalDate startDate) {
-        this.startDate = startDate;
+        update(current -> current.withDates(startDate, current.endDate));
     }
 
     /** @return the project end date */
     public LocalDate getEndDate() {
-        return endDate;
+        return state.endDate;
     }
 
     /**
@@ -108,19 +235,34 @@ public class Project {
      * @throws IllegalArgumentException if endDate is before startDate
      */
     public void setEndDate(LocalDate endDate) {
+        update(current -> {
+            if (endDate.isBefore(current.startDate)) throw new IllegalArgumentException("End date cannot be before start date");
+            return current.withDates(current.startDate, endDate);
+        });
+    }
+
+    /**
+     * Changes the start and end dates together, as one version, so no reader
+     * sees the new start with the old end.
+     *
+     * @param startDate new start date
+     * @param endDate new end date (cannot be before the new start date)
+     * @throws IllegalArgumentException if endDate is before startDate
+     */
+    public void setDates(LocalDate startDate, LocalDate endDate) {
         if (endDate.isBefore(startDate)) throw new IllegalArgumentException("End date cannot be before start date");
-        this.endDate = endDate;
+        update(current -> current.withDates(startDate, endDate));
     }
 
     /** @return the client assigned to this project */
     public Client getAssignedClient() {
-        return assignedClient;
+        return state.assignedClient;
     }
 
 
     /** @param assignedClient new client for the project */
     public void setAssignedClient(Client assignedClient) {
-        this.assignedClient = assignedClient;
+        update(current -> current.withDetails(current.projectName, current.projectDescription, assignedClient));
     }
 
     /** @return the builder ID responsible for this project */
@@ -135,12 +277,46 @@ public class Project {
 
     /** @return the current status of the project */
     public Status getStatus() {
-        return status;
+        return state.status;
     }
 
     /** @param status new status for the project */
     public void setStatus(Status status) {
-        this.status = status;
+        update(current -> current.withStatus(status));
+    }
+
+    /**
+     * Changes the status only if it is still {@code expected}, so two threads
+     * that both read the old status cannot both move it on.
+     *
+     * @param expected status the caller last saw
+     * @param status new status for the project
+     * @return true if the status was changed, false if it was no longer {@code expected}
+     */
+    public boolean compareAndSetStatus(Status expected, Status status) {
+        while (true) {
+            State current = state;
+            if (current.status != expected) return false;
+            if (STATE.compareAndSet(this, current, current.withStatus(status))) return true;
+        }
+    }
+
+    /**
+     * @return number of changes made to the project since it was created or restored
+     */
+    public long getVersion() {
+        return state.version;
+    }
+
+    /**
+     * Replaces the state with a new one derived from it, retrying if another
+     * thread replaced it in between.
+     */
+    private void update(UnaryOperator<State> change) {
+        while (true) {
+            State current = state;
+            if (STATE.compareAndSet(this, current, change.apply(current))) return;
+        }
     }
 
     /**
@@ -150,14 +326,15 @@ public class Project {
      */
     @Override
     public String toString() {
+        State state = this.state;
         return "Project{" +
                 "projectId=" + projectId +
-                ", projectName='" + projectName + '\'' +
-                ", projectDescription='" + projectDescription + '\'' +
-                ", startDate=" + startDate +
-                ", endDate=" + endDate +
-                ", status=" + status +
-                ", assignedClient=" + assignedClient +
+                ", projectName='" + state.projectName + '\'' +
+                ", projectDescription='" + state.projectDescription + '\'' +
+                ", startDate=" + state.startDate +
+                ", endDate=" + state.endDate +
+                ", status=" + state.status +
+                ", assignedClient=" + state.assignedClient +
                 ", builderId='" + builderId + '\'' +
                 ", projectManagerId='" + projectManagerId +
 
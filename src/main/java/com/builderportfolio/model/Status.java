@@ -2,9 +2,28 @@ package com.builderportfolio.model;
 
 /**
  * Enum representing project progress state.
+ * <p>
+ * A project moves from {@link #UPCOMING} to {@link #IN_PROGRESS} and on to
+ * {@link #COMPLETED}. Work in progress may be put back to upcoming;
+ * a completed project never changes status again.
+ * </p>
  */
 public enum Status {
     UPCOMING,
     IN_PROGRESS,
-    COMPLETED
+    COMPLETED;
+
+    /**
+     * Checks the transition table.
+     *
+     * @param next status to move to
+     * @return true if a project with this status may move to {@code next}
+     */
+    public boolean canMoveTo(Status next) {
+        return switch (this) {
+            case UPCOMING -> next == IN_PROGRESS;
+            case IN_PROGRESS -> next == COMPLETED || next == UPCOMING;
+            case COMPLETED -> false;
+        };
+    }
 }
@@ -0,0 +1,71 @@
+package com.builderportfolio.model;
+
+import java.time.Instant;
+
+/**
+ * One recorded change of a project's {@link Status}: who moved the project,
+ * from which status to which, and when.
+ */
+public class StatusTransition {
+    private final long projectId;
+    private final long timestampMillis;
+    private final String actorId;
+    private final Status from;
+    private final Status to;
+
+    /**
+     * @param projectId       ID of the project that changed
+     * @param timestampMillis time of the change, in milliseconds since the epoch
+     * @param actorId         ID of the user who made the change
+     * @param from            status before the change, or null if none was set
+     * @param to              status after the change
+     */
+    public StatusTransition(long projectId, long timestampMillis, String actorId, Status from, Status to) {
+        this.projectId = projectId;
+        this.timestampMillis = timestampMillis;
+        this.actorId = actorId;
+        this.from = from;
+        this.to = to;
+    }
+
+    /** @return ID of the project that changed */
+    public long getProjectId() {
+        return projectId;
+    }
+
+    /** @return time of the change, in milliseconds since the epoch */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /** @return time of the change */
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestampMillis);
+    }
+
+    /** @return ID of the user who made the change */
+    public String getActorId() {
+        return actorId;
+    }
+
+    /** @return status before the change, or null if none was set */
+    public Status getFrom() {
+        return from;
+    }
+
+    /** @return status after the change */
+    public Status getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return "StatusTransition{" +
+                "projectId=" + projectId +
+                ", timestamp=" + getTimestamp() +
+                ", actorId='" + actorId + '\'' +
+                ", from=" + from +
+                ", to=" + to +
+                '}';
+    }
+}
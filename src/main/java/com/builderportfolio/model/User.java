@@ -4,10 +4,10 @@ package com.builderportfolio.model;
  * Represents a user in the Builder Portfolio Management System.
  * A user can either be a Builder or a Project Manager based on role.
  * Each user is assigned a unique ID automatically during registration.
+ * The password is held as entered until the user is registered, which replaces
+ * it with its salted hash.
  */
 public class User {
-    private static long builderLastId = 0L;
-    private static long projectManagerLastId = 0L;
     private String userId;
     private String userName;
     private String userEmail;
@@ -29,11 +29,7 @@ public class User {
      * @throws IllegalArgumentException if mandatory fields are invalid
      */
     public User(String userName, String userEmail, String userPhoneNo, int userExperience, String password, int selectedRole) {
-        if (userName == null || userName.isEmpty()) throw new IllegalArgumentException("Name cannot be null or empty");
-        if (userEmail == null || userEmail.isEmpty())
-            throw new IllegalArgumentException("Email cannot be null or empty");
-        if (password == null || password.isEmpty())
-            throw new IllegalArgumentException("Password cannot be null or empty"); // For User
+        validate(userName, userEmail, password);
 
         this.userName = userName;
         this.userEmail = userEmail;
@@ -43,13 +39,70 @@ public class User {
         this.role = selectedRole;
         if (selectedRole == 1) {
             String id = "B";
-            this.userId = id + (++builderLastId);
+            this.userId = id + IdAllocators.BUILDERS.next();
         } else {
             String id = "P";
-            this.userId = id + (++projectManagerLastId);
+            this.userId = id + IdAllocators.MANAGERS.next();
         }
     }
 
+    /**
+     * Creates a User with an already assigned ID.
+     */
+    private User(String userId, String userName, String userEmail, String userPhoneNo, int userExperience, String password, int role) {
+        validate(userName, userEmail, password);
+
+        this.userId = userId;
+        this.userName = userName;
+        this.userEmail = userEmail;
+        this.userPhoneNo = userPhoneNo;
+        this.userExperience = userExperience;
+        this.password = password;
+        this.role = role;
+    }
+
+    /**
+     * Recreates a user with a known ID, e.g. when reloading stored data.
+     * The restored ID is marked as taken in its role's sequence so new users never reuse it.
+     *
+     * @param userId ID the user was originally given (e.g. B3, P7)
+     * @param userName Name of the user
+     * @param userEmail Email of the user
+     * @param userPhoneNo Phone number of the user
+     * @param userExperience Experience in years
+     * @param password Stored password hash
+     * @param role Role of user (1 = Builder, 2 = Project Manager)
+     * @return the restored user
+     * @throws IllegalArgumentException if mandatory fields are invalid
+     */
+    public static User restore(String userId, String userName, String userEmail, String userPhoneNo, int userExperience, String password, int role) {
+        if (userId == null || userId.isEmpty()) throw new IllegalArgumentException("User ID cannot be null or empty");
+        User user = new User(userId, userName, userEmail, userPhoneNo, userExperience, password, role);
+        long sequence = parseSequence(userId);
+        if (userId.charAt(0) == 'B') {
+            IdAllocators.BUILDERS.observe(sequence);
+        } else {
+            IdAllocators.MANAGERS.observe(sequence);
+        }
+        return user;
+    }
+
+    private static long parseSequence(String userId) {
+        try {
+            return Long.parseLong(userId.substring(1));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return 0L;
+        }
+    }
+
+    private static void validate(String userName, String userEmail, String password) {
+        if (userName == null || userName.isEmpty()) throw new IllegalArgumentException("Name cannot be null or empty");
+        if (userEmail == null || userEmail.isEmpty())
+            throw new IllegalArgumentException("Email cannot be null or empty");
+        if (password == null || password.isEmpty())
+            throw new IllegalArgumentException("Password cannot be null or empty"); // For User
+    }
+
     /** @return the unique user ID */
     public String getUserId() {
         return userId;
@@ -60,12 +113,12 @@ public class User {
         return role;
     }
 
-    /** @return account password */
+    /** @return stored password: its salted hash once the user is registered */
     public String getPassword() {
         return password;
     }
 
-    /** @param password new password */
+    /** @param password new password, or its hash */
     public void setPassword(String password) {
         this.password = password;
     }
@@ -123,7 +176,6 @@ public class User {
                 ", userEmail='" + userEmail + '\'' +
                 ", userPhoneNo='" + userPhoneNo + '\'' +
                 ", userExperience=" + userExperience +
-                ", password='" + password + '\'' +
                 '}';
     }
 }
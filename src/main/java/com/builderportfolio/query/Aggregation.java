@@ -0,0 +1,190 @@
+package com.builderportfolio.query;
+
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A fold over projects that can run in parallel: every split of the store
+ * gets its own accumulator, which is only touched by one thread, and the
+ * accumulators are merged pairwise at the end.
+ *
+ * @param <A> mutable accumulator type
+ * @param <R> result type
+ */
+public interface Aggregation<A, R> {
+
+    /** @return a new, empty accumulator */
+    A newAccumulator();
+
+    /**
+     * Adds one project to an accumulator.
+     *
+     * @param accumulator accumulator owned by the calling thread
+     * @param project     project to add
+     */
+    void accumulate(A accumulator, Project project);
+
+    /**
+     * Combines two accumulators built from disjoint sets of projects.
+     *
+     * @param left  first accumulator, which may be reused for the result
+     * @param right second accumulator, not used afterwards
+     * @return the combined accumulator
+     */
+    A merge(A left, A right);
+
+    /**
+     * Turns the final accumulator into the result.
+     *
+     * @param accumulator accumulator holding every project
+     * @return the result
+     */
+    R finish(A accumulator);
+
+    /**
+     * Counts projects.
+     *
+     * @return the number of projects
+     */
+    static Aggregation<long[], Long> count() {
+        return new Aggregation<>() {
+            @Override
+            public long[] newAccumulator() {
+                return new long[1];
+            }
+
+            @Override
+            public void accumulate(long[] accumulator, Project project) {
+                accumulator[0]++;
+            }
+
+            @Override
+            public long[] merge(long[] left, long[] right) {
+                left[0] += right[0];
+                return left;
+            }
+
+            @Override
+            public Long finish(long[] accumulator) {
+                return accumulator[0];
+            }
+        };
+    }
+
+    /**
+     * Counts projects per key. Projects whose key is null are not counted.
+     * Counts are kept in one-element arrays so a project costs one map lookup
+     * and no boxing.
+     *
+     * @param key extracts the key of a project
+     * @param <K> key type
+     * @return an unmodifiable map from key to number of projects
+     */
+    static <K> Aggregation<Map<K, long[]>, Map<K, Long>> countBy(Function<Project, K> key) {
+        return new Aggregation<>() {
+            @Override
+            public Map<K, long[]> newAccumulator() {
+                return new HashMap<>();
+            }
+
+            @Override
+            public void accumulate(Map<K, long[]> accumulator, Project project) {
+                K k = key.apply(project);
+                if (k != null) accumulator.computeIfAbsent(k, ignored -> new long[1])[0]++;
+            }
+
+            @Override
+            public Map<K, long[]> merge(Map<K, long[]> left, Map<K, long[]> right) {
+                if (left.size() < right.size()) {
+                    Map<K, long[]> swap = left;
+                    left = right;
+                    right = swap;
+                }
+                for (Map.Entry<K, long[]> entry : right.entrySet()) {
+                    long[] count = left.putIfAbsent(entry.getKey(), entry.getValue());
+                    if (count != null) count[0] += entry.getValue()[0];
+                }
+                return left;
+            }
+
+            @Override
+            public Map<K, Long> finish(Map<K, long[]> accumulator) {
+                Map<K, Long> result = new HashMap<>(accumulator.size() * 4 / 3 + 1);
+                accumulator.forEach((k, count) -> result.put(k, count[0]));
+                return Collections.unmodifiableMap(result);
+            }
+        };
+    }
+
+    /**
+     * Counts projects per status, in an array indexed by ordinal.
+     *
+     * @return an unmodifiable map holding every status, including those with no projects
+     */
+    static Aggregation<long[], Map<Status, Long>> countByStatus() {
+        return new Aggregation<>() {
+            @Override
+            public long[] newAccumulator() {
+                return new long[Status.values().length];
+            }
+
+            @Override
+            public void accumulate(long[] accumulator, Project project) {
+                accumulator[project.getStatus().ordinal()]++;
+            }
+
+            @Override
+            public long[] merge(long[] left, long[] right) {
+                for (int i = 0; i < left.length; i++) left[i] += right[i];
+                return left;
+            }
+
+            @Override
+            public Map<Status, Long> finish(long[] accumulator) {
+                Map<Status, Long> result = new EnumMap<>(Status.class);
+                for (Status status : Status.values()) result.put(status, accumulator[status.ordinal()]);
+                return Collections.unmodifiableMap(result);
+            }
+        };
+    }
+
+    /**
+     * Restricts an aggregation to the projects that match a filter.
+     *
+     * @param filter     projects to keep
+     * @param downstream aggregation of the kept projects
+     * @param <A>        accumulator type of the downstream aggregation
+     * @param <R>        result type of the downstream aggregation
+     * @return the filtered aggregation
+     */
+    static <A, R> Aggregation<A, R> filtering(Predicate<Project> filter, Aggregation<A, R> downstream) {
+        return new Aggregation<>() {
+            @Override
+            public A newAccumulator() {
+                return downstream.newAccumulator();
+            }
+
+            @Override
+            public void accumulate(A accumulator, Project project) {
+                if (filter.test(project)) downstream.accumulate(accumulator, project);
+            }
+
+            @Override
+            public A merge(A left, A right) {
+                return downstream.merge(left, right);
+            }
+
+            @Override
+            public R finish(A accumulator) {
+                return downstream.finish(accumulator);
+            }
+        };
+    }
+}
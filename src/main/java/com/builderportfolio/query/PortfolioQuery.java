@@ -0,0 +1,117 @@
+package com.builderportfolio.query;
+
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collector;
+import java.util.stream.StreamSupport;
+
+/**
+ * Portfolio-wide reports computed in parallel over every stored project.
+ * <p>
+ * The store's {@link ProjectStore#spliterator() spliterator} is split across
+ * the workers of a fork/join pool; each split folds its projects into its
+ * own accumulator and the accumulators are merged as the splits join, so the
+ * workers share no mutable state while they scan. Like
+ * {@link ProjectStore#forEach}, a report is weakly consistent with changes
+ * made while it runs.
+ * </p>
+ */
+public class PortfolioQuery {
+
+    private final ProjectStore projectStore;
+    private final ForkJoinPool pool;
+
+    /**
+     * Runs reports on the common fork/join pool.
+     *
+     * @param projectStore store to report on
+     */
+    public PortfolioQuery(ProjectStore projectStore) {
+        this(projectStore, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs reports on the given pool, whose parallelism bounds the number of
+     * threads a report uses.
+     *
+     * @param projectStore store to report on
+     * @param pool         pool to run the scans on; not shut down by this class
+     */
+    public PortfolioQuery(ProjectStore projectStore, ForkJoinPool pool) {
+        this.projectStore = projectStore;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs an aggregation over every stored project.
+     *
+     * @param aggregation aggregation to run
+     * @param <A>         accumulator type
+     * @param <R>         result type
+     * @return the aggregation's result
+     */
+    public <A, R> R aggregate(Aggregation<A, R> aggregation) {
+        Collector<Project, A, R> collector = Collector.of(aggregation::newAccumulator, aggregation::accumulate,
+                aggregation::merge, aggregation::finish, Collector.Characteristics.UNORDERED);
+        // A parallel stream started from a pool's worker forks into that pool.
+        return pool.submit(() -> StreamSupport.stream(projectStore.spliterator(), true).collect(collector)).join();
+    }
+
+    /**
+     * @return number of projects per builder ID
+     */
+    public Map<String, Long> projectsPerBuilder() {
+        return aggregate(Aggregation.countBy(Project::getBuilderId));
+    }
+
+    /**
+     * @return number of projects per project manager ID
+     */
+    public Map<String, Long> projectsPerManager() {
+        return aggregate(Aggregation.countBy(Project::getProjectManagerId));
+    }
+
+    /**
+     * Counts the projects per manager that are past their end date and not
+     * completed.
+     *
+     * @param today the current date; projects ending before it are overdue
+     * @return number of overdue projects per project manager ID; managers
+     * without any are left out
+     */
+    public Map<String, Long> overdueByManager(LocalDate today) {
+        return aggregate(Aggregation.filtering(
+                project -> project.getStatus() != Status.COMPLETED && project.getEndDate().isBefore(today),
+                Aggregation.countBy(Project::getProjectManagerId)));
+    }
+
+    /**
+     * Counts the projects ending within a date range, per status.
+     *
+     * @param from first day of the range
+     * @param to   last day of the range, inclusive
+     * @return number of projects per status, holding every status
+     */
+    public Map<Status, Long> endingBetweenByStatus(LocalDate from, LocalDate to) {
+        return aggregate(Aggregation.filtering(project -> {
+            LocalDate end = project.getEndDate();
+            return !end.isBefore(from) && !end.isAfter(to);
+        }, Aggregation.countByStatus()));
+    }
+
+    /**
+     * Counts the projects ending in the calendar quarter of a day, per status.
+     *
+     * @param day any day of the quarter
+     * @return number of projects per status, holding every status
+     */
+    public Map<Status, Long> endingInQuarterByStatus(LocalDate day) {
+        LocalDate from = LocalDate.of(day.getYear(), (day.getMonthValue() - 1) / 3 * 3 + 1, 1);
+        return endingBetweenByStatus(from, from.plusMonths(3).minusDays(1));
+    }
+}
@@ -0,0 +1,308 @@
+package com.builderportfolio.security;
+
+import com.builderportfolio.exception.TooManyLoginAttemptsException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles logins per user ID and per client before any credential is looked
+ * up or hashed.
+ * <p>
+ * Each client key (e.g. the remote address of an API caller) may attempt a
+ * number of logins per window, successful or not. Each user ID may fail a
+ * number of times per window; reaching that limit locks the user out for the
+ * lockout duration, whoever tries next. A success clears the user's failures.
+ * <p>
+ * Counts are sliding-window estimates: a counter holds the current and the
+ * previous fixed window, and the previous one is weighted by how much of it
+ * still overlaps the sliding window. Both counts and the window number are
+ * packed into one {@code long} updated by compare-and-set, so checking and
+ * counting take no lock. Counters live in two maps of at most about
+ * {@code maxKeys} entries each; when a map is full, the thread adding to it
+ * first drops the counters that have been idle for two windows, then, if that
+ * is not enough, counters not holding a lockout, and only then lockouts, so a
+ * spray of failed logins for made-up user IDs cannot grow the map either.
+ * <p>
+ * The default constructor reads its limits from system properties:
+ * {@value #CLIENT_ATTEMPTS_PROPERTY} (default {@value #DEFAULT_CLIENT_ATTEMPTS}),
+ * {@value #USER_FAILURES_PROPERTY} (default {@value #DEFAULT_USER_FAILURES}),
+ * {@value #WINDOW_PROPERTY} (seconds, default {@value #DEFAULT_WINDOW_SECONDS}),
+ * {@value #LOCKOUT_PROPERTY} (seconds, default {@value #DEFAULT_LOCKOUT_SECONDS};
+ * 0 only throttles) and {@value #MAX_KEYS_PROPERTY} (default {@value #DEFAULT_MAX_KEYS}).
+ */
+public class LoginRateLimiter {
+
+    /** System property giving the login attempts a client may make per window. */
+    public static final String CLIENT_ATTEMPTS_PROPERTY = "builderportfolio.login.clientAttempts";
+    /** System property giving the failed logins per window that lock a user out. */
+    public static final String USER_FAILURES_PROPERTY = "builderportfolio.login.userFailures";
+    /** System property giving the window length in seconds. */
+    public static final String WINDOW_PROPERTY = "builderportfolio.login.windowSeconds";
+    /** System property giving the lockout length in seconds. */
+    public static final String LOCKOUT_PROPERTY = "builderportfolio.login.lockoutSeconds";
+    /** System property giving the most user IDs, and the most clients, tracked at once. */
+    public static final String MAX_KEYS_PROPERTY = "builderportfolio.login.maxKeys";
+
+    /** Login attempts a client may make per window when the property is not set. */
+    public static final int DEFAULT_CLIENT_ATTEMPTS = 30;
+    /** Failed logins per window that lock a user out when the property is not set. */
+    public static final int DEFAULT_USER_FAILURES = 5;
+    /** Window length in seconds when the property is not set. */
+    public static final int DEFAULT_WINDOW_SECONDS = 60;
+    /** Lockout length in seconds when the property is not set. */
+    public static final int DEFAULT_LOCKOUT_SECONDS = 900;
+    /** Keys tracked per map when the property is not set. */
+    public static final int DEFAULT_MAX_KEYS = 100_000;
+
+    private final int maxClientAttempts;
+    private final int maxUserFailures;
+    private final long windowMillis;
+    private final long lockoutMillis;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Counters clients = new Counters();
+    private final Counters users = new Counters();
+    private final LongAdder rejectedClients = new LongAdder();
+    private final LongAdder rejectedUsers = new LongAdder();
+    private final LongAdder lockouts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a limiter configured from the system properties, with the system clock.
+     */
+    public LoginRateLimiter() {
+        this(Integer.getInteger(CLIENT_ATTEMPTS_PROPERTY, DEFAULT_CLIENT_ATTEMPTS),
+                Integer.getInteger(USER_FAILURES_PROPERTY, DEFAULT_USER_FAILURES),
+                Duration.ofSeconds(Integer.getInteger(WINDOW_PROPERTY, DEFAULT_WINDOW_SECONDS)),
+                Duration.ofSeconds(Integer.getInteger(LOCKOUT_PROPERTY, DEFAULT_LOCKOUT_SECONDS)),
+                Integer.getInteger(MAX_KEYS_PROPERTY, DEFAULT_MAX_KEYS),
+                System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a limiter.
+     *
+     * @param maxClientAttempts login attempts a client may make per window
+     * @param maxUserFailures   failed logins per window that lock a user out
+     * @param window            length of the sliding window
+     * @param lockout           how long a user stays locked out; zero only throttles
+     * @param maxKeys           most user IDs, and most clients, tracked at once
+     * @param clock             current time in epoch milliseconds
+     * @throws IllegalArgumentException if a limit or the window is not positive, or the lockout is negative
+     */
+    public LoginRateLimiter(int maxClientAttempts, int maxUserFailures, Duration window, Duration lockout,
+                            int maxKeys, LongSupplier clock) {
+        if (maxClientAttempts <= 0 || maxUserFailures <= 0 || maxKeys <= 0)
+            throw new IllegalArgumentException("Login limits must be positive");
+        if (window.isNegative() || window.isZero() || lockout.isNegative())
+            throw new IllegalArgumentException("Login window must be positive and lockout not negative");
+        this.maxClientAttempts = maxClientAttempts;
+        this.maxUserFailures = maxUserFailures;
+        this.windowMillis = window.toMillis();
+        this.lockoutMillis = lockout.toMillis();
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts a login attempt and refuses it if the client has tried too often
+     * or the user is locked out. Call before looking the user up.
+     *
+     * @param userId    user ID entered, or null
+     * @param clientKey key of the client, e.g. its address, or null for a local login
+     * @throws TooManyLoginAttemptsException if the attempt is refused
+     */
+    public void check(String userId, String clientKey) {
+        long now = clock.getAsLong();
+        int window = window(now);
+        double weight = weight(now);
+        if (clientKey != null) {
+            Counter client = clients.getOrCreate(clientKey, window, now);
+            if (client.add(window, weight) > maxClientAttempts) {
+                rejectedClients.increment();
+                throw new TooManyLoginAttemptsException("Too many login attempts, please try again later");
+            }
+        }
+        if (userId != null) {
+            Counter user = users.get(userId);
+            if (user != null && (now < user.lockedUntil || user.estimate(window, weight) >= maxUserFailures)) {
+                rejectedUsers.increment();
+                throw new TooManyLoginAttemptsException("Account temporarily locked after failed logins, please try again later");
+            }
+        }
+    }
+
+    /**
+     * Counts a failed login of a user ID, locking it out once it reaches the limit.
+     *
+     * @param userId user ID entered
+     */
+    public void recordFailure(String userId) {
+        if (userId == null) return;
+        long now = clock.getAsLong();
+        int window = window(now);
+        Counter user = users.getOrCreate(userId, window, now);
+        if (user.add(window, weight(now)) >= maxUserFailures && lockoutMillis > 0 && now >= user.lockedUntil) {
+            user.lockedUntil = now + lockoutMillis;
+            lockouts.increment();
+        }
+    }
+
+    /**
+     * Clears the failures of a user who has just logged in.
+     *
+     * @param userId user ID logged in
+     */
+    public void recordSuccess(String userId) {
+        if (userId != null) users.map.remove(userId);
+    }
+
+    /**
+     * @param userId user ID
+     * @return true if the user is locked out now
+     */
+    public boolean isLockedOut(String userId) {
+        Counter user = userId == null ? null : users.get(userId);
+        return user != null && clock.getAsLong() < user.lockedUntil;
+    }
+
+    /** @return attempts refused because their client had tried too often */
+    public long getRejectedByClient() {
+        return rejectedClients.sum();
+    }
+
+    /** @return attempts refused because their user was locked out or had failed too often */
+    public long getRejectedByUser() {
+        return rejectedUsers.sum();
+    }
+
+    /** @return times a user has been locked out */
+    public long getLockouts() {
+        return lockouts.sum();
+    }
+
+    /** @return counters dropped to keep the maps within bounds */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /** @return user IDs and clients tracked now */
+    public int getTrackedKeys() {
+        return users.map.size() + clients.map.size();
+    }
+
+    private int window(long now) {
+        return (int) (now / windowMillis);
+    }
+
+    /** @return share of the previous window still inside the sliding window */
+    private double weight(long now) {
+        return 1.0 - (double) (now % windowMillis) / windowMillis;
+    }
+
+    /**
+     * Counters of one kind of key, kept to about {@code maxKeys} entries.
+     */
+    private final class Counters {
+        final ConcurrentHashMap<String, Counter> map = new ConcurrentHashMap<>();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+
+        Counter get(String key) {
+            return map.get(key);
+        }
+
+        Counter getOrCreate(String key, int window, long now) {
+            Counter counter = map.get(key);
+            if (counter != null) return counter;
+            if (map.size() >= maxKeys) sweep(window, now);
+            counter = new Counter(window);
+            Counter existing = map.putIfAbsent(key, counter);
+            return existing == null ? counter : existing;
+        }
+
+        /**
+         * Drops idle counters, then unlocked ones if still full. One thread
+         * sweeps at a time; others go ahead and add their key.
+         */
+        private void sweep(int window, long now) {
+            if (!sweeping.compareAndSet(false, true)) return;
+            try {
+                int before = map.size();
+                map.values().removeIf(counter -> counter.isIdle(window, now));
+                // Everything is recent, e.g. under a spray of new keys: make room for a tenth,
+                // dropping lockouts only if nothing else is left to drop
+                int excess = map.size() - maxKeys + Math.max(1, maxKeys / 10);
+                for (int pass = 0; pass < 2 && excess > 0; pass++) {
+                    boolean dropLockouts = pass == 1;
+                    for (Iterator<Counter> it = map.values().iterator(); excess > 0 && it.hasNext(); ) {
+                        Counter counter = it.next();
+                        if (dropLockouts || now >= counter.lockedUntil) {
+                            it.remove();
+                            excess--;
+                        }
+                    }
+                }
+                evictions.add(Math.max(0, before - map.size()));
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+
+    /**
+     * Attempts of one key in the current and previous window, packed as
+     * window number (high 32 bits), previous count and current count
+     * (16 bits each, saturating).
+     */
+    private static final class Counter {
+        private static final AtomicLongFieldUpdater<Counter> STATE =
+                AtomicLongFieldUpdater.newUpdater(Counter.class, "state");
+        private static final long MAX_COUNT = 0xFFFF;
+
+        volatile long state;
+        volatile long lockedUntil;
+
+        Counter(int window) {
+            this.state = (long) window << 32;
+        }
+
+        /** Counts one attempt. @return the sliding-window count including it */
+        double add(int window, double weight) {
+            long current;
+            long next;
+            do {
+                current = state;
+                next = roll(current, window);
+                if ((next & MAX_COUNT) < MAX_COUNT) next++;
+            } while (!STATE.compareAndSet(this, current, next));
+            return count(next, weight);
+        }
+
+        /** @return the sliding-window count */
+        double estimate(int window, double weight) {
+            return count(roll(state, window), weight);
+        }
+
+        boolean isIdle(int window, long now) {
+            return window - (int) (state >>> 32) > 1 && now >= lockedUntil;
+        }
+
+        /** @return the state moved on to the given window */
+        private static long roll(long state, int window) {
+            int elapsed = window - (int) (state >>> 32);
+            if (elapsed <= 0) return state;
+            long windowBits = (long) window << 32;
+            return elapsed == 1 ? windowBits | (state & MAX_COUNT) << 16 : windowBits;
+        }
+
+        private static double count(long state, double weight) {
+            return ((state >>> 16) & MAX_COUNT) * weight + (state & MAX_COUNT);
+        }
+    }
+}
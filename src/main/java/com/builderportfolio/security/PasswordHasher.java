@@ -0,0 +1,164 @@
+package com.builderportfolio.security;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256 password hashes, using only the JDK's crypto provider.
+ * <p>
+ * A hash is stored as {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}, with
+ * the salt and hash in unpadded base64, so the work factor can be raised later
+ * without invalidating existing hashes: {@link #needsRehash} reports hashes
+ * made with another work factor, and stored values that are not hashes at all
+ * (passwords saved in plain text by earlier versions), so they can be replaced
+ * on the user's next login.
+ * <p>
+ * The work factor is read from the {@code builderportfolio.password.iterations}
+ * system property, defaulting to {@value #DEFAULT_ITERATIONS}. Stored hashes
+ * claiming more than {@value #MAX_ITERATIONS_FACTOR} times that work factor are
+ * rejected rather than computed, so a planted hash cannot pin a CPU per login.
+ */
+public class PasswordHasher {
+
+    /** System property overriding the PBKDF2 iteration count. */
+    public static final String ITERATIONS_PROPERTY = "builderportfolio.password.iterations";
+
+    /** Iterations used when the property is not set, per current OWASP guidance for PBKDF2-HMAC-SHA256. */
+    public static final int DEFAULT_ITERATIONS = 600_000;
+
+    /** Largest multiple of the work factor a stored hash may use. */
+    public static final int MAX_ITERATIONS_FACTOR = 4;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+
+    /**
+     * Creates a hasher with the configured work factor.
+     */
+    public PasswordHasher() {
+        this(Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS));
+    }
+
+    /**
+     * Creates a hasher.
+     *
+     * @param iterations PBKDF2 iteration count of new hashes
+     * @throws IllegalArgumentException if iterations is not positive
+     */
+    public PasswordHasher(int iterations) {
+        if (iterations <= 0) throw new IllegalArgumentException("Iterations must be positive");
+        this.iterations = iterations;
+    }
+
+    /** @return PBKDF2 iteration count of new hashes */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /** @return largest PBKDF2 iteration count a stored hash may use */
+    public int getMaxIterations() {
+        return (int) Math.min(Integer.MAX_VALUE, (long) iterations * MAX_ITERATIONS_FACTOR);
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password plain-text password
+     * @return the encoded hash
+     * @throws IllegalArgumentException if the password is null or empty
+     */
+    public String hash(String password) {
+        if (password == null || password.isEmpty())
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + '$' + base64.encodeToString(salt) + '$'
+                + base64.encodeToString(pbkdf2(password, salt, iterations, HASH_BITS));
+    }
+
+    /**
+     * Checks a password against a stored value in time independent of where
+     * they first differ.
+     *
+     * @param stored   encoded hash, or a legacy plain-text password
+     * @param password password entered by the user
+     * @return true if the password matches; false if the stored hash is
+     *         malformed or uses more than {@link #getMaxIterations} iterations
+     */
+    public boolean verify(String stored, String password) {
+        if (stored == null || password == null) return false;
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), password.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) return false;
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            if (storedIterations <= 0 || storedIterations > getMaxIterations() || expected.length == 0) return false;
+            return MessageDigest.isEqual(expected, pbkdf2(password, salt, storedIterations, expected.length * 8));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks that an encoded hash is well formed and within the iteration bound,
+     * i.e. one {@link #verify} would compute rather than reject outright.
+     *
+     * @param stored encoded hash
+     * @return true if the value is an acceptable hash
+     */
+    public boolean isAcceptedHash(String stored) {
+        if (!isHash(stored)) return false;
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) return false;
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            Base64.getDecoder().decode(parts[2]);
+            return storedIterations > 0 && storedIterations <= getMaxIterations()
+                    && Base64.getDecoder().decode(parts[3]).length > 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param stored encoded hash, or a legacy plain-text password
+     * @return true if the value should be replaced by a new hash once the password is known
+     */
+    public boolean needsRehash(String stored) {
+        return !isHash(stored) || !stored.startsWith(PREFIX + iterations + '$');
+    }
+
+    /**
+     * @param stored stored password value
+     * @return true if the value is an encoded hash rather than a plain-text password
+     */
+    public static boolean isHash(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
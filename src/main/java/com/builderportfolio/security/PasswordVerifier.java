@@ -0,0 +1,182 @@
+package com.builderportfolio.security;
+
+import com.builderportfolio.exception.ServiceBusyException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded pool.
+ * <p>
+ * A {@link PasswordHasher} deliberately spends tens to hundreds of milliseconds
+ * of CPU per call. Running that on the caller's thread would let a burst of
+ * logins occupy every core; here at most {@code threads} hashes run at once,
+ * at most {@code queueCapacity} more wait, and anything beyond that fails
+ * straight away with {@link ServiceBusyException} instead of piling up. The
+ * caller blocks until its own hash is done.
+ * <p>
+ * The shared instance is sized by the {@code builderportfolio.password.threads}
+ * (default half the cores, at least one) and {@code builderportfolio.password.queue}
+ * (default {@value #DEFAULT_QUEUE_CAPACITY}) system properties.
+ */
+public class PasswordVerifier implements AutoCloseable {
+
+    /** System property giving the number of hashing threads of the shared verifier. */
+    public static final String THREADS_PROPERTY = "builderportfolio.password.threads";
+
+    /** System property giving the queue capacity of the shared verifier. */
+    public static final String QUEUE_PROPERTY = "builderportfolio.password.queue";
+
+    /** Hashes that may wait for a thread when the property is not set. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private static volatile PasswordVerifier shared;
+
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor pool;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+
+    /**
+     * Creates a verifier with its own daemon threads.
+     *
+     * @param hasher        hasher doing the work
+     * @param threads       hashes run at once
+     * @param queueCapacity hashes that may wait for a thread
+     * @throws IllegalArgumentException if threads or queueCapacity is not positive
+     */
+    public PasswordVerifier(PasswordHasher hasher, int threads, int queueCapacity) {
+        if (threads <= 0 || queueCapacity <= 0)
+            throw new IllegalArgumentException("Threads and queue capacity must be positive");
+        this.hasher = hasher;
+        int poolNumber = POOL_NUMBER.incrementAndGet();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "password-verifier-" + poolNumber + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @return the verifier shared by services created without one, sized from the system properties
+     */
+    public static PasswordVerifier shared() {
+        PasswordVerifier verifier = shared;
+        if (verifier == null) {
+            synchronized (PasswordVerifier.class) {
+                verifier = shared;
+                if (verifier == null) {
+                    int threads = Integer.getInteger(THREADS_PROPERTY, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+                    verifier = new PasswordVerifier(new PasswordHasher(), threads,
+                            Integer.getInteger(QUEUE_PROPERTY, DEFAULT_QUEUE_CAPACITY));
+                    shared = verifier;
+                }
+            }
+        }
+        return verifier;
+    }
+
+    /** @return the hasher doing the work */
+    public PasswordHasher getHasher() {
+        return hasher;
+    }
+
+    /**
+     * Hashes a password on the pool.
+     *
+     * @param password plain-text password
+     * @return the encoded hash
+     * @throws ServiceBusyException if the queue is full
+     */
+    public String hash(String password) {
+        return run(() -> hasher.hash(password));
+    }
+
+    /**
+     * Checks a password against a stored value on the pool.
+     *
+     * @param stored   encoded hash, or a legacy plain-text password
+     * @param password password entered by the user
+     * @return true if the password matches
+     * @throws ServiceBusyException if the queue is full
+     */
+    public boolean verify(String stored, String password) {
+        return run(() -> hasher.verify(stored, password));
+    }
+
+    /** @return hashes and verifications finished */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /** @return hashes and verifications turned away because the queue was full */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /** @return hashes and verifications waiting for a thread */
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /** @return hashes and verifications running now */
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    /** @return mean time on a pool thread per finished hash or verification, in nanoseconds */
+    public long getAverageNanos() {
+        long count = completed.sum();
+        return count == 0 ? 0 : busyNanos.sum() / count;
+    }
+
+    /**
+     * Stops the pool threads; hashes already queued still run.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private <T> T run(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    busyNanos.add(System.nanoTime() - start);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many logins in progress, please try again shortly");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while checking the password");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
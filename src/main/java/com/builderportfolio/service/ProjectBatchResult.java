@@ -0,0 +1,80 @@
+package com.builderportfolio.service;
+
+import com.builderportfolio.model.Project;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link ProjectService#createProjects}: the projects that were
+ * created and, for every rejected spec, its position and the reason.
+ */
+public class ProjectBatchResult {
+
+    /**
+     * A spec that could not be turned into a project.
+     */
+    public static class Failure {
+        private final int index;
+        private final ProjectSpec spec;
+        private final String reason;
+
+        /**
+         * @param index  position of the spec in the submitted batch
+         * @param spec   the rejected spec (may be null)
+         * @param reason why it was rejected
+         */
+        public Failure(int index, ProjectSpec spec, String reason) {
+            this.index = index;
+            this.spec = spec;
+            this.reason = reason;
+        }
+
+        /** @return position of the spec in the submitted batch */
+        public int getIndex() {
+            return index;
+        }
+
+        /** @return the rejected spec */
+        public ProjectSpec getSpec() {
+            return spec;
+        }
+
+        /** @return why the spec was rejected */
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + index + ": " + reason;
+        }
+    }
+
+    private final List<Project> created;
+    private final List<Failure> failures;
+
+    /**
+     * @param created  created projects, in submission order
+     * @param failures rejected specs, in submission order
+     */
+    public ProjectBatchResult(List<Project> created, List<Failure> failures) {
+        this.created = Collections.unmodifiableList(created);
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    /** @return created projects, in submission order */
+    public List<Project> getCreated() {
+        return created;
+    }
+
+    /** @return rejected specs, in submission order */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    /** @return true if every spec was created */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.builderportfolio.service;
+
+import com.builderportfolio.model.Project;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a manager's or builder's projects, ordered by project ID,
+ * returned by {@link ProjectService#getManagerProjects(String, int, String)}
+ * and {@link ProjectService#getBuilderProjects(String, int, String)}.
+ * <p>
+ * The continuation token is opaque to callers: pass it back unchanged to get
+ * the next page. It records the last project ID returned, so projects added
+ * or deleted between calls never cause a page to repeat or skip the
+ * projects that were already there.
+ */
+public class ProjectPage {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final List<Project> projects;
+    private final String nextCursor;
+
+    /**
+     * @param projects   projects on this page, in ID order
+     * @param nextCursor token for the next page, or null if this is the last page
+     */
+    public ProjectPage(List<Project> projects, String nextCursor) {
+        this.projects = Collections.unmodifiableList(projects);
+        this.nextCursor = nextCursor;
+    }
+
+    /** @return projects on this page, in ID order */
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    /** @return token to pass back for the next page, or null if this is the last page */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /** @return true if another page follows this one */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * @param lastProjectId ID of the last project on a page
+     * @return token that resumes after that project
+     */
+    static String encodeCursor(long lastProjectId) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastProjectId).array());
+    }
+
+    /**
+     * @param cursor token from {@link #getNextCursor()}, or null for the first page
+     * @return project ID to resume after; {@link Long#MIN_VALUE} for the first page
+     * @throws IllegalArgumentException if the token was not produced by {@link #encodeCursor}
+     */
+    static long decodeCursor(String cursor) {
+        if (cursor == null) return Long.MIN_VALUE;
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+        if (bytes.length != Long.BYTES) throw new IllegalArgumentException("Invalid page cursor");
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
@@ -1,24 +1,67 @@
 package com.builderportfolio.service;
 
-import com.builderportfolio.dao.BuilderDAO;
-import com.builderportfolio.dao.ManagerDAO;
-import com.builderportfolio.dao.ProjectDAO;
+import com.builderportfolio.analytics.ProjectAnalytics;
+import com.builderportfolio.dao.AssignmentStore;
+import com.builderportfolio.dao.ConcurrentLongSet;
+import com.builderportfolio.dao.DateRangeIndex;
+import com.builderportfolio.dao.IdBatch;
+import com.builderportfolio.dao.ProjectLocks;
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.dao.StatusIndex;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.dao.StorageEngines;
+import com.builderportfolio.dao.TextIndex;
+import com.builderportfolio.model.IdAllocators;
 import com.builderportfolio.model.Project;
 import com.builderportfolio.model.Client;
 import com.builderportfolio.model.Status;
+import com.builderportfolio.model.StatusTransition;
+import com.builderportfolio.query.PortfolioQuery;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * Service layer class that handles all project-related operations.
- * Acts as a bridge between the View layer and DAO layer.
+ * Acts as a bridge between the View layer and the project and
+ * assignment stores of a {@link StorageEngine}.
  */
 public class ProjectService {
 
+    private final StorageEngine storageEngine;
+    private final ProjectStore projectStore;
+    private final AssignmentStore assignmentStore;
+    private final ProjectAnalytics analytics;
+    private final PortfolioQuery portfolioQuery;
+
+    /**
+     * Creates a service over the shared in-memory stores behind the static DAO classes.
+     */
+    public ProjectService() {
+        this(StorageEngines.defaultEngine());
+    }
+
+    /**
+     * Creates a service over the stores of the given engine.
+     *
+     * @param storageEngine engine providing the project and assignment stores
+     */
+    public ProjectService(StorageEngine storageEngine) {
+        this.storageEngine = storageEngine;
+        this.projectStore = storageEngine.projectStore();
+        this.assignmentStore = storageEngine.assignmentStore();
+        this.analytics = ProjectAnalytics.fromHistory(projectStore);
+        this.portfolioQuery = new PortfolioQuery(projectStore);
+    }
+
     /**
-     * Creates a new project and assigns it to both a Builder and a Project Manager.
+     * Creates a new project and assigns it to both a Builder and a Project Manager,
+     * as one atomic change of the storage engine.
      *
      * @param projectName Name of the project
      * @param description Project description
@@ -32,43 +75,251 @@ public class ProjectService {
     public void createProject(String projectName, String description, LocalDate startDate, LocalDate endDate, Client client, Status status, String builderId, String managerId) {
         Project project = new Project(projectName, description, startDate, endDate, client, status, builderId, managerId);
 
-        ProjectDAO.saveProject(project);
+        storageEngine.createProject(project);
+        analytics.created(project.getProjectId(), status, System.currentTimeMillis());
+    }
 
-        ManagerDAO.addProjectToManager(managerId, project.getProjectId());
-        BuilderDAO.addProjectToBuilder(builderId, project.getProjectId());
+    /**
+     * Creates many projects in one pass.
+     * <p>
+     * Every spec is validated first; invalid ones are reported in the result and
+     * skipped. The valid projects get one contiguous block of IDs, are saved with a
+     * single batch call, and their assignments are grouped so each builder and
+     * manager is updated once. Projects are not visible all at once: a reader may
+     * see some of the batch before the call returns.
+     *
+     * @param specs projects to create
+     * @return created projects and rejected specs, both in submission order
+     */
+    public ProjectBatchResult createProjects(Collection<ProjectSpec> specs) {
+        List<ProjectSpec> valid = new ArrayList<>(specs.size());
+        List<ProjectBatchResult.Failure> failures = new ArrayList<>();
+        int index = 0;
+        for (ProjectSpec spec : specs) {
+            try {
+                if (spec == null) throw new IllegalArgumentException("Project spec cannot be null");
+                Project.validate(spec.getProjectName(), spec.getStartDate(), spec.getEndDate(),
+                        spec.getClient(), spec.getBuilderId(), spec.getManagerId());
+                valid.add(spec);
+            } catch (IllegalArgumentException e) {
+                failures.add(new ProjectBatchResult.Failure(index, spec, e.getMessage()));
+            }
+            index++;
+        }
+        if (valid.isEmpty()) {
+            return new ProjectBatchResult(new ArrayList<>(), failures);
+        }
+
+        long firstId = IdAllocators.PROJECTS.nextBlock(valid.size());
+        List<Project> created = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            ProjectSpec spec = valid.get(i);
+            created.add(Project.withAllocatedId(firstId + i, spec.getProjectName(), spec.getDescription(),
+                    spec.getStartDate(), spec.getEndDate(), spec.getClient(), spec.getStatus(),
+                    spec.getBuilderId(), spec.getManagerId()));
+        }
+
+        storageEngine.createProjects(created);
+        long now = System.currentTimeMillis();
+        for (Project project : created) {
+            analytics.created(project.getProjectId(), project.getStatus(), now);
+        }
+
+        return new ProjectBatchResult(created, failures);
     }
 
     /**
      * Retrieves all projects managed by a specific Project Manager.
      *
      * @param managerId ID of the manager
-     * @return list of projects assigned to the manager
+     * @return list of projects assigned to the manager, ordered by project ID
      */
     public List<Project> getManagerProjects(String managerId) {
-        List<Long> projectIds = ManagerDAO.getProjectIds(managerId);
-        List<Project> projects = new ArrayList<>();
-
-        for (Long id : projectIds) {
-            Project p = ProjectDAO.getProjectById(id);
-            if (p != null) {
-                projects.add(p);
-            }
-        }
-        return projects;
+        return findProjects(assignmentStore.getManagerProjectIds(managerId));
     }
 
     /**
      * Retrieves all projects assigned to a specific Builder.
      *
      * @param builderId ID of the builder
-     * @return list of projects assigned to the builder
+     * @return list of projects assigned to the builder, ordered by project ID
      */
     public List<Project> getBuilderProjects(String builderId) {
-        List<Long> projectIds = BuilderDAO.getProjectIds(builderId);
-        List<Project> projects = new ArrayList<>();
+        return findProjects(assignmentStore.getBuilderProjectIds(builderId));
+    }
+
+    /**
+     * Retrieves one page of a manager's projects, ordered by project ID.
+     * Each call copies and looks up about {@code pageSize} IDs, however many
+     * projects the manager has.
+     *
+     * @param managerId ID of the manager
+     * @param pageSize  most projects to return
+     * @param cursor    token from the previous page's {@link ProjectPage#getNextCursor()}, or null for the first page
+     * @return the page and the token for the next one
+     * @throws IllegalArgumentException if pageSize is below 1 or the cursor is not a valid token
+     */
+    public ProjectPage getManagerProjects(String managerId, int pageSize, String cursor) {
+        return findPage(assignmentStore.getManagerProjectIds(managerId).size(),
+                (after, into) -> assignmentStore.managerProjectIdsAfter(managerId, after, into), pageSize, cursor);
+    }
+
+    /**
+     * Retrieves one page of a builder's projects, ordered by project ID.
+     * Each call copies and looks up about {@code pageSize} IDs, however many
+     * projects the builder has.
+     *
+     * @param builderId ID of the builder
+     * @param pageSize  most projects to return
+     * @param cursor    token from the previous page's {@link ProjectPage#getNextCursor()}, or null for the first page
+     * @return the page and the token for the next one
+     * @throws IllegalArgumentException if pageSize is below 1 or the cursor is not a valid token
+     */
+    public ProjectPage getBuilderProjects(String builderId, int pageSize, String cursor) {
+        return findPage(assignmentStore.getBuilderProjectIds(builderId).size(),
+                (after, into) -> assignmentStore.builderProjectIdsAfter(builderId, after, into), pageSize, cursor);
+    }
+
+    /**
+     * Retrieves a manager's projects with the given status, read from the status index.
+     *
+     * @param managerId ID of the manager
+     * @param status    status to select
+     * @return matching projects, ordered by project ID
+     */
+    public List<Project> getManagerProjects(String managerId, Status status) {
+        StatusIndex index = projectStore.statusIndex();
+        return findProjects((int) index.countForManager(managerId, status),
+                action -> index.forEachForManager(managerId, status, action));
+    }
+
+    /**
+     * Retrieves a builder's projects with the given status, read from the status index.
+     *
+     * @param builderId ID of the builder
+     * @param status    status to select
+     * @return matching projects, ordered by project ID
+     */
+    public List<Project> getBuilderProjects(String builderId, Status status) {
+        StatusIndex index = projectStore.statusIndex();
+        return findProjects((int) index.countForBuilder(builderId, status),
+                action -> index.forEachForBuilder(builderId, status, action));
+    }
+
+    /**
+     * Counts all projects with the given status without loading any project.
+     *
+     * @param status status to count
+     * @return number of projects with that status
+     */
+    public long countProjects(Status status) {
+        return projectStore.statusIndex().count(status);
+    }
+
+    /**
+     * Counts a manager's projects with the given status without loading any project.
+     *
+     * @param managerId ID of the manager
+     * @param status    status to count
+     * @return number of the manager's projects with that status
+     */
+    public long countManagerProjects(String managerId, Status status) {
+        return projectStore.statusIndex().countForManager(managerId, status);
+    }
+
+    /**
+     * Counts a builder's projects with the given status without loading any project.
+     *
+     * @param builderId ID of the builder
+     * @param status    status to count
+     * @return number of the builder's projects with that status
+     */
+    public long countBuilderProjects(String builderId, Status status) {
+        return projectStore.statusIndex().countForBuilder(builderId, status);
+    }
+
+    /**
+     * Retrieves every project active on at least one day of a date window,
+     * read from the date range index.
+     *
+     * @param from first day of the window
+     * @param to   last day of the window, inclusive
+     * @return projects whose start and end dates overlap the window, ordered by project ID
+     */
+    public List<Project> getProjectsActiveBetween(LocalDate from, LocalDate to) {
+        DateRangeIndex index = projectStore.dateRangeIndex();
+        return findProjects(16, action -> index.forEachOverlapping(from, to, action));
+    }
+
+    /**
+     * Retrieves every project whose deadline falls within the given number of
+     * days from a date, read from the date range index.
+     *
+     * @param from first day of the window, usually today
+     * @param days length of the window; 0 selects projects ending on {@code from}
+     * @return projects ending between {@code from} and {@code from + days}, ordered by project ID
+     */
+    public List<Project> getProjectsEndingWithin(LocalDate from, int days) {
+        DateRangeIndex index = projectStore.dateRangeIndex();
+        return findProjects(16, action -> index.forEachEndingBetween(from, from.plusDays(days), action));
+    }
+
+    /**
+     * Searches project names, descriptions and client names. Every word of the
+     * query must match the start of a word in the project; name matches rank
+     * above client matches, which rank above description matches.
+     *
+     * @param query words or word fragments to look for
+     * @param limit most projects to return
+     * @return matching projects, best match first
+     */
+    public List<Project> searchProjects(String query, int limit) {
+        return lookUp(projectStore.textIndex().search(query, limit, id -> true));
+    }
+
+    /**
+     * Searches like {@link #searchProjects} within one manager's projects.
+     *
+     * @param managerId ID of the manager
+     * @param query     words or word fragments to look for
+     * @param limit     most projects to return
+     * @return the manager's matching projects, best match first
+     */
+    public List<Project> searchManagerProjects(String managerId, String query, int limit) {
+        ConcurrentLongSet managed = assignmentStore.getManagerProjectIds(managerId);
+        TextIndex index = projectStore.textIndex();
+        return lookUp(index.search(query, limit, managed::contains));
+    }
 
-        for (Long id : projectIds) {
-            Project p = ProjectDAO.getProjectById(id);
+    /**
+     * Looks up the projects for a set of IDs, skipping IDs with no stored project.
+     * The IDs are read straight from the set, without copying or boxing them first.
+     */
+    private List<Project> findProjects(ConcurrentLongSet projectIds) {
+        return findProjects(projectIds.size(), projectIds::forEach);
+    }
+
+    /**
+     * Looks up the projects whose IDs {@code ids} passes to its consumer,
+     * skipping IDs with no stored project. The IDs are gathered and sorted as
+     * primitives first, so the index lock is released before any lookup and the
+     * result comes out in ID order without sorting the projects themselves.
+     */
+    private List<Project> findProjects(int expectedSize, Consumer<LongConsumer> ids) {
+        IdBatch found = new IdBatch(expectedSize);
+        ids.accept(found::add);
+        long[] sorted = found.toArray();
+        Arrays.sort(sorted);
+        return lookUp(sorted);
+    }
+
+    /**
+     * Looks up the projects for IDs, keeping their order and skipping IDs with no stored project.
+     */
+    private List<Project> lookUp(long[] ids) {
+        List<Project> projects = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Project p = projectStore.getProjectById(id);
             if (p != null) {
                 projects.add(p);
             }
@@ -76,56 +327,240 @@ public class ProjectService {
         return projects;
     }
 
+    /**
+     * Reads one page of projects in ID order, starting after the cursor. At
+     * most {@code pageSize + 1} IDs are copied per round, the extra one telling
+     * whether another page follows; further rounds are needed only when IDs
+     * have no stored project and are skipped.
+     *
+     * @param setSize    number of IDs in the set, bounding the buffers
+     * @param projectIds copies the IDs after a given one, as {@link AssignmentStore#builderProjectIdsAfter}
+     */
+    private ProjectPage findPage(int setSize, IdsAfter projectIds, int pageSize, String cursor) {
+        if (pageSize < 1) throw new IllegalArgumentException("Page size must be at least 1");
+        long after = ProjectPage.decodeCursor(cursor);
+
+        // Never size the buffers beyond the set, so a huge page size costs no more than a full listing
+        int batchSize = (int) Math.min(pageSize + 1L, setSize + 1L);
+        List<Project> projects = new ArrayList<>(batchSize - 1);
+        long[] batch = new long[batchSize];
+        while (true) {
+            int count = projectIds.copy(after, batch);
+            int i = 0;
+            for (; i < count && projects.size() < pageSize; i++) {
+                after = batch[i];
+                Project p = projectStore.getProjectById(after);
+                if (p != null) {
+                    projects.add(p);
+                }
+            }
+            if (projects.size() == pageSize) {
+                boolean more = i < count || projectIds.copy(after, new long[1]) > 0;
+                return new ProjectPage(projects, more ? ProjectPage.encodeCursor(after) : null);
+            }
+            if (count < batch.length) {
+                return new ProjectPage(projects, null);
+            }
+        }
+    }
 
     /**
-     * Updates the status of a project by the assigned Builder.
+     * Updates the status of a project by the assigned Builder, if
+     * {@link Status#canMoveTo} allows the change from its current status.
+     * The change is a compare-and-set against the status just read, retried if
+     * another update got in between, so no concurrent update is lost. Each
+     * change is recorded in the project's status history.
      *
      * @param builderId ID of the builder attempting the update
      * @param projectId ID of the project
      * @param newStatus New project status
-     * @return true if update is successful, false otherwise
+     * @return true if update is successful, false if the project does not exist,
+     * belongs to another builder or may not move to {@code newStatus}
      */
     public boolean updateProjectStatus(String builderId, long projectId, Status newStatus) {
-        Project project = ProjectDAO.getProjectById(projectId);
+        while (true) {
+            Project project = projectStore.getProjectById(projectId);
 
-        if (project == null) {
-            return false;
+            if (project == null) {
+                return false;
+            }
+
+            // Authorization check; the builder of a project never changes
+            if (!builderId.equals(project.getBuilderId())) {
+                return false;
+            }
+
+            Status current = project.getStatus();
+            if (!canMove(current, newStatus)) {
+                return false;
+            }
+
+            if (transition(project, current, newStatus)) {
+                return true;
+            }
         }
+    }
+
+    /**
+     * Updates the status of a project by the assigned Builder, only if it still
+     * has the status the builder last saw and {@link Status#canMoveTo} allows
+     * the change. Of several builders moving a project on from the same
+     * status, exactly one succeeds. Each change is recorded in the project's
+     * status history.
+     *
+     * @param builderId      ID of the builder attempting the update
+     * @param projectId      ID of the project
+     * @param expectedStatus status the builder last saw
+     * @param newStatus      New project status
+     * @return true if update is successful, false if the project does not exist,
+     * belongs to another builder, no longer has the expected status or may not
+     * move to {@code newStatus}
+     */
+    public boolean updateProjectStatus(String builderId, long projectId, Status expectedStatus, Status newStatus) {
+        if (!canMove(expectedStatus, newStatus)) return false;
+
+        Project project = projectStore.getProjectById(projectId);
+        if (project == null) return false;
 
         // Authorization check
-        if (!builderId.equals(project.getBuilderId())) {
-            return false;
-        }
+        if (!builderId.equals(project.getBuilderId())) return false;
 
-        project.setStatus(newStatus);
-        return true;
+        return transition(project, expectedStatus, newStatus);
+    }
 
+    /**
+     * Moves a project on and reports the change to the analytics, under the
+     * project's lock so the analytics see each project's changes in order.
+     */
+    private boolean transition(Project project, Status expected, Status newStatus) {
+        long projectId = project.getProjectId();
+        return ProjectLocks.withLock(projectId, () -> {
+            long now = System.currentTimeMillis();
+            if (!projectStore.transitionStatus(projectId, expected, newStatus, project.getBuilderId(), now)) {
+                return false;
+            }
+            analytics.transitioned(projectId, project.getBuilderId(), project.getProjectManagerId(), expected, newStatus, now);
+            return true;
+        });
     }
 
     /**
-     * Deletes a project if requested by the correct Project Manager.
-     * Also removes project references from Builder and Manager records.
+     * Returns the cycle-time and throughput analytics, kept up to date by
+     * {@link #createProject}, {@link #updateProjectStatus} and {@link #deleteProject}
+     * and rebuilt from the stored status history when the service is created.
+     *
+     * @return the service's analytics
+     */
+    public ProjectAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    /**
+     * Returns the portfolio-wide reports over this service's project store,
+     * run in parallel on the common fork/join pool.
+     *
+     * @return the service's portfolio query
+     */
+    public PortfolioQuery getPortfolioQuery() {
+        return portfolioQuery;
+    }
+
+    /**
+     * Returns the recorded status changes of a project, oldest first.
      *
-     * @param managerId ID of the manager attempting deletion
      * @param projectId ID of the project
-     * @return true if deletion is successful, false otherwise
+     * @return the project's transitions; empty if its status never changed
      */
-    public boolean deleteProject(String managerId, long projectId) {
-        Project project = ProjectDAO.getProjectById(projectId);
+    public List<StatusTransition> getStatusHistory(long projectId) {
+        return projectStore.statusHistory().transitionsOf(projectId);
+    }
+
+    /**
+     * A project without a status may be given any status.
+     */
+    private static boolean canMove(Status from, Status to) {
+        return to != null && (from == null || from.canMoveTo(to));
+    }
+
+    /**
+     * Reschedules a project if requested by the correct Project Manager.
+     * The change goes through the project store so the date range index follows it.
+     *
+     * @param managerId ID of the manager attempting the change
+     * @param projectId ID of the project
+     * @param startDate new start date
+     * @param endDate   new end date
+     * @return true if the dates were changed, false if the project does not exist or belongs to another manager
+     * @throws IllegalArgumentException if a date is null or the end date is before the start date
+     */
+    public boolean updateProjectDates(String managerId, long projectId, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null)
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        if (endDate.isBefore(startDate))
+            throw new IllegalArgumentException("End date cannot be before start date");
+
+        Project project = projectStore.getProjectById(projectId);
         if (project == null) return false;
 
         // Check manager authorization
         if (!managerId.equals(project.getProjectManagerId())) return false;
 
-        ProjectDAO.removeProject(projectId);
+        return projectStore.updateDates(projectId, startDate, endDate);
+    }
 
-        ManagerDAO.removeProjectFromManager(managerId, projectId);
+    /**
+     * Renames a project or changes its description or client, if requested by
+     * the correct Project Manager. The change goes through the project store so
+     * the text index follows it.
+     *
+     * @param managerId   ID of the manager attempting the change
+     * @param projectId   ID of the project
+     * @param projectName new name
+     * @param description new description
+     * @param client      new client
+     * @return true if the project was changed, false if it does not exist or belongs to another manager
+     * @throws IllegalArgumentException if the name is empty or the client is null
+     */
+    public boolean updateProjectDetails(String managerId, long projectId, String projectName, String description, Client client) {
+        if (projectName == null || projectName.isEmpty())
+            throw new IllegalArgumentException("Project name cannot be null or empty");
+        if (client == null)
+            throw new IllegalArgumentException("Assigned client cannot be null");
 
-        String builderId = project.getBuilderId();
-        if (builderId != null) {
-            BuilderDAO.removeProjectFromBuilder(builderId, projectId);
-        }
+        Project project = projectStore.getProjectById(projectId);
+        if (project == null) return false;
+
+        // Check manager authorization
+        if (!managerId.equals(project.getProjectManagerId())) return false;
 
+        return projectStore.updateDetails(projectId, projectName, description, client);
+    }
+
+    /**
+     * Deletes a project if requested by the correct Project Manager.
+     * Also removes project references from Builder and Manager records,
+     * as one atomic change of the storage engine.
+     *
+     * @param managerId ID of the manager attempting deletion
+     * @param projectId ID of the project
+     * @return true if deletion is successful, false otherwise
+     */
+    public boolean deleteProject(String managerId, long projectId) {
+        // Check manager authorization under the project's lock, so the check and the removal are one step
+        if (storageEngine.deleteProject(projectId, project -> managerId.equals(project.getProjectManagerId())) == null) {
+            return false;
+        }
+        analytics.deleted(projectId);
         return true;
     }
+
+    /**
+     * Copies the IDs of an ordered ID set that follow a given ID.
+     */
+    private interface IdsAfter {
+        /**
+         * @return number of IDs greater than {@code after} copied into {@code into}, in ascending order
+         */
+        int copy(long after, long[] into);
+    }
 }
@@ -0,0 +1,95 @@
+package com.builderportfolio.service;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Status;
+
+import java.time.LocalDate;
+
+/**
+ * Details of a project to be created, without an ID yet.
+ * Used to hand many projects to {@link ProjectService#createProjects} at once.
+ */
+public class ProjectSpec {
+    private final String projectName;
+    private final String description;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Client client;
+    private final Status status;
+    private final String builderId;
+    private final String managerId;
+
+    /**
+     * Takes the same arguments as {@link ProjectService#createProject}.
+     * Nothing is validated until the spec is used.
+     *
+     * @param projectName Name of the project
+     * @param description Project description
+     * @param startDate Project start date
+     * @param endDate Project end date
+     * @param client Client associated with the project
+     * @param status Initial project status
+     * @param builderId ID of the builder responsible for the project
+     * @param managerId ID of the project manager responsible for the project
+     */
+    public ProjectSpec(String projectName, String description, LocalDate startDate, LocalDate endDate, Client client, Status status, String builderId, String managerId) {
+        this.projectName = projectName;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.client = client;
+        this.status = status;
+        this.builderId = builderId;
+        this.managerId = managerId;
+    }
+
+    /** @return the project name */
+    public String getProjectName() {
+        return projectName;
+    }
+
+    /** @return the project description */
+    public String getDescription() {
+        return description;
+    }
+
+    /** @return the start date */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /** @return the end date */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /** @return the client */
+    public Client getClient() {
+        return client;
+    }
+
+    /** @return the initial status */
+    public Status getStatus() {
+        return status;
+    }
+
+    /** @return the builder ID */
+    public String getBuilderId() {
+        return builderId;
+    }
+
+    /** @return the project manager ID */
+    public String getManagerId() {
+        return managerId;
+    }
+
+    /** @return a readable summary of the spec */
+    @Override
+    public String toString() {
+        return "ProjectSpec{" +
+                "projectName='" + projectName + '\'' +
+                ", builderId='" + builderId + '\'' +
+                ", managerId='" + managerId + '\'' +
+                '}';
+    }
+}
@@ -1,12 +1,18 @@
 package com.builderportfolio.service;
 
-import com.builderportfolio.dao.BuilderDAO;
-import com.builderportfolio.dao.ManagerDAO;
-import com.builderportfolio.dao.UserDAO;
+import com.builderportfolio.dao.AssignmentStore;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.dao.StorageEngines;
+import com.builderportfolio.dao.UserStore;
 import com.builderportfolio.exception.InvalidCredentialsException;
+import com.builderportfolio.exception.ServiceBusyException;
+import com.builderportfolio.exception.TooManyLoginAttemptsException;
 import com.builderportfolio.exception.UserAlreadyExistsException;
 import com.builderportfolio.exception.UserNotFoundException;
 import com.builderportfolio.model.User;
+import com.builderportfolio.security.LoginRateLimiter;
+import com.builderportfolio.security.PasswordHasher;
+import com.builderportfolio.security.PasswordVerifier;
 import java.util.logging.Logger;
 
 
@@ -18,18 +24,80 @@ import java.util.logging.Logger;
  * - Login authentication
  * - Fetching user details
  * <p>
- * It coordinates between DAO classes and applies validation rules.
+ * It coordinates between the user and assignment stores of a
+ * {@link StorageEngine} and applies validation rules. Passwords are stored as
+ * salted hashes; hashing and checking them runs on a bounded
+ * {@link PasswordVerifier} pool rather than on the caller's thread, and a
+ * {@link LoginRateLimiter} turns away repeated logins before either happens.
  */
 public class UserService {
 
     private static final Logger logger =
             Logger.getLogger(UserService.class.getName());
 
+    private final UserStore userStore;
+    private final AssignmentStore assignmentStore;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginRateLimiter loginRateLimiter;
+
+    /**
+     * Creates a service over the shared in-memory stores behind the static DAO classes.
+     */
+    public UserService() {
+        this(StorageEngines.defaultEngine());
+    }
+
+    /**
+     * Creates a service over the stores of the given engine, using the shared password verifier.
+     *
+     * @param storageEngine engine providing the user and assignment stores
+     */
+    public UserService(StorageEngine storageEngine) {
+        this(storageEngine, PasswordVerifier.shared());
+    }
+
+    /**
+     * Creates a service over the stores of the given engine, with a login
+     * rate limiter configured from the system properties.
+     *
+     * @param storageEngine    engine providing the user and assignment stores
+     * @param passwordVerifier pool hashing and checking passwords
+     */
+    public UserService(StorageEngine storageEngine, PasswordVerifier passwordVerifier) {
+        this(storageEngine, passwordVerifier, new LoginRateLimiter());
+    }
+
+    /**
+     * Creates a service over the stores of the given engine.
+     *
+     * @param storageEngine    engine providing the user and assignment stores
+     * @param passwordVerifier pool hashing and checking passwords
+     * @param loginRateLimiter limiter consulted before each login
+     */
+    public UserService(StorageEngine storageEngine, PasswordVerifier passwordVerifier, LoginRateLimiter loginRateLimiter) {
+        this.userStore = storageEngine.userStore();
+        this.assignmentStore = storageEngine.assignmentStore();
+        this.passwordVerifier = passwordVerifier;
+        this.loginRateLimiter = loginRateLimiter;
+    }
+
+    /** @return the pool hashing and checking passwords, e.g. to read its metrics */
+    public PasswordVerifier getPasswordVerifier() {
+        return passwordVerifier;
+    }
+
+    /** @return the limiter consulted before each login, e.g. to read its rejection counts */
+    public LoginRateLimiter getLoginRateLimiter() {
+        return loginRateLimiter;
+    }
+
     /**
      * Registers a new user in the system.
      * <p>
      * This method:
-     * - Checks if the email is already registered
+     * - Atomically reserves the email, failing if it is already registered
+     * - Replaces the user's plain-text password by its salted hash,
+     *   releasing the email again if that fails
      * - Saves the user in the database
      * - Creates role-specific records (Builder or Project Manager)
      *
@@ -38,24 +106,37 @@ public class UserService {
      * @return true if registration is successful
      * @throws UserAlreadyExistsException if the email is already registered
      * @throws IllegalArgumentException if the role is invalid
+     * @throws ServiceBusyException if too many passwords are already being hashed
      */
     public boolean registrationService(User user, int role) {
 
-        if (UserDAO.emailExists(user.getUserEmail())) {
+        if (role != 1 && role != 2) {
+            throw new IllegalArgumentException("Invalid role");
+        }
+
+        if (!userStore.reserveEmail(user.getUserEmail(), user.getUserId())) {
             logger.warning("User already exists");
             throw new UserAlreadyExistsException(
                     "User already exists with email: " + user.getUserEmail()
             );
         }
 
-        UserDAO.saveUser(user);
+        // Hash only once the email is ours, so a duplicate costs no hashing time
+        if (!PasswordHasher.isHash(user.getPassword())) {
+            try {
+                user.setPassword(passwordVerifier.hash(user.getPassword()));
+            } catch (RuntimeException e) {
+                userStore.releaseEmail(user.getUserEmail(), user.getUserId());
+                throw e;
+            }
+        }
+
+        userStore.saveUser(user);
 
         if (role == 1) {
-            BuilderDAO.createBuilder(user.getUserId());
-        } else if (role == 2) {
-            ManagerDAO.createProjectManager(user.getUserId());
+            assignmentStore.createBuilder(user.getUserId());
         } else {
-            throw new IllegalArgumentException("Invalid role");
+            assignmentStore.createProjectManager(user.getUserId());
         }
         return true;
     }
@@ -63,26 +144,63 @@ public class UserService {
 
     /**
      * Authenticates user login credentials.
+     * <p>
+     * A password stored in plain text by an earlier version, or hashed with
+     * another work factor, is re-hashed once it has been checked.
      *
      * @param enteredUserId user ID entered during login
      * @param enteredPassword password entered during login
      * @return the logged-in User object if credentials are valid
      * @throws UserNotFoundException if the user ID does not exist
      * @throws InvalidCredentialsException if the password is incorrect
+     * @throws TooManyLoginAttemptsException if the user is locked out after failed logins
+     * @throws ServiceBusyException if too many passwords are already being checked
      */
     public User loginService(String enteredUserId, String enteredPassword) {
+        return loginService(enteredUserId, enteredPassword, null);
+    }
+
+    /**
+     * Authenticates user login credentials sent by a remote client, which is
+     * also throttled by its own attempts, whichever users they are for.
+     *
+     * @param enteredUserId user ID entered during login
+     * @param enteredPassword password entered during login
+     * @param clientKey key of the client, e.g. its address, or null for a local login
+     * @return the logged-in User object if credentials are valid
+     * @throws UserNotFoundException if the user ID does not exist
+     * @throws InvalidCredentialsException if the password is incorrect
+     * @throws TooManyLoginAttemptsException if the client has tried too often or the user is locked out
+     * @throws ServiceBusyException if too many passwords are already being checked
+     */
+    public User loginService(String enteredUserId, String enteredPassword, String clientKey) {
+
+        loginRateLimiter.check(enteredUserId, clientKey);
 
-        if (!UserDAO.idExists(enteredUserId)) {
+        if (!userStore.idExists(enteredUserId)) {
             logger.warning("User not found");
+            loginRateLimiter.recordFailure(enteredUserId);
             throw new UserNotFoundException("User not found: " + enteredUserId);
         }
 
-        User loggedInUser = UserDAO.getUserById(enteredUserId);
+        User loggedInUser = userStore.getUserById(enteredUserId);
 
-        if (!loggedInUser.getPassword().equals(enteredPassword)) {
+        String storedPassword = loggedInUser.getPassword();
+        if (!passwordVerifier.verify(storedPassword, enteredPassword)) {
             logger.warning("Invalid password");
+            loginRateLimiter.recordFailure(enteredUserId);
             throw new InvalidCredentialsException("Incorrect password");
         }
+        loginRateLimiter.recordSuccess(enteredUserId);
+
+        if (passwordVerifier.getHasher().needsRehash(storedPassword)) {
+            try {
+                loggedInUser.setPassword(passwordVerifier.hash(enteredPassword));
+                userStore.saveUser(loggedInUser);
+            } catch (ServiceBusyException e) {
+                logger.fine("Password re-hash deferred: " + e.getMessage());
+            }
+        }
 
         logger.info("Login successful");
         return loggedInUser;
@@ -96,7 +214,7 @@ public class UserService {
      * @throws UserNotFoundException if no user exists with the given ID
      */
     public User fetchUserDetails(String userId) {
-        User user = UserDAO.getUserById(userId);
+        User user = userStore.getUserById(userId);
         if (user == null) {
             throw new UserNotFoundException("User not found: " + userId);
         }
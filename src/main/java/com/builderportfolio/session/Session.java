@@ -0,0 +1,53 @@
+package com.builderportfolio.session;
+
+import com.builderportfolio.model.User;
+
+/**
+ * Handle on one logged-in user's session in a {@link SessionStore}.
+ * <p>
+ * The handle only holds the session's token; every call looks the session up
+ * again, so a session that has expired or been closed elsewhere is seen as
+ * ended at once. Handles are cheap and may be shared between threads.
+ */
+public final class Session {
+
+    private final SessionStore store;
+    private final String token;
+
+    Session(SessionStore store, String token) {
+        this.store = store;
+        this.token = token;
+    }
+
+    /**
+     * @return the opaque token identifying this session, e.g. for an API client
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Returns the session's user and marks the session as used, which
+     * postpones its idle expiry.
+     *
+     * @return the logged-in user, or null if the session has expired or was closed
+     */
+    public User getUser() {
+        return store.getUser(token);
+    }
+
+    /**
+     * @return true if the session has neither expired nor been closed; does
+     * not count as use
+     */
+    public boolean isActive() {
+        return store.isActive(token);
+    }
+
+    /**
+     * Ends the session (log out). Closing an ended session does nothing.
+     */
+    public void close() {
+        store.invalidate(token);
+    }
+}
@@ -0,0 +1,269 @@
+package com.builderportfolio.session;
+
+import com.builderportfolio.model.User;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Sessions of any number of concurrently logged-in users, keyed by opaque
+ * random tokens.
+ * <p>
+ * A session ends when it has not been used for the idle timeout, when the
+ * absolute timeout has passed since it was opened, or when it is closed.
+ * Looking a token up is one {@link ConcurrentHashMap} read and checks the
+ * timeouts itself, so an expired session is never returned, whether or not
+ * it has been evicted yet.
+ * <p>
+ * Eviction uses a hashed timer wheel: each session sits in the bucket of the
+ * tick it is next due, and {@link #expire()} only visits the buckets of the
+ * ticks that have passed. A visited session that was used since it was
+ * scheduled is moved to the bucket of its new deadline instead of being
+ * expired, so use never touches the wheel and no pass scans every session.
+ * {@link #startEvictor()} runs {@link #expire()} once per tick in the
+ * background.
+ */
+public class SessionStore implements AutoCloseable {
+
+    /** Default time a session may go unused. */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    /** Default longest life of a session, however much it is used. */
+    public static final Duration DEFAULT_ABSOLUTE_TIMEOUT = Duration.ofHours(12);
+
+    private static final long TICK_MILLIS = 1_000;
+    /** Buckets in the wheel; one revolution is about 68 minutes of ticks. */
+    private static final int WHEEL_SIZE = 4096;
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final long idleMillis;
+    private final long absoluteMillis;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+    /** Last tick whose bucket has been visited; written only under the expire lock. */
+    private volatile long processedTick;
+    private final Object expireLock = new Object();
+    private ScheduledExecutorService evictor;
+
+    /**
+     * Creates a store with the default timeouts and the system clock.
+     */
+    public SessionStore() {
+        this(DEFAULT_IDLE_TIMEOUT, DEFAULT_ABSOLUTE_TIMEOUT, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a store.
+     *
+     * @param idleTimeout     time a session may go unused
+     * @param absoluteTimeout longest life of a session
+     * @param clock           current time in epoch milliseconds
+     * @throws IllegalArgumentException if a timeout is not positive
+     */
+    public SessionStore(Duration idleTimeout, Duration absoluteTimeout, LongSupplier clock) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero() || absoluteTimeout.isNegative() || absoluteTimeout.isZero())
+            throw new IllegalArgumentException("Session timeouts must be positive");
+        this.idleMillis = idleTimeout.toMillis();
+        this.absoluteMillis = absoluteTimeout.toMillis();
+        this.clock = clock;
+        for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new Bucket();
+        this.processedTick = clock.getAsLong() / TICK_MILLIS;
+    }
+
+    /**
+     * Opens a session for a user who has just logged in or registered.
+     *
+     * @param user the authenticated user
+     * @return a handle on the new session
+     */
+    public Session open(User user) {
+        if (user == null) throw new IllegalArgumentException("User cannot be null");
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Entry entry = new Entry(token, user, clock.getAsLong());
+        sessions.put(token, entry);
+        schedule(entry, entry.deadline(idleMillis, absoluteMillis));
+        return new Session(this, token);
+    }
+
+    /**
+     * Finds the session of a token, e.g. one sent by an API client.
+     *
+     * @param token session token
+     * @return a handle on the session, or null if the token is unknown or its session has ended
+     */
+    public Session find(String token) {
+        return getUser(token) == null ? null : new Session(this, token);
+    }
+
+    /**
+     * Returns the user of a token's session and marks the session as used.
+     *
+     * @param token session token
+     * @return the user, or null if the token is unknown or its session has ended
+     */
+    public User getUser(String token) {
+        if (token == null) return null;
+        Entry entry = sessions.get(token);
+        if (entry == null) return null;
+        long now = clock.getAsLong();
+        if (now >= entry.deadline(idleMillis, absoluteMillis)) {
+            sessions.remove(token, entry);
+            return null;
+        }
+        // Only write when the tick has moved, so busy sessions do not bounce the cache line
+        if (now - entry.lastAccess >= TICK_MILLIS) entry.lastAccess = now;
+        return entry.user;
+    }
+
+    /**
+     * @param token session token
+     * @return true if the token's session has not ended
+     */
+    boolean isActive(String token) {
+        Entry entry = token == null ? null : sessions.get(token);
+        return entry != null && clock.getAsLong() < entry.deadline(idleMillis, absoluteMillis);
+    }
+
+    /**
+     * Ends a session. Its wheel entry is dropped when its bucket comes round.
+     *
+     * @param token session token
+     * @return true if the session was open
+     */
+    public boolean invalidate(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * @return number of sessions not yet closed or evicted, which may include
+     * some that have expired since the last {@link #expire()}
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Evicts every session that has expired by now, visiting only the wheel
+     * buckets of the ticks passed since the last call.
+     *
+     * @return number of sessions evicted
+     */
+    public int expire() {
+        synchronized (expireLock) {
+            long now = clock.getAsLong();
+            long nowTick = now / TICK_MILLIS;
+            // After a pause longer than a revolution, one pass over the wheel covers every tick
+            long first = Math.max(processedTick + 1, nowTick - WHEEL_SIZE + 1);
+            int evicted = 0;
+            for (long tick = first; tick <= nowTick; tick++) {
+                processedTick = tick;
+                for (Entry entry : wheel[index(tick)].drain()) {
+                    if (sessions.get(entry.token) != entry) continue;
+                    long deadline = entry.deadline(idleMillis, absoluteMillis);
+                    if (deadline <= now) {
+                        if (sessions.remove(entry.token, entry)) evicted++;
+                    } else {
+                        schedule(entry, deadline);
+                    }
+                }
+            }
+            processedTick = Math.max(processedTick, nowTick);
+            return evicted;
+        }
+    }
+
+    /**
+     * Starts a daemon thread running {@link #expire()} once per second.
+     * Does nothing if it is already running.
+     *
+     * @return this store
+     */
+    public synchronized SessionStore startEvictor() {
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "session-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            evictor.scheduleAtFixedRate(this::expire, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Stops the evictor thread, if started. Sessions stay valid.
+     */
+    @Override
+    public synchronized void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+    }
+
+    /**
+     * Puts an entry in the bucket of the first tick at or after its deadline
+     * that has not been visited yet. An entry added to a bucket just as it is
+     * drained waits one revolution to be evicted; lookups still see it expire
+     * on time.
+     */
+    private void schedule(Entry entry, long deadline) {
+        long tick = Math.max((deadline + TICK_MILLIS - 1) / TICK_MILLIS, processedTick + 1);
+        wheel[index(tick)].add(entry);
+    }
+
+    private static int index(long tick) {
+        return (int) (tick & (WHEEL_SIZE - 1));
+    }
+
+    /**
+     * One open session.
+     */
+    private static final class Entry {
+        final String token;
+        final User user;
+        final long openedAt;
+        volatile long lastAccess;
+
+        Entry(String token, User user, long openedAt) {
+            this.token = token;
+            this.user = user;
+            this.openedAt = openedAt;
+            this.lastAccess = openedAt;
+        }
+
+        long deadline(long idleMillis, long absoluteMillis) {
+            return Math.min(lastAccess + idleMillis, openedAt + absoluteMillis);
+        }
+    }
+
+    /**
+     * Entries due in one tick of the wheel, modulo its revolution.
+     */
+    private static final class Bucket {
+        private List<Entry> entries = new ArrayList<>();
+
+        synchronized void add(Entry entry) {
+            entries.add(entry);
+        }
+
+        /** @return the bucket's entries, leaving it empty */
+        synchronized List<Entry> drain() {
+            List<Entry> drained = entries;
+            entries = new ArrayList<>();
+            return drained;
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package com.builderportfolio.view;
 
-import com.builderportfolio.model.Project;
 import com.builderportfolio.model.User;
+import com.builderportfolio.session.Session;
 import com.builderportfolio.view.util.*;
-import java.util.List;
 
 /**
  * Console menu view for users with the Builder role.
@@ -11,25 +10,38 @@ import java.util.List;
  * Provides options for builders to:
  * <ul>
  *     <li>Update project status</li>
- *     <li>View assigned projects</li>
+ *     <li>View assigned projects, one page at a time</li>
  *     <li>View their profile details</li>
  *     <li>Log out</li>
  * </ul>
  */
 public class BuilderMenuView {
 
+    private final Session session;
+
+    /**
+     * @param session session of the logged-in builder
+     */
+    public BuilderMenuView(Session session) {
+        this.session = session;
+    }
+
     /**
      * Displays the Builder menu and handles user actions
-     * in a loop until the user chooses to log out.
+     * in a loop until the user chooses to log out or the session expires.
      * <p>
-     * Uses Session to get logged-in user details and
+     * Uses the session to get logged-in user details and
      * ServiceFactory to interact with business logic.
      */
     public void builderMenu() {
-        User user = Session.getUser();
-
         int choice;
         do {
+            User user = session.getUser();
+            if (user == null) {
+                System.out.println("Your session has expired. Please log in again.");
+                return;
+            }
+
             System.out.println("\nBuilder Menu:");
             System.out.println("1. Update Project");
             System.out.println("2. View All Projects");
@@ -39,17 +51,10 @@ public class BuilderMenuView {
             choice = InputUtil.nextInt();
 
             switch (choice) {
-                case 1 -> new ProjectView().updateProjectStatusMenu();
-                case 2 -> {
-                    List<Project> projects =
-                            ServiceFactory.projectService.getBuilderProjects(user.getUserId());
-
-                    if (projects.isEmpty()) {
-                        System.out.println("No projects assigned.");
-                    } else {
-                        projects.forEach(System.out::println);
-                    }
-                }
+                case 1 -> new ProjectView(session).updateProjectStatusMenu();
+                case 2 -> PagedProjectPrinter.print(
+                        (pageSize, cursor) -> ServiceFactory.projectService.getBuilderProjects(user.getUserId(), pageSize, cursor),
+                        "No projects assigned.");
                 case 3 -> System.out.println(user);
                 case 4 -> System.out.println("Logging out...");
                 default -> System.out.println("Invalid choice.");
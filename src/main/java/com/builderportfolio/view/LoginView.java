@@ -1,11 +1,13 @@
 package com.builderportfolio.view;
 
 import com.builderportfolio.exception.InvalidCredentialsException;
+import com.builderportfolio.exception.ServiceBusyException;
+import com.builderportfolio.exception.TooManyLoginAttemptsException;
 import com.builderportfolio.exception.UserNotFoundException;
 import com.builderportfolio.model.User;
 import com.builderportfolio.view.util.InputUtil;
+import com.builderportfolio.session.Session;
 import com.builderportfolio.view.util.ServiceFactory;
-import com.builderportfolio.view.util.Session;
 
 /**
  * Handles user authentication through the console interface.
@@ -21,7 +23,7 @@ public class LoginView {
      * <p>
      * On successful login:
      * <ul>
-     *     <li>Stores the logged-in user in Session</li>
+     *     <li>Opens a session for the user, closed again on log out</li>
      *     <li>Redirects Builder users to BuilderMenuView</li>
      *     <li>Redirects Manager users to ManagerMenuView</li>
      * </ul>
@@ -30,6 +32,8 @@ public class LoginView {
      * <ul>
      *     <li>User not found</li>
      *     <li>Invalid password</li>
+     *     <li>Account locked after repeated failed logins</li>
+     *     <li>Too many logins in progress</li>
      * </ul>
      */
     public void loginMenu() {
@@ -42,16 +46,23 @@ public class LoginView {
 
         try {
             User user = ServiceFactory.userService.loginService(userId, password);
-            Session.setUser(user);
-
-            char role = user.getUserId().charAt(0);
-            if (role == 'B') new BuilderMenuView().builderMenu();
-            else if (role == 'P') new ManagerMenuView().managerMenu();
+            Session session = ServiceFactory.sessionStore.open(user);
+            try {
+                char role = user.getUserId().charAt(0);
+                if (role == 'B') new BuilderMenuView(session).builderMenu();
+                else if (role == 'P') new ManagerMenuView(session).managerMenu();
+            } finally {
+                session.close();
+            }
 
         } catch (UserNotFoundException e) {
             System.out.println("Warning: User not found with ID " + userId);
         } catch (InvalidCredentialsException e) {
             System.out.println("Warning: Incorrect password. Try again.");
+        } catch (TooManyLoginAttemptsException e) {
+            System.out.println("Warning: " + e.getMessage());
+        } catch (ServiceBusyException e) {
+            System.out.println("Warning: The system is busy. Please try again shortly.");
         }
     }
 }
@@ -1,7 +1,9 @@
 package com.builderportfolio.view;
 
+import com.builderportfolio.analytics.ProjectAnalytics;
 import com.builderportfolio.model.Project;
 import com.builderportfolio.model.User;
+import com.builderportfolio.session.Session;
 import com.builderportfolio.view.util.*;
 import java.util.List;
 
@@ -10,41 +12,64 @@ import java.util.List;
  * Represents the menu interface for users with the Project Manager role.
  * <p>
  * This view allows project managers to create and delete projects,
- * view all projects assigned to them, see their profile details,
- * and log out of the system.
+ * view and search the projects assigned to them, see cycle-time reports,
+ * see their profile details, and log out of the system.
  */
 public class ManagerMenuView {
 
+    /**
+     * Most search results shown, best match first.
+     */
+    private static final int SEARCH_RESULTS = 20;
+
+    private final Session session;
+
+    /**
+     * @param session session of the logged-in project manager
+     */
+    public ManagerMenuView(Session session) {
+        this.session = session;
+    }
+
     /**
      * Displays the project manager menu and handles user choices.
      * <p>
-     * The menu runs in a loop until the manager chooses to log out.
+     * The menu runs in a loop until the manager chooses to log out or the
+     * session expires.
      * Based on the selected option, appropriate project operations
      * or profile actions are triggered.
      * <ul>
      *     <li>Add a new project</li>
      *     <li>Delete an existing project</li>
-     *     <li>View all managed projects</li>
+     *     <li>View all managed projects, one page at a time</li>
+     *     <li>Search managed projects by name, description or client</li>
+     *     <li>View cycle-time and throughput reports for the manager, their builders and the portfolio</li>
      *     <li>View manager details</li>
      *     <li>Log out</li>
      * </ul>
      */
     public void managerMenu() {
-        User user = Session.getUser();
-
         int choice;
         do {
+            User user = session.getUser();
+            if (user == null) {
+                System.out.println("Your session has expired. Please log in again.");
+                return;
+            }
+
             System.out.println("\nProject Manager Menu:");
             System.out.println("1. Add Project");
             System.out.println("2. Delete Project");
             System.out.println("3. View All Projects");
-            System.out.println("4. View My Details");
-            System.out.println("5. Log Out");
+            System.out.println("4. Search Projects");
+            System.out.println("5. Cycle-Time Report");
+            System.out.println("6. View My Details");
+            System.out.println("7. Log Out");
 
             choice = InputUtil.nextInt();
 
             switch (choice) {
-                case 1 -> new ProjectView().addProjectMenu();
+                case 1 -> new ProjectView(session).addProjectMenu();
                 case 2 -> {
                     List<Project> projects = ServiceFactory.projectService.getManagerProjects(user.getUserId());
 
@@ -68,20 +93,33 @@ public class ManagerMenuView {
                         }
                     }
                 }
-                case 3 -> {
-                    List<Project> projects =
-                            ServiceFactory.projectService.getManagerProjects(user.getUserId());
+                case 3 -> PagedProjectPrinter.print(
+                        (pageSize, cursor) -> ServiceFactory.projectService.getManagerProjects(user.getUserId(), pageSize, cursor),
+                        "No projects assigned.");
+                case 4 -> {
+                    System.out.print("Search for: ");
+                    List<Project> results = ServiceFactory.projectService
+                            .searchManagerProjects(user.getUserId(), InputUtil.nextLine(), SEARCH_RESULTS);
 
-                    if (projects.isEmpty()) {
-                        System.out.println("No projects assigned.");
+                    if (results.isEmpty()) {
+                        System.out.println("No matching projects.");
                     } else {
-                        projects.forEach(System.out::println);
+                        results.forEach(System.out::println);
                     }
                 }
-                case 4 -> System.out.println(user);
-                case 5 -> System.out.println("Logging out...");
+                case 5 -> {
+                    ProjectAnalytics analytics = ServiceFactory.projectService.getAnalytics();
+                    CycleReportPrinter.print("My projects", analytics.forManager(user.getUserId()));
+                    ServiceFactory.projectService.getManagerProjects(user.getUserId()).stream()
+                            .map(Project::getBuilderId)
+                            .distinct()
+                            .forEach(builderId -> CycleReportPrinter.print("Builder " + builderId, analytics.forBuilder(builderId)));
+                    CycleReportPrinter.print("Whole portfolio", analytics.overall());
+                }
+                case 6 -> System.out.println(user);
+                case 7 -> System.out.println("Logging out...");
                 default -> System.out.println("Invalid choice.");
             }
-        } while (choice != 5);
+        } while (choice != 7);
     }
 }
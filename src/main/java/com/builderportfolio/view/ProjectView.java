@@ -2,6 +2,7 @@ package com.builderportfolio.view;
 
 import com.builderportfolio.exception.UserNotFoundException;
 import com.builderportfolio.model.*;
+import com.builderportfolio.session.Session;
 import com.builderportfolio.view.util.*;
 
 import java.time.LocalDate;
@@ -19,6 +20,22 @@ import java.util.List;
  */
 public class ProjectView {
 
+    private final Session session;
+
+    /**
+     * @param session session of the logged-in user the view acts for
+     */
+    public ProjectView(Session session) {
+        this.session = session;
+    }
+
+    /** @return the ID of the logged-in user, or null if the session has ended */
+    private String currentUserId() {
+        User user = session.getUser();
+        if (user == null) System.out.println("Your session has expired. Please log in again.");
+        return user == null ? null : user.getUserId();
+    }
+
     /**
      * Displays menu flow for creating a new project.
      * <p>
@@ -27,7 +44,8 @@ public class ProjectView {
      * Input is validated before the project is created via ProjectService.
      */
     public void addProjectMenu() {
-        String managerId = Session.getUser().getUserId();
+        String managerId = currentUserId();
+        if (managerId == null) return;
 
         System.out.println("Enter Project Name:");
         String name = InputUtil.nextLine();
@@ -114,7 +132,8 @@ public class ProjectView {
      * and updates the project if authorization and ID validation succeed.
      */
     public void updateProjectStatusMenu() {
-        String builderId = Session.getUser().getUserId();
+        String builderId = currentUserId();
+        if (builderId == null) return;
         List<Project> projects = ServiceFactory.projectService.getBuilderProjects(builderId);
 
         projects.forEach(p -> System.out.println("ID: " + p.getProjectId() + " | Status: " + p.getStatus()));
@@ -128,7 +147,7 @@ public class ProjectView {
         if (ServiceFactory.projectService.updateProjectStatus(builderId, id, status))
             System.out.println("Updated successfully!");
         else
-            System.out.println("Invalid project ID.");
+            System.out.println("Invalid project ID or status change.");
     }
 
     /**
@@ -137,7 +156,8 @@ public class ProjectView {
      * Accepts a project ID and removes the project if the manager is authorized.
      */
     public void deleteProjectMenu() {
-        String managerId = Session.getUser().getUserId();
+        String managerId = currentUserId();
+        if (managerId == null) return;
         System.out.println("Enter Project ID:");
         long id = InputUtil.nextLong();
 
@@ -1,7 +1,9 @@
 package com.builderportfolio.view;
 
+import com.builderportfolio.exception.ServiceBusyException;
 import com.builderportfolio.exception.UserAlreadyExistsException;
 import com.builderportfolio.model.User;
+import com.builderportfolio.session.Session;
 import com.builderportfolio.view.util.*;
 
 /**
@@ -61,7 +63,7 @@ public class RegisterView {
             System.out.println("Enter password:");
             password = InputUtil.nextLine();
             if (ValidationUtil.isValidPassword(password)) break;
-            System.out.println("Password must be at least 8 characters, contain 1 uppercase letter, 1 number, and only letters & digits.");
+            System.out.println(ValidationUtil.PASSWORD_RULES + ".");
         }
 
         User user = new User(name, email, phone, exp, password, role);
@@ -72,13 +74,18 @@ public class RegisterView {
                 System.out.println("Your User ID is: " + user.getUserId());
                 System.out.println("Please remember this ID for future login.\n");
 
-                Session.setUser(user);
-
-                if (role == 1) new BuilderMenuView().builderMenu();
-                else new ManagerMenuView().managerMenu();
+                Session session = ServiceFactory.sessionStore.open(user);
+                try {
+                    if (role == 1) new BuilderMenuView(session).builderMenu();
+                    else new ManagerMenuView(session).managerMenu();
+                } finally {
+                    session.close();
+                }
             }
         } catch (UserAlreadyExistsException e) {
             System.out.println("User already exists with email " + email);
+        } catch (ServiceBusyException e) {
+            System.out.println("Warning: The system is busy. Please try again shortly.");
         }
     }
 }
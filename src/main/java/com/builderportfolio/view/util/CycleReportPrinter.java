@@ -0,0 +1,54 @@
+package com.builderportfolio.view.util;
+
+import com.builderportfolio.analytics.CycleStats;
+import com.builderportfolio.analytics.DurationSketch;
+import com.builderportfolio.analytics.WeeklyCounts;
+
+import java.time.Duration;
+
+/**
+ * Prints the cycle-time and throughput figures of one group of projects.
+ */
+public class CycleReportPrinter {
+
+    /**
+     * Weeks of completions shown.
+     */
+    public static final int WEEKS_SHOWN = 8;
+
+    /**
+     * Prints completed count, lead time and time in progress (median and 90th
+     * percentile) and completions for each of the last weeks.
+     *
+     * @param title heading for the group
+     * @param stats figures to print
+     */
+    public static void print(String title, CycleStats stats) {
+        System.out.println("-- " + title + " --");
+        if (stats.completed() == 0) {
+            System.out.println("No completed projects yet.");
+            return;
+        }
+        System.out.println("Completed projects: " + stats.completed());
+        System.out.println("Lead time:      " + summary(stats.leadTime()));
+        System.out.println("In progress:    " + summary(stats.inProgressTime()));
+
+        long now = System.currentTimeMillis();
+        long[] weeks = stats.completions().lastWeeks(WEEKS_SHOWN, now);
+        long currentWeek = WeeklyCounts.week(now);
+        StringBuilder line = new StringBuilder("Completions per week:");
+        for (int i = 0; i < weeks.length; i++) {
+            line.append(' ').append(WeeklyCounts.weekStart(currentWeek - weeks.length + 1 + i)).append('=').append(weeks[i]);
+        }
+        System.out.println(line);
+    }
+
+    private static String summary(DurationSketch sketch) {
+        return "median " + format(sketch.percentile(0.5)) + ", 90th percentile " + format(sketch.percentile(0.9))
+                + ", mean " + format(sketch.mean());
+    }
+
+    private static String format(Duration duration) {
+        return duration.toDays() + "d " + duration.toHoursPart() + "h " + duration.toMinutesPart() + "m";
+    }
+}
@@ -0,0 +1,34 @@
+package com.builderportfolio.view.util;
+
+/**
+ * One failed check of an input field, as reported by a {@link Validator}.
+ */
+public final class FieldError {
+
+    private final String field;
+    private final String message;
+
+    /**
+     * @param field   name of the field, e.g. an import column
+     * @param message what is wrong with it
+     */
+    public FieldError(String field, String message) {
+        this.field = field;
+        this.message = message;
+    }
+
+    /** @return name of the field */
+    public String getField() {
+        return field;
+    }
+
+    /** @return what is wrong with the field */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return field + ": " + message;
+    }
+}
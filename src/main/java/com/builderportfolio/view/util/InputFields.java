@@ -0,0 +1,144 @@
+package com.builderportfolio.view.util;
+
+import com.builderportfolio.model.Status;
+import com.builderportfolio.security.PasswordHasher;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Parsing and validation of the text fields a user or project is created from,
+ * shared by every input that arrives as named strings rather than through the
+ * console: API request bodies and bulk import rows.
+ * <p>
+ * All methods are static. Each one reports a bad value with an
+ * {@link IllegalArgumentException} whose message can be shown to the user as is.
+ */
+public class InputFields {
+
+    /** Hasher with the configured work factor, used to bound imported hashes. */
+    private static final PasswordHasher HASHER = new PasswordHasher();
+
+    /**
+     * Checks the fields of a new user, reporting every failure at once.
+     *
+     * @param validator validator to use; it is reset first
+     * @param email     email address
+     * @param phone     phone number
+     * @param password  plain-text password
+     * @throws IllegalArgumentException if any field is invalid
+     */
+    public static void validateUser(Validator validator, String email, String phone, String password) {
+        validateUser(validator, email, phone, password, false);
+    }
+
+    /**
+     * Checks the fields of a new user, reporting every failure at once, and
+     * optionally accepts a password that is already a {@link PasswordHasher} hash,
+     * e.g. in users migrated from another installation. Such a password is
+     * stored as is; the password rules only apply to plain-text passwords, and
+     * a hash is only accepted if {@link PasswordHasher#isAcceptedHash} holds
+     * for the configured work factor.
+     *
+     * @param validator  validator to use; it is reset first
+     * @param email      email address
+     * @param phone      phone number
+     * @param password   plain-text password, or an encoded hash if {@code acceptHash}
+     * @param acceptHash whether an encoded hash is accepted in place of a plain-text password
+     * @throws IllegalArgumentException if any field is invalid
+     */
+    public static void validateUser(Validator validator, String email, String phone, String password,
+                                    boolean acceptHash) {
+        validator.reset()
+                .email("email", email, "Invalid email")
+                .phone("phone", phone, "Invalid phone number");
+        if (acceptHash && PasswordHasher.isHash(password)) {
+            validator.check(HASHER.isAcceptedHash(password), "password", "Invalid password hash");
+        } else {
+            validator.password("password", password, ValidationUtil.PASSWORD_RULES);
+        }
+        validator.throwIfInvalid();
+    }
+
+    /**
+     * Checks the fields of a new project that are not checked by the project
+     * itself, reporting every failure at once.
+     *
+     * @param validator   validator to use; it is reset first
+     * @param startDate   parsed start date
+     * @param endDate     parsed end date
+     * @param clientEmail email address of the client
+     * @param clientPhone phone number of the client
+     * @throws IllegalArgumentException if any field is invalid
+     */
+    public static void validateProject(Validator validator, LocalDate startDate, LocalDate endDate,
+                                       String clientEmail, String clientPhone) {
+        validator.reset()
+                .check(!endDate.isEqual(startDate), "endDate", "Start date and end date cannot be the same")
+                .email("clientEmail", clientEmail, "Invalid client email")
+                .phone("clientPhone", clientPhone, "Invalid client phone number")
+                .throwIfInvalid();
+    }
+
+    /**
+     * @param value years of experience, e.g. {@code "5"}
+     * @return the experience
+     * @throws IllegalArgumentException if the value is not a number or is negative
+     */
+    public static int parseExperience(String value) {
+        try {
+            int experience = Integer.parseInt(value == null ? "" : value.trim());
+            if (experience < 0) throw new IllegalArgumentException("Experience cannot be negative");
+            return experience;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid experience '" + value + "'");
+        }
+    }
+
+    /**
+     * @param value {@code 1} or {@code builder}, {@code 2}, {@code manager} or {@code project_manager}, in any case
+     * @return 1 for a builder, 2 for a project manager
+     * @throws IllegalArgumentException if the value names no role
+     */
+    public static int parseRole(String value) {
+        String role = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        switch (role) {
+            case "1", "builder" -> {
+                return 1;
+            }
+            case "2", "manager", "project_manager" -> {
+                return 2;
+            }
+            default -> throw new IllegalArgumentException("Invalid role '" + value + "'");
+        }
+    }
+
+    /**
+     * @param value date as YYYY-MM-DD
+     * @param label name of the field in error messages, e.g. {@code "start date"}
+     * @return the date
+     * @throws IllegalArgumentException if the value is missing or not a date
+     */
+    public static LocalDate parseDate(String value, String label) {
+        if (value == null || value.isEmpty()) throw new IllegalArgumentException("Missing " + label);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + label + " '" + value + "', expected YYYY-MM-DD");
+        }
+    }
+
+    /**
+     * @param value name of a {@link Status}, in any case
+     * @return the status
+     * @throws IllegalArgumentException if the value names no status
+     */
+    public static Status parseStatus(String value) {
+        try {
+            return Status.valueOf(value == null ? "" : value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.builderportfolio.view.util;
+
+import com.builderportfolio.service.ProjectPage;
+
+import java.util.function.BiFunction;
+
+/**
+ * Prints a project listing one page at a time.
+ * <p>
+ * Each page is fetched only when the user asks for it, so a user with
+ * thousands of projects sees the first page at once and the menus never
+ * hold more than one page in memory.
+ */
+public class PagedProjectPrinter {
+
+    /**
+     * Number of projects shown per page.
+     */
+    public static final int PAGE_SIZE = 20;
+
+    /**
+     * Prints pages until the last one or until the user stops.
+     *
+     * @param fetchPage    returns the page for a page size and cursor (null for the first page)
+     * @param emptyMessage printed when there are no projects at all
+     */
+    public static void print(BiFunction<Integer, String, ProjectPage> fetchPage, String emptyMessage) {
+        ProjectPage page = fetchPage.apply(PAGE_SIZE, null);
+        if (page.getProjects().isEmpty()) {
+            System.out.println(emptyMessage);
+            return;
+        }
+        int pageNumber = 1;
+        while (true) {
+            System.out.println("-- Page " + pageNumber + " --");
+            page.getProjects().forEach(System.out::println);
+            if (!page.hasNext()) return;
+
+            System.out.println("Press Enter for the next page, or type Q to go back:");
+            if (InputUtil.nextLine().trim().equalsIgnoreCase("q")) return;
+            page = fetchPage.apply(PAGE_SIZE, page.getNextCursor());
+            pageNumber++;
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package com.builderportfolio.view.util;
 
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.dao.StorageEngines;
 import com.builderportfolio.service.ProjectService;
 import com.builderportfolio.service.UserService;
+import com.builderportfolio.session.SessionStore;
 
 /**
  * Factory class that provides shared service instances for the application.
  * <p>
  * This ensures that a single instance of each service is used across
  * the entire system, avoiding repeated object creation.
+ * Both services are built over the storage engine selected by the
+ * {@code builderportfolio.storage} system property (see {@link StorageEngines}).
  */
 public class ServiceFactory {
+    /**
+     * Storage engine shared by all services.
+     */
+    public static final StorageEngine storageEngine = StorageEngines.fromConfiguration();
+
     /**
      * Shared instance of {@link UserService} used for all user-related operations.
      */
-    public static final UserService userService = new UserService();
+    public static final UserService userService = new UserService(storageEngine);
 
     /**
      * Shared instance of {@link ProjectService} used for all project-related operations.
      */
-    public static final ProjectService projectService = new ProjectService();
+    public static final ProjectService projectService = new ProjectService(storageEngine);
+
+    /**
+     * Sessions of the logged-in users of every front end, with expired ones
+     * evicted in the background.
+     */
+    public static final SessionStore sessionStore = new SessionStore().startEvictor();
 }
@@ -1,34 +1,68 @@
 package com.builderportfolio.view.util;
 
-import java.util.regex.Pattern;
-
 /**
  * Utility class for validating user input fields such as
  * email address, phone number, and password.
  * <p>
  * All methods are static and can be used without creating an object.
+ * Each check is a single pass over the characters that allocates nothing,
+ * so they are cheap enough to run on every row of a bulk import; they
+ * accept exactly what the regular expressions given on each method accept.
+ * To check several fields and collect every failure, use a {@link Validator}.
  */
 public class ValidationUtil {
 
+    /** Message for a password failing {@link #isValidPassword}. */
+    public static final String PASSWORD_RULES =
+            "Password must be at least 8 characters, contain 1 uppercase letter, 1 number, and only letters & digits";
+
     /**
      * Validates whether the given email address follows
-     * a standard email format.
+     * a standard email format, {@code [\w.-]+@[\w.-]+\.[A-Za-z]{2,}}.
      *
      * @param email the email string to validate
-     * @return true if email format is valid, false otherwise
+     * @return true if email format is valid, false otherwise (including null)
      */
     public static boolean isValidEmail(String email) {
-        return Pattern.matches("^[\\w.-]+@[\\w.-]+\\.[A-Za-z]{2,}$", email);
+        if (email == null) return false;
+        int length = email.length();
+        int at = -1;
+        int lastDot = -1;
+        // ASCII letters since the last dot, or -1 once anything else has followed it
+        int tld = -1;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) return false;
+                at = i;
+                lastDot = -1;
+                tld = -1;
+            } else if (c == '.') {
+                lastDot = i;
+                tld = 0;
+            } else if (isLetter(c)) {
+                if (tld >= 0) tld++;
+            } else if (isDigit(c) || c == '_' || c == '-') {
+                tld = -1;
+            } else {
+                return false;
+            }
+        }
+        return at >= 1 && lastDot >= at + 2 && tld >= 2;
     }
 
     /**
      * Validates whether the phone number contains exactly 10 digits.
      *
      * @param phone the phone number string
-     * @return true if phone number is valid, false otherwise
+     * @return true if phone number is valid, false otherwise (including null)
      */
     public static boolean isValidPhone(String phone) {
-        return phone.matches("\\d{10}");
+        if (phone == null || phone.length() != 10) return false;
+        for (int i = 0; i < 10; i++) {
+            if (!isDigit(phone.charAt(i))) return false;
+        }
+        return true;
     }
 
     /**
@@ -41,13 +75,26 @@ public class ValidationUtil {
      * </ul>
      *
      * @param password the password string to validate
-     * @return true if password meets all conditions, false otherwise
+     * @return true if password meets all conditions, false otherwise (including null)
      */
     public static boolean isValidPassword(String password) {
-        if (password.length() < 8) return false;
-        if (!Pattern.compile("[A-Z]").matcher(password).find()) return false;
-        if (!Pattern.compile("[0-9]").matcher(password).find()) return false;
-        return Pattern.compile("[a-zA-Z0-9]*").matcher(password).matches();
+        if (password == null || password.length() < 8) return false;
+        boolean upper = false;
+        boolean digit = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z') upper = true;
+            else if (isDigit(c)) digit = true;
+            else if (c < 'a' || c > 'z') return false;
+        }
+        return upper && digit;
     }
-}
 
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,112 @@
+package com.builderportfolio.view.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks several fields of one input, e.g. an import row or a request body,
+ * and reports every failure at once rather than only the first.
+ * <p>
+ * A validator is reusable: {@link #reset()} it before each input. It only
+ * allocates when a field fails, so one validator per worker can check rows
+ * in a tight loop. It is not thread-safe.
+ * <pre>
+ * validator.reset()
+ *         .email("email", email, "Invalid email")
+ *         .phone("phone", phone, "Invalid phone number")
+ *         .password("password", password, ValidationUtil.PASSWORD_RULES)
+ *         .throwIfInvalid();
+ * </pre>
+ */
+public class Validator {
+
+    private final List<FieldError> errors = new ArrayList<>(4);
+
+    /**
+     * Forgets the failures of the previous input.
+     *
+     * @return this validator
+     */
+    public Validator reset() {
+        errors.clear();
+        return this;
+    }
+
+    /**
+     * Checks an email address with {@link ValidationUtil#isValidEmail}.
+     *
+     * @param field   field name reported on failure
+     * @param value   value to check; null fails
+     * @param message message reported on failure
+     * @return this validator
+     */
+    public Validator email(String field, String value, String message) {
+        return check(ValidationUtil.isValidEmail(value), field, message);
+    }
+
+    /**
+     * Checks a phone number with {@link ValidationUtil#isValidPhone}.
+     *
+     * @param field   field name reported on failure
+     * @param value   value to check; null fails
+     * @param message message reported on failure
+     * @return this validator
+     */
+    public Validator phone(String field, String value, String message) {
+        return check(ValidationUtil.isValidPhone(value), field, message);
+    }
+
+    /**
+     * Checks a password with {@link ValidationUtil#isValidPassword}.
+     *
+     * @param field   field name reported on failure
+     * @param value   value to check; null fails
+     * @param message message reported on failure
+     * @return this validator
+     */
+    public Validator password(String field, String value, String message) {
+        return check(ValidationUtil.isValidPassword(value), field, message);
+    }
+
+    /**
+     * Records a failure unless a condition holds, for checks of other kinds.
+     *
+     * @param valid   result of the check
+     * @param field   field name reported on failure
+     * @param message message reported on failure
+     * @return this validator
+     */
+    public Validator check(boolean valid, String field, String message) {
+        if (!valid) errors.add(new FieldError(field, message));
+        return this;
+    }
+
+    /** @return true if no field has failed since the last reset */
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    /** @return the failures since the last reset, in the order checked */
+    public List<FieldError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /** @return the failure messages joined by "; ", or an empty string if none */
+    public String getMessage() {
+        if (errors.size() == 1) return errors.get(0).getMessage();
+        StringBuilder message = new StringBuilder();
+        for (FieldError error : errors) {
+            if (message.length() > 0) message.append("; ");
+            message.append(error.getMessage());
+        }
+        return message.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException with {@link #getMessage()} if any field has failed
+     */
+    public void throwIfInvalid() {
+        if (!errors.isEmpty()) throw new IllegalArgumentException(getMessage());
+    }
+}
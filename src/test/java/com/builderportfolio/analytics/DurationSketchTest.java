@@ -0,0 +1,103 @@
+package com.builderportfolio.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DurationSketch} and {@link WeeklyCounts}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Percentiles stay within the sketch's relative error of the exact values</li>
+ *     <li>Merged sketches answer as if every value had been recorded in one</li>
+ *     <li>Weekly counts fall into Monday-to-Sunday weeks and roll off after the window</li>
+ * </ul>
+ */
+class DurationSketchTest {
+
+    /**
+     * Tests percentiles of a wide, skewed set of durations against the exact values.
+     */
+    @Test
+    void testPercentiles_withinRelativeError() {
+        DurationSketch sketch = new DurationSketch();
+        Random random = new Random(42);
+        long[] seconds = new long[20_000];
+        for (int i = 0; i < seconds.length; i++) {
+            // From minutes to about a year, log-uniformly
+            seconds[i] = (long) Math.exp(4 + random.nextDouble() * 13);
+            sketch.record(Duration.ofSeconds(seconds[i]));
+        }
+        Arrays.sort(seconds);
+
+        assertEquals(seconds.length, sketch.count());
+        for (double quantile : new double[]{0.01, 0.25, 0.5, 0.9, 0.99, 1.0}) {
+            long exact = seconds[(int) Math.ceil(quantile * seconds.length) - 1];
+            long estimate = sketch.percentile(quantile).getSeconds();
+            assertEquals(exact, estimate, exact * 0.03, "quantile " + quantile);
+        }
+        assertEquals(Duration.ZERO, new DurationSketch().percentile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> sketch.percentile(1.5));
+    }
+
+    /**
+     * Tests that merging two sketches equals recording everything in one.
+     */
+    @Test
+    void testMerge_equalsSingleSketch() {
+        DurationSketch first = new DurationSketch();
+        DurationSketch second = new DurationSketch();
+        DurationSketch all = new DurationSketch();
+        for (int i = 1; i <= 1_000; i++) {
+            Duration value = Duration.ofHours(i);
+            (i % 2 == 0 ? first : second).record(value);
+            all.record(value);
+        }
+        first.merge(second);
+
+        assertEquals(all.count(), first.count());
+        assertEquals(all.mean(), first.mean());
+        assertEquals(all.percentile(0.5), first.percentile(0.5));
+        assertEquals(all.percentile(0.95), first.percentile(0.95));
+    }
+
+    /**
+     * Tests week boundaries, the rolling window and merging of weekly counts.
+     */
+    @Test
+    void testWeeklyCounts() {
+        long monday = millis(LocalDate.of(2025, 3, 3));
+        long sunday = millis(LocalDate.of(2025, 3, 9));
+        long nextMonday = millis(LocalDate.of(2025, 3, 10));
+        WeeklyCounts counts = new WeeklyCounts();
+        counts.record(monday);
+        counts.record(sunday);
+        counts.record(nextMonday);
+
+        assertEquals(LocalDate.of(2025, 3, 3), WeeklyCounts.weekStart(WeeklyCounts.week(sunday)));
+        assertArrayEquals(new long[]{0, 2, 1}, counts.lastWeeks(3, nextMonday));
+
+        // A year later the old weeks have rolled off and no longer count
+        long yearLater = millis(LocalDate.of(2026, 3, 16));
+        counts.record(yearLater);
+        counts.record(monday);
+        long[] window = counts.lastWeeks(WeeklyCounts.WEEKS, yearLater);
+        assertEquals(1, Arrays.stream(window).sum());
+
+        WeeklyCounts other = new WeeklyCounts();
+        other.record(yearLater);
+        counts.merge(other);
+        assertArrayEquals(new long[]{2}, counts.lastWeeks(1, yearLater));
+    }
+
+    private static long millis(LocalDate date) {
+        return date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,112 @@
+package com.builderportfolio.analytics;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.service.ProjectService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ProjectAnalytics}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Lead time and time in progress, including work put back to upcoming</li>
+ *     <li>Figures kept per builder, per manager and for the whole portfolio</li>
+ *     <li>Deleted projects drop their clock</li>
+ *     <li>ProjectService feeds the analytics, which a new service rebuilds from the status history</li>
+ * </ul>
+ */
+class ProjectAnalyticsTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    /**
+     * Tests lead time and time in progress of a project that went back to
+     * upcoming once before completing.
+     */
+    @Test
+    void testCompletion_recordsLeadAndInProgressTime() {
+        ProjectAnalytics analytics = new ProjectAnalytics();
+        analytics.created(1, Status.UPCOMING, 0);
+        analytics.transitioned(1, "B1", "P1", Status.UPCOMING, Status.IN_PROGRESS, 10 * HOUR);
+        analytics.transitioned(1, "B1", "P1", Status.IN_PROGRESS, Status.UPCOMING, 30 * HOUR);
+        analytics.transitioned(1, "B1", "P1", Status.UPCOMING, Status.IN_PROGRESS, 50 * HOUR);
+        assertEquals(1, analytics.openProjects());
+        analytics.transitioned(1, "B1", "P1", Status.IN_PROGRESS, Status.COMPLETED, 100 * HOUR);
+
+        CycleStats stats = analytics.overall();
+        assertEquals(1, stats.completed());
+        assertEquals(Duration.ofHours(100), stats.leadTime().mean());
+        assertEquals(Duration.ofHours(70), stats.inProgressTime().mean());
+        assertEquals(0, analytics.openProjects());
+    }
+
+    /**
+     * Tests that figures are split by builder and manager and summed for the portfolio.
+     */
+    @Test
+    void testGroups_byBuilderAndManager() {
+        ProjectAnalytics analytics = new ProjectAnalytics();
+        for (int i = 0; i < 6; i++) {
+            String builder = i < 4 ? "B1" : "B2";
+            String manager = i % 2 == 0 ? "P1" : "P2";
+            analytics.created(i, Status.IN_PROGRESS, 0);
+            analytics.transitioned(i, builder, manager, Status.IN_PROGRESS, Status.COMPLETED, (i + 1) * 24 * HOUR);
+        }
+        analytics.created(10, Status.UPCOMING, 0);
+        analytics.deleted(10);
+        analytics.created(11, Status.COMPLETED, 0);
+
+        assertEquals(6, analytics.overall().completed());
+        assertEquals(4, analytics.forBuilder("B1").completed());
+        assertEquals(2, analytics.forBuilder("B2").completed());
+        assertEquals(3, analytics.forManager("P1").completed());
+        assertEquals(0, analytics.forBuilder("B9").completed());
+        assertEquals(Duration.ofDays(5).plusHours(12), analytics.forBuilder("B2").inProgressTime().mean());
+        assertEquals(0, analytics.openProjects());
+
+        CycleStats merged = new CycleStats();
+        merged.merge(analytics.forBuilder("B1"));
+        merged.merge(analytics.forBuilder("B2"));
+        assertEquals(analytics.overall().completed(), merged.completed());
+        // Completions on days 1 to 6 after 1970-01-01, a Thursday: three that week, three the next
+        assertArrayEquals(new long[]{3, 3}, merged.completions().lastWeeks(2, 6 * 24 * HOUR));
+    }
+
+    /**
+     * Tests that the service reports status changes to its analytics and that
+     * a service created later rebuilds the same figures from the history.
+     */
+    @Test
+    void testServiceFeed_andRebuildFromHistory() {
+        StorageEngine engine = new InMemoryStorageEngine();
+        ProjectService service = new ProjectService(engine);
+        Client client = new Client("Charitha", "charitha@gmail.com", "1234567890");
+        service.createProject("Bridge", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                client, Status.UPCOMING, "B1", "P1");
+        service.createProject("Tunnel", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                client, Status.UPCOMING, "B1", "P1");
+        Project bridge = service.getManagerProjects("P1").get(0);
+        assertEquals(2, service.getAnalytics().openProjects());
+
+        assertTrue(service.updateProjectStatus("B1", bridge.getProjectId(), Status.IN_PROGRESS));
+        assertTrue(service.updateProjectStatus("B1", bridge.getProjectId(), Status.COMPLETED));
+
+        assertEquals(1, service.getAnalytics().overall().completed());
+        assertEquals(1, service.getAnalytics().forBuilder("B1").completed());
+        assertEquals(1, service.getAnalytics().forManager("P1").completed());
+        assertEquals(1, service.getAnalytics().openProjects());
+
+        ProjectAnalytics rebuilt = new ProjectService(engine).getAnalytics();
+        assertEquals(1, rebuilt.overall().completed());
+        assertEquals(1, rebuilt.forManager("P1").completed());
+    }
+}
@@ -0,0 +1,206 @@
+package com.builderportfolio.api;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.importer.JsonLinesRowParser;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.UserService;
+import com.builderportfolio.session.SessionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ApiServer}, over a loopback HTTP client.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Registration and login, with the registration rules and error statuses</li>
+ *     <li>Project endpoints need a token and the right role</li>
+ *     <li>Create, list, status change and delete of a project over HTTP</li>
+ *     <li>Concurrent clients are all served</li>
+ *     <li>Oversized request bodies are refused with 413, declared or chunked</li>
+ * </ul>
+ */
+class ApiServerTest {
+
+    private static final JsonLinesRowParser JSON = new JsonLinesRowParser();
+
+    private ApiServer server;
+    private HttpClient client;
+    private String base;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StorageEngine engine = new InMemoryStorageEngine();
+        server = new ApiServer(new UserService(engine), new ProjectService(engine), new SessionStore(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        base = "http://127.0.0.1:" + server.port() + "/api";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /** @return the new user's ID */
+    private String register(String name, String email, String role) throws Exception {
+        HttpResponse<String> response = send("POST", "/users", null, "{\"name\":\"" + name + "\",\"email\":\"" + email
+                + "\",\"phone\":\"9876543210\",\"experience\":3,\"role\":\"" + role + "\",\"password\":\"Passw0rd\"}");
+        assertEquals(201, response.statusCode(), response.body());
+        return JSON.parse(response.body()).get("userId");
+    }
+
+    /** @return the session token */
+    private String login(String userId) throws Exception {
+        HttpResponse<String> response = send("POST", "/login", null,
+                "{\"userId\":\"" + userId + "\",\"password\":\"Passw0rd\"}");
+        assertEquals(200, response.statusCode(), response.body());
+        return JSON.parse(response.body()).get("token");
+    }
+
+    private static String projectBody(String builderId) {
+        return "{\"name\":\"Tower\",\"description\":\"Ten floors\",\"startDate\":\"2025-01-01\",\"endDate\":\"2025-12-31\","
+                + "\"clientName\":\"Acme\",\"clientEmail\":\"acme@example.com\",\"clientPhone\":\"9876543210\","
+                + "\"builderId\":\"" + builderId + "\"}";
+    }
+
+    /**
+     * Tests registration and login, including their failures.
+     */
+    @Test
+    void testRegisterAndLogin() throws Exception {
+        String builderId = register("Ravi", "ravi@example.com", "builder");
+        Map<String, String> user = JSON.parse(send("POST", "/login", null,
+                "{\"userId\":\"" + builderId + "\",\"password\":\"Passw0rd\"}").body());
+        assertEquals(builderId, user.get("userId"));
+        assertEquals("builder", user.get("role"));
+        assertNotNull(user.get("token"));
+
+        assertEquals(409, send("POST", "/users", null, "{\"name\":\"Ravi\",\"email\":\"ravi@example.com\","
+                + "\"phone\":\"9876543210\",\"experience\":3,\"role\":\"builder\",\"password\":\"Passw0rd\"}").statusCode());
+        assertEquals(400, send("POST", "/users", null, "{\"name\":\"Ravi\",\"email\":\"not-an-email\","
+                + "\"phone\":\"9876543210\",\"experience\":3,\"role\":\"builder\",\"password\":\"Passw0rd\"}").statusCode());
+        assertEquals(400, send("POST", "/users", null, "{\"name\":").statusCode());
+        assertEquals(401, send("POST", "/login", null,
+                "{\"userId\":\"" + builderId + "\",\"password\":\"Wrong0ne\"}").statusCode());
+        assertEquals(401, send("POST", "/login", null, "{\"userId\":\"B999\",\"password\":\"Passw0rd\"}").statusCode());
+        assertEquals(405, send("GET", "/login", null, null).statusCode());
+    }
+
+    /**
+     * Tests a project's life over HTTP, with the token and role checks.
+     */
+    @Test
+    void testProjectLifecycle() throws Exception {
+        String managerToken = login(register("Meera", "meera@example.com", "manager"));
+        String builderId = register("Ravi", "ravi@example.com", "builder");
+        String builderToken = login(builderId);
+
+        assertEquals(401, send("GET", "/projects", null, null).statusCode());
+        assertEquals(401, send("GET", "/projects", "bogus", null).statusCode());
+        assertEquals(403, send("POST", "/projects", builderToken, projectBody(builderId)).statusCode());
+        assertEquals(400, send("POST", "/projects", managerToken, projectBody("B999")).statusCode());
+
+        HttpResponse<String> created = send("POST", "/projects", managerToken, projectBody(builderId));
+        assertEquals(201, created.statusCode(), created.body());
+        Map<String, String> project = JSON.parse(created.body());
+        String projectId = project.get("projectId");
+        assertEquals("UPCOMING", project.get("status"));
+        assertEquals(builderId, project.get("builderId"));
+
+        HttpResponse<String> listed = send("GET", "/projects", builderToken, null);
+        assertEquals(200, listed.statusCode());
+        assertTrue(listed.body().contains("\"projectId\":" + projectId + ","));
+
+        assertEquals(200, send("PATCH", "/projects/" + projectId, builderToken, "{\"status\":\"in_progress\"}").statusCode());
+        assertEquals(409, send("PATCH", "/projects/" + projectId, builderToken,
+                "{\"status\":\"COMPLETED\",\"expectedStatus\":\"UPCOMING\"}").statusCode());
+        assertEquals(403, send("PATCH", "/projects/" + projectId, managerToken, "{\"status\":\"COMPLETED\"}").statusCode());
+        assertTrue(send("GET", "/projects?status=IN_PROGRESS", managerToken, null).body().contains("\"name\":\"Tower\""));
+        assertEquals("{\"projects\":[]}", send("GET", "/projects?status=COMPLETED", managerToken, null).body());
+
+        assertEquals(200, send("DELETE", "/projects/" + projectId, managerToken, null).statusCode());
+        assertEquals(404, send("DELETE", "/projects/" + projectId, managerToken, null).statusCode());
+        assertEquals(404, send("DELETE", "/projects/abc", managerToken, null).statusCode());
+
+        assertEquals(200, send("POST", "/logout", managerToken, null).statusCode());
+        assertEquals(401, send("GET", "/projects", managerToken, null).statusCode());
+    }
+
+    /**
+     * Tests that many clients at once are all answered.
+     */
+    @Test
+    void testConcurrentClients() throws Exception {
+        String managerToken = login(register("Meera", "meera@example.com", "manager"));
+        String builderId = register("Ravi", "ravi@example.com", "builder");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(201, send("POST", "/projects", managerToken, projectBody(builderId)).statusCode());
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                results.add(clients.submit(() -> {
+                    int ok = 0;
+                    for (int i = 0; i < 100; i++) {
+                        HttpResponse<String> response = send("GET", "/projects", managerToken, null);
+                        if (response.statusCode() == 200 && response.body().split("\"projectId\"").length == 6) ok++;
+                    }
+                    return ok;
+                }));
+            }
+            for (Future<Integer> result : results) assertEquals(100, result.get());
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a body over the limit is refused whether its length is declared
+     * or it arrives chunked, and that the server still serves the next request.
+     */
+    @Test
+    void testOversizedBody() throws Exception {
+        String padding = "x".repeat(ApiServer.MAX_BODY_BYTES);
+        String body = "{\"name\":\"" + padding + "\"}";
+
+        HttpResponse<String> declared = send("POST", "/users", null, body);
+        assertEquals(413, declared.statusCode(), declared.body());
+
+        HttpRequest chunked = HttpRequest.newBuilder(URI.create(base + "/users"))
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(body.getBytes())))
+                .build();
+        assertEquals(413, client.send(chunked, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        register("Ravi", "ravi@example.com", "builder");
+    }
+}
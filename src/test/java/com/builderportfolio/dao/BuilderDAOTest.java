@@ -3,8 +3,6 @@ package com.builderportfolio.dao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.List;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -43,7 +41,7 @@ class BuilderDAOTest {
     }
 
     /**
-     * Tests adding projects to an existing builder and validates the project list.
+     * Tests adding projects to an existing builder and validates the project set.
      */
     @Test
     void testAddProjectToBuilder_success() {
@@ -52,7 +50,7 @@ class BuilderDAOTest {
         BuilderDAO.addProjectToBuilder("B1", 1L);
         BuilderDAO.addProjectToBuilder("B1", 2L);
 
-        List<Long> projects = BuilderDAO.getProjectIds("B1");
+        ConcurrentLongSet projects = BuilderDAO.getProjectIds("B1");
 
         assertEquals(2, projects.size());
         assertTrue(projects.contains(1L));
@@ -67,20 +65,20 @@ class BuilderDAOTest {
     void testAddProjectToBuilder_withoutCreate_shouldAutoCreate() {
         BuilderDAO.addProjectToBuilder("B2", 10L);
 
-        List<Long> projects = BuilderDAO.getProjectIds("B2");
+        ConcurrentLongSet projects = BuilderDAO.getProjectIds("B2");
 
         assertEquals(1, projects.size());
-        assertEquals(10L, projects.get(0));
+        assertTrue(projects.contains(10L));
         assertTrue(BuilderDAO.builderExists("B2"));
     }
 
     /**
      * Tests getting project IDs for a builder that does not exist.
-     * Should return an empty list.
+     * Should return an empty set.
      */
     @Test
     void testGetProjectIds_forNonExistingBuilder() {
-        List<Long> projects = BuilderDAO.getProjectIds("UNKNOWN");
+        ConcurrentLongSet projects = BuilderDAO.getProjectIds("UNKNOWN");
 
         assertNotNull(projects);
         assertTrue(projects.isEmpty());
@@ -97,7 +95,7 @@ class BuilderDAOTest {
 
         BuilderDAO.removeProjectFromBuilder("B3", 100L);
 
-        List<Long> projects = BuilderDAO.getProjectIds("B3");
+        ConcurrentLongSet projects = BuilderDAO.getProjectIds("B3");
 
         assertEquals(1, projects.size());
         assertFalse(projects.contains(100L));
@@ -117,7 +115,7 @@ class BuilderDAOTest {
 
     /**
      * Tests adding duplicate project IDs to a builder.
-     * Both entries should be stored.
+     * The project is stored once, as the IDs form a set.
      */
     @Test
     void testAddDuplicateProject() {
@@ -125,7 +123,7 @@ class BuilderDAOTest {
         BuilderDAO.addProjectToBuilder("B1", 1L);
         BuilderDAO.addProjectToBuilder("B1", 1L);
 
-        assertEquals(2, BuilderDAO.getProjectIds("B1").size());
+        assertEquals(1, BuilderDAO.getProjectIds("B1").size());
     }
 
     /**
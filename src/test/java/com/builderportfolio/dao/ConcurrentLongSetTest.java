@@ -0,0 +1,142 @@
+package com.builderportfolio.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ConcurrentLongSet}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Add, remove and contains, including the value 0</li>
+ *     <li>Duplicates are stored once</li>
+ *     <li>Growth and removal keep every value reachable</li>
+ *     <li>Iteration visits each value exactly once</li>
+ *     <li>Concurrent adds and removes from several threads</li>
+ * </ul>
+ */
+class ConcurrentLongSetTest {
+
+    /**
+     * Tests basic add, contains and remove.
+     */
+    @Test
+    void testAddContainsRemove() {
+        ConcurrentLongSet set = new ConcurrentLongSet();
+
+        assertTrue(set.add(5L));
+        assertFalse(set.add(5L));
+        assertTrue(set.contains(5L));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove(5L));
+        assertFalse(set.remove(5L));
+        assertFalse(set.contains(5L));
+        assertTrue(set.isEmpty());
+    }
+
+    /**
+     * Tests that 0 and negative values are ordinary members.
+     */
+    @Test
+    void testZeroAndNegativeValues() {
+        ConcurrentLongSet set = new ConcurrentLongSet();
+        set.add(0L);
+        set.add(-7L);
+
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(-7L));
+        assertEquals(2, set.size());
+
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(new long[]{-7L, 0L}, values);
+
+        assertTrue(set.remove(0L));
+        assertFalse(set.contains(0L));
+        assertEquals(1, set.size());
+    }
+
+    /**
+     * Tests random adds and removes against {@link HashSet}, across many resizes.
+     */
+    @Test
+    void testRandomOperations_matchHashSet() {
+        ConcurrentLongSet set = new ConcurrentLongSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long value = random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long value = 0; value < 20_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value), "value " + value);
+        }
+    }
+
+    /**
+     * Tests that forEach visits every value once.
+     */
+    @Test
+    void testForEach_visitsEachValueOnce() {
+        ConcurrentLongSet set = new ConcurrentLongSet();
+        for (long value = 1; value <= 1_000; value++) {
+            set.add(value);
+        }
+        set.remove(500L);
+
+        long[] sum = new long[1];
+        int[] visited = new int[1];
+        set.forEach(value -> {
+            sum[0] += value;
+            visited[0]++;
+        });
+
+        assertEquals(999, visited[0]);
+        assertEquals(1_000L * 1_001 / 2 - 500, sum[0]);
+    }
+
+    /**
+     * Tests that adds and removes from 8 threads leave exactly the expected values.
+     */
+    @Test
+    void testConcurrentAddRemove() throws InterruptedException {
+        ConcurrentLongSet set = new ConcurrentLongSet();
+        int threads = 8;
+        int perThread = 50_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            pool.submit(() -> {
+                for (long value = base; value < base + perThread; value++) {
+                    set.add(value);
+                    if (value % 2 == 1) set.remove(value);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread / 2, set.size());
+        for (long value = 0; value < (long) threads * perThread; value++) {
+            assertEquals(value % 2 == 0, set.contains(value));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DateRangeIndex}, maintained by {@link InMemoryProjectStore}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Overlap queries include projects spanning, starting in and ending in the window</li>
+ *     <li>Deadline windows select projects by end date only</li>
+ *     <li>Date updates, overwrites and removals re-index the project</li>
+ *     <li>A date changed outside the store never leaves an entry that cannot be removed</li>
+ *     <li>Queries agree with a full scan over randomly dated projects</li>
+ *     <li>A single very long project neither hides nor pulls in short ones</li>
+ * </ul>
+ */
+class DateRangeIndexTest {
+
+    private InMemoryProjectStore store;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryProjectStore();
+        client = new Client("Charitha", "charitha@gmail.com", "1234567890");
+    }
+
+    private long save(LocalDate start, LocalDate end) {
+        Project project = new Project("Project", "desc", start, end, client, Status.UPCOMING, "B1", "P1");
+        store.saveProject(project);
+        return project.getProjectId();
+    }
+
+    private long[] overlapping(LocalDate from, LocalDate to) {
+        List<Long> ids = new ArrayList<>();
+        store.dateRangeIndex().forEachOverlapping(from, to, ids::add);
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private long[] endingBetween(LocalDate from, LocalDate to) {
+        List<Long> ids = new ArrayList<>();
+        store.dateRangeIndex().forEachEndingBetween(from, to, ids::add);
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Tests the overlap query against every way an interval can meet the window.
+     */
+    @Test
+    void testOverlapping_coversEveryCase() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        long spanning = save(LocalDate.of(2024, 1, 1), LocalDate.of(2026, 1, 1));
+        long startsInside = save(LocalDate.of(2025, 3, 15), LocalDate.of(2025, 8, 1));
+        long endsInside = save(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 1));
+        long inside = save(LocalDate.of(2025, 3, 31), LocalDate.of(2025, 3, 31));
+        save(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28));
+        save(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 5, 1));
+
+        assertArrayEquals(new long[]{spanning, startsInside, endsInside, inside}, overlapping(from, to));
+        assertArrayEquals(new long[]{spanning}, overlapping(LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 31)));
+        assertEquals(0, overlapping(to, from).length);
+        assertEquals(6, store.dateRangeIndex().size());
+    }
+
+    /**
+     * Tests that a deadline window only looks at end dates, inclusive at both ends.
+     */
+    @Test
+    void testEndingBetween_selectsByEndDate() {
+        long a = save(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1));
+        long b = save(LocalDate.of(2025, 5, 1), LocalDate.of(2025, 6, 14));
+        save(LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 15));
+
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        assertArrayEquals(new long[]{a, b}, endingBetween(today, today.plusDays(13)));
+        assertArrayEquals(new long[]{a}, endingBetween(today, today));
+        assertEquals(0, endingBetween(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 12, 31)).length);
+    }
+
+    /**
+     * Tests that date updates, overwrites, removal and clear keep the index in step.
+     */
+    @Test
+    void testMutations_reindex() {
+        long id = save(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        LocalDate july = LocalDate.of(2025, 7, 1);
+
+        assertTrue(store.updateDates(id, july, july.plusDays(30)));
+        assertEquals(0, overlapping(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)).length);
+        assertArrayEquals(new long[]{id}, endingBetween(july, july.plusDays(30)));
+        assertFalse(store.updateDates(id + 1_000_000, july, july));
+
+        store.saveProject(Project.restore(id, "Project", "desc", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1),
+                client, Status.UPCOMING, "B1", "P1"));
+        assertEquals(0, endingBetween(july, july.plusDays(30)).length);
+        assertArrayEquals(new long[]{id}, overlapping(LocalDate.of(2026, 1, 15), LocalDate.of(2026, 1, 15)));
+        assertEquals(1, store.dateRangeIndex().size());
+
+        store.removeProject(id);
+        assertEquals(0, overlapping(LocalDate.MIN.plusYears(1), LocalDate.MAX.minusYears(1)).length);
+        assertEquals(0, store.dateRangeIndex().size());
+
+        save(july, july);
+        store.clear();
+        assertEquals(0, endingBetween(july, july).length);
+    }
+
+    /**
+     * Tests that changing a stored project's dates directly still lets the
+     * store remove it, since the index remembers the interval it used.
+     */
+    @Test
+    void testDirectSetterChange_doesNotStrandEntry() {
+        long id = save(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        Project project = store.getProjectById(id);
+        project.setStartDate(LocalDate.of(2025, 5, 1));
+        project.setEndDate(LocalDate.of(2025, 5, 31));
+
+        store.removeProject(id);
+
+        assertEquals(0, store.dateRangeIndex().size());
+        assertEquals(0, overlapping(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)).length);
+    }
+
+    /**
+     * Tests both queries against a brute-force scan over random intervals,
+     * with enough projects per start day to exercise the bucket ordering.
+     */
+    @Test
+    void testQueries_matchFullScan() {
+        Random random = new Random(42);
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            LocalDate start = base.plusDays(random.nextInt(200));
+            Project project = new Project("Project", "desc", start, start.plusDays(random.nextInt(120)),
+                    client, Status.UPCOMING, "B1", "P1");
+            store.saveProject(project);
+            projects.add(project);
+        }
+        for (int i = 0; i < projects.size(); i += 3) {
+            store.removeProject(projects.get(i).getProjectId());
+        }
+
+        for (int q = 0; q < 50; q++) {
+            LocalDate from = base.plusDays(random.nextInt(320) - 10);
+            LocalDate to = from.plusDays(random.nextInt(40));
+            List<Long> expectedOverlap = new ArrayList<>();
+            List<Long> expectedEnding = new ArrayList<>();
+            store.forEach(p -> {
+                if (!p.getEndDate().isBefore(from) && !p.getStartDate().isAfter(to)) expectedOverlap.add(p.getProjectId());
+                if (!p.getEndDate().isBefore(from) && !p.getEndDate().isAfter(to)) expectedEnding.add(p.getProjectId());
+            });
+            assertArrayEquals(expectedOverlap.stream().mapToLong(Long::longValue).sorted().toArray(), overlapping(from, to));
+            assertArrayEquals(expectedEnding.stream().mapToLong(Long::longValue).sorted().toArray(), endingBetween(from, to));
+        }
+    }
+
+    /**
+     * Tests that one project spanning years is found by every window it covers
+     * while short projects are still selected by their own dates, and that the
+     * tree empties fully as projects are removed.
+     */
+    @Test
+    void testLongProject_amongShortOnes() {
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        Project longRunning = new Project("Long", "desc", base.minusYears(10), base.plusYears(10),
+                client, Status.IN_PROGRESS, "B1", "P1");
+        store.saveProject(longRunning);
+        List<Project> shortOnes = new ArrayList<>();
+        for (int i = 0; i < 365; i++) {
+            Project project = new Project("Short", "desc", base.plusDays(i), base.plusDays(i + 1),
+                    client, Status.UPCOMING, "B1", "P1");
+            store.saveProject(project);
+            shortOnes.add(project);
+        }
+
+        assertArrayEquals(new long[]{longRunning.getProjectId()}, overlapping(base.minusYears(5), base.minusYears(5)));
+        long[] june = overlapping(base.plusDays(150), base.plusDays(151));
+        assertArrayEquals(new long[]{longRunning.getProjectId(), shortOnes.get(149).getProjectId(),
+                shortOnes.get(150).getProjectId(), shortOnes.get(151).getProjectId()}, june);
+
+        store.removeProject(longRunning.getProjectId());
+        assertEquals(0, overlapping(base.minusYears(5), base.minusYears(5)).length);
+        for (Project project : shortOnes) store.removeProject(project.getProjectId());
+        assertEquals(0, overlapping(base.minusYears(20), base.plusYears(20)).length);
+        assertEquals(0, store.dateRangeIndex().size());
+    }
+}
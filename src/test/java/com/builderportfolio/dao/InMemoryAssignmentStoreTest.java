@@ -0,0 +1,123 @@
+package com.builderportfolio.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link InMemoryAssignmentStore}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>The membership set and the ordered index agree through random adds, batches and removes</li>
+ *     <li>IDs after any position are copied in ascending order, present or not</li>
+ *     <li>Concurrent adds and removes from several threads leave both in agreement</li>
+ * </ul>
+ */
+class InMemoryAssignmentStoreTest {
+
+    /**
+     * Tests random adds, batch adds and removes against {@link TreeSet}.
+     */
+    @Test
+    void testRandomOperations_matchTreeSet() {
+        InMemoryAssignmentStore store = new InMemoryAssignmentStore();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long projectId = 1 + random.nextInt(2_000);
+            int op = random.nextInt(10);
+            if (op < 3) {
+                expected.remove(projectId);
+                store.removeProjectFromManager("P1", projectId);
+            } else if (op == 3) {
+                long[] batch = {projectId, projectId + 7, projectId};
+                for (long id : batch) expected.add(id);
+                store.addProjectsToManager("P1", batch);
+            } else {
+                expected.add(projectId);
+                store.addProjectToManager("P1", projectId);
+            }
+        }
+
+        ConcurrentLongSet ids = store.getManagerProjectIds("P1");
+        assertEquals(expected.size(), ids.size());
+        for (long id : expected) assertTrue(ids.contains(id));
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), pageAll(store, "P1", 37));
+    }
+
+    /**
+     * Tests reading IDs after present and absent positions, for known and unknown users.
+     */
+    @Test
+    void testProjectIdsAfter() {
+        InMemoryAssignmentStore store = new InMemoryAssignmentStore();
+        store.addProjectsToBuilder("B1", new long[]{130, 2, 65, 1, 129});
+        long[] into = new long[3];
+
+        assertEquals(3, store.builderProjectIdsAfter("B1", 0, into));
+        assertArrayEquals(new long[]{1, 2, 65}, into);
+        assertEquals(2, store.builderProjectIdsAfter("B1", 65, into));
+        assertArrayEquals(new long[]{129, 130}, Arrays.copyOf(into, 2));
+        assertEquals(1, store.builderProjectIdsAfter("B1", 129, into));
+        assertEquals(0, store.builderProjectIdsAfter("B1", 130, into));
+        assertEquals(0, store.builderProjectIdsAfter("B9", 0, into));
+        assertEquals(0, store.managerProjectIdsAfter("P9", 0, into));
+    }
+
+    /**
+     * Tests that threads adding and removing IDs from interleaved ranges, as
+     * threads leasing separate ID blocks do, leave the set and the ordered index equal.
+     */
+    @Test
+    void testConcurrentUpdates_keepIndexInAgreement() throws InterruptedException {
+        InMemoryAssignmentStore store = new InMemoryAssignmentStore();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            long base = 1 + 64L * t;
+            pool.execute(() -> {
+                for (int round = 0; round < 200; round++) {
+                    for (long id = base; id < base + 64; id++) {
+                        store.addProjectToBuilder("B1", id + 512L * round);
+                    }
+                    for (long id = base; id < base + 64; id += 2) {
+                        store.removeProjectFromBuilder("B1", id + 512L * round);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        long[] ordered = pageAll(store, "B1", 100);
+        long[] members = store.getBuilderProjectIds("B1").toArray();
+        Arrays.sort(members);
+        assertEquals(threads * 200 * 32, ordered.length);
+        assertArrayEquals(members, ordered);
+    }
+
+    /** @return every ID read page by page through the ordered index */
+    private static long[] pageAll(InMemoryAssignmentStore store, String userId, int pageSize) {
+        long[] all = new long[0];
+        long[] page = new long[pageSize];
+        long after = 0;
+        while (true) {
+            int count = userId.startsWith("B")
+                    ? store.builderProjectIdsAfter(userId, after, page)
+                    : store.managerProjectIdsAfter(userId, after, page);
+            all = Arrays.copyOf(all, all.length + count);
+            System.arraycopy(page, 0, all, all.length - count, count);
+            if (count < pageSize) return all;
+            after = page[count - 1];
+        }
+    }
+}
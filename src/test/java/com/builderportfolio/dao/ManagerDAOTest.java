@@ -2,8 +2,6 @@ package com.builderportfolio.dao;
 
 import org.junit.jupiter.api.*;
 
-import java.util.List;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -44,7 +42,7 @@ class ManagerDAOTest {
     void testCreateProjectManager_success() {
         ManagerDAO.createProjectManager("P1");
         assertTrue(ManagerDAO.projectManagerExists("P1"));
-        List<Long> projects = ManagerDAO.getProjectIds("P1");
+        ConcurrentLongSet projects = ManagerDAO.getProjectIds("P1");
         assertNotNull(projects);
         assertTrue(projects.isEmpty());
     }
@@ -59,7 +57,7 @@ class ManagerDAOTest {
         ManagerDAO.addProjectToManager("P1", 1L);
         ManagerDAO.addProjectToManager("P1", 2L);
 
-        List<Long> projects = ManagerDAO.getProjectIds("P1");
+        ConcurrentLongSet projects = ManagerDAO.getProjectIds("P1");
 
         assertEquals(2, projects.size());
         assertTrue(projects.contains(1L));
@@ -74,20 +72,20 @@ class ManagerDAOTest {
     void testAddProjectToManager_withoutCreate_shouldAutoCreateManager() {
         ManagerDAO.addProjectToManager("P2", 10L);
 
-        List<Long> projects = ManagerDAO.getProjectIds("P2");
+        ConcurrentLongSet projects = ManagerDAO.getProjectIds("P2");
 
         assertEquals(1, projects.size());
-        assertEquals(10L, projects.get(0));
+        assertTrue(projects.contains(10L));
         assertTrue(ManagerDAO.projectManagerExists("P2"));
     }
 
     /**
      * Tests fetching project IDs for a non-existent manager.
-     * Should return an empty list.
+     * Should return an empty set.
      */
     @Test
     void testGetProjectIds_forNonExistingManager() {
-        List<Long> projects = ManagerDAO.getProjectIds("UNKNOWN");
+        ConcurrentLongSet projects = ManagerDAO.getProjectIds("UNKNOWN");
 
         assertNotNull(projects);
         assertTrue(projects.isEmpty());
@@ -104,7 +102,7 @@ class ManagerDAOTest {
 
         ManagerDAO.removeProjectFromManager("P3", 100L);
 
-        List<Long> projects = ManagerDAO.getProjectIds("P3");
+        ConcurrentLongSet projects = ManagerDAO.getProjectIds("P3");
 
         assertEquals(1, projects.size());
         assertFalse(projects.contains(100L));
@@ -121,7 +119,7 @@ class ManagerDAOTest {
 
         ManagerDAO.removeProjectFromManager("P4", 999L);
 
-        List<Long> projects = ManagerDAO.getProjectIds("P4");
+        ConcurrentLongSet projects = ManagerDAO.getProjectIds("P4");
 
         assertEquals(1, projects.size());
         assertTrue(projects.contains(300L));
@@ -140,7 +138,7 @@ class ManagerDAOTest {
 
     /**
      * Tests adding duplicate projects to a manager.
-     * Both entries should be stored.
+     * The project is stored once, as the IDs form a set.
      */
     @Test
     void testAddDuplicateProject() {
@@ -148,7 +146,7 @@ class ManagerDAOTest {
         ManagerDAO.addProjectToManager("B1", 1L);
         ManagerDAO.addProjectToManager("B1", 1L);
 
-        assertEquals(2, ManagerDAO.getProjectIds("B1").size());
+        assertEquals(1, ManagerDAO.getProjectIds("B1").size());
     }
 
     /**
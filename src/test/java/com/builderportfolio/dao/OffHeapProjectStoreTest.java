@@ -0,0 +1,231 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OffHeapProjectStore} and {@link ProjectRecord}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Every field survives the round trip through the off-heap record, including non-ASCII text</li>
+ *     <li>Status, date and detail updates change the record and its indexes</li>
+ *     <li>Removed slots are reused and repeated strings are stored once</li>
+ *     <li>Random saves, updates and removes across several chunks match an in-memory store</li>
+ *     <li>The flyweight reads the same values as the materialised projects</li>
+ * </ul>
+ */
+class OffHeapProjectStoreTest {
+
+    private OffHeapProjectStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapProjectStore();
+    }
+
+    private Project project(String name, String builderId, String managerId) {
+        return new Project(name, "Description of " + name, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30),
+                new Client("Charitha", "charitha@gmail.com", "1234567890"), Status.UPCOMING, builderId, managerId);
+    }
+
+    private static void assertSameProject(Project expected, Project actual) {
+        assertEquals(expected.getProjectId(), actual.getProjectId());
+        assertEquals(expected.getProjectName(), actual.getProjectName());
+        assertEquals(expected.getProjectDescription(), actual.getProjectDescription());
+        assertEquals(expected.getStartDate(), actual.getStartDate());
+        assertEquals(expected.getEndDate(), actual.getEndDate());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getBuilderId(), actual.getBuilderId());
+        assertEquals(expected.getProjectManagerId(), actual.getProjectManagerId());
+        assertEquals(expected.getAssignedClient().getClientId(), actual.getAssignedClient().getClientId());
+        assertEquals(expected.getAssignedClient().getClientName(), actual.getAssignedClient().getClientName());
+        assertEquals(expected.getAssignedClient().getClientEmail(), actual.getAssignedClient().getClientEmail());
+        assertEquals(expected.getAssignedClient().getClientPhoneNo(), actual.getAssignedClient().getClientPhoneNo());
+    }
+
+    /**
+     * Tests that a saved project reads back field for field as a new instance.
+     */
+    @Test
+    void testSaveAndGet_roundTrip() {
+        Project project = new Project("Pont Neuf – Phase 2", null, LocalDate.of(1999, 12, 31), LocalDate.of(2031, 2, 1),
+                new Client("Zoë Ω", "zoe@mail.com", "+94 77 123"), Status.IN_PROGRESS, "B1", "P1");
+        store.saveProject(project);
+
+        Project loaded = store.getProjectById(project.getProjectId());
+        assertNotSame(project, loaded);
+        assertSameProject(project, loaded);
+        assertNull(store.getProjectById(project.getProjectId() + 1_000_000));
+        assertEquals(1, store.size());
+    }
+
+    /**
+     * Tests that updates change the stored record and keep the indexes in step,
+     * while setters on a returned copy do not touch the store.
+     */
+    @Test
+    void testUpdates_changeRecordAndIndexes() {
+        Project project = project("Bridge", "B1", "P1");
+        store.saveProject(project);
+        long id = project.getProjectId();
+
+        store.getProjectById(id).setProjectName("Ignored");
+        assertEquals("Bridge", store.getProjectById(id).getProjectName());
+
+        assertTrue(store.transitionStatus(id, Status.UPCOMING, Status.COMPLETED, "B1", 1_000));
+        assertEquals(Status.COMPLETED, store.getProjectById(id).getStatus());
+        assertEquals(1, store.statusIndex().countForManager("P1", Status.COMPLETED));
+
+        assertTrue(store.updateDates(id, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)));
+        assertEquals(LocalDate.of(2026, 3, 31), store.getProjectById(id).getEndDate());
+        List<Long> active = new ArrayList<>();
+        store.dateRangeIndex().forEachOverlapping(LocalDate.of(2026, 3, 15), LocalDate.of(2026, 3, 15), active::add);
+        assertEquals(List.of(id), active);
+        assertThrows(IllegalArgumentException.class,
+                () -> store.updateDates(id, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 2, 1)));
+
+        assertTrue(store.updateDetails(id, "Tunnel", "Under the river", new Client("Acme", "a@b.com", "1234567890")));
+        assertEquals("Acme", store.getProjectById(id).getAssignedClient().getClientName());
+        assertArrayEquals(new long[]{id}, store.textIndex().search("tunnel acme", 10, x -> true));
+
+        assertFalse(store.transitionStatus(id + 1_000_000, Status.UPCOMING, Status.COMPLETED, "B1", 1_000));
+        assertFalse(store.updateDates(id + 1_000_000, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 2)));
+        assertFalse(store.updateDetails(id + 1_000_000, "X", "Y", new Client("Z", "z@z.com", "1234567890")));
+    }
+
+    /**
+     * Tests that removal frees the slot for reuse, clears the indexes and
+     * that repeated strings are not stored again.
+     */
+    @Test
+    void testRemove_reusesSpace() {
+        Project first = project("Bridge", "B1", "P1");
+        store.saveProject(first);
+        long reserved = store.offHeapBytes();
+
+        store.removeProject(first.getProjectId());
+        assertNull(store.getProjectById(first.getProjectId()));
+        assertEquals(0, store.size());
+        assertEquals(0, store.statusIndex().countForManager("P1", Status.UPCOMING));
+        assertEquals(0, store.textIndex().termCount());
+
+        for (int i = 0; i < 100; i++) {
+            Project removed = project("Bridge", "B1", "P1");
+            store.saveProject(removed);
+            store.saveProject(project("Bridge", "B1", "P1"));
+            store.removeProject(removed.getProjectId());
+        }
+        assertEquals(100, store.size());
+        assertEquals(reserved, store.offHeapBytes());
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.offHeapBytes());
+        store.saveProject(first);
+        assertSameProject(first, store.getProjectById(first.getProjectId()));
+    }
+
+    /**
+     * Tests random saves, updates and removes spanning several
+     * record chunks against an {@link InMemoryProjectStore}.
+     */
+    @Test
+    void testRandomOperations_matchInMemoryStore() {
+        InMemoryProjectStore expected = new InMemoryProjectStore();
+        Random random = new Random(11);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            Project project = project("Project " + random.nextInt(1_000), "B" + random.nextInt(20), "P" + random.nextInt(5));
+            store.saveProject(project);
+            expected.saveProject(Project.restore(project.getProjectId(), project.getProjectName(),
+                    project.getProjectDescription(), project.getStartDate(), project.getEndDate(),
+                    project.getAssignedClient(), project.getStatus(), project.getBuilderId(), project.getProjectManagerId()));
+            ids.add(project.getProjectId());
+        }
+        for (int i = 0; i < 30_000; i++) {
+            long id = ids.get(random.nextInt(ids.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    store.removeProject(id);
+                    expected.removeProject(id);
+                }
+                case 1 -> {
+                    Project current = expected.getProjectById(id);
+                    Status from = current == null ? Status.UPCOMING : current.getStatus();
+                    Status status = Status.values()[random.nextInt(Status.values().length)];
+                    assertEquals(expected.transitionStatus(id, from, status, "B1", i),
+                            store.transitionStatus(id, from, status, "B1", i));
+                }
+                case 2 -> {
+                    LocalDate start = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+                    LocalDate end = start.plusDays(random.nextInt(90));
+                    assertEquals(expected.updateDates(id, start, end), store.updateDates(id, start, end));
+                }
+                default -> {
+                    Client client = new Client("Client " + random.nextInt(50), "c@mail.com", "1234567890");
+                    String name = "Renamed " + random.nextInt(1_000);
+                    assertEquals(expected.updateDetails(id, name, "", client), store.updateDetails(id, name, "", client));
+                }
+            }
+        }
+
+        Map<Long, Project> all = new HashMap<>();
+        expected.forEach(p -> all.put(p.getProjectId(), p));
+        assertEquals(all.size(), store.size());
+        int[] visited = new int[1];
+        store.forEach(p -> {
+            assertSameProject(all.get(p.getProjectId()), p);
+            visited[0]++;
+        });
+        assertEquals(all.size(), visited[0]);
+        for (long id : ids) {
+            Project stored = store.getProjectById(id);
+            assertEquals(all.containsKey(id), stored != null);
+        }
+        for (Status status : Status.values()) {
+            assertEquals(expected.statusIndex().countForManager("P3", status), store.statusIndex().countForManager("P3", status));
+        }
+    }
+
+    /**
+     * Tests that the flyweight reads the same values as the materialised
+     * project and is rejected outside the callback.
+     */
+    @Test
+    void testForEachRecord_flyweight() {
+        for (int i = 0; i < 50; i++) {
+            store.saveProject(project("Bridge " + i, "B" + i % 3, "P1"));
+        }
+        List<ProjectRecord> seen = new ArrayList<>();
+        store.forEachRecord(record -> {
+            Project project = record.toProject();
+            assertEquals(project.getProjectId(), record.getProjectId());
+            assertEquals(project.getProjectName(), record.getProjectName());
+            assertEquals(project.getProjectDescription(), record.getProjectDescription());
+            assertEquals(project.getStartDate(), record.getStartDate());
+            assertEquals(project.getEndDate().toEpochDay(), record.getEndEpochDay());
+            assertEquals(project.getStatus(), record.getStatus());
+            assertEquals(project.getAssignedClient().getClientName(), record.getClientName());
+            assertEquals(project.getBuilderId(), record.getBuilderId());
+            assertEquals(project.getProjectManagerId(), record.getProjectManagerId());
+            seen.add(record);
+        });
+
+        assertEquals(50, seen.size());
+        assertSame(seen.get(0), seen.get(49));
+        assertThrows(IllegalStateException.class, () -> seen.get(0).getProjectId());
+    }
+}
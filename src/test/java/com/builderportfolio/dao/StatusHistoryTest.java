@@ -0,0 +1,122 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.StatusTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StatusHistory}, maintained by {@link InMemoryProjectStore}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Each project's transitions come back oldest first, with actor and time</li>
+ *     <li>Interleaved projects keep separate histories across many chunks</li>
+ *     <li>Refused transitions are not recorded and removal keeps the history</li>
+ *     <li>Clearing the store empties the history</li>
+ * </ul>
+ */
+class StatusHistoryTest {
+
+    private InMemoryProjectStore store;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryProjectStore();
+        client = new Client("Charitha", "charitha@gmail.com", "1234567890");
+    }
+
+    private long save(Status status) {
+        Project project = new Project("Project", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30),
+                client, status, "B1", "P1");
+        store.saveProject(project);
+        return project.getProjectId();
+    }
+
+    /**
+     * Tests that one project's transitions are returned in order with all their fields.
+     */
+    @Test
+    void testTransitionsOf_oldestFirst() {
+        long id = save(Status.UPCOMING);
+        assertTrue(store.transitionStatus(id, Status.UPCOMING, Status.IN_PROGRESS, "B1", 1_000));
+        assertTrue(store.transitionStatus(id, Status.IN_PROGRESS, Status.COMPLETED, "B2", 2_000));
+
+        List<StatusTransition> history = store.statusHistory().transitionsOf(id);
+        assertEquals(2, history.size());
+        assertEquals(id, history.get(0).getProjectId());
+        assertEquals(1_000, history.get(0).getTimestampMillis());
+        assertEquals("B1", history.get(0).getActorId());
+        assertEquals(Status.UPCOMING, history.get(0).getFrom());
+        assertEquals(Status.IN_PROGRESS, history.get(0).getTo());
+        assertEquals("B2", history.get(1).getActorId());
+        assertEquals(Status.COMPLETED, history.get(1).getTo());
+        assertEquals(Status.COMPLETED, store.getProjectById(id).getStatus());
+        assertEquals(1, store.statusIndex().count(Status.COMPLETED));
+    }
+
+    /**
+     * Tests that many interleaved projects, filling several chunks, each keep
+     * their own chain, and that a full walk sees entries in recording order.
+     */
+    @Test
+    void testInterleavedProjects_acrossChunks() {
+        StatusHistory history = new StatusHistory();
+        int projects = 7;
+        int perProject = 2_000;
+        for (int i = 0; i < perProject; i++) {
+            for (int p = 0; p < projects; p++) {
+                Status from = i % 2 == 0 ? Status.UPCOMING : Status.IN_PROGRESS;
+                Status to = i % 2 == 0 ? Status.IN_PROGRESS : Status.UPCOMING;
+                history.record(p, from, to, "B" + p, (long) i * projects + p);
+            }
+        }
+        history.record(99, null, Status.UPCOMING, "B99", 0);
+
+        assertEquals(projects * perProject + 1, history.size());
+        List<StatusTransition> third = history.transitionsOf(3);
+        assertEquals(perProject, third.size());
+        for (int i = 0; i < perProject; i++) {
+            assertEquals((long) i * projects + 3, third.get(i).getTimestampMillis());
+            assertEquals("B3", third.get(i).getActorId());
+        }
+        assertNull(history.transitionsOf(99).get(0).getFrom());
+
+        List<Long> timestamps = new ArrayList<>();
+        history.forEach((projectId, timestamp, actor, from, to) -> {
+            if (projectId != 99) timestamps.add(timestamp);
+        });
+        for (int i = 0; i < timestamps.size(); i++) {
+            assertEquals(i, timestamps.get(i));
+        }
+    }
+
+    /**
+     * Tests that a refused transition is not recorded and that removing a
+     * project keeps its history, while clearing the store empties it.
+     */
+    @Test
+    void testRefusedRemovedAndCleared() {
+        long id = save(Status.UPCOMING);
+        assertFalse(store.transitionStatus(id, Status.IN_PROGRESS, Status.COMPLETED, "B1", 1_000));
+        assertFalse(store.transitionStatus(id + 1_000_000, Status.UPCOMING, Status.IN_PROGRESS, "B1", 1_000));
+        assertEquals(0, store.statusHistory().size());
+
+        assertTrue(store.transitionStatus(id, Status.UPCOMING, Status.IN_PROGRESS, "B1", 1_000));
+        store.removeProject(id);
+        assertEquals(1, store.statusHistory().transitionsOf(id).size());
+
+        store.clear();
+        assertEquals(0, store.statusHistory().size());
+        assertTrue(store.statusHistory().transitionsOf(id).isEmpty());
+    }
+}
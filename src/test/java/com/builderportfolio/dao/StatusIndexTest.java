@@ -0,0 +1,172 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StatusIndex}, maintained by {@link InMemoryProjectStore}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Saving, status updates and removal keep overall, manager and builder counts right</li>
+ *     <li>ID walks return exactly the projects with the requested status</li>
+ *     <li>Overwriting a project re-indexes it under its new owner</li>
+ *     <li>Concurrent status updates leave counts that match the stored projects</li>
+ * </ul>
+ */
+class StatusIndexTest {
+
+    private InMemoryProjectStore store;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryProjectStore();
+        client = new Client("Charitha", "charitha@gmail.com", "1234567890");
+    }
+
+    private Project save(Status status, String builderId, String managerId) {
+        Project project = new Project("Project", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30),
+                client, status, builderId, managerId);
+        store.saveProject(project);
+        return project;
+    }
+
+    private long[] ids(Status status) {
+        List<Long> ids = new ArrayList<>();
+        store.statusIndex().forEach(status, ids::add);
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Tests counts after saves, status updates and removal.
+     */
+    @Test
+    void testCounts_followMutations() {
+        Project a = save(Status.UPCOMING, "B1", "P1");
+        Project b = save(Status.UPCOMING, "B2", "P1");
+        Project c = save(Status.IN_PROGRESS, "B1", "P2");
+        StatusIndex index = store.statusIndex();
+
+        assertEquals(2, index.count(Status.UPCOMING));
+        assertEquals(1, index.count(Status.IN_PROGRESS));
+        assertEquals(2, index.countForManager("P1", Status.UPCOMING));
+        assertEquals(1, index.countForBuilder("B1", Status.UPCOMING));
+
+        assertTrue(store.transitionStatus(a.getProjectId(), Status.UPCOMING, Status.COMPLETED, "B1", 1_000));
+        assertEquals(1, index.count(Status.UPCOMING));
+        assertEquals(1, index.count(Status.COMPLETED));
+        assertEquals(1, index.countForManager("P1", Status.COMPLETED));
+        assertEquals(0, index.countForBuilder("B1", Status.UPCOMING));
+
+        store.removeProject(c.getProjectId());
+        assertEquals(0, index.count(Status.IN_PROGRESS));
+        assertEquals(0, index.countForManager("P2", Status.IN_PROGRESS));
+        assertArrayEquals(new long[]{b.getProjectId()}, ids(Status.UPCOMING));
+
+        assertFalse(store.transitionStatus(c.getProjectId(), Status.IN_PROGRESS, Status.UPCOMING, "B1", 2_000));
+        assertEquals(1, index.count(Status.UPCOMING));
+        assertEquals(0, index.countForManager("P9", Status.UPCOMING));
+    }
+
+    /**
+     * Tests that the manager and builder walks only return matching IDs.
+     */
+    @Test
+    void testForEachForManagerAndBuilder() {
+        Project a = save(Status.UPCOMING, "B1", "P1");
+        save(Status.IN_PROGRESS, "B1", "P1");
+        Project c = save(Status.UPCOMING, "B2", "P1");
+        save(Status.UPCOMING, "B1", "P2");
+
+        List<Long> managerIds = new ArrayList<>();
+        store.statusIndex().forEachForManager("P1", Status.UPCOMING, managerIds::add);
+        managerIds.sort(null);
+        assertEquals(Arrays.asList(a.getProjectId(), c.getProjectId()), managerIds);
+
+        List<Long> builderIds = new ArrayList<>();
+        store.statusIndex().forEachForBuilder("B2", Status.UPCOMING, builderIds::add);
+        assertEquals(List.of(c.getProjectId()), builderIds);
+
+        store.statusIndex().forEachForBuilder("B9", Status.UPCOMING, id -> fail("unexpected " + id));
+    }
+
+    /**
+     * Tests that saving a project over an existing ID replaces its index entries.
+     */
+    @Test
+    void testOverwrite_reindexes() {
+        Project original = save(Status.UPCOMING, "B1", "P1");
+        Project replacement = Project.restore(original.getProjectId(), "Project", "desc", LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 6, 30), client, Status.COMPLETED, "B2", "P2");
+        store.saveProject(replacement);
+
+        StatusIndex index = store.statusIndex();
+        assertEquals(0, index.count(Status.UPCOMING));
+        assertEquals(1, index.count(Status.COMPLETED));
+        assertEquals(0, index.countForManager("P1", Status.UPCOMING));
+        assertEquals(1, index.countForBuilder("B2", Status.COMPLETED));
+
+        store.clear();
+        assertEquals(0, index.count(Status.COMPLETED));
+        assertEquals(0, index.countForBuilder("B2", Status.COMPLETED));
+    }
+
+    /**
+     * Tests that status updates racing on the same projects leave the index
+     * agreeing with the statuses actually stored.
+     */
+    @Test
+    void testConcurrentUpdates_matchStoredStatuses() throws InterruptedException {
+        int projects = 500;
+        long[] ids = new long[projects];
+        for (int i = 0; i < projects; i++) {
+            ids[i] = save(Status.UPCOMING, "B" + (i % 5), "P" + (i % 3)).getProjectId();
+        }
+
+        Status[] statuses = Status.values();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            pool.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    long id = ids[(i * 31 + seed * 17) % projects];
+                    Status current = store.getProjectById(id).getStatus();
+                    store.transitionStatus(id, current, statuses[(i + seed) % statuses.length], "B" + seed, i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        StatusIndex index = store.statusIndex();
+        long[] expected = new long[statuses.length];
+        long[] expectedP0 = new long[statuses.length];
+        store.forEach(project -> {
+            expected[project.getStatus().ordinal()]++;
+            if (project.getProjectManagerId().equals("P0")) expectedP0[project.getStatus().ordinal()]++;
+        });
+        long total = 0;
+        for (Status status : statuses) {
+            assertEquals(expected[status.ordinal()], index.count(status), status.name());
+            assertEquals(expectedP0[status.ordinal()], index.countForManager("P0", status), status.name());
+            assertEquals(expected[status.ordinal()], ids(status).length);
+            total += index.count(status);
+        }
+        assertEquals(projects, total);
+    }
+}
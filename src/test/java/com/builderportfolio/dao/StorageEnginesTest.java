@@ -0,0 +1,126 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StorageEngines} and {@link InMemoryStorageEngine}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>The default engine is the one behind the static DAO classes</li>
+ *     <li>Separately created in-memory engines are fully isolated</li>
+ *     <li>Engine lookup and registration by name</li>
+ *     <li>The off-heap engine serves the project service like the in-memory one</li>
+ * </ul>
+ */
+class StorageEnginesTest {
+
+    /**
+     * Runs before each test.
+     * Clears the shared stores so static DAO state does not leak between tests.
+     */
+    @BeforeEach
+    void setUp() {
+        UserDAO.clear();
+        ProjectDAO.clearDatabase();
+        BuilderDAO.clear();
+        ManagerDAO.clearDatabase();
+    }
+
+    /**
+     * Tests that services built over the default engine write through to the static DAOs.
+     */
+    @Test
+    void testDefaultEngine_isBackedByStaticDAOs() {
+        UserService userService = new UserService(StorageEngines.defaultEngine());
+        User builder = new User("Ravi", "ravi@gmail.com", "9876543210", 3, "Builder123", 1);
+
+        userService.registrationService(builder, 1);
+
+        assertSame(builder, UserDAO.getUserById(builder.getUserId()));
+        assertTrue(BuilderDAO.builderExists(builder.getUserId()));
+    }
+
+    /**
+     * Tests that two in-memory engines do not share any data.
+     */
+    @Test
+    void testSeparateEngines_areIsolated() {
+        StorageEngine first = new InMemoryStorageEngine();
+        StorageEngine second = new InMemoryStorageEngine();
+        Client client = new Client("Charitha", "charitha@gmail.com", "1234567890");
+
+        new UserService(first).registrationService(
+                new User("Ravi", "ravi@gmail.com", "9876543210", 3, "Builder123", 1), 1);
+        new ProjectService(first).createProject("Bridge", "River bridge",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), client, Status.UPCOMING, "B1", "P1");
+
+        assertTrue(first.userStore().emailExists("ravi@gmail.com"));
+        assertFalse(second.userStore().emailExists("ravi@gmail.com"));
+        assertFalse(UserDAO.emailExists("ravi@gmail.com"));
+
+        assertEquals(1, new ProjectService(first).getManagerProjects("P1").size());
+        assertTrue(new ProjectService(second).getManagerProjects("P1").isEmpty());
+        assertTrue(ManagerDAO.getProjectIds("P1").isEmpty());
+    }
+
+    /**
+     * Tests that the "memory" engine is registered and resolves to the shared engine.
+     */
+    @Test
+    void testForName_memory() {
+        assertSame(InMemoryStorageEngine.shared(), StorageEngines.forName(InMemoryStorageEngine.NAME));
+    }
+
+    /**
+     * Tests that "offheap" creates a fresh engine whose projects live in an
+     * {@link OffHeapProjectStore} and work through the service.
+     */
+    @Test
+    void testForName_offHeap() {
+        StorageEngine engine = StorageEngines.forName(OffHeapStorageEngine.NAME);
+        ProjectService projectService = new ProjectService(engine);
+
+        projectService.createProject("Bridge", "River bridge", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31),
+                new Client("Charitha", "charitha@gmail.com", "1234567890"), Status.UPCOMING, "B1", "P1");
+
+        assertInstanceOf(OffHeapProjectStore.class, engine.projectStore());
+        assertNotSame(engine, StorageEngines.forName(OffHeapStorageEngine.NAME));
+        assertEquals("Bridge", projectService.getManagerProjects("P1").get(0).getProjectName());
+        assertTrue(ManagerDAO.getProjectIds("P1").isEmpty());
+    }
+
+    /**
+     * Tests that an unknown engine name is rejected.
+     */
+    @Test
+    void testForName_unknown_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> StorageEngines.forName("no-such-engine"));
+    }
+
+    /**
+     * Tests that a registered engine is returned from configuration.
+     */
+    @Test
+    void testRegister_andSelectFromConfiguration() {
+        StorageEngine custom = new InMemoryStorageEngine();
+        StorageEngines.register("custom", () -> custom);
+
+        System.setProperty(StorageEngines.STORAGE_PROPERTY, "custom");
+        try {
+            assertSame(custom, StorageEngines.fromConfiguration());
+        } finally {
+            System.clearProperty(StorageEngines.STORAGE_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.builderportfolio.dao;
+
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TextIndex}, maintained by {@link InMemoryProjectStore}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Tokenisation into lower-case words with their fields</li>
+ *     <li>Prefix matching, all-token matching and ranking by field and exactness</li>
+ *     <li>Detail updates, overwrites, removal and clear re-index the project</li>
+ *     <li>Out-of-order re-indexing keeps posting lists consistent with a full scan</li>
+ * </ul>
+ */
+class TextIndexTest {
+
+    private InMemoryProjectStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryProjectStore();
+    }
+
+    private long save(String name, String description, String clientName) {
+        Project project = new Project(name, description, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30),
+                new Client(clientName, "client@mail.com", "1234567890"), Status.UPCOMING, "B1", "P1");
+        store.saveProject(project);
+        return project.getProjectId();
+    }
+
+    private long[] search(String query) {
+        return store.textIndex().search(query, 10, id -> true);
+    }
+
+    /**
+     * Tests that text is split on anything but letters and digits and lower-cased.
+     */
+    @Test
+    void testTokenize() {
+        Map<String, Integer> tokens = TextIndex.tokenize("River-Bridge, phase 2 (river)");
+
+        assertEquals(List.of("river", "bridge", "phase", "2"), new ArrayList<>(tokens.keySet()));
+        assertTrue(TextIndex.tokenize("  --  ").isEmpty());
+    }
+
+    /**
+     * Tests prefix matching, that every token must match, and ranking:
+     * name above client above description, whole words above prefixes.
+     */
+    @Test
+    void testSearch_prefixesAndRanking() {
+        long inDescription = save("Depot", "Harbour works", "Acme");
+        long inName = save("Harbour Bridge", "Steel", "Acme");
+        long inClient = save("Tower", "Glass", "Harbour Trust");
+        long prefixOnly = save("Harbourside Mall", "Retail", "Zeta");
+
+        assertArrayEquals(new long[]{inName, inClient, prefixOnly, inDescription}, search("harbour"));
+        assertArrayEquals(new long[]{inName, prefixOnly, inClient, inDescription}, search("HARB"));
+        assertArrayEquals(new long[]{inName}, search("harb bri"));
+        assertArrayEquals(new long[]{inDescription, inName}, search("acme"));
+        assertEquals(0, search("harbour glass steel").length);
+        assertEquals(0, search("missing").length);
+        assertEquals(0, search("  ").length);
+
+        assertArrayEquals(new long[]{inName}, store.textIndex().search("harbour", 1, id -> true));
+        assertArrayEquals(new long[]{inClient, prefixOnly},
+                store.textIndex().search("harbour", 10, id -> id == inClient || id == prefixOnly));
+    }
+
+    /**
+     * Tests that detail updates, overwrites, removal and clear keep the index in step.
+     */
+    @Test
+    void testMutations_reindex() {
+        long id = save("Bridge", "Steel works", "Acme");
+        long other = save("Bridge", "Concrete", "Zeta");
+
+        assertTrue(store.updateDetails(id, "Tunnel", "Steel works", new Client("Acme", "a@b.com", "1234567890")));
+        assertArrayEquals(new long[]{other}, search("bridge"));
+        assertArrayEquals(new long[]{id}, search("tunnel"));
+        assertArrayEquals(new long[]{id}, search("steel"));
+        assertFalse(store.updateDetails(id + 1_000_000, "X", "Y", new Client("Z", "z@z.com", "1234567890")));
+
+        store.saveProject(Project.restore(id, "Viaduct", "", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30),
+                new Client("Omega", "o@mail.com", "1234567890"), Status.UPCOMING, "B1", "P1"));
+        assertEquals(0, search("tunnel").length);
+        assertArrayEquals(new long[]{id}, search("omega viaduct"));
+
+        store.removeProject(other);
+        assertEquals(0, search("bridge").length);
+        assertEquals(0, search("concrete").length);
+
+        store.clear();
+        assertEquals(0, search("viaduct").length);
+        assertEquals(0, store.textIndex().termCount());
+    }
+
+    /**
+     * Tests that a name changed directly on a stored project does not stop the
+     * store from removing it, since the index remembers the terms it used.
+     */
+    @Test
+    void testDirectSetterChange_doesNotStrandEntry() {
+        long id = save("Bridge", "Steel", "Acme");
+        store.getProjectById(id).setProjectName("Tunnel");
+
+        store.removeProject(id);
+
+        assertEquals(0, search("bridge").length);
+        assertEquals(0, store.textIndex().termCount());
+    }
+
+    /**
+     * Tests random re-indexing in and out of ID order against a full scan.
+     */
+    @Test
+    void testRandomUpdates_matchFullScan() {
+        String[] words = {"alpha", "alpine", "beta", "bridge", "brick", "gamma", "harbour", "tower"};
+        Random random = new Random(7);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(save(words[random.nextInt(words.length)], words[random.nextInt(words.length)],
+                    words[random.nextInt(words.length)]));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            long id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(10) == 0) {
+                store.removeProject(id);
+            } else {
+                store.updateDetails(id, words[random.nextInt(words.length)], words[random.nextInt(words.length)],
+                        new Client(words[random.nextInt(words.length)], "c@mail.com", "1234567890"));
+            }
+        }
+
+        for (String query : new String[]{"al", "alpine", "b", "bri", "gamma", "tower"}) {
+            List<Long> expected = new ArrayList<>();
+            store.forEach(p -> {
+                String text = p.getProjectName() + " " + p.getProjectDescription() + " " + p.getAssignedClient().getClientName();
+                for (String word : text.split(" ")) {
+                    if (word.startsWith(query)) {
+                        expected.add(p.getProjectId());
+                        break;
+                    }
+                }
+            });
+            long[] found = store.textIndex().search(query, 1_000, id -> true);
+            assertEquals(expected.size(), found.length, query);
+            for (long id : found) {
+                assertTrue(expected.contains(id), query);
+            }
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.builderportfolio.dao;
 
+import com.builderportfolio.exception.UserAlreadyExistsException;
 import com.builderportfolio.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -14,7 +23,8 @@ import static org.junit.jupiter.api.Assertions.*;
  *     <li>Saving and retrieving users</li>
  *     <li>Checking existence by ID and email</li>
  *     <li>Handling duplicates and null inputs</li>
- *     <li>Case sensitivity checks for emails</li>
+ *     <li>Case-insensitive email index and atomic email reservation</li>
+ *     <li>Consistent email index under concurrent saves of one user</li>
  * </ul>
  */
 class UserDAOTest {
@@ -126,8 +136,7 @@ class UserDAOTest {
     }
 
     /**
-     * Tests that duplicate emails are detected.
-     * Note: The email check in UserDAO is case-sensitive.
+     * Tests that duplicate emails are detected regardless of case.
      */
     @Test
     void testDuplicateEmail_shouldDetect() {
@@ -135,19 +144,168 @@ class UserDAOTest {
         User user2 = new User("User2", "TEST@gmail.com", "2222222222", 2, "pass2", 2);
         UserDAO.saveUser(user1);
 
-        assertFalse(UserDAO.emailExists(user2.getUserEmail()));
+        assertTrue(UserDAO.emailExists(user2.getUserEmail()));
     }
 
     /**
-     * Tests the case sensitivity of email existence check.
+     * Tests that the email existence check is case-insensitive and ignores surrounding spaces.
      */
     @Test
-    void testEmailExists_caseSensitive() {
+    void testEmailExists_caseInsensitive() {
         User user = new User("User", "A@gmail.com", "1234567890", 1, "pass", 1);
         UserDAO.saveUser(user);
 
         assertTrue(UserDAO.emailExists("A@gmail.com"));
-        assertFalse(UserDAO.emailExists("a@gmail.com"));
+        assertTrue(UserDAO.emailExists("a@gmail.com"));
+        assertTrue(UserDAO.emailExists(" a@GMAIL.com "));
+    }
+
+    /**
+     * Tests that an email can be reserved only once.
+     */
+    @Test
+    void testReserveEmail_onlyOnce() {
+        assertTrue(UserDAO.reserveEmail("new@gmail.com", "B1"));
+        assertFalse(UserDAO.reserveEmail("NEW@gmail.com", "B2"));
+        assertTrue(UserDAO.emailExists("new@gmail.com"));
+    }
+
+    /**
+     * Tests that releasing a reservation frees the email,
+     * but only for the user who holds it.
+     */
+    @Test
+    void testReleaseEmail() {
+        UserDAO.reserveEmail("free@gmail.com", "B1");
+
+        UserDAO.releaseEmail("free@gmail.com", "B2");
+        assertTrue(UserDAO.emailExists("free@gmail.com"));
+
+        UserDAO.releaseEmail("free@gmail.com", "B1");
+        assertFalse(UserDAO.emailExists("free@gmail.com"));
+    }
+
+    /**
+     * Tests that overwriting a user with a new email moves the index entry.
+     */
+    @Test
+    void testSaveUser_emailChanged_updatesIndex() {
+        User user = new User("User", "old@gmail.com", "1234567890", 1, "pass", 1);
+        UserDAO.saveUser(user);
+
+        user.setUserEmail("current@gmail.com");
+        UserDAO.saveUser(user);
+
+        assertTrue(UserDAO.emailExists("current@gmail.com"));
+        assertFalse(UserDAO.emailExists("old@gmail.com"));
+    }
+
+    /**
+     * Tests that saving a user under an email owned by another user ID is rejected
+     * and leaves the owner's index entry in place.
+     */
+    @Test
+    void testSaveUser_emailOwnedByOtherUser_shouldThrowException() {
+        User owner = new User("Owner", "taken@gmail.com", "1234567890", 1, "pass", 1);
+        UserDAO.saveUser(owner);
+        User other = new User("Other", "Taken@Gmail.com", "1234567890", 1, "pass", 1);
+
+        assertThrows(UserAlreadyExistsException.class, () -> UserDAO.saveUser(other));
+        assertFalse(UserDAO.idExists(other.getUserId()));
+
+        assertNull(UserDAO.removeUser(other.getUserId()));
+        assertTrue(UserDAO.emailExists("taken@gmail.com"));
+
+        UserDAO.removeUser(owner.getUserId());
+        assertFalse(UserDAO.emailExists("taken@gmail.com"));
+    }
+
+    /**
+     * Tests that saving a user whose email another user ID has reserved is rejected.
+     */
+    @Test
+    void testSaveUser_emailReservedByOtherUser_shouldThrowException() {
+        User user = new User("User", "held@gmail.com", "1234567890", 1, "pass", 1);
+        assertTrue(UserDAO.reserveEmail("held@gmail.com", "P999"));
+
+        assertThrows(UserAlreadyExistsException.class, () -> UserDAO.saveUser(user));
+        assertFalse(UserDAO.idExists(user.getUserId()));
+    }
+
+    /**
+     * Tests that removing a user also removes its email from the index.
+     */
+    @Test
+    void testRemoveUser_releasesEmail() {
+        User user = new User("User", "gone@gmail.com", "1234567890", 1, "pass", 1);
+        UserDAO.saveUser(user);
+
+        assertNotNull(UserDAO.removeUser(user.getUserId()));
+        assertFalse(UserDAO.idExists(user.getUserId()));
+        assertFalse(UserDAO.emailExists("gone@gmail.com"));
+    }
+
+    /**
+     * Tests that concurrent reservations of the same email let exactly one caller win.
+     */
+    @Test
+    void testReserveEmail_concurrent_singleWinner() throws Exception {
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            String userId = "B" + i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                if (UserDAO.reserveEmail("race@gmail.com", userId)) winners.incrementAndGet();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        assertEquals(1, winners.get());
     }
 
+    /**
+     * Tests that concurrent saves of the same user ID under different emails leave
+     * exactly the email of the last saved copy in the index.
+     */
+    @Test
+    void testSaveUser_concurrentSameId_indexConsistent() throws Exception {
+        int threads = 8;
+        int rounds = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int r = 0; r < rounds; r++) {
+                    UserDAO.saveUser(User.restore("B1", "User", "u" + thread + "-" + r + "@gmail.com",
+                            "1234567890", 1, "pass", 1));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        String email = UserDAO.getUserById("B1").getUserEmail();
+        int indexed = 0;
+        for (int t = 0; t < threads; t++) {
+            for (int r = 0; r < rounds; r++) {
+                if (UserDAO.emailExists("u" + t + "-" + r + "@gmail.com")) indexed++;
+            }
+        }
+        assertEquals(1, indexed);
+        assertTrue(UserDAO.emailExists(email));
+    }
 }
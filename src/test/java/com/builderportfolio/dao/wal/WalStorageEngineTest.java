@@ -0,0 +1,443 @@
+package com.builderportfolio.dao.wal;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.StatusTransition;
+import com.builderportfolio.model.User;
+import com.builderportfolio.service.ProjectBatchResult;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.ProjectSpec;
+import com.builderportfolio.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link WalStorageEngine} and {@link WriteAheadLog}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>User, project, status and assignment mutations survive a restart</li>
+ *     <li>Deletes are replayed as well as inserts</li>
+ *     <li>Status history is restored from the log and from snapshots</li>
+ *     <li>Project creation and deletion are each logged as one record, assignments included</li>
+ *     <li>Batch-created projects are replayed from their chunked records</li>
+ *     <li>A torn record at the end of the log is discarded</li>
+ *     <li>Sync mode makes each write durable before returning</li>
+ *     <li>Failed mutations are not logged</li>
+ *     <li>A snapshot plus the log written after it restores the full state</li>
+ *     <li>Snapshots taken under concurrent writes lose nothing</li>
+ *     <li>A corrupt snapshot is rejected</li>
+ * </ul>
+ */
+class WalStorageEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private WalStorageEngine open(StorageEngine delegate, boolean sync) throws IOException {
+        return WalStorageEngine.open(delegate, directory, 64, 1, sync);
+    }
+
+    private long createProject(StorageEngine engine, String name) {
+        Client client = new Client("Charitha", "charitha@gmail.com", "1234567890");
+        new ProjectService(engine).createProject(name, "desc", LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 6, 30), client, Status.UPCOMING, "B1", "P1");
+        List<Project> projects = new ProjectService(engine).getManagerProjects("P1");
+        return projects.get(projects.size() - 1).getProjectId();
+    }
+
+    /**
+     * Tests that registered users, projects, status, date and detail changes and assignments are replayed.
+     */
+    @Test
+    void testMutations_surviveRestart() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        User builder = new User("Ravi", "ravi@gmail.com", "9876543210", 3, "Builder123", 1);
+        new UserService(engine).registrationService(builder, 1);
+        long projectId = createProject(engine, "Bridge");
+        new ProjectService(engine).updateProjectStatus("B1", projectId, Status.IN_PROGRESS);
+        new ProjectService(engine).updateProjectDates("P1", projectId, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 9, 30));
+        new ProjectService(engine).updateProjectDetails("P1", projectId, "Bridge North", "desc",
+                new Client("Ravindu", "ravindu@gmail.com", "1234567890"));
+        engine.close();
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        WalStorageEngine reopened = open(restored, false);
+
+        User user = restored.userStore().getUserById(builder.getUserId());
+        assertNotNull(user);
+        assertEquals("ravi@gmail.com", user.getUserEmail());
+        assertTrue(restored.userStore().emailExists("RAVI@gmail.com"));
+        assertTrue(restored.assignmentStore().builderExists(builder.getUserId()));
+
+        Project project = restored.projectStore().getProjectById(projectId);
+        assertNotNull(project);
+        assertEquals("Bridge North", project.getProjectName());
+        assertEquals(Status.IN_PROGRESS, project.getStatus());
+        assertEquals(LocalDate.of(2025, 2, 1), project.getStartDate());
+        assertEquals(LocalDate.of(2025, 9, 30), project.getEndDate());
+        assertEquals("Ravindu", project.getAssignedClient().getClientName());
+        assertArrayEquals(new long[]{projectId}, restored.projectStore().textIndex().search("north ravindu", 10, id -> true));
+        assertArrayEquals(new long[]{projectId}, restored.assignmentStore().getManagerProjectIds("P1").toArray());
+        assertArrayEquals(new long[]{projectId}, restored.assignmentStore().getBuilderProjectIds("B1").toArray());
+        assertEquals(1, restored.projectStore().statusIndex().countForManager("P1", Status.IN_PROGRESS));
+        assertEquals(0, restored.projectStore().statusIndex().count(Status.UPCOMING));
+        List<Long> endingInSeptember = new ArrayList<>();
+        restored.projectStore().dateRangeIndex().forEachEndingBetween(LocalDate.of(2025, 9, 1),
+                LocalDate.of(2025, 9, 30), endingInSeptember::add);
+        assertEquals(List.of(projectId), endingInSeptember);
+        List<StatusTransition> history = restored.projectStore().statusHistory().transitionsOf(projectId);
+        assertEquals(1, history.size());
+        assertEquals("B1", history.get(0).getActorId());
+        assertEquals(Status.UPCOMING, history.get(0).getFrom());
+        assertEquals(Status.IN_PROGRESS, history.get(0).getTo());
+        assertEquals(6, reopened.log().replayedRecords());
+        reopened.close();
+    }
+
+    /**
+     * Tests that a deleted project stays deleted after a restart, and that
+     * each creation and deletion is a single record covering the assignments.
+     * A refused deletion is not logged.
+     */
+    @Test
+    void testDelete_isReplayed() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        long kept = createProject(engine, "Kept");
+        long deleted = createProject(engine, "Deleted");
+        assertTrue(new ProjectService(engine).deleteProject("P1", deleted));
+        assertFalse(new ProjectService(engine).deleteProject("P2", kept));
+        engine.close();
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        WalStorageEngine reopened = open(restored, false);
+
+        assertNotNull(restored.projectStore().getProjectById(kept));
+        assertNull(restored.projectStore().getProjectById(deleted));
+        assertArrayEquals(new long[]{kept}, restored.assignmentStore().getManagerProjectIds("P1").toArray());
+        assertArrayEquals(new long[]{kept}, restored.assignmentStore().getBuilderProjectIds("B1").toArray());
+        assertEquals(3, reopened.log().replayedRecords());
+        reopened.close();
+    }
+
+    /**
+     * Tests that a batch larger than one record chunk is fully replayed.
+     */
+    @Test
+    void testBatchCreate_isReplayed() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        Client client = new Client("Charitha", "charitha@gmail.com", "1234567890");
+        List<ProjectSpec> specs = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            specs.add(new ProjectSpec("Unit" + i, "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30),
+                    client, Status.UPCOMING, "B" + (i % 3), "P1"));
+        }
+        ProjectBatchResult result = new ProjectService(engine).createProjects(specs);
+        engine.close();
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        open(restored, false).close();
+
+        for (Project project : result.getCreated()) {
+            Project replayed = restored.projectStore().getProjectById(project.getProjectId());
+            assertNotNull(replayed);
+            assertEquals(project.getProjectName(), replayed.getProjectName());
+        }
+        assertEquals(3_000, restored.assignmentStore().getManagerProjectIds("P1").size());
+        assertEquals(1_000, restored.assignmentStore().getBuilderProjectIds("B2").size());
+    }
+
+    /**
+     * Tests that a partially written record at the end of the log is cut off
+     * and that the log can be appended to afterwards.
+     */
+    @Test
+    void testTornTail_isDiscarded() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        engine.assignmentStore().createBuilder("B7");
+        engine.close();
+
+        Path file = WalStorageEngine.logFile(directory, 0);
+        long validSize = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 20, 1, 2}));
+        }
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        WalStorageEngine reopened = open(restored, false);
+        assertTrue(restored.assignmentStore().builderExists("B7"));
+        assertEquals(validSize, Files.size(file));
+
+        reopened.assignmentStore().createBuilder("B8");
+        reopened.close();
+
+        StorageEngine again = new InMemoryStorageEngine();
+        open(again, false).close();
+        assertTrue(again.assignmentStore().builderExists("B7"));
+        assertTrue(again.assignmentStore().builderExists("B8"));
+    }
+
+    /**
+     * Tests that a logged transition whose expected status does not match on replay
+     * still sets the logged status and keeps its history entry.
+     */
+    @Test
+    void testTransition_mismatchedOnReplay_keepsHistory() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        long projectId = createProject(engine, "Bridge");
+        engine.close();
+
+        try (WriteAheadLog log = WriteAheadLog.open(WalStorageEngine.logFile(directory, 0), 64, 1, false,
+                (type, reader) -> { })) {
+            log.append(WalRecordType.TRANSITION_STATUS, w -> w.writeLong(projectId)
+                    .writeByte(Status.IN_PROGRESS.ordinal()).writeByte(Status.COMPLETED.ordinal())
+                    .writeString("B1").writeLong(5_000), () -> { });
+        }
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        open(restored, false).close();
+        assertEquals(Status.COMPLETED, restored.projectStore().getProjectById(projectId).getStatus());
+        List<StatusTransition> history = restored.projectStore().statusHistory().transitionsOf(projectId);
+        assertEquals(1, history.size());
+        assertEquals(Status.IN_PROGRESS, history.get(0).getFrom());
+        assertEquals(Status.COMPLETED, history.get(0).getTo());
+    }
+
+    /**
+     * Tests that in sync mode a write is on disk as soon as the call returns.
+     */
+    @Test
+    void testSyncMode_writeIsDurableOnReturn() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), true);
+        engine.assignmentStore().createProjectManager("P9");
+
+        assertTrue(Files.size(WalStorageEngine.logFile(directory, 0)) > 0);
+        engine.close();
+    }
+
+    /**
+     * Tests that a mutation rejected by the delegate store leaves no record behind.
+     */
+    @Test
+    void testFailedMutation_isNotLogged() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        assertThrows(NullPointerException.class, () -> engine.assignmentStore().createBuilder(null));
+        engine.assignmentStore().createBuilder("B1");
+        engine.log().sync();
+
+        assertEquals(1, engine.log().appendedRecords());
+        engine.close();
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        WalStorageEngine reopened = open(restored, false);
+        assertEquals(1, reopened.log().replayedRecords());
+        reopened.close();
+    }
+
+    /**
+     * Tests that appending after close is rejected.
+     */
+    @Test
+    void testAppendAfterClose_shouldThrow() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        engine.close();
+
+        assertThrows(IllegalStateException.class, () -> engine.assignmentStore().createBuilder("B1"));
+    }
+
+    /**
+     * Tests that interrupting the flusher fails the log: a pending sync and later appends
+     * throw instead of waiting forever.
+     */
+    @Test
+    void testFlusherInterrupted_failsLog() throws Exception {
+        Set<Thread> before = flusherThreads();
+        WriteAheadLog log = WriteAheadLog.open(directory.resolve("interrupted.wal"), 1000, 3_600_000, false,
+                (type, reader) -> { });
+        Set<Thread> started = flusherThreads();
+        started.removeAll(before);
+        assertEquals(1, started.size());
+        Thread flusher = started.iterator().next();
+
+        log.append(WalRecordType.CREATE_BUILDER, w -> w.writeString("B1"), () -> { });
+        flusher.interrupt();
+        flusher.join(5000);
+        assertFalse(flusher.isAlive());
+
+        assertTimeoutPreemptively(ofSeconds(5), () -> {
+            assertThrows(UncheckedIOException.class, log::sync);
+            assertThrows(UncheckedIOException.class,
+                    () -> log.append(WalRecordType.CREATE_BUILDER, w -> w.writeString("B2"), () -> { }));
+        });
+        assertThrows(IOException.class, log::close);
+    }
+
+    private static Set<Thread> flusherThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("wal-flusher"))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Tests that startup loads the snapshot, replays only what was logged after it,
+     * and that the superseded generation is deleted.
+     */
+    @Test
+    void testSnapshot_restoresStateAndRetiresOldFiles() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        User builder = new User("Ravi", "ravi@gmail.com", "9876543210", 3, "Builder123", 1);
+        new UserService(engine).registrationService(builder, 1);
+        long kept = createProject(engine, "Kept");
+        long deleted = createProject(engine, "Deleted");
+        new ProjectService(engine).updateProjectStatus("B1", kept, Status.IN_PROGRESS);
+        engine.snapshot();
+
+        new ProjectService(engine).updateProjectStatus("B1", kept, Status.COMPLETED);
+        assertTrue(new ProjectService(engine).deleteProject("P1", deleted));
+        engine.close();
+
+        assertFalse(Files.exists(WalStorageEngine.logFile(directory, 0)));
+        assertTrue(Files.exists(WalStorageEngine.snapshotFile(directory, 1)));
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        WalStorageEngine reopened = open(restored, false);
+        assertTrue(restored.userStore().emailExists("ravi@gmail.com"));
+        assertEquals("Ravi", restored.userStore().getUserById(builder.getUserId()).getUserName());
+        assertTrue(restored.assignmentStore().builderExists(builder.getUserId()));
+        Project project = restored.projectStore().getProjectById(kept);
+        assertEquals(Status.COMPLETED, project.getStatus());
+        // One transition comes from the snapshot, the other from the log
+        assertEquals(List.of(Status.IN_PROGRESS, Status.COMPLETED), restored.projectStore().statusHistory()
+                .transitionsOf(kept).stream().map(StatusTransition::getTo).collect(Collectors.toList()));
+        assertEquals("charitha@gmail.com", project.getAssignedClient().getClientEmail());
+        assertNull(restored.projectStore().getProjectById(deleted));
+        assertArrayEquals(new long[]{kept}, restored.assignmentStore().getManagerProjectIds("P1").toArray());
+        assertArrayEquals(new long[]{kept}, restored.assignmentStore().getBuilderProjectIds("B1").toArray());
+        assertEquals(2, reopened.log().replayedRecords());
+
+        // Appends after a restart continue in the snapshot's generation
+        reopened.assignmentStore().createBuilder("B8");
+        reopened.close();
+        StorageEngine again = new InMemoryStorageEngine();
+        open(again, false).close();
+        assertTrue(again.assignmentStore().builderExists("B8"));
+        assertArrayEquals(new long[]{kept}, again.assignmentStore().getBuilderProjectIds("B1").toArray());
+    }
+
+    /**
+     * Tests that a transition made after the log switched segments stays out of
+     * the snapshot, which is built from the closed segments only, so replaying it
+     * from the log keeps its history; and that a change the live engine holds
+     * without having logged it is not in the snapshot either.
+     */
+    @Test
+    void testSnapshot_changeAfterSwitch_isReplayedFromLog() throws IOException {
+        StorageEngine live = new InMemoryStorageEngine();
+        WalStorageEngine engine = open(live, false);
+        long projectId = createProject(engine, "Tower");
+        engine.log().rotate(WalStorageEngine.logFile(directory, 1));
+
+        new ProjectService(engine).updateProjectStatus("B1", projectId, Status.IN_PROGRESS);
+        live.assignmentStore().createBuilder("B9");
+        assertEquals(1, WalStorageEngine.writeSnapshot(directory, 1));
+        engine.close();
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        open(restored, false).close();
+        assertEquals(Status.IN_PROGRESS, restored.projectStore().getProjectById(projectId).getStatus());
+        List<StatusTransition> history = restored.projectStore().statusHistory().transitionsOf(projectId);
+        assertEquals(1, history.size());
+        assertEquals(Status.UPCOMING, history.get(0).getFrom());
+        assertEquals(Status.IN_PROGRESS, history.get(0).getTo());
+        assertFalse(restored.assignmentStore().builderExists("B9"));
+    }
+
+    /**
+     * Tests that snapshots taken while several threads are writing capture every
+     * mutation exactly once across snapshot and log.
+     */
+    @Test
+    void testSnapshot_underConcurrentWrites() throws Exception {
+        StorageEngine live = new InMemoryStorageEngine();
+        WalStorageEngine engine = open(live, false);
+        int threads = 8;
+        int perThread = 2_000;
+        for (int t = 0; t < threads; t++) {
+            engine.assignmentStore().createBuilder("B" + t);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String builderId = "B" + t;
+            writers.add(pool.submit(() -> {
+                for (long id = 0; id < perThread; id++) {
+                    engine.assignmentStore().addProjectToBuilder(builderId, id);
+                    if (id % 3 == 0) engine.assignmentStore().removeProjectFromBuilder(builderId, id);
+                }
+            }));
+        }
+        for (int i = 0; i < 5; i++) {
+            engine.snapshot();
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        engine.close();
+
+        StorageEngine restored = new InMemoryStorageEngine();
+        open(restored, false).close();
+        for (int t = 0; t < threads; t++) {
+            long[] expected = live.assignmentStore().getBuilderProjectIds("B" + t).toArray();
+            long[] actual = restored.assignmentStore().getBuilderProjectIds("B" + t).toArray();
+            Arrays.sort(expected);
+            Arrays.sort(actual);
+            assertArrayEquals(expected, actual);
+        }
+        assertEquals(perThread - (perThread + 2) / 3, restored.assignmentStore().getBuilderProjectIds("B0").size());
+    }
+
+    /**
+     * Tests that a damaged snapshot fails startup instead of loading partial data.
+     */
+    @Test
+    void testCorruptSnapshot_shouldThrow() throws IOException {
+        WalStorageEngine engine = open(new InMemoryStorageEngine(), false);
+        createProject(engine, "Bridge");
+        engine.snapshot();
+        engine.close();
+
+        Path snapshot = WalStorageEngine.snapshotFile(directory, 1);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 20);
+        }
+
+        assertThrows(IOException.class, () -> open(new InMemoryStorageEngine(), false));
+    }
+}
@@ -0,0 +1,171 @@
+package com.builderportfolio.exporter;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.importer.CsvRowParser;
+import com.builderportfolio.importer.JsonLinesRowParser;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+import com.builderportfolio.service.ProjectService;
+import com.builderportfolio.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PortfolioExporter}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Projects are exported as CSV and JSON lines that the importer's parsers read back unchanged</li>
+ *     <li>Commas, quotes, newlines and padding survive CSV quoting and JSON escaping</li>
+ *     <li>Manager, builder and status filters select the right projects</li>
+ *     <li>Users are exported without their passwords</li>
+ * </ul>
+ */
+class PortfolioExporterTest {
+
+    @TempDir
+    Path directory;
+
+    private StorageEngine engine;
+    private PortfolioExporter exporter;
+
+    /**
+     * Creates three projects across two builders and two managers.
+     */
+    @BeforeEach
+    void setUp() {
+        engine = new InMemoryStorageEngine();
+        exporter = new PortfolioExporter(engine);
+        ProjectService projectService = new ProjectService(engine);
+        Client client = new Client("Acme, \"Ltd\"", "acme@client.io", "9000000000");
+        projectService.createProject("Bridge", "Line one\nline two, with comma", LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31), client, Status.IN_PROGRESS, "B1", "P1");
+        projectService.createProject(" Padded ", "tab\there", LocalDate.of(2025, 2, 1),
+                LocalDate.of(2025, 3, 1), client, Status.UPCOMING, "B2", "P1");
+        projectService.createProject("Depot", "", LocalDate.of(2024, 5, 6),
+                LocalDate.of(2026, 7, 8), client, Status.UPCOMING, "B1", "P2");
+    }
+
+    /** @return data rows of the CSV file parsed with the importer's parser, ordered by project ID */
+    private List<Map<String, String>> readCsv(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        CsvRowParser parser = new CsvRowParser(lines.get(0));
+        List<Map<String, String>> rows = new ArrayList<>();
+        // A quoted newline splits a row over two physical lines; join them back up
+        StringBuilder pending = new StringBuilder();
+        for (String line : lines.subList(1, lines.size())) {
+            if (pending.length() > 0) pending.append('\n');
+            pending.append(line);
+            if (pending.chars().filter(c -> c == '"').count() % 2 == 0) {
+                rows.add(parser.parse(pending.toString()));
+                pending.setLength(0);
+            }
+        }
+        rows.sort(Comparator.comparing(row -> Long.parseLong(row.get("projectId"))));
+        return rows;
+    }
+
+    /**
+     * Tests that a CSV export holds every project and parses back to the stored values.
+     */
+    @Test
+    void testExportProjects_csvRoundTrip() throws IOException {
+        Path file = directory.resolve("projects.csv");
+
+        ExportReport report = exporter.exportProjects(file, ExportFilter.all());
+
+        assertEquals(3, report.getRows());
+        assertEquals(Files.size(file), report.getBytes());
+        List<Map<String, String>> rows = readCsv(file);
+        assertEquals(3, rows.size());
+        Map<String, String> bridge = rows.get(0);
+        assertEquals("Bridge", bridge.get("name"));
+        assertEquals("Line one\nline two, with comma", bridge.get("description"));
+        assertEquals("2025-01-01", bridge.get("startDate"));
+        assertEquals("Acme, \"Ltd\"", bridge.get("clientName"));
+        assertEquals("IN_PROGRESS", bridge.get("status"));
+        assertEquals("B1", bridge.get("builderId"));
+        assertEquals(" Padded ", rows.get(1).get("name"));
+        assertEquals("", rows.get(2).get("description"));
+        assertEquals("2026-07-08", rows.get(2).get("endDate"));
+    }
+
+    /**
+     * Tests that a JSON-lines export escapes special characters and parses back.
+     */
+    @Test
+    void testExportProjects_jsonLines() throws IOException {
+        Path file = directory.resolve("projects.jsonl");
+
+        exporter.exportProjects(file, ExportFilter.all());
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        JsonLinesRowParser parser = new JsonLinesRowParser();
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (String line : lines) {
+            rows.add(parser.parse(line));
+        }
+        rows.sort(Comparator.comparing(row -> Long.parseLong(row.get("projectId"))));
+        assertEquals("Line one\nline two, with comma", rows.get(0).get("description"));
+        assertEquals("tab\there", rows.get(1).get("description"));
+        assertEquals("Acme, \"Ltd\"", rows.get(2).get("clientName"));
+        assertEquals("P2", rows.get(2).get("managerId"));
+    }
+
+    /**
+     * Tests that manager, builder and status filters combine.
+     */
+    @Test
+    void testExportProjects_filters() throws IOException {
+        Path file = directory.resolve("filtered.csv");
+
+        assertEquals(2, exporter.exportProjects(file, ExportFilter.all().withManager("P1")).getRows());
+        assertEquals(2, exporter.exportProjects(file, ExportFilter.all().withBuilder("B1")).getRows());
+        assertEquals(2, exporter.exportProjects(file, ExportFilter.all().withStatus(Status.UPCOMING)).getRows());
+        assertEquals(1, exporter.exportProjects(file,
+                ExportFilter.all().withManager("P1").withStatus(Status.UPCOMING)).getRows());
+        assertEquals(1, exporter.exportProjects(file,
+                ExportFilter.all().withBuilder("B1").withManager("P2")).getRows());
+        assertEquals(0, exporter.exportProjects(file, ExportFilter.all().withManager("P9")).getRows());
+
+        assertTrue(readCsv(file).isEmpty());
+    }
+
+    /**
+     * Tests that users are exported with their role and without a password column.
+     */
+    @Test
+    void testExportUsers_omitsPasswords() throws IOException {
+        User builder = new User("Ravi", "ravi@gmail.com", "9876543210", 3, "Builder123", 1);
+        new UserService(engine).registrationService(builder, 1);
+        Path file = directory.resolve("users.csv");
+
+        ExportReport report = exporter.exportUsers(file);
+
+        assertEquals(1, report.getRows());
+        String content = Files.readString(file);
+        assertFalse(content.contains("Builder123"));
+        List<String> lines = Files.readAllLines(file);
+        Map<String, String> row = new CsvRowParser(lines.get(0)).parse(lines.get(1));
+        assertEquals(builder.getUserId(), row.get("userId"));
+        assertEquals("builder", row.get("role"));
+        assertEquals("3", row.get("experience"));
+        assertFalse(row.containsKey("password"));
+    }
+}
@@ -0,0 +1,238 @@
+package com.builderportfolio.importer;
+
+import com.builderportfolio.dao.InMemoryStorageEngine;
+import com.builderportfolio.dao.StorageEngine;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import com.builderportfolio.model.User;
+import com.builderportfolio.security.PasswordHasher;
+import com.builderportfolio.security.PasswordVerifier;
+import com.builderportfolio.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BulkImporter}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Users are imported from CSV, including quoted fields</li>
+ *     <li>Projects are imported from JSON lines and assigned to their builder and manager</li>
+ *     <li>Rows breaking the registration or add-project rules are written to the rejects file with their line number</li>
+ *     <li>Large files split across many batches and workers import every row once</li>
+ *     <li>Pre-hashed passwords are stored as is, and lower import work factors are raised on login</li>
+ *     <li>Rows turned away by a full hashing pool are rejected without stopping the import</li>
+ * </ul>
+ */
+class BulkImporterTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String name, String... lines) throws IOException {
+        Path file = directory.resolve(name);
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /** @return rejected line numbers mapped to their reason */
+    private TreeMap<Long, String> readRejects(Path rejectsFile) throws IOException {
+        TreeMap<Long, String> rejects = new TreeMap<>();
+        List<String> lines = Files.readAllLines(rejectsFile, StandardCharsets.UTF_8);
+        assertEquals("line\treason\trow", lines.get(0));
+        for (String line : lines.subList(1, lines.size())) {
+            String[] parts = line.split("\t", 3);
+            rejects.put(Long.parseLong(parts[0]), parts[1]);
+        }
+        return rejects;
+    }
+
+    /**
+     * Tests that valid CSV users are registered and invalid ones are rejected by line.
+     */
+    @Test
+    void testImportUsers_csv() throws IOException {
+        StorageEngine engine = new InMemoryStorageEngine();
+        Path file = write("users.csv",
+                "name,email,phone,experience,role,password",
+                "Ravi,ravi@gmail.com,9876543210,3,builder,Builder123",
+                "\"Rao, Sita\",sita@gmail.com,9876543211,5,2,Manager123",
+                "",
+                "Bad Mail,not-an-email,9876543212,1,1,Builder123",
+                "Short Phone,short@gmail.com,12345,1,1,Builder123",
+                "Weak,weak@gmail.com,9876543213,1,1,weak",
+                "No Role,norole@gmail.com,9876543214,1,3,Builder123",
+                "Copy,RAVI@gmail.com,9876543215,1,1,Builder123",
+                "Too,few,fields");
+        Path rejectsFile = directory.resolve("users.rejected");
+
+        ImportReport report = new BulkImporter(engine, 2, 3).importUsers(file, rejectsFile);
+
+        assertEquals(8, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(6, report.getRejected());
+        assertTrue(engine.userStore().emailExists("sita@gmail.com"));
+
+        List<User> users = new ArrayList<>();
+        engine.userStore().forEach(users::add);
+        User sita = users.stream().filter(u -> u.getUserEmail().equals("sita@gmail.com")).findFirst().orElseThrow();
+        assertEquals("Rao, Sita", sita.getUserName());
+        assertTrue(engine.assignmentStore().projectManagerExists(sita.getUserId()));
+
+        TreeMap<Long, String> rejects = readRejects(rejectsFile);
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L), new ArrayList<>(rejects.keySet()));
+        assertEquals("Invalid email", rejects.get(5L));
+        assertTrue(rejects.get(9L).contains("already exists"));
+    }
+
+    /**
+     * Tests that JSON-lines projects are created for registered builders and managers
+     * and that rows breaking the add-project rules are rejected.
+     */
+    @Test
+    void testImportProjects_jsonLines() throws IOException {
+        StorageEngine engine = new InMemoryStorageEngine();
+        User builder = new User("Ravi", "ravi@gmail.com", "9876543210", 3, "Builder123", 1);
+        User manager = new User("Sita", "sita@gmail.com", "9876543211", 5, "Manager123", 2);
+        new UserService(engine).registrationService(builder, 1);
+        new UserService(engine).registrationService(manager, 2);
+        String ids = "\"builderId\": \"" + builder.getUserId() + "\", \"managerId\": \"" + manager.getUserId() + "\"";
+        String client = "\"clientName\": \"Acme\", \"clientEmail\": \"acme@client.io\", \"clientPhone\": \"9000000000\"";
+        Path file = write("projects.jsonl",
+                "{\"name\": \"Bridge \\\"North\\\"\", \"description\": \"River, bridge\", \"startDate\": \"2025-01-01\", \"endDate\": \"2025-12-31\", " + client + ", \"status\": \"in_progress\", " + ids + "}",
+                "{\"name\": \"Depot\", \"startDate\": \"2025-01-01\", \"endDate\": \"2025-06-30\", " + client + ", \"status\": \"UPCOMING\", " + ids + "}",
+                "{\"name\": \"Same Day\", \"startDate\": \"2025-01-01\", \"endDate\": \"2025-01-01\", " + client + ", \"status\": \"UPCOMING\", " + ids + "}",
+                "{\"name\": \"Backwards\", \"startDate\": \"2025-06-01\", \"endDate\": \"2025-01-01\", " + client + ", \"status\": \"UPCOMING\", " + ids + "}",
+                "{\"name\": \"Ghost\", \"startDate\": \"2025-01-01\", \"endDate\": \"2025-06-30\", " + client + ", \"status\": \"UPCOMING\", \"builderId\": \"B999\", \"managerId\": \"" + manager.getUserId() + "\"}",
+                "{\"name\": \"Unknown\", \"startDate\": \"2025-01-01\", \"endDate\": \"2025-06-30\", " + client + ", \"status\": \"PAUSED\", " + ids + "}",
+                "{\"name\": \"Nested\", \"tags\": [\"a\"]}",
+                "{\"name\": \"Broken\"");
+        Path rejectsFile = directory.resolve("projects.rejected");
+
+        ImportReport report = new BulkImporter(engine, 2, 2).importProjects(file, rejectsFile);
+
+        assertEquals(8, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(6, report.getRejected());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L), new ArrayList<>(readRejects(rejectsFile).keySet()));
+
+        long[] projectIds = engine.assignmentStore().getBuilderProjectIds(builder.getUserId()).toArray();
+        assertEquals(2, projectIds.length);
+        assertEquals(2, engine.assignmentStore().getManagerProjectIds(manager.getUserId()).size());
+        Project bridge = engine.projectStore().getProjectById(Math.min(projectIds[0], projectIds[1]));
+        assertEquals("Bridge \"North\"", bridge.getProjectName());
+        assertEquals("River, bridge", bridge.getProjectDescription());
+        assertEquals(Status.IN_PROGRESS, bridge.getStatus());
+        assertEquals("acme@client.io", bridge.getAssignedClient().getClientEmail());
+    }
+
+    /**
+     * Tests that a file spanning many batches on several workers imports each row once.
+     */
+    @Test
+    void testImportUsers_manyBatches() throws IOException {
+        StorageEngine engine = new InMemoryStorageEngine();
+        int rows = 5_000;
+        List<String> lines = new ArrayList<>();
+        lines.add("name,email,phone,experience,role,password");
+        for (int i = 0; i < rows; i++) {
+            String email = i % 10 == 0 ? "invalid" + i : "user" + i + "@corp.io";
+            lines.add("User " + i + "," + email + ",9876543210," + (i % 20) + "," + (i % 2 + 1) + ",Passw0rd" + i);
+        }
+        Path file = directory.resolve("many.csv");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        Path rejectsFile = directory.resolve("many.rejected");
+
+        ImportReport report = new BulkImporter(engine, 4, 64).importUsers(file, rejectsFile);
+
+        assertEquals(rows, report.getRows());
+        assertEquals(rows / 10, report.getRejected());
+        assertEquals(rows - rows / 10, report.getImported());
+        long[] count = new long[1];
+        engine.userStore().forEach(user -> count[0]++);
+        assertEquals(rows - rows / 10, count[0]);
+        assertEquals(rows / 10, readRejects(rejectsFile).size());
+    }
+
+    /**
+     * Tests that an empty file imports nothing and still writes the rejects header.
+     */
+    @Test
+    void testImportEmptyFile() throws IOException {
+        Path file = write("empty.csv");
+        Path rejectsFile = directory.resolve("empty.rejected");
+
+        ImportReport report = new BulkImporter(new InMemoryStorageEngine()).importUsers(file, rejectsFile);
+
+        assertEquals(0, report.getRows());
+        assertTrue(readRejects(rejectsFile).isEmpty());
+    }
+
+    /**
+     * Tests that a password given as a hash is stored as is, that a plain-text one
+     * is hashed at the importer's work factor, and that login raises it to the
+     * configured one.
+     */
+    @Test
+    void testImportUsers_preHashedAndLowWorkFactor() throws IOException {
+        StorageEngine engine = new InMemoryStorageEngine();
+        String hash = new PasswordHasher(1000).hash("Migrated123");
+        Path file = write("users.csv",
+                "name,email,phone,experience,role,password",
+                "Ravi,ravi@gmail.com,9876543210,3,builder," + hash,
+                "Sita,sita@gmail.com,9876543211,5,manager,Manager123");
+        Path rejectsFile = directory.resolve("users.rejected");
+
+        ImportReport report;
+        try (PasswordVerifier verifier = new PasswordVerifier(new PasswordHasher(10), 2, 2)) {
+            report = new BulkImporter(engine, 2, 1, verifier).importUsers(file, rejectsFile);
+        }
+
+        assertEquals(2, report.getImported());
+        List<User> users = new ArrayList<>();
+        engine.userStore().forEach(users::add);
+        User ravi = users.stream().filter(u -> u.getUserEmail().equals("ravi@gmail.com")).findFirst().orElseThrow();
+        User sita = users.stream().filter(u -> u.getUserEmail().equals("sita@gmail.com")).findFirst().orElseThrow();
+        assertEquals(hash, ravi.getPassword());
+        assertTrue(sita.getPassword().startsWith("pbkdf2-sha256$10$"));
+
+        UserService userService = new UserService(engine);
+        assertEquals("Ravi", userService.loginService(ravi.getUserId(), "Migrated123").getUserName());
+        userService.loginService(sita.getUserId(), "Manager123");
+        assertFalse(userService.getPasswordVerifier().getHasher().needsRehash(sita.getPassword()));
+    }
+
+    /**
+     * Tests that rows whose password cannot be hashed because the pool is full are
+     * written to the rejects file, their emails left free, and the import completes.
+     */
+    @Test
+    void testImportUsers_hashingBusy_rejectsRows() throws IOException {
+        StorageEngine engine = new InMemoryStorageEngine();
+        Path file = write("users.csv",
+                "name,email,phone,experience,role,password",
+                "Ravi,ravi@gmail.com,9876543210,3,builder,Builder123",
+                "Sita,sita@gmail.com,9876543211,5,manager,Manager123");
+        Path rejectsFile = directory.resolve("users.rejected");
+        PasswordVerifier stopped = new PasswordVerifier(new PasswordHasher(10), 1, 1);
+        stopped.close();
+
+        ImportReport report = new BulkImporter(engine, 2, 1, stopped).importUsers(file, rejectsFile);
+
+        assertEquals(2, report.getRows());
+        assertEquals(0, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of(2L, 3L), new ArrayList<>(readRejects(rejectsFile).keySet()));
+        assertFalse(engine.userStore().emailExists("ravi@gmail.com"));
+    }
+}
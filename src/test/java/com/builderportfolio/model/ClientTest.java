@@ -16,6 +16,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *     <li>Getter and setter methods</li>
  *     <li>toString method output</li>
  *     <li>Auto-increment behavior of client IDs</li>
+ *     <li>Only restored clients, not ones rebuilt with a known ID, advance the ID sequence</li>
  *     <li>Handling of invalid input such as null or empty fields</li>
  * </ul>
  */
@@ -127,4 +128,19 @@ public class ClientTest {
         );
     }
 
+    /**
+     * Tests that rebuilding a client with a known ID leaves the ID sequence alone,
+     * while restoring one marks its ID as taken.
+     */
+    @Test
+    @Order(8)
+    void testWithAllocatedId_doesNotObserveId() {
+        Client rebuilt = Client.withAllocatedId(1000L, "Ravi", "ravi@gmail.com", "8888888888");
+        assertEquals(1000L, rebuilt.getClientId());
+        assertEquals(3L, new Client("Name", "a@gmail.com", "1234567890").getClientId());
+
+        Client.restore(1000L, "Ravi", "ravi@gmail.com", "8888888888");
+        assertEquals(1001L, new Client("Name", "a@gmail.com", "1234567890").getClientId());
+    }
+
 }
@@ -0,0 +1,154 @@
+package com.builderportfolio.model;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IdAllocator}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Sequential IDs for a single thread</li>
+ *     <li>Observed IDs are never handed out</li>
+ *     <li>No duplicate IDs across 10 million concurrent allocations</li>
+ *     <li>Short-lived virtual threads allocate without wasting leased blocks</li>
+ *     <li>IDs keep increasing across a restart when persisted</li>
+ *     <li>A corrupt sequence file is rejected</li>
+ * </ul>
+ */
+class IdAllocatorTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that a single thread gets consecutive IDs across block boundaries.
+     */
+    @Test
+    void testSingleThread_isSequential() {
+        IdAllocator allocator = new IdAllocator("test", 4, 1);
+        for (long expected = 1; expected <= 10; expected++) {
+            assertEquals(expected, allocator.next());
+        }
+    }
+
+    /**
+     * Tests that allocation continues above an observed ID, including inside the current block.
+     */
+    @Test
+    void testObserve_skipsTakenIds() {
+        IdAllocator allocator = new IdAllocator("test");
+        assertEquals(1, allocator.next());
+
+        allocator.observe(40);
+        assertEquals(41, allocator.next());
+
+        allocator.observe(10);
+        assertEquals(42, allocator.next());
+
+        allocator.observe(1_000);
+        assertEquals(1_001, allocator.next());
+    }
+
+    /**
+     * Tests that 10 million IDs allocated by 16 threads are all distinct.
+     */
+    @Test
+    void testConcurrentAllocation_hasNoCollisions() throws Exception {
+        int threads = 16;
+        int perThread = 10_000_000 / threads;
+        IdAllocator allocator = new IdAllocator("stress");
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Callable<long[]> task = () -> {
+                long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = allocator.next();
+                }
+                return ids;
+            };
+            results.add(pool.submit(task));
+        }
+
+        BitSet seen = new BitSet();
+        int total = 0;
+        for (Future<long[]> result : results) {
+            for (long id : result.get()) {
+                assertTrue(id > 0 && id < Integer.MAX_VALUE);
+                assertFalse(seen.get((int) id), "Duplicate ID " + id);
+                seen.set((int) id);
+                total++;
+            }
+        }
+        pool.shutdown();
+        assertEquals(10_000_000, total);
+    }
+
+    /**
+     * Tests that one allocation per virtual thread takes consecutive IDs rather
+     * than a fresh block each; skipped on JDKs without virtual threads.
+     */
+    @Test
+    void testVirtualThreads_shareCounter() throws Exception {
+        ExecutorService perTask;
+        try {
+            perTask = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            Assumptions.abort("No virtual threads on this JDK");
+            return;
+        }
+        IdAllocator allocator = new IdAllocator("test");
+        try {
+            for (long expected = 1; expected <= 5; expected++) {
+                assertEquals(expected, perTask.submit(allocator::next).get());
+            }
+        } finally {
+            perTask.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a persisted allocator resumes above every ID handed out before the restart.
+     */
+    @Test
+    void testPersisted_idsIncreaseAcrossRestart() throws IOException {
+        Path file = directory.resolve("project.ids");
+        IdAllocator before = new IdAllocator("project", 8, 2);
+        before.persistTo(file);
+        long last = 0;
+        for (int i = 0; i < 100; i++) {
+            last = before.next();
+        }
+
+        IdAllocator after = new IdAllocator("project", 8, 2);
+        after.persistTo(file);
+        assertTrue(after.next() > last);
+    }
+
+    /**
+     * Tests that an unreadable sequence file is reported instead of restarting from 1.
+     */
+    @Test
+    void testCorruptFile_shouldThrow() throws IOException {
+        Path file = directory.resolve("client.ids");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        assertThrows(IOException.class, () -> new IdAllocator("client").persistTo(file));
+    }
+}
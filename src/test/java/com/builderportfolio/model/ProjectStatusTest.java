@@ -13,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *     <li>Correct behavior of {@link Status#valueOf(String)}</li>
  *     <li>Correct behavior of {@link Status#name()}</li>
  *     <li>Handling of invalid enum string values</li>
+ *     <li>The transition table of {@link Status#canMoveTo(Status)}</li>
  * </ul>
  */
 public class ProjectStatusTest {
@@ -58,4 +59,20 @@ public class ProjectStatusTest {
     void testEnumName() {
         assertEquals("COMPLETED", Status.COMPLETED.name());
     }
+
+    /**
+     * Tests that {@link Status#canMoveTo(Status)} allows only forward moves,
+     * putting work in progress back to upcoming, and nothing after completion.
+     */
+    @Test
+    void testCanMoveTo() {
+        assertTrue(Status.UPCOMING.canMoveTo(Status.IN_PROGRESS));
+        assertTrue(Status.IN_PROGRESS.canMoveTo(Status.COMPLETED));
+        assertTrue(Status.IN_PROGRESS.canMoveTo(Status.UPCOMING));
+        assertFalse(Status.UPCOMING.canMoveTo(Status.COMPLETED));
+        assertFalse(Status.UPCOMING.canMoveTo(Status.UPCOMING));
+        assertFalse(Status.COMPLETED.canMoveTo(Status.UPCOMING));
+        assertFalse(Status.COMPLETED.canMoveTo(Status.IN_PROGRESS));
+        assertFalse(Status.IN_PROGRESS.canMoveTo(null));
+    }
 }
@@ -6,6 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *     <li>Auto-increment behavior of project IDs</li>
  *     <li>Validation rules for null or invalid inputs</li>
  *     <li>{@link Project#toString()} method</li>
+ *     <li>Compare-and-set status changes and concurrent setters losing no updates</li>
  * </ul>
  */
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -195,4 +204,103 @@ public class ProjectTest {
                         client, Status.UPCOMING, "B1", "P1")
         );
     }
+
+    /**
+     * Tests that restoring a project keeps its ID and moves the ID counter past it.
+     */
+    @Test
+    @Order(12)
+    void testRestore_keepsIdAndAdvancesCounter() {
+        Project restored = Project.restore(50, "Dam", "Hydro dam", LocalDate.now(), LocalDate.now().plusDays(5),
+                client, Status.COMPLETED, "B1", "P1");
+        Project next = new Project("Road", "Ring road", LocalDate.now(), LocalDate.now().plusDays(5),
+                client, Status.UPCOMING, "B1", "P1");
+
+        assertEquals(50, restored.getProjectId());
+        assertEquals(Status.COMPLETED, restored.getStatus());
+        assertEquals(51, next.getProjectId());
+    }
+
+    /**
+     * Tests that of many threads moving a project on from the same status,
+     * exactly one succeeds, and that a stale expected status is refused.
+     */
+    @Test
+    @Order(13)
+    void testCompareAndSetStatus_oneWinnerPerTransition() throws Exception {
+        Project contested = new Project("Tower", "Office tower", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31),
+                client, Status.UPCOMING, "B1", "P1");
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                if (contested.compareAndSetStatus(Status.UPCOMING, Status.IN_PROGRESS)) winners.incrementAndGet();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+
+        assertEquals(1, winners.get());
+        assertEquals(Status.IN_PROGRESS, contested.getStatus());
+        assertEquals(1, contested.getVersion());
+        assertFalse(contested.compareAndSetStatus(Status.UPCOMING, Status.COMPLETED));
+        assertEquals(Status.IN_PROGRESS, contested.getStatus());
+    }
+
+    /**
+     * Tests that threads changing different fields of one project at the same
+     * time lose none of their changes, and that a reader always sees both
+     * dates from the same change.
+     */
+    @Test
+    @Order(14)
+    void testConcurrentSetters_noLostUpdatesOrTornDates() throws Exception {
+        LocalDate[][] ranges = {
+                {LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)},
+                {LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30)}
+        };
+        Project shared = new Project("Depot", "Bus depot", ranges[0][0], ranges[0][1], client, Status.UPCOMING, "B1", "P1");
+        int changes = 20_000;
+        Client lastClient = new Client("Last", "last@gmail.com", "1111111111");
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        writers.add(pool.submit(() -> {
+            for (int i = 0; i < changes; i++) shared.setProjectName("Depot " + i);
+        }));
+        writers.add(pool.submit(() -> {
+            for (int i = 0; i < changes - 1; i++) shared.setAssignedClient(client);
+            shared.setAssignedClient(lastClient);
+        }));
+        writers.add(pool.submit(() -> {
+            for (int i = 0; i < changes; i++) shared.setDates(ranges[i % 2][0], ranges[i % 2][1]);
+        }));
+        Future<?> reader = pool.submit(() -> {
+            while (writers.stream().anyMatch(w -> !w.isDone())) {
+                String text = shared.toString();
+                assertTrue(text.contains("startDate=2025-01-01, endDate=2025-01-31")
+                        || text.contains("startDate=2025-06-01, endDate=2025-06-30"), text);
+            }
+        });
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        reader.get();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(3L * changes, shared.getVersion());
+        assertEquals("Depot " + (changes - 1), shared.getProjectName());
+        assertSame(lastClient, shared.getAssignedClient());
+        assertEquals(ranges[1][1], shared.getEndDate());
+    }
 }
@@ -129,7 +129,7 @@ public class UserTest {
     }
 
     /**
-     * Tests the {@link User#toString()} method for expected output.
+     * Tests the {@link User#toString()} method for expected output, which leaves out the password.
      */
     @Test
     @Order(6)
@@ -141,7 +141,7 @@ public class UserTest {
         assertTrue(userString.contains("ramesh.kumar@gmail.com"));
         assertTrue(userString.contains("7777777777"));
         assertTrue(userString.contains("12"));
-        assertTrue(userString.contains("newpass123"));
+        assertFalse(userString.contains("newpass123"));
     }
 
     /**
@@ -176,4 +176,18 @@ public class UserTest {
                 new User("Name", "a@gmail.com", "1234567890", 5, null, 2)
         );
     }
+
+    /**
+     * Tests that restoring a user keeps its ID and moves the role's ID counter past it.
+     */
+    @Test
+    @Order(10)
+    void testRestore_keepsIdAndAdvancesCounter() {
+        User restored = User.restore("B40", "Kiran", "kiran@gmail.com", "1234567890", 4, "pass", 1);
+        User next = new User("Next", "next@gmail.com", "1234567890", 1, "pass", 1);
+
+        assertEquals("B40", restored.getUserId());
+        assertEquals("Kiran", restored.getUserName());
+        assertEquals("B41", next.getUserId());
+    }
 }
@@ -0,0 +1,133 @@
+package com.builderportfolio.query;
+
+import com.builderportfolio.dao.InMemoryProjectStore;
+import com.builderportfolio.dao.OffHeapProjectStore;
+import com.builderportfolio.dao.ProjectStore;
+import com.builderportfolio.model.Client;
+import com.builderportfolio.model.Project;
+import com.builderportfolio.model.Status;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PortfolioQuery}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>The off-heap store's spliterator splits and visits every project once</li>
+ *     <li>Parallel reports on both stores match a single-threaded scan</li>
+ *     <li>Per-status counts hold every status and respect the date range</li>
+ * </ul>
+ */
+class PortfolioQueryTest {
+
+    private static final int PROJECTS = 20_000;
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TODAY = LocalDate.of(2025, 7, 1);
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void setUpPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutDownPool() {
+        pool.shutdown();
+    }
+
+    private static ProjectStore fill(ProjectStore store) {
+        Client client = new Client("Client", "client@query.io", "0771234567");
+        Status[] statuses = Status.values();
+        for (int i = 0; i < PROJECTS; i++) {
+            LocalDate start = BASE.plusDays(i % 200);
+            store.saveProject(new Project("Project " + i, "Query project", start, start.plusDays(i % 97), client,
+                    statuses[i % statuses.length], "B" + (i % 13), "P" + (i % 7)));
+        }
+        return store;
+    }
+
+    /**
+     * Tests that the off-heap spliterator splits and its parts together visit
+     * every project exactly once.
+     */
+    @Test
+    void testOffHeapSpliterator_visitsEveryProjectOnce() {
+        ProjectStore store = fill(new OffHeapProjectStore());
+        Spliterator<Project> first = store.spliterator();
+        Spliterator<Project> second = first.trySplit();
+        assertNotNull(second);
+
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        pool.submit(() -> StreamSupport.stream(store.spliterator(), true)
+                .forEach(project -> assertTrue(seen.add(project.getProjectId())))).join();
+        assertEquals(PROJECTS, seen.size());
+
+        Set<Long> halves = new HashSet<>();
+        first.forEachRemaining(project -> assertTrue(halves.add(project.getProjectId())));
+        second.forEachRemaining(project -> assertTrue(halves.add(project.getProjectId())));
+        assertEquals(seen, halves);
+    }
+
+    /**
+     * Tests that the reports on each store match a single-threaded scan.
+     */
+    @Test
+    void testReports_matchSequentialScan() {
+        for (ProjectStore store : new ProjectStore[]{fill(new InMemoryProjectStore()), fill(new OffHeapProjectStore())}) {
+            Map<String, Long> perBuilder = new HashMap<>();
+            Map<String, Long> overdue = new HashMap<>();
+            store.forEach(project -> {
+                perBuilder.merge(project.getBuilderId(), 1L, Long::sum);
+                if (project.getStatus() != Status.COMPLETED && project.getEndDate().isBefore(TODAY)) {
+                    overdue.merge(project.getProjectManagerId(), 1L, Long::sum);
+                }
+            });
+
+            PortfolioQuery query = new PortfolioQuery(store, pool);
+            assertEquals(perBuilder, query.projectsPerBuilder());
+            assertEquals(overdue, query.overdueByManager(TODAY));
+            assertEquals(PROJECTS, query.aggregate(Aggregation.count()));
+            assertEquals(7, query.projectsPerManager().size());
+        }
+    }
+
+    /**
+     * Tests per-status counts of the projects ending in a quarter.
+     */
+    @Test
+    void testEndingInQuarterByStatus() {
+        ProjectStore store = fill(new InMemoryProjectStore());
+        LocalDate from = LocalDate.of(2025, 4, 1);
+        LocalDate to = LocalDate.of(2025, 6, 30);
+        Map<Status, Long> expected = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) expected.put(status, 0L);
+        store.forEach(project -> {
+            LocalDate end = project.getEndDate();
+            if (!end.isBefore(from) && !end.isAfter(to)) expected.merge(project.getStatus(), 1L, Long::sum);
+        });
+
+        PortfolioQuery query = new PortfolioQuery(store, pool);
+        Map<Status, Long> byStatus = query.endingInQuarterByStatus(LocalDate.of(2025, 5, 17));
+        assertEquals(expected, byStatus);
+        assertEquals(Status.values().length, byStatus.size());
+        assertTrue(byStatus.values().stream().mapToLong(Long::longValue).sum() > 0);
+        assertEquals(0, query.endingBetweenByStatus(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 3, 31))
+                .values().stream().mapToLong(Long::longValue).sum());
+    }
+}
@@ -0,0 +1,163 @@
+package com.builderportfolio.security;
+
+import com.builderportfolio.exception.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LoginRateLimiter}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Clients are throttled by their attempts over a sliding window</li>
+ *     <li>Users are locked out after failed logins, and a success clears their failures</li>
+ *     <li>Without a lockout, failures only throttle for the window</li>
+ *     <li>The maps stay bounded and evict idle keys first</li>
+ *     <li>Counting is exact under many threads</li>
+ * </ul>
+ */
+class LoginRateLimiterTest {
+
+    private static final long MINUTE = 60_000;
+
+    /** Starts on a window boundary, so the previous window weighs in fully. */
+    private final AtomicLong now = new AtomicLong(28_000_000 * MINUTE);
+
+    private LoginRateLimiter limiter(int clientAttempts, int userFailures, Duration lockout, int maxKeys) {
+        return new LoginRateLimiter(clientAttempts, userFailures, Duration.ofMinutes(1), lockout, maxKeys, now::get);
+    }
+
+    /**
+     * Tests that a client's attempts over the limit are refused until they
+     * slide out of the window, and other clients are unaffected.
+     */
+    @Test
+    void testClientLimit_slidingWindow() {
+        LoginRateLimiter limiter = limiter(10, 5, Duration.ZERO, 100);
+        for (int i = 0; i < 10; i++) limiter.check("B" + i, "10.0.0.1");
+        assertThrows(TooManyLoginAttemptsException.class, () -> limiter.check("B99", "10.0.0.1"));
+        limiter.check("B99", "10.0.0.2");
+        limiter.check("B99", null);
+
+        // Half-way through the next window half the previous attempts still count: 11 * 0.5 + 1
+        now.addAndGet(MINUTE + MINUTE / 2);
+        for (int i = 0; i < 4; i++) limiter.check("B1", "10.0.0.1");
+        assertThrows(TooManyLoginAttemptsException.class, () -> limiter.check("B1", "10.0.0.1"));
+
+        now.addAndGet(MINUTE * 2);
+        limiter.check("B1", "10.0.0.1");
+        assertEquals(2, limiter.getRejectedByClient());
+        assertEquals(0, limiter.getRejectedByUser());
+    }
+
+    /**
+     * Tests lockout after failed logins, its expiry, and reset on success.
+     */
+    @Test
+    void testUserLockout() {
+        LoginRateLimiter limiter = limiter(1_000, 3, Duration.ofMinutes(15), 100);
+        limiter.recordFailure("B1");
+        limiter.recordFailure("B1");
+        limiter.check("B1", "10.0.0.1");
+        limiter.recordSuccess("B1");
+        limiter.recordFailure("B1");
+        limiter.recordFailure("B1");
+        limiter.check("B1", "10.0.0.1");
+        limiter.recordFailure("B1");
+
+        assertTrue(limiter.isLockedOut("B1"));
+        assertThrows(TooManyLoginAttemptsException.class, () -> limiter.check("B1", "10.0.0.2"));
+        limiter.check("B2", "10.0.0.2");
+        now.addAndGet(14 * MINUTE);
+        assertThrows(TooManyLoginAttemptsException.class, () -> limiter.check("B1", null));
+        now.addAndGet(MINUTE);
+        assertFalse(limiter.isLockedOut("B1"));
+        limiter.check("B1", null);
+
+        assertEquals(1, limiter.getLockouts());
+        assertEquals(2, limiter.getRejectedByUser());
+    }
+
+    /**
+     * Tests that with no lockout, failures refuse logins only while they are in the window.
+     */
+    @Test
+    void testThrottleWithoutLockout() {
+        LoginRateLimiter limiter = limiter(1_000, 2, Duration.ZERO, 100);
+        limiter.recordFailure("B1");
+        limiter.recordFailure("B1");
+        assertFalse(limiter.isLockedOut("B1"));
+        assertThrows(TooManyLoginAttemptsException.class, () -> limiter.check("B1", null));
+
+        now.addAndGet(2 * MINUTE);
+        limiter.check("B1", null);
+        assertEquals(0, limiter.getLockouts());
+    }
+
+    /**
+     * Tests that a spray of new keys cannot grow the maps without bound, and
+     * that lockouts outlast other counters when room is made.
+     */
+    @Test
+    void testBoundedKeys() {
+        LoginRateLimiter limiter = limiter(1_000_000, 2, Duration.ofMinutes(15), 100);
+        limiter.recordFailure("B0");
+        limiter.recordFailure("B0");
+        for (int i = 1; i <= 10_000; i++) {
+            limiter.check("B" + i, "10.0.0." + i);
+            limiter.recordFailure("B" + i);
+        }
+        assertTrue(limiter.getTrackedKeys() <= 2 * 100);
+        assertTrue(limiter.getEvictions() >= 2 * 9_800);
+        assertTrue(limiter.isLockedOut("B0"));
+
+        for (int i = 1; i <= 10_000; i++) {
+            limiter.recordFailure("P" + i);
+            limiter.recordFailure("P" + i);
+        }
+        assertTrue(limiter.getTrackedKeys() <= 2 * 100);
+        assertTrue(limiter.isLockedOut("P10000"));
+    }
+
+    /**
+     * Tests that no attempt is lost or double-counted when many threads
+     * share one client key.
+     */
+    @Test
+    void testConcurrentChecks() throws Exception {
+        LoginRateLimiter limiter = limiter(1_000, 5, Duration.ZERO, 100);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                results.add(pool.submit(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 100; i++) {
+                        try {
+                            limiter.check(null, "10.0.0.1");
+                            allowed++;
+                        } catch (TooManyLoginAttemptsException e) {
+                            // counted below
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            int allowed = 0;
+            for (Future<Integer> result : results) allowed += result.get();
+            assertEquals(1_000, allowed);
+            assertEquals(600, limiter.getRejectedByClient());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.builderportfolio.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PasswordHasher}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Hashes are salted, encoded with their work factor and verify only the right password</li>
+ *     <li>Hashes made with another work factor still verify and are flagged for re-hashing</li>
+ *     <li>Legacy plain-text values verify and are flagged for re-hashing</li>
+ *     <li>Malformed stored values never verify</li>
+ *     <li>Stored hashes above the iteration bound are rejected without being computed</li>
+ * </ul>
+ */
+class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(1_000);
+
+    /**
+     * Tests that the same password hashes differently each time and verifies.
+     */
+    @Test
+    void testHashAndVerify() {
+        String first = hasher.hash("Passw0rd");
+        String second = hasher.hash("Passw0rd");
+
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("pbkdf2-sha256$1000$"));
+        assertFalse(first.contains("Passw0rd"));
+        assertTrue(PasswordHasher.isHash(first));
+        assertTrue(hasher.verify(first, "Passw0rd"));
+        assertTrue(hasher.verify(second, "Passw0rd"));
+        assertFalse(hasher.verify(first, "passw0rd"));
+        assertFalse(hasher.verify(first, ""));
+        assertFalse(hasher.verify(first, null));
+        assertFalse(hasher.needsRehash(first));
+        assertThrows(IllegalArgumentException.class, () -> hasher.hash(""));
+    }
+
+    /**
+     * Tests that raising the work factor keeps old hashes usable.
+     */
+    @Test
+    void testOtherWorkFactor() {
+        String old = new PasswordHasher(500).hash("Passw0rd");
+
+        assertTrue(hasher.verify(old, "Passw0rd"));
+        assertTrue(hasher.needsRehash(old));
+        assertThrows(IllegalArgumentException.class, () -> new PasswordHasher(0));
+    }
+
+    /**
+     * Tests that passwords stored in plain text by earlier versions still work.
+     */
+    @Test
+    void testLegacyPlainText() {
+        assertFalse(PasswordHasher.isHash("Passw0rd"));
+        assertTrue(hasher.verify("Passw0rd", "Passw0rd"));
+        assertFalse(hasher.verify("Passw0rd", "Passw0rd1"));
+        assertTrue(hasher.needsRehash("Passw0rd"));
+    }
+
+    /**
+     * Tests that damaged hashes are rejected rather than failing.
+     */
+    @Test
+    void testMalformedHash() {
+        assertFalse(hasher.verify("pbkdf2-sha256$", "Passw0rd"));
+        assertFalse(hasher.verify("pbkdf2-sha256$x$AAAA$AAAA", "Passw0rd"));
+        assertFalse(hasher.verify("pbkdf2-sha256$1000$AAAA$", "Passw0rd"));
+        assertFalse(hasher.verify("pbkdf2-sha256$1000$!!$AAAA", "Passw0rd"));
+        assertFalse(hasher.verify(null, "Passw0rd"));
+    }
+
+    /**
+     * Tests that a hash claiming far more work than configured is neither
+     * computed nor accepted.
+     */
+    @Test
+    void testIterationBound() {
+        assertEquals(4_000, hasher.getMaxIterations());
+        String atBound = new PasswordHasher(4_000).hash("Passw0rd");
+        String aboveBound = atBound.replaceFirst("\\$4000\\$", "\\$2000000000\\$");
+
+        assertTrue(hasher.isAcceptedHash(atBound));
+        assertTrue(hasher.verify(atBound, "Passw0rd"));
+        assertFalse(hasher.isAcceptedHash(aboveBound));
+        assertFalse(hasher.verify(aboveBound, "Passw0rd"));
+        assertFalse(hasher.isAcceptedHash("pbkdf2-sha256$1000$AAAA$"));
+        assertFalse(hasher.isAcceptedHash("Passw0rd"));
+        assertEquals(Integer.MAX_VALUE, new PasswordHasher(Integer.MAX_VALUE / 2).getMaxIterations());
+    }
+}
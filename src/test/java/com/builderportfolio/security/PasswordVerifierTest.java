@@ -0,0 +1,121 @@
+package com.builderportfolio.security;
+
+import com.builderportfolio.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PasswordVerifier}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Hashing and verification through the pool, with their metrics</li>
+ *     <li>Work beyond the threads and queue is rejected and counted</li>
+ *     <li>Many concurrent callers are all served within the bound</li>
+ * </ul>
+ */
+class PasswordVerifierTest {
+
+    /**
+     * Tests a hash and its verification through the pool.
+     */
+    @Test
+    void testHashAndVerify() {
+        try (PasswordVerifier verifier = new PasswordVerifier(new PasswordHasher(1_000), 2, 8)) {
+            String hash = verifier.hash("Passw0rd");
+
+            assertTrue(verifier.verify(hash, "Passw0rd"));
+            assertFalse(verifier.verify(hash, "Wrong0ne"));
+            assertEquals(3, verifier.getCompleted());
+            assertEquals(0, verifier.getRejected());
+            assertTrue(verifier.getAverageNanos() > 0);
+            assertThrows(IllegalArgumentException.class, () -> verifier.hash(null));
+        }
+    }
+
+    /**
+     * Tests that a full queue turns callers away instead of growing.
+     */
+    @Test
+    void testRejectsBeyondQueue() throws Exception {
+        PasswordHasher blocking = new BlockingHasher();
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try (PasswordVerifier verifier = new PasswordVerifier(blocking, 1, 1)) {
+            Future<Boolean> running = callers.submit(() -> verifier.verify("a", "a"));
+            BlockingHasher.started.await(10, TimeUnit.SECONDS);
+            Future<Boolean> queued = callers.submit(() -> verifier.verify("b", "b"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (verifier.getQueueDepth() == 0 && System.nanoTime() < deadline) Thread.sleep(5);
+
+            assertEquals(1, verifier.getQueueDepth());
+            assertEquals(1, verifier.getActiveCount());
+            assertThrows(ServiceBusyException.class, () -> verifier.verify("c", "c"));
+            assertEquals(1, verifier.getRejected());
+
+            BlockingHasher.release.countDown();
+            assertTrue(running.get(10, TimeUnit.SECONDS));
+            assertTrue(queued.get(10, TimeUnit.SECONDS));
+            assertEquals(2, verifier.getCompleted());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests many callers at once against a queue large enough for all of them.
+     */
+    @Test
+    void testConcurrentCallers() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try (PasswordVerifier verifier = new PasswordVerifier(new PasswordHasher(1_000), 2, 16)) {
+            String hash = verifier.hash("Passw0rd");
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                results.add(callers.submit(() -> {
+                    int ok = 0;
+                    for (int i = 0; i < 20; i++) {
+                        if (verifier.verify(hash, "Passw0rd")) ok++;
+                    }
+                    return ok;
+                }));
+            }
+            for (Future<Integer> result : results) assertEquals(20, result.get());
+            assertEquals(321, verifier.getCompleted());
+            assertEquals(0, verifier.getRejected());
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    /**
+     * Hasher whose verifications wait until released.
+     */
+    private static final class BlockingHasher extends PasswordHasher {
+        static final CountDownLatch started = new CountDownLatch(1);
+        static final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingHasher() {
+            super(1);
+        }
+
+        @Override
+        public boolean verify(String stored, String password) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.verify(stored, password);
+        }
+    }
+}
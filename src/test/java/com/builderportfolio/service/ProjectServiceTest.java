@@ -3,13 +3,28 @@ package com.builderportfolio.service;
 import com.builderportfolio.model.Client;
 import com.builderportfolio.model.Project;
 import com.builderportfolio.model.Status;
+import com.builderportfolio.model.StatusTransition;
 import com.builderportfolio.dao.BuilderDAO;
+import com.builderportfolio.dao.InMemoryStorageEngine;
 import com.builderportfolio.dao.ManagerDAO;
+import com.builderportfolio.dao.OffHeapStorageEngine;
 import com.builderportfolio.dao.ProjectDAO;
+import com.builderportfolio.dao.StorageEngine;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,6 +38,14 @@ import static org.junit.jupiter.api.Assertions.*;
  *     <li>Updating project status</li>
  *     <li>Deleting projects</li>
  *     <li>Validating input constraints (null, empty, invalid dates)</li>
+ *     <li>Creating projects in a batch with per-item failures</li>
+ *     <li>Counting and listing projects by status through the status index</li>
+ *     <li>Date window and deadline queries following rescheduled and deleted projects</li>
+ *     <li>Cursor pagination in ID order, stable across inserts and deletes</li>
+ *     <li>Ranked full-text search, scoped to a manager and following detail changes</li>
+ *     <li>Concurrent creates, deletes and listings leave no orphaned or missing IDs</li>
+ *     <li>Concurrent status updates: one winner per expected status, none lost when retried</li>
+ *     <li>The status transition table and the history of changes</li>
  * </ul>
  */
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -225,4 +248,359 @@ class ProjectServiceTest {
                         client, Status.UPCOMING, builderId, null)
         );
     }
+
+    /**
+     * Tests that a batch creates every project with contiguous IDs and assigns
+     * each one to its builder and manager.
+     */
+    @Test
+    @Order(14)
+    void testCreateProjects_batch() {
+        List<ProjectSpec> specs = Arrays.asList(
+                new ProjectSpec("Tower A", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                        client, Status.UPCOMING, "BB1", "BM1"),
+                new ProjectSpec("Tower B", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                        client, Status.IN_PROGRESS, "BB2", "BM1"),
+                new ProjectSpec("Tower C", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                        client, Status.UPCOMING, "BB1", "BM2"));
+
+        ProjectBatchResult result = projectService.createProjects(specs);
+
+        assertTrue(result.isComplete());
+        List<Project> created = result.getCreated();
+        assertEquals(3, created.size());
+        assertEquals("Tower B", created.get(1).getProjectName());
+        assertEquals(created.get(0).getProjectId() + 1, created.get(1).getProjectId());
+        assertEquals(created.get(0).getProjectId() + 2, created.get(2).getProjectId());
+        assertEquals(Status.IN_PROGRESS, ProjectDAO.getProjectById(created.get(1).getProjectId()).getStatus());
+        assertEquals(2, projectService.getManagerProjects("BM1").size());
+        assertEquals(1, projectService.getManagerProjects("BM2").size());
+        assertEquals(2, projectService.getBuilderProjects("BB1").size());
+        assertEquals("Tower B", projectService.getBuilderProjects("BB2").get(0).getProjectName());
+    }
+
+    /**
+     * Tests that invalid specs are reported with their position while the valid
+     * ones are still created.
+     */
+    @Test
+    @Order(15)
+    void testCreateProjects_reportsFailuresByIndex() {
+        List<ProjectSpec> specs = Arrays.asList(
+                null,
+                new ProjectSpec("Depot", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                        client, Status.UPCOMING, "BB3", "BM3"),
+                new ProjectSpec("", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                        client, Status.UPCOMING, "BB3", "BM3"),
+                new ProjectSpec("Late", "desc", LocalDate.of(2025, 6, 1), LocalDate.of(2025, 1, 1),
+                        client, Status.UPCOMING, "BB3", "BM3"));
+
+        ProjectBatchResult result = projectService.createProjects(specs);
+
+        assertFalse(result.isComplete());
+        assertEquals(1, result.getCreated().size());
+        assertEquals("Depot", result.getCreated().get(0).getProjectName());
+        assertEquals(3, result.getFailures().size());
+        assertEquals(0, result.getFailures().get(0).getIndex());
+        assertEquals(2, result.getFailures().get(1).getIndex());
+        assertEquals(3, result.getFailures().get(2).getIndex());
+        assertSame(specs.get(3), result.getFailures().get(2).getSpec());
+        assertEquals(1, projectService.getManagerProjects("BM3").size());
+    }
+
+    /**
+     * Tests that status counts and status-filtered lists follow updates and deletes.
+     */
+    @Test
+    @Order(16)
+    void testStatusQueries_followUpdatesAndDeletes() {
+        long upcomingBefore = projectService.countProjects(Status.UPCOMING);
+        long completedBefore = projectService.countProjects(Status.COMPLETED);
+        for (String name : List.of("Site 1", "Site 2", "Site 3")) {
+            projectService.createProject(name, "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                    client, Status.UPCOMING, "SB1", "SM1");
+        }
+        List<Project> created = projectService.getManagerProjects("SM1");
+
+        assertEquals(upcomingBefore + 3, projectService.countProjects(Status.UPCOMING));
+        assertTrue(projectService.updateProjectStatus("SB1", created.get(0).getProjectId(), Status.IN_PROGRESS));
+        assertTrue(projectService.updateProjectStatus("SB1", created.get(0).getProjectId(), Status.COMPLETED));
+        assertTrue(projectService.deleteProject("SM1", created.get(1).getProjectId()));
+
+        assertEquals(upcomingBefore + 1, projectService.countProjects(Status.UPCOMING));
+        assertEquals(completedBefore + 1, projectService.countProjects(Status.COMPLETED));
+        assertEquals(1, projectService.countManagerProjects("SM1", Status.UPCOMING));
+        assertEquals(1, projectService.countBuilderProjects("SB1", Status.COMPLETED));
+        assertEquals(0, projectService.countBuilderProjects("SB1", Status.IN_PROGRESS));
+        assertEquals("Site 3", projectService.getManagerProjects("SM1", Status.UPCOMING).get(0).getProjectName());
+        assertEquals("Site 1", projectService.getBuilderProjects("SB1", Status.COMPLETED).get(0).getProjectName());
+        assertTrue(projectService.getManagerProjects("SM9", Status.UPCOMING).isEmpty());
+    }
+
+    /**
+     * Tests that overlap and deadline queries follow rescheduling and deletes.
+     * Dates are far from the other tests' so the shared store does not interfere.
+     */
+    @Test
+    @Order(17)
+    void testDateQueries_followRescheduleAndDelete() {
+        projectService.createProject("Early", "desc", LocalDate.of(2031, 1, 1), LocalDate.of(2031, 2, 28),
+                client, Status.UPCOMING, "DB1", "DM1");
+        projectService.createProject("Spring", "desc", LocalDate.of(2031, 3, 10), LocalDate.of(2031, 3, 20),
+                client, Status.UPCOMING, "DB1", "DM1");
+        projectService.createProject("Long", "desc", LocalDate.of(2030, 6, 1), LocalDate.of(2031, 12, 31),
+                client, Status.UPCOMING, "DB1", "DM1");
+        List<Project> created = projectService.getManagerProjects("DM1");
+        LocalDate marchFirst = LocalDate.of(2031, 3, 1);
+        LocalDate marchLast = LocalDate.of(2031, 3, 31);
+
+        List<Project> march = projectService.getProjectsActiveBetween(marchFirst, marchLast);
+        assertEquals(List.of("Spring", "Long"), march.stream().map(Project::getProjectName).collect(Collectors.toList()));
+        assertEquals(List.of("Early"), projectService.getProjectsEndingWithin(LocalDate.of(2031, 2, 20), 14)
+                .stream().map(Project::getProjectName).collect(Collectors.toList()));
+
+        long earlyId = created.get(0).getProjectId();
+        assertFalse(projectService.updateProjectDates("DM9", earlyId, marchFirst, marchLast));
+        assertThrows(IllegalArgumentException.class,
+                () -> projectService.updateProjectDates("DM1", earlyId, marchLast, marchFirst));
+        assertTrue(projectService.updateProjectDates("DM1", earlyId, marchFirst, marchLast));
+        assertEquals(marchLast, ProjectDAO.getProjectById(earlyId).getEndDate());
+
+        assertEquals(3, projectService.getProjectsActiveBetween(marchFirst, marchLast).size());
+        assertTrue(projectService.getProjectsEndingWithin(LocalDate.of(2031, 2, 20), 14).isEmpty());
+
+        assertTrue(projectService.deleteProject("DM1", created.get(2).getProjectId()));
+        assertEquals(2, projectService.getProjectsActiveBetween(marchFirst, marchLast).size());
+        assertTrue(projectService.getProjectsActiveBetween(LocalDate.of(2031, 6, 1), LocalDate.of(2031, 6, 30)).isEmpty());
+    }
+
+    /**
+     * Tests that paging walks every project once in ID order, that a delete or
+     * insert between pages neither repeats nor skips a project, and that bad
+     * arguments are rejected.
+     */
+    @Test
+    @Order(18)
+    void testPagination_cursorIsStable() {
+        for (int i = 0; i < 7; i++) {
+            projectService.createProject("Paged " + i, "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                    client, Status.UPCOMING, "PB1", "PM1");
+        }
+        List<Project> all = projectService.getManagerProjects("PM1");
+
+        ProjectPage first = projectService.getManagerProjects("PM1", 3, null);
+        assertEquals(all.subList(0, 3), first.getProjects());
+        assertTrue(first.hasNext());
+
+        // Deleting an already seen project and adding a new one must not shift the next page
+        assertTrue(projectService.deleteProject("PM1", all.get(1).getProjectId()));
+        projectService.createProject("Paged late", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                client, Status.UPCOMING, "PB1", "PM1");
+        ProjectPage second = projectService.getManagerProjects("PM1", 3, first.getNextCursor());
+        assertEquals(all.subList(3, 6), second.getProjects());
+
+        ProjectPage third = projectService.getManagerProjects("PM1", 3, second.getNextCursor());
+        assertEquals(List.of("Paged 6", "Paged late"),
+                third.getProjects().stream().map(Project::getProjectName).collect(Collectors.toList()));
+        assertFalse(third.hasNext());
+        assertNull(third.getNextCursor());
+
+        ProjectPage builderPage = projectService.getBuilderProjects("PB1", 100, null);
+        assertEquals(7, builderPage.getProjects().size());
+        assertFalse(builderPage.hasNext());
+        assertTrue(projectService.getBuilderProjects("PB9", 5, null).getProjects().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> projectService.getManagerProjects("PM1", 0, null));
+        assertThrows(IllegalArgumentException.class, () -> projectService.getManagerProjects("PM1", 3, "not a cursor!"));
+    }
+
+    /**
+     * Tests ranked search across all projects and within one manager's,
+     * and that renaming a project through the service is searchable at once.
+     */
+    @Test
+    @Order(19)
+    void testSearch_rankedAndScopedToManager() {
+        Client quayClient = new Client("Quayside Holdings", "quay@client.io", "1234567890");
+        projectService.createProject("Quayline Depot", "Warehouse", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                client, Status.UPCOMING, "QB1", "QM1");
+        projectService.createProject("Office", "Near the quayline", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                quayClient, Status.UPCOMING, "QB1", "QM1");
+        projectService.createProject("Quayline Annex", "Storage", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                client, Status.UPCOMING, "QB1", "QM2");
+
+        List<Project> all = projectService.searchProjects("quayline", 10);
+        assertEquals(List.of("Quayline Depot", "Quayline Annex", "Office"),
+                all.stream().map(Project::getProjectName).collect(Collectors.toList()));
+
+        List<Project> mine = projectService.searchManagerProjects("QM1", "quay", 10);
+        assertEquals(List.of("Quayline Depot", "Office"), mine.stream().map(Project::getProjectName).collect(Collectors.toList()));
+        assertTrue(projectService.searchManagerProjects("QM9", "quay", 10).isEmpty());
+
+        long annexId = all.get(1).getProjectId();
+        assertFalse(projectService.updateProjectDetails("QM1", annexId, "Stolen", "", client));
+        assertThrows(IllegalArgumentException.class,
+                () -> projectService.updateProjectDetails("QM2", annexId, "", "", client));
+        assertTrue(projectService.updateProjectDetails("QM2", annexId, "Quaystone Annex", "Storage", quayClient));
+        assertEquals(List.of("Quaystone Annex"),
+                projectService.searchProjects("quaystone", 10).stream().map(Project::getProjectName).collect(Collectors.toList()));
+        assertEquals(2, projectService.searchProjects("quayline", 10).size());
+    }
+
+    /**
+     * Tests that 32 threads creating, listing and deleting projects of
+     * shared managers and builders leave every assignment pointing at a
+     * stored project of that manager or builder, and every stored project
+     * in both of its assignment sets. Listings never return a project of
+     * another manager or builder.
+     */
+    @Test
+    @Order(20)
+    void testConcurrentCreateDeleteList_keepStoresConsistent() throws Exception {
+        StorageEngine engine = new InMemoryStorageEngine();
+        ProjectService service = new ProjectService(engine);
+        int threads = 32;
+        int iterations = 300;
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger deleted = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String manager = "CM" + (t % 4);
+            String builder = "CB" + (t % 8);
+            results.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < iterations; i++) {
+                    service.createProject("Concurrent " + i, "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                            client, Status.UPCOMING, builder, manager);
+                    created.incrementAndGet();
+
+                    List<Project> managed = service.getManagerProjects(manager);
+                    for (Project project : managed) {
+                        assertEquals(manager, project.getProjectManagerId());
+                    }
+                    for (Project project : service.getBuilderProjects(builder)) {
+                        assertEquals(builder, project.getBuilderId());
+                    }
+                    if (!managed.isEmpty() && random.nextBoolean()) {
+                        long victim = managed.get(random.nextInt(managed.size())).getProjectId();
+                        if (service.deleteProject(manager, victim)) deleted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        AtomicInteger stored = new AtomicInteger();
+        engine.projectStore().forEach(project -> {
+            stored.incrementAndGet();
+            assertTrue(engine.assignmentStore().getManagerProjectIds(project.getProjectManagerId()).contains(project.getProjectId()));
+            assertTrue(engine.assignmentStore().getBuilderProjectIds(project.getBuilderId()).contains(project.getProjectId()));
+        });
+        assertEquals(created.get() - deleted.get(), stored.get());
+
+        AtomicInteger assigned = new AtomicInteger();
+        engine.assignmentStore().forEachManager((manager, ids) -> ids.forEach(id -> {
+            assigned.incrementAndGet();
+            assertEquals(manager, engine.projectStore().getProjectById(id).getProjectManagerId());
+        }));
+        engine.assignmentStore().forEachBuilder((builder, ids) -> ids.forEach(id ->
+                assertEquals(builder, engine.projectStore().getProjectById(id).getBuilderId())));
+        assertEquals(stored.get(), assigned.get());
+    }
+
+    /**
+     * Tests that, on both the in-memory and the off-heap engine, of 16
+     * builders moving a project on from the same status exactly one succeeds,
+     * and that retried updates lose nothing: every successful change is in
+     * the history, each starting from the status the previous one left.
+     */
+    @Test
+    @Order(21)
+    void testConcurrentStatusUpdates_compareAndSet() throws Exception {
+        for (StorageEngine engine : List.of(new InMemoryStorageEngine(), new OffHeapStorageEngine())) {
+            ProjectService service = new ProjectService(engine);
+            service.createProject("Contested", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                    client, Status.UPCOMING, "XB1", "XM1");
+            long projectId = service.getBuilderProjects("XB1").get(0).getProjectId();
+            int threads = 16;
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger winners = new AtomicInteger();
+            AtomicInteger changes = new AtomicInteger();
+
+            // All builders race from the same status first, then toggle the status back and forth
+            CyclicBarrier raced = new CyclicBarrier(threads);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    if (service.updateProjectStatus("XB1", projectId, Status.UPCOMING, Status.IN_PROGRESS)) {
+                        winners.incrementAndGet();
+                    }
+                    raced.await();
+                    for (int i = 0; i < 100; i++) {
+                        Status next = i % 2 == 0 ? Status.UPCOMING : Status.IN_PROGRESS;
+                        if (service.updateProjectStatus("XB1", projectId, next)) changes.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            pool.shutdown();
+
+            assertEquals(1, winners.get());
+            List<StatusTransition> history = service.getStatusHistory(projectId);
+            assertEquals(1 + changes.get(), history.size());
+            Status previous = Status.UPCOMING;
+            for (StatusTransition transition : history) {
+                assertEquals(previous, transition.getFrom());
+                assertEquals("XB1", transition.getActorId());
+                previous = transition.getTo();
+            }
+            assertEquals(previous, engine.projectStore().getProjectById(projectId).getStatus());
+            assertFalse(service.updateProjectStatus("XB9", projectId, Status.COMPLETED));
+            assertEquals(1, service.countProjects(Status.UPCOMING) + service.countProjects(Status.IN_PROGRESS));
+            engine.close();
+        }
+    }
+
+    /**
+     * Tests that the transition table is enforced: no skipping from upcoming
+     * to completed, no change once completed, and no change to the same
+     * status. Refused changes leave the history untouched.
+     */
+    @Test
+    @Order(22)
+    void testUpdateProjectStatus_enforcesTransitions() {
+        projectService.createProject("Machine", "desc", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 1),
+                client, Status.UPCOMING, "TB1", "TM1");
+        long projectId = projectService.getBuilderProjects("TB1").get(0).getProjectId();
+
+        assertFalse(projectService.updateProjectStatus("TB1", projectId, Status.COMPLETED));
+        assertFalse(projectService.updateProjectStatus("TB1", projectId, Status.UPCOMING));
+        assertTrue(projectService.updateProjectStatus("TB1", projectId, Status.IN_PROGRESS));
+        assertTrue(projectService.updateProjectStatus("TB1", projectId, Status.UPCOMING));
+        assertTrue(projectService.updateProjectStatus("TB1", projectId, Status.IN_PROGRESS));
+        assertTrue(projectService.updateProjectStatus("TB1", projectId, Status.COMPLETED));
+        assertFalse(projectService.updateProjectStatus("TB1", projectId, Status.UPCOMING));
+        assertFalse(projectService.updateProjectStatus("TB1", projectId, Status.COMPLETED, Status.IN_PROGRESS));
+        assertEquals(Status.COMPLETED, projectService.getBuilderProjects("TB1").get(0).getStatus());
+
+        List<StatusTransition> history = projectService.getStatusHistory(projectId);
+        assertEquals(List.of(Status.IN_PROGRESS, Status.UPCOMING, Status.IN_PROGRESS, Status.COMPLETED),
+                history.stream().map(StatusTransition::getTo).collect(Collectors.toList()));
+        assertEquals(Status.UPCOMING, history.get(0).getFrom());
+        assertTrue(history.get(0).getTimestampMillis() <= history.get(3).getTimestampMillis());
+        assertTrue(projectService.getStatusHistory(-1).isEmpty());
+    }
 }
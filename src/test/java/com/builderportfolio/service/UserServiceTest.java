@@ -3,10 +3,15 @@ package com.builderportfolio.service;
 import com.builderportfolio.dao.BuilderDAO;
 import com.builderportfolio.dao.ManagerDAO;
 import com.builderportfolio.dao.UserDAO;
+import com.builderportfolio.dao.InMemoryStorageEngine;
 import com.builderportfolio.exception.InvalidCredentialsException;
+import com.builderportfolio.exception.ServiceBusyException;
+import com.builderportfolio.exception.TooManyLoginAttemptsException;
 import com.builderportfolio.exception.UserAlreadyExistsException;
 import com.builderportfolio.exception.UserNotFoundException;
 import com.builderportfolio.model.User;
+import com.builderportfolio.security.PasswordHasher;
+import com.builderportfolio.security.PasswordVerifier;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +23,9 @@ import static org.junit.jupiter.api.Assertions.*;
  * <ul>
  *     <li>User registration for builders and managers</li>
  *     <li>User login with correct and incorrect credentials</li>
+ *     <li>Passwords are stored hashed, and legacy plain-text passwords are upgraded on login</li>
+ *     <li>A registration turned away by a busy hashing pool leaves its email free</li>
+ *     <li>Repeated failed logins lock the user out before the password is checked</li>
  *     <li>Fetching user details</li>
  *     <li>Input validation for creating and registering users</li>
  *     <li>Handling exceptions such as duplicate users and invalid credentials</li>
@@ -203,4 +211,74 @@ class UserServiceTest {
         assertThrows(UserAlreadyExistsException.class, () ->
                 userService.registrationService(duplicateUser, duplicateUser.getRole()));
     }
+
+    /**
+     * Tests that a registered user's password is stored as a salted hash.
+     */
+    @Test
+    @Order(16)
+    void testRegister_storesPasswordHash() {
+        User user = UserDAO.getUserById("P1");
+
+        assertTrue(PasswordHasher.isHash(user.getPassword()));
+        assertFalse(user.getPassword().contains("pass123"));
+    }
+
+    /**
+     * Tests that a user stored with a plain-text password can log in and has
+     * the password hashed afterwards.
+     */
+    @Test
+    @Order(17)
+    void testLogin_upgradesPlainTextPassword() {
+        User legacy = User.restore("B50", "Old", "old@gmail.com", "9876543210", 2, "Legacy123", 1);
+        UserDAO.saveUser(legacy);
+
+        assertThrows(InvalidCredentialsException.class, () -> userService.loginService("B50", "legacy123"));
+        userService.loginService("B50", "Legacy123");
+
+        assertTrue(PasswordHasher.isHash(UserDAO.getUserById("B50").getPassword()));
+        assertEquals("Old", userService.loginService("B50", "Legacy123").getUserName());
+    }
+
+    /**
+     * Tests that a user is locked out after repeated failed logins, even with
+     * the right password.
+     */
+    @Test
+    @Order(18)
+    void testLogin_lockedOutAfterFailures() {
+        User builder = new User("Kiran", "kiran@gmail.com", "9876543210", 4, "Kiran123", 1);
+        userService.registrationService(builder, builder.getRole());
+        String builderId = builder.getUserId();
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(InvalidCredentialsException.class, () -> userService.loginService(builderId, "wrongpassword"));
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> userService.loginService(builderId, "Kiran123"));
+        assertTrue(userService.getLoginRateLimiter().isLockedOut(builderId));
+        assertEquals(1, userService.getLoginRateLimiter().getRejectedByUser());
+    }
+
+    /**
+     * Tests that a registration whose password cannot be hashed because the pool
+     * is busy releases the email it reserved, so it can be retried.
+     */
+    @Test
+    @Order(19)
+    void testRegister_hashingBusy_releasesEmail() {
+        InMemoryStorageEngine engine = new InMemoryStorageEngine();
+        PasswordVerifier stopped = new PasswordVerifier(new PasswordHasher(), 1, 1);
+        stopped.close();
+        User user = new User("Asha", "asha@gmail.com", "9876543210", 2, "Asha1234", 1);
+
+        assertThrows(ServiceBusyException.class,
+                () -> new UserService(engine, stopped).registrationService(user, user.getRole()));
+        assertFalse(engine.userStore().emailExists("asha@gmail.com"));
+        assertNull(engine.userStore().getUserById(user.getUserId()));
+
+        assertTrue(new UserService(engine).registrationService(user, user.getRole()));
+        assertTrue(engine.userStore().emailExists("asha@gmail.com"));
+    }
 }
@@ -0,0 +1,183 @@
+package com.builderportfolio.session;
+
+import com.builderportfolio.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SessionStore} and {@link Session}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Sessions get distinct opaque tokens and resolve to their user</li>
+ *     <li>Idle and absolute expiry, and closing a session</li>
+ *     <li>The timer wheel evicts exactly the expired sessions, also after a long pause</li>
+ *     <li>Many threads can open and use sessions at once</li>
+ * </ul>
+ */
+class SessionStoreTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final SessionStore store = new SessionStore(Duration.ofMinutes(30), Duration.ofHours(12), now::get);
+
+    private static User builder(int i) {
+        return new User("Builder " + i, "builder" + i + "@example.com", "9876543210", 2, "Passw0rd", 1);
+    }
+
+    /**
+     * Tests that each session has its own token and user.
+     */
+    @Test
+    void testOpen_tokensResolveToTheirUser() {
+        User first = builder(1);
+        User second = builder(2);
+        Session a = store.open(first);
+        Session b = store.open(first);
+        Session c = store.open(second);
+
+        assertNotEquals(a.getToken(), b.getToken());
+        assertEquals(43, a.getToken().length());
+        assertSame(first, a.getUser());
+        assertSame(first, b.getUser());
+        assertSame(second, store.find(c.getToken()).getUser());
+        assertNull(store.find("unknown"));
+        assertNull(store.getUser(null));
+        assertEquals(3, store.size());
+    }
+
+    /**
+     * Tests that a session used within the idle timeout stays open until the
+     * absolute timeout.
+     */
+    @Test
+    void testExpiry_idleAndAbsolute() {
+        Session used = store.open(builder(1));
+        Session unused = store.open(builder(2));
+
+        for (int i = 0; i < 23; i++) {
+            now.addAndGet(29 * MINUTE);
+            assertNotNull(used.getUser(), "used session expired after " + (i + 1) * 29 + " minutes");
+        }
+        assertFalse(unused.isActive());
+        assertNull(unused.getUser());
+
+        now.addAndGet(29 * MINUTE);
+        assertNotNull(used.getUser());
+        now.addAndGet(23 * MINUTE);
+        assertTrue(used.isActive());
+        now.addAndGet(MINUTE);
+        assertFalse(used.isActive());
+        assertNull(used.getUser());
+    }
+
+    /**
+     * Tests that a closed session cannot be used again.
+     */
+    @Test
+    void testClose_endsSession() {
+        Session session = store.open(builder(1));
+        session.close();
+        assertNull(session.getUser());
+        assertFalse(store.invalidate(session.getToken()));
+        assertEquals(0, store.size());
+        session.close();
+    }
+
+    /**
+     * Tests that eviction removes the expired sessions and keeps the rest.
+     */
+    @Test
+    void testExpire_evictsOnlyExpiredSessions() {
+        List<Session> idle = new ArrayList<>();
+        List<Session> active = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            (i % 2 == 0 ? idle : active).add(store.open(builder(i)));
+        }
+
+        now.addAndGet(20 * MINUTE);
+        active.forEach(Session::getUser);
+        assertEquals(0, store.expire());
+
+        now.addAndGet(11 * MINUTE);
+        assertEquals(5_000, store.expire());
+        assertEquals(5_000, store.size());
+        assertTrue(active.stream().allMatch(Session::isActive));
+        assertEquals(0, store.expire());
+
+        now.addAndGet(20 * MINUTE);
+        assertEquals(5_000, store.expire());
+        assertEquals(0, store.size());
+    }
+
+    /**
+     * Tests eviction after the evictor has not run for longer than one
+     * revolution of the wheel.
+     */
+    @Test
+    void testExpire_afterLongPause() {
+        for (int i = 0; i < 1_000; i++) store.open(builder(i));
+        now.addAndGet(5 * 60 * MINUTE);
+        Session fresh = store.open(builder(-1));
+        assertEquals(1_000, store.expire());
+        assertEquals(1, store.size());
+        assertTrue(fresh.isActive());
+    }
+
+    /**
+     * Tests the background evictor with the system clock.
+     */
+    @Test
+    void testStartEvictor_evictsInBackground() throws InterruptedException {
+        try (SessionStore live = new SessionStore(Duration.ofMillis(200), Duration.ofHours(1), System::currentTimeMillis)) {
+            live.startEvictor();
+            live.open(builder(1));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (live.size() > 0 && System.nanoTime() < deadline) Thread.sleep(50);
+            assertEquals(0, live.size());
+        }
+    }
+
+    /**
+     * Tests that sessions opened and used from many threads all stay distinct.
+     */
+    @Test
+    void testConcurrentOpenAndUse() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    User user = builder(thread);
+                    for (int i = 0; i < 2_000; i++) {
+                        Session session = store.open(user);
+                        assertTrue(tokens.add(session.getToken()));
+                        assertSame(user, session.getUser());
+                        if (i % 2 == 0) session.close();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(16_000, store.size());
+        assertEquals(32_000, new HashSet<>(tokens).size());
+    }
+}
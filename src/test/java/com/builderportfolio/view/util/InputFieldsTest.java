@@ -0,0 +1,91 @@
+package com.builderportfolio.view.util;
+
+import com.builderportfolio.model.Status;
+import com.builderportfolio.security.PasswordHasher;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link InputFields}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Experience, role, date and status fields parse in their accepted forms</li>
+ *     <li>Bad values are rejected with a message naming the value</li>
+ *     <li>User and project checks report every failed field at once</li>
+ *     <li>Imported password hashes are accepted only within the iteration bound</li>
+ * </ul>
+ */
+class InputFieldsTest {
+
+    /**
+     * Tests the accepted forms of each parsed field.
+     */
+    @Test
+    void testParse_acceptedValues() {
+        assertEquals(5, InputFields.parseExperience(" 5 "));
+        assertEquals(1, InputFields.parseRole("Builder"));
+        assertEquals(2, InputFields.parseRole("2"));
+        assertEquals(2, InputFields.parseRole("project_manager"));
+        assertEquals(LocalDate.of(2025, 3, 1), InputFields.parseDate("2025-03-01", "start date"));
+        assertEquals(Status.IN_PROGRESS, InputFields.parseStatus("in_progress"));
+    }
+
+    /**
+     * Tests that bad values are rejected with a readable message.
+     */
+    @Test
+    void testParse_badValues_shouldThrow() {
+        assertEquals("Experience cannot be negative",
+                assertThrows(IllegalArgumentException.class, () -> InputFields.parseExperience("-1")).getMessage());
+        assertEquals("Invalid experience 'ten'",
+                assertThrows(IllegalArgumentException.class, () -> InputFields.parseExperience("ten")).getMessage());
+        assertEquals("Invalid role 'owner'",
+                assertThrows(IllegalArgumentException.class, () -> InputFields.parseRole("owner")).getMessage());
+        assertEquals("Missing end date",
+                assertThrows(IllegalArgumentException.class, () -> InputFields.parseDate(null, "end date")).getMessage());
+        assertEquals("Invalid start date '01/03/2025', expected YYYY-MM-DD",
+                assertThrows(IllegalArgumentException.class, () -> InputFields.parseDate("01/03/2025", "start date")).getMessage());
+        assertEquals("Invalid status 'DONE'",
+                assertThrows(IllegalArgumentException.class, () -> InputFields.parseStatus("DONE")).getMessage());
+    }
+
+    /**
+     * Tests that the user and project checks report every failed field, and
+     * reuse the validator they are given.
+     */
+    @Test
+    void testValidate_reportsEveryField() {
+        Validator validator = new Validator();
+        IllegalArgumentException user = assertThrows(IllegalArgumentException.class,
+                () -> InputFields.validateUser(validator, "ravi@gmail", "12345", "Passw0rd"));
+        assertEquals("Invalid email; Invalid phone number", user.getMessage());
+        InputFields.validateUser(validator, "ravi@gmail.com", "9876543210", "Passw0rd");
+
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        IllegalArgumentException project = assertThrows(IllegalArgumentException.class,
+                () -> InputFields.validateProject(validator, day, day, "acme@corp.com", "phone"));
+        assertEquals("Start date and end date cannot be the same; Invalid client phone number", project.getMessage());
+        InputFields.validateProject(validator, day, day.plusDays(1), "acme@corp.com", "9876543210");
+    }
+
+    /**
+     * Tests that an imported hash skips the password rules but must stay within
+     * the configured iteration bound.
+     */
+    @Test
+    void testValidate_importedHash() {
+        Validator validator = new Validator();
+        PasswordHasher hasher = new PasswordHasher();
+        String hash = hasher.hash("Passw0rd");
+        InputFields.validateUser(validator, "ravi@gmail.com", "9876543210", hash, true);
+
+        String tooSlow = "pbkdf2-sha256$" + ((long) hasher.getMaxIterations() + 1) + hash.substring(hash.indexOf('$', 14));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> InputFields.validateUser(validator, "ravi@gmail.com", "9876543210", tooSlow, true));
+        assertEquals("Invalid password hash", e.getMessage());
+    }
+}
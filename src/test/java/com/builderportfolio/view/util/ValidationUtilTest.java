@@ -0,0 +1,112 @@
+package com.builderportfolio.view.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ValidationUtil} and {@link Validator}.
+ * <p>
+ * This test class validates:
+ * <ul>
+ *     <li>Typical valid and invalid emails, phone numbers and passwords</li>
+ *     <li>The scanners accept exactly what the original regular expressions accept</li>
+ *     <li>A validator reports every failed field and can be reused</li>
+ * </ul>
+ */
+class ValidationUtilTest {
+
+    private static final Pattern EMAIL = Pattern.compile("^[\\w.-]+@[\\w.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern PHONE = Pattern.compile("\\d{10}");
+    private static final Pattern UPPER = Pattern.compile("[A-Z]");
+    private static final Pattern DIGIT = Pattern.compile("[0-9]");
+    private static final Pattern ALPHANUMERIC = Pattern.compile("[a-zA-Z0-9]*");
+
+    /**
+     * Tests well-known good and bad values.
+     */
+    @Test
+    void testExamples() {
+        assertTrue(ValidationUtil.isValidEmail("ravi.kumar@gmail.com"));
+        assertTrue(ValidationUtil.isValidEmail("a_b-c@sub.domain.io"));
+        assertFalse(ValidationUtil.isValidEmail("ravi@gmail"));
+        assertFalse(ValidationUtil.isValidEmail("ravi@@gmail.com"));
+        assertFalse(ValidationUtil.isValidEmail("@gmail.com"));
+        assertFalse(ValidationUtil.isValidEmail("ravi@.com"));
+        assertFalse(ValidationUtil.isValidEmail("ravi@gmail.c"));
+        assertFalse(ValidationUtil.isValidEmail("ravi@gmail.com\n"));
+        assertFalse(ValidationUtil.isValidEmail(null));
+
+        assertTrue(ValidationUtil.isValidPhone("9876543210"));
+        assertFalse(ValidationUtil.isValidPhone("987654321"));
+        assertFalse(ValidationUtil.isValidPhone("98765432100"));
+        assertFalse(ValidationUtil.isValidPhone("98765x3210"));
+        assertFalse(ValidationUtil.isValidPhone(null));
+
+        assertTrue(ValidationUtil.isValidPassword("Passw0rd"));
+        assertFalse(ValidationUtil.isValidPassword("Pass0rd"));
+        assertFalse(ValidationUtil.isValidPassword("password0"));
+        assertFalse(ValidationUtil.isValidPassword("Password"));
+        assertFalse(ValidationUtil.isValidPassword("Passw0rd!"));
+        assertFalse(ValidationUtil.isValidPassword(null));
+    }
+
+    /**
+     * Tests the scanners against the original regular expressions on random
+     * strings drawn from the characters that matter to them.
+     */
+    @Test
+    void testSameAsRegularExpressions() {
+        SplittableRandom random = new SplittableRandom(42);
+        String alphabet = "aZk09_.-@@..x\n é!";
+        for (int n = 0; n < 200_000; n++) {
+            StringBuilder value = new StringBuilder();
+            int length = random.nextInt(14);
+            for (int i = 0; i < length; i++) value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String s = value.toString();
+
+            assertEquals(EMAIL.matcher(s).matches(), ValidationUtil.isValidEmail(s), s);
+            assertEquals(PHONE.matcher(s).matches(), ValidationUtil.isValidPhone(s), s);
+            boolean password = s.length() >= 8 && UPPER.matcher(s).find() && DIGIT.matcher(s).find()
+                    && ALPHANUMERIC.matcher(s).matches();
+            assertEquals(password, ValidationUtil.isValidPassword(s), s);
+        }
+        for (int n = 0; n < 10_000; n++) {
+            String digits = Long.toString(random.nextLong(1L, 100_000_000_000L));
+            assertEquals(PHONE.matcher(digits).matches(), ValidationUtil.isValidPhone(digits), digits);
+        }
+    }
+
+    /**
+     * Tests that a validator collects every failure and starts clean after a reset.
+     */
+    @Test
+    void testValidatorReportsAllErrors() {
+        Validator validator = new Validator();
+        validator.email("email", "not-an-email", "Invalid email")
+                .phone("phone", "123", "Invalid phone number")
+                .password("password", "Passw0rd", ValidationUtil.PASSWORD_RULES)
+                .check(false, "role", "Invalid role");
+
+        assertFalse(validator.isValid());
+        List<FieldError> errors = validator.getErrors();
+        assertEquals(3, errors.size());
+        assertEquals("email", errors.get(0).getField());
+        assertEquals("phone", errors.get(1).getField());
+        assertEquals("Invalid role", errors.get(2).getMessage());
+        assertEquals("Invalid email; Invalid phone number; Invalid role", validator.getMessage());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, validator::throwIfInvalid);
+        assertEquals(validator.getMessage(), e.getMessage());
+
+        validator.reset().email("email", "ravi@gmail.com", "Invalid email").phone("phone", null, "Invalid phone number");
+        assertEquals("Invalid phone number", validator.getMessage());
+        validator.reset().email("email", "ravi@gmail.com", "Invalid email");
+        assertTrue(validator.isValid());
+        assertEquals("", validator.getMessage());
+        validator.throwIfInvalid();
+    }
+}